@@ -0,0 +1,28 @@
+package EasyOverrider;
+
+/**
+ * Enum to dictate how a collection parameter is compared in equals and combined in hashCode.
+ * <ul>
+ * <li>{@link #COLLECTION_EQUALS}
+ * <li>{@link #UNORDERED}
+ * </ul>
+ *
+ * The default for any collection parameter is {@link #COLLECTION_EQUALS}.<br>
+ */
+public enum CollectionEquality {
+
+    /**
+     * Indicates that the collection's own equals and hashCode methods should be used.
+     * For example, Lists are equal if they have equal entries in the same order.
+     */
+    COLLECTION_EQUALS,
+
+    /**
+     * Indicates that the order of entries should be ignored.
+     * Two collections are equal if they have the same entries, each appearing the same number of times (i.e. as multisets).
+     * The hashCode is the sum of the hashCodes of the entries.<br>
+     *
+     * Entries are counted using a HashMap, so this takes linear time and doesn't copy or sort the collections.
+     */
+    UNORDERED
+}
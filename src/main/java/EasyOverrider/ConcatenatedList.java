@@ -0,0 +1,42 @@
+package EasyOverrider;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * An unmodifiable view of one list followed by another.<br>
+ *
+ * This lets an extended ParamList share its parent's parameter order instead of copying it.
+ * Both lists are assumed to never change.
+ *
+ * @param <E>  the type of the entries
+ */
+class ConcatenatedList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final List<? extends E> first;
+    private final List<? extends E> second;
+    private final int firstSize;
+
+    /**
+     * Constructor for a ConcatenatedList.<br>
+     *
+     * @param first  the entries that come first - assumed not null and unchanging
+     * @param second  the entries that come after those - assumed not null and unchanging
+     */
+    ConcatenatedList(final List<? extends E> first, final List<? extends E> second) {
+        this.first = first;
+        this.second = second;
+        this.firstSize = first.size();
+    }
+
+    @Override
+    public E get(final int index) {
+        return index < firstSize ? first.get(index) : second.get(index - firstSize);
+    }
+
+    @Override
+    public int size() {
+        return firstSize + second.size();
+    }
+}
@@ -0,0 +1,428 @@
+package EasyOverrider;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link ParamListServiceListener} that records slow operations as Java Flight Recorder events.<br>
+ *
+ * One event type is defined for each {@link ParamListOperation}:
+ * <code>EasyOverrider.Equals</code>, <code>EasyOverrider.HashCode</code>,
+ * <code>EasyOverrider.ToString</code>, and <code>EasyOverrider.PrimaryToString</code>.
+ * Each event has these fields: <code>parentClass</code>, <code>paramCount</code>,
+ * <code>outputLength</code> (0 for equals and hashCode), and <code>elapsed</code>.<br>
+ *
+ * Only operations that take at least the threshold provided to the constructor are recorded.
+ * Events are also only created when that event type is enabled in a running recording.
+ * Each event is begun when the operation starts and ended when it finishes,
+ * so its start time and duration in the recording are the operation's own.<br>
+ *
+ * EasyOverrider is built for Java 8, so the <code>jdk.jfr</code> API is only looked up at runtime.
+ * Use {@link #isAvailable()} to find out if the running JVM supports it (Java 11 or later).
+ *
+ * <pre>
+ * {@code
+ *
+ * ParamListServiceImpl service = new ParamListServiceImpl();
+ * if (JfrParamListServiceListener.isAvailable()) {
+ *     service.addListener(new JfrParamListServiceListener(TimeUnit.MICROSECONDS.toNanos(50)));
+ * }
+ * }
+ * </pre>
+ */
+public class JfrParamListServiceListener implements ParamListServiceListener {
+
+    private final long thresholdNanos;
+
+    private static final JfrEventTypes eventTypes = JfrEventTypes.create();
+
+    /**
+     * Constructor for a JfrParamListServiceListener.<br>
+     *
+     * @param thresholdNanos  the minimum duration (in nanoseconds) an operation must take in order to be recorded - cannot be negative
+     * @throws IllegalArgumentException if the threshold is negative.
+     * @throws IllegalStateException if Java Flight Recorder is not available in this JVM.
+     */
+    public JfrParamListServiceListener(final long thresholdNanos) {
+        if (thresholdNanos < 0) {
+            throw new IllegalArgumentException("Argument 1 (thresholdNanos) provided to JfrParamListServiceListener constructor " +
+                                               "cannot be negative.");
+        }
+        if (eventTypes == null) {
+            throw new IllegalStateException("Java Flight Recorder is not available in this JVM.");
+        }
+        this.thresholdNanos = thresholdNanos;
+    }
+
+    /**
+     * Checks whether or not Java Flight Recorder events can be created in this JVM.<br>
+     *
+     * @return True if this listener can be used. False otherwise.
+     */
+    public static boolean isAvailable() {
+        return eventTypes != null;
+    }
+
+    /**
+     * Gets the minimum duration (in nanoseconds) an operation must take in order to be recorded.<br>
+     *
+     * @return A long.
+     */
+    public long getThresholdNanos() {
+        return thresholdNanos;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * If the event type for the operation is enabled, an event is created and begun, so its start time and duration
+     * cover the operation itself.
+     *
+     * @param operation  {@inheritDoc}
+     * @param paramList  {@inheritDoc}
+     * @return The begun event, or null if the event type isn't enabled.
+     */
+    @Override
+    public Object operationStarting(final ParamListOperation operation, final ParamList<?> paramList) {
+        return eventTypes.begin(operation);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * If an event was begun for the operation, it's ended, and committed if the duration is at least the threshold.
+     *
+     * @param operation  {@inheritDoc}
+     * @param paramList  {@inheritDoc}
+     * @param outputLength  {@inheritDoc}
+     * @param durationNanos  {@inheritDoc}
+     * @param context  {@inheritDoc}
+     */
+    @Override
+    public void operationCompleted(final ParamListOperation operation, final ParamList<?> paramList,
+                                   final int outputLength, final long durationNanos, final Object context) {
+        if (context != null) {
+            eventTypes.end(operation, context);
+            if (durationNanos >= thresholdNanos) {
+                eventTypes.commit(operation, context, paramList.getParentClass(), paramList.getParamOrder().size(),
+                                  outputLength, durationNanos);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * This is only used when the operation wasn't started through {@link #operationStarting(ParamListOperation, ParamList)}.
+     * If the duration is at least the threshold, and the event type for the operation is enabled, an event is committed.
+     * Since it was never begun, its start time is when it's committed and its duration is 0. The <code>elapsed</code> field still has the duration.
+     *
+     * @param operation  {@inheritDoc}
+     * @param paramList  {@inheritDoc}
+     * @param outputLength  {@inheritDoc}
+     * @param durationNanos  {@inheritDoc}
+     */
+    @Override
+    public void operationCompleted(final ParamListOperation operation, final ParamList<?> paramList,
+                                   final int outputLength, final long durationNanos) {
+        if (durationNanos >= thresholdNanos) {
+            Object event = eventTypes.newEventIfEnabled(operation);
+            if (event != null) {
+                eventTypes.commit(operation, event, paramList.getParentClass(), paramList.getParamOrder().size(),
+                                  outputLength, durationNanos);
+            }
+        }
+    }
+
+    /**
+     * toString method for a JfrParamListServiceListener.<br>
+     *
+     * @return A String.
+     */
+    @Override
+    public String toString() {
+        return "JfrParamListServiceListener [thresholdNanos='" + thresholdNanos + "']";
+    }
+
+    /**
+     * Holds the JFR event factories, one for each ParamListOperation, and MethodHandles for the parts of the jdk.jfr API used.<br>
+     *
+     * The jdk.jfr API is only looked up once, and each call after that is a MethodHandle invocation rather than reflection.
+     * Whether each event type is enabled is checked when a recording changes state (using a FlightRecorderListener)
+     * instead of on every operation. If that listener can't be added, it's checked on every operation instead.<br>
+     *
+     * Field values still have to be boxed, since <code>jdk.jfr.Event.set(int, Object)</code> is the only way to set them
+     * on an event created by an EventFactory. That only happens for events that are committed.
+     */
+    private static final class JfrEventTypes {
+
+        private final Object[] types;
+        private final MethodHandle[] newEvents;
+        private final MethodHandle isEnabled;
+        private final MethodHandle begin;
+        private final MethodHandle end;
+        private final MethodHandle set;
+        private final MethodHandle commit;
+        // Set once by create() before this is published.
+        private boolean trackingRecordings;
+        // Bit n is set when the event type for the ParamListOperation with ordinal n is enabled.
+        private volatile int enabledOperations;
+
+        /**
+         * Constructor for a JfrEventTypes.<br>
+         *
+         * @param types  the jdk.jfr.EventType of each operation, by ordinal - assumed not null
+         * @param newEvents  a ()Object handle creating an event for each operation, by ordinal - assumed not null
+         * @param isEnabled  an (Object)boolean handle for jdk.jfr.EventType.isEnabled - assumed not null
+         * @param begin  an (Object)void handle for jdk.jfr.Event.begin - assumed not null
+         * @param end  an (Object)void handle for jdk.jfr.Event.end - assumed not null
+         * @param set  an (Object,int,Object)void handle for jdk.jfr.Event.set - assumed not null
+         * @param commit  an (Object)void handle for jdk.jfr.Event.commit - assumed not null
+         */
+        private JfrEventTypes(final Object[] types, final MethodHandle[] newEvents, final MethodHandle isEnabled,
+                              final MethodHandle begin, final MethodHandle end, final MethodHandle set,
+                              final MethodHandle commit) {
+            this.types = types;
+            this.newEvents = newEvents;
+            this.isEnabled = isEnabled;
+            this.begin = begin;
+            this.end = end;
+            this.set = set;
+            this.commit = commit;
+        }
+
+        /**
+         * Looks up the jdk.jfr API and defines the event types.<br>
+         *
+         * @return A JfrEventTypes, or null if the jdk.jfr API is not available.
+         */
+        @SuppressWarnings("unchecked")
+        static JfrEventTypes create() {
+            try {
+                Class<?> annotationElementClass = Class.forName("jdk.jfr.AnnotationElement");
+                Class<?> valueDescriptorClass = Class.forName("jdk.jfr.ValueDescriptor");
+                Class<?> eventFactoryClass = Class.forName("jdk.jfr.EventFactory");
+                Class<?> eventTypeClass = Class.forName("jdk.jfr.EventType");
+                Class<?> eventClass = Class.forName("jdk.jfr.Event");
+                Class<?> flightRecorderClass = Class.forName("jdk.jfr.FlightRecorder");
+                Class<?> flightRecorderListenerClass = Class.forName("jdk.jfr.FlightRecorderListener");
+                Class<? extends Annotation> nameClass = (Class<? extends Annotation>)Class.forName("jdk.jfr.Name");
+                Class<? extends Annotation> labelClass = (Class<? extends Annotation>)Class.forName("jdk.jfr.Label");
+                Class<? extends Annotation> categoryClass = (Class<? extends Annotation>)Class.forName("jdk.jfr.Category");
+                Class<? extends Annotation> timespanClass = (Class<? extends Annotation>)Class.forName("jdk.jfr.Timespan");
+                Constructor<?> annotationElement = annotationElementClass.getConstructor(Class.class, Object.class);
+                Constructor<?> valueDescriptor = valueDescriptorClass.getConstructor(Class.class, String.class, List.class);
+                Method createFactory = eventFactoryClass.getMethod("create", List.class, List.class);
+                Method getEventType = eventFactoryClass.getMethod("getEventType");
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                MethodHandle newEvent = lookup.findVirtual(eventFactoryClass, "newEvent", MethodType.methodType(eventClass));
+                MethodType voidType = MethodType.methodType(void.class);
+                MethodType eventToVoid = MethodType.methodType(void.class, Object.class);
+
+                List<Object> fields = Arrays.asList(
+                                valueDescriptor.newInstance(Class.class, "parentClass",
+                                                            Arrays.asList(annotationElement.newInstance(labelClass, "Parent Class"))),
+                                valueDescriptor.newInstance(int.class, "paramCount",
+                                                            Arrays.asList(annotationElement.newInstance(labelClass, "Param Count"))),
+                                valueDescriptor.newInstance(int.class, "outputLength",
+                                                            Arrays.asList(annotationElement.newInstance(labelClass, "Output Length"))),
+                                valueDescriptor.newInstance(long.class, "elapsed",
+                                                            Arrays.asList(annotationElement.newInstance(labelClass, "Elapsed"),
+                                                                          annotationElement.newInstance(timespanClass, "NANOSECONDS"))));
+                ParamListOperation[] operations = ParamListOperation.values();
+                MethodHandle[] newEvents = new MethodHandle[operations.length];
+                Object[] types = new Object[operations.length];
+                for (ParamListOperation operation : operations) {
+                    List<Object> annotations = new ArrayList<>();
+                    annotations.add(annotationElement.newInstance(nameClass, "EasyOverrider." + operation.getDisplayName()));
+                    annotations.add(annotationElement.newInstance(labelClass, "ParamList " + operation.getDisplayName()));
+                    annotations.add(annotationElement.newInstance(categoryClass, new String[] { "EasyOverrider" }));
+                    Object factory = createFactory.invoke(null, annotations, fields);
+                    newEvents[operation.ordinal()] = newEvent.bindTo(factory).asType(MethodType.methodType(Object.class));
+                    types[operation.ordinal()] = getEventType.invoke(factory);
+                }
+                MethodHandle isEnabled = lookup.findVirtual(eventTypeClass, "isEnabled", MethodType.methodType(boolean.class))
+                                               .asType(MethodType.methodType(boolean.class, Object.class));
+                MethodHandle set = lookup.findVirtual(eventClass, "set", MethodType.methodType(void.class, int.class, Object.class))
+                                         .asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+                JfrEventTypes retval = new JfrEventTypes(types, newEvents, isEnabled,
+                                                         lookup.findVirtual(eventClass, "begin", voidType).asType(eventToVoid),
+                                                         lookup.findVirtual(eventClass, "end", voidType).asType(eventToVoid),
+                                                         set,
+                                                         lookup.findVirtual(eventClass, "commit", voidType).asType(eventToVoid));
+                retval.trackingRecordings = addRecorderListener(flightRecorderClass.getMethod("addListener", flightRecorderListenerClass),
+                                                                flightRecorderListenerClass, retval);
+                retval.refreshEnabled();
+                return retval;
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Adds a jdk.jfr.FlightRecorderListener that refreshes the enabled event types when a recording changes state.<br>
+         *
+         * @param addListener  the jdk.jfr.FlightRecorder.addListener method - assumed not null
+         * @param listenerClass  the jdk.jfr.FlightRecorderListener class - assumed not null
+         * @param eventTypes  the JfrEventTypes to refresh - assumed not null
+         * @return True if the listener was added. False if it couldn't be, in which case each operation checks instead.
+         */
+        private static boolean addRecorderListener(final Method addListener, final Class<?> listenerClass,
+                                                   final JfrEventTypes eventTypes) {
+            Object listener = Proxy.newProxyInstance(listenerClass.getClassLoader(), new Class<?>[] { listenerClass },
+                                                     (proxy, method, args) -> {
+                                                         switch (method.getName()) {
+                                                             case "recordingStateChanged":
+                                                                 eventTypes.refreshEnabled();
+                                                                 return null;
+                                                             case "equals":
+                                                                 return proxy == args[0];
+                                                             case "hashCode":
+                                                                 return System.identityHashCode(proxy);
+                                                             case "toString":
+                                                                 return "JfrParamListServiceListener recording listener";
+                                                             default:
+                                                                 return null;
+                                                         }
+                                                     });
+            try {
+                addListener.invoke(null, listener);
+                return true;
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Checks which event types are enabled and remembers the result.<br>
+         *
+         * @throws IllegalStateException if the jdk.jfr API throws an exception.
+         */
+        void refreshEnabled() {
+            int retval = 0;
+            for (int i = 0; i < types.length; i++) {
+                if (isEnabled(i)) {
+                    retval |= 1 << i;
+                }
+            }
+            enabledOperations = retval;
+        }
+
+        /**
+         * Asks the jdk.jfr API whether an event type is enabled.<br>
+         *
+         * @param index  the ordinal of the operation
+         * @return True if the event type is enabled. False otherwise.
+         * @throws IllegalStateException if the jdk.jfr API throws an exception.
+         */
+        private boolean isEnabled(final int index) {
+            try {
+                return (boolean)isEnabled.invokeExact(types[index]);
+            } catch (Throwable e) {
+                throw rethrow(e, "check", ParamListOperation.values()[index]);
+            }
+        }
+
+        /**
+         * Creates a new event for an operation if its event type is enabled.<br>
+         *
+         * @param operation  the operation being performed - assumed not null
+         * @return A new jdk.jfr.Event, or null if the event type isn't enabled.
+         * @throws IllegalStateException if the jdk.jfr API throws an exception.
+         */
+        Object newEventIfEnabled(final ParamListOperation operation) {
+            int index = operation.ordinal();
+            if (trackingRecordings ? (enabledOperations & (1 << index)) == 0 : !isEnabled(index)) {
+                return null;
+            }
+            try {
+                return (Object)newEvents[index].invokeExact();
+            } catch (Throwable e) {
+                throw rethrow(e, "create", operation);
+            }
+        }
+
+        /**
+         * Creates and begins a new event for an operation if its event type is enabled.<br>
+         *
+         * @param operation  the operation being performed - assumed not null
+         * @return The begun jdk.jfr.Event, or null if the event type isn't enabled.
+         * @throws IllegalStateException if the jdk.jfr API throws an exception.
+         */
+        Object begin(final ParamListOperation operation) {
+            Object event = newEventIfEnabled(operation);
+            if (event != null) {
+                try {
+                    begin.invokeExact(event);
+                } catch (Throwable e) {
+                    throw rethrow(e, "begin", operation);
+                }
+            }
+            return event;
+        }
+
+        /**
+         * Ends an event that was begun.<br>
+         *
+         * @param operation  the operation performed - assumed not null
+         * @param event  the jdk.jfr.Event - assumed not null
+         * @throws IllegalStateException if the jdk.jfr API throws an exception.
+         */
+        void end(final ParamListOperation operation, final Object event) {
+            try {
+                end.invokeExact(event);
+            } catch (Throwable e) {
+                throw rethrow(e, "end", operation);
+            }
+        }
+
+        /**
+         * Sets the fields of an event and commits it.<br>
+         *
+         * @param operation  the operation performed - assumed not null
+         * @param event  the jdk.jfr.Event - assumed not null
+         * @param parentClass  the parent class of the ParamList
+         * @param paramCount  the number of parameters in the ParamList
+         * @param outputLength  the length of the resulting String
+         * @param durationNanos  how long the operation took
+         * @throws IllegalStateException if the jdk.jfr API throws an exception.
+         */
+        void commit(final ParamListOperation operation, final Object event, final Class<?> parentClass, final int paramCount,
+                    final int outputLength, final long durationNanos) {
+            try {
+                set.invokeExact(event, 0, (Object)parentClass);
+                set.invokeExact(event, 1, (Object)paramCount);
+                set.invokeExact(event, 2, (Object)outputLength);
+                set.invokeExact(event, 3, (Object)durationNanos);
+                commit.invokeExact(event);
+            } catch (Throwable e) {
+                throw rethrow(e, "record", operation);
+            }
+        }
+
+        /**
+         * Wraps something thrown by the jdk.jfr API.<br>
+         *
+         * Errors are rethrown as they are.
+         *
+         * @param e  what was thrown - assumed not null
+         * @param action  what was being done, e.g. "record" - assumed not null
+         * @param operation  the operation the event is for - assumed not null
+         * @return An IllegalStateException to throw.
+         */
+        private static IllegalStateException rethrow(final Throwable e, final String action, final ParamListOperation operation) {
+            if (e instanceof Error) {
+                throw (Error)e;
+            }
+            return new IllegalStateException("Unable to " + action + " the " + operation.getDisplayName() + " event.", e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package EasyOverrider;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * An unmodifiable view of two maps that don't have any keys in common.<br>
+ *
+ * This lets an extended ParamList share its parent's paramDescriptionMap instead of copying it.
+ * Both maps are assumed to never change.
+ *
+ * @param <K>  the type of the keys
+ * @param <V>  the type of the values
+ */
+class LayeredMap<K, V> extends AbstractMap<K, V> {
+
+    private final Map<K, ? extends V> base;
+    private final Map<K, ? extends V> top;
+    private final Set<Map.Entry<K, V>> entrySet;
+
+    /**
+     * Constructor for a LayeredMap.<br>
+     *
+     * @param base  the shared entries - assumed not null and unchanging
+     * @param top  the additional entries - assumed not null, unchanging, and without any of the base's keys
+     */
+    LayeredMap(final Map<K, ? extends V> base, final Map<K, ? extends V> top) {
+        this.base = base;
+        this.top = top;
+        this.entrySet = new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new Iterator<Map.Entry<K, V>>() {
+                    private Iterator<? extends Map.Entry<K, ? extends V>> current = base.entrySet().iterator();
+                    private boolean onTop = false;
+
+                    @Override
+                    public boolean hasNext() {
+                        if (!current.hasNext() && !onTop) {
+                            current = top.entrySet().iterator();
+                            onTop = true;
+                        }
+                        return current.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<K, V> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Map.Entry<K, ? extends V> entry = current.next();
+                        return new SimpleImmutableEntry<>(entry.getKey(), entry.getValue());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return base.size() + top.size();
+            }
+        };
+    }
+
+    @Override
+    public V get(final Object key) {
+        V retval = top.get(key);
+        return retval != null ? retval : base.get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return top.containsKey(key) || base.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return base.size() + top.size();
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return entrySet;
+    }
+}
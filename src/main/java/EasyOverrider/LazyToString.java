@@ -0,0 +1,113 @@
+package EasyOverrider;
+
+import java.util.function.Supplier;
+
+/**
+ * A String representation of an object that isn't created until it's needed.<br>
+ *
+ * These are created using {@link ParamList#lazyToString(Object)} or {@link ParamList#lazyPrimaryToString(Object)}.
+ * Nothing is rendered until {@link #toString()}, {@link #get()}, or one of the {@link CharSequence} methods is called.
+ * After that, the rendered String is kept and re-used.<br>
+ *
+ * This makes them handy for log statements that might not be enabled:
+ *
+ * <pre>
+ * {@code
+ *
+ * log.debug("state " + paramList.lazyToString(foo));  // Still renders. Don't do this.
+ * log.debug("state {}", paramList.lazyToString(foo)); // Only renders if debug is enabled.
+ * }
+ * </pre>
+ *
+ * @param <O>  the type of the object being represented
+ */
+public class LazyToString<O> implements CharSequence, Supplier<String> {
+
+    private final ParamList<O> paramList;
+    private final O thisObj;
+    private final boolean primaryOnly;
+    private volatile String rendered;
+
+    /**
+     * Constructor for a LazyToString.<br>
+     *
+     * @param paramList  the ParamList to render the object with - assumed not null
+     * @param thisObj  the object to render - assumed not null
+     * @param primaryOnly  true to use {@link ParamList#primaryToString(Object)}, false to use {@link ParamList#toString(Object)}
+     */
+    LazyToString(final ParamList<O> paramList, final O thisObj, final boolean primaryOnly) {
+        this.paramList = paramList;
+        this.thisObj = thisObj;
+        this.primaryOnly = primaryOnly;
+    }
+
+    /**
+     * Whether or not the String has been rendered yet.<br>
+     *
+     * @return True if the String has already been created. False otherwise.
+     */
+    public boolean isRendered() {
+        return rendered != null;
+    }
+
+    /**
+     * Gets the rendered String, creating it if needed.<br>
+     *
+     * If two threads ask for it at the same time, it might be rendered twice, but only one result is ever kept.
+     *
+     * @return A String.
+     */
+    @Override
+    public String get() {
+        String retval = rendered;
+        if (retval == null) {
+            retval = primaryOnly ? paramList.primaryToString(thisObj) : paramList.toString(thisObj);
+            rendered = retval;
+        }
+        return retval;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int length() {
+        return get().length();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param index  {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public char charAt(final int index) {
+        return get().charAt(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param start  {@inheritDoc}
+     * @param end  {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        return get().subSequence(start, end);
+    }
+
+    /**
+     * Gets the rendered String, creating it if needed.<br>
+     *
+     * @return A String.
+     * @see #get()
+     */
+    @Override
+    public String toString() {
+        return get();
+    }
+}
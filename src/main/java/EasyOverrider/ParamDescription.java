@@ -1,5 +1,6 @@
 package EasyOverrider;
 
+import java.util.Objects;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -55,6 +56,32 @@ public interface ParamDescription<O, P> {
      */
     ParamUsage getParamUsage();
 
+    /**
+     * Checks whether or not two values of this parameter are equal.<br>
+     *
+     * The default uses {@link Objects#equals(Object, Object)}.
+     *
+     * @param thisValue  the first value
+     * @param thatValue  the second value
+     * @return True if the values are equal. False otherwise.
+     */
+    default boolean valuesAreEqual(final P thisValue, final P thatValue) {
+        return Objects.equals(thisValue, thatValue);
+    }
+
+    /**
+     * Gets the hashCode of a value of this parameter.<br>
+     *
+     * The default uses {@link Objects#hashCode(Object)}.
+     * This must be consistent with {@link #valuesAreEqual(Object, Object)}.
+     *
+     * @param value  the value
+     * @return An int.
+     */
+    default int valueHashCode(final P value) {
+        return Objects.hashCode(value);
+    }
+
     /**
      * Get whether or not this should be included for the equals() method.<br>
      *
@@ -96,4 +123,47 @@ public interface ParamDescription<O, P> {
      * @return A String.
      */
     String getParamString(O obj, BiFunction<Object, Class, String> objectToString);
+
+    /**
+     * Converts a value of this parameter to a String.<br>
+     *
+     * This gives the same result as {@link #getParamString(Object, BiFunction)} does for an object with the provided value.
+     * The default passes the value and the parameter class into the provided BiFunction.
+     *
+     * @param value  the value of the parameter
+     * @param objectToString  the BiFunction to use to actually create the String (and prevent recursion)
+     * @return A String.
+     */
+    default String getValueString(final P value, final BiFunction<Object, Class, String> objectToString) {
+        return objectToString.apply(value, getParamClass());
+    }
+
+    /**
+     * Gets how many different values of this parameter can have their formatted toString pieces cached.<br>
+     *
+     * Once a value has been formatted (with its name) for a toString, the result is kept and re-used for equal values,
+     * up to this many values per ParamList and config. This is only correct for values whose String never changes,
+     * and where equal values always have the same String (e.g. enums, Booleans, or a small set of status codes).
+     * The default is 0, which means nothing is cached.
+     *
+     * @return An int.
+     * @see ParamListBuilder#withToStringCacheLimit(String, int)
+     */
+    default int getToStringCacheLimit() {
+        return 0;
+    }
+
+    /**
+     * Gets a copy of a value of this parameter that won't change if the original does.<br>
+     *
+     * This is used by {@link ParamList#snapshot(Object, boolean)}.
+     * The default returns the value itself. Collection and map parameters copy the collection or map (but not its entries).
+     * The copy only needs to give the same result from {@link #getValueString(Object, BiFunction)} as the original.
+     *
+     * @param value  the value of the parameter
+     * @return The value or a copy of it.
+     */
+    default P copyValue(final P value) {
+        return value;
+    }
 }
@@ -20,6 +20,8 @@ public abstract class ParamDescriptionBase<O, P> implements ParamDescription<O,
     final String name;
     final Function<? super O, P> getter;
     final ParamUsage paramUsage;
+    // Kept by getCachedHashCode(ParamList), and 0 until then. Racing threads each hash the same final fields.
+    private int cachedHashCode;
 
     private static ParamList<ParamDescriptionBase> paramList;
 
@@ -99,4 +101,35 @@ public abstract class ParamDescriptionBase<O, P> implements ParamDescription<O,
     public ParamUsage getParamUsage() {
         return paramUsage;
     }
+
+    /**
+     * Gets the hashCode of this ParamDescription, working it out using the provided ParamList only the first time.<br>
+     *
+     * Everything used in the hashCode of a ParamDescription is fixed once it's created, so it's kept after that.
+     * This lets a ParamList's fingerprint (and maps keyed by ParamDescriptions) avoid walking every field each time.
+     *
+     * @param paramList  the ParamList for the extending class - assumed not null
+     * @return An int.
+     */
+    @SuppressWarnings("unchecked")
+    int getCachedHashCode(final ParamList<? extends ParamDescriptionBase> paramList) {
+        int retval = cachedHashCode;
+        if (retval == 0) {
+            retval = ((ParamList<ParamDescriptionBase>)paramList).hashCode(this);
+            cachedHashCode = retval;
+        }
+        return retval;
+    }
+
+    /**
+     * Checks whether another object is the same kind of ParamDescription with a different hashCode.<br>
+     *
+     * If so, it can't be equal to this one, and comparing all the fields can be skipped.
+     *
+     * @param obj  the object to check
+     * @return True if the object is known to be different. False if it still needs to be compared.
+     */
+    boolean isKnownDifferent(final Object obj) {
+        return obj != null && obj.getClass() == getClass() && obj.hashCode() != hashCode();
+    }
 }
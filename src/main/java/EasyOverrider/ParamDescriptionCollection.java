@@ -2,9 +2,15 @@ package EasyOverrider;
 
 import static EasyOverrider.EasyOverriderUtils.requireNonNull;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -19,6 +25,13 @@ import java.util.stream.Collectors;
 public class ParamDescriptionCollection<O, E, P extends Collection<? extends E>> extends ParamDescriptionBase<O, P> {
 
     private final Class<E> entryClass;
+    private final CollectionEquality collectionEquality;
+    private final int hashedEntryLimit;
+
+    /**
+     * The hashedEntryLimit value indicating that every entry is included in the hashCode.
+     */
+    public static final int HASH_ALL_ENTRIES = -1;
 
     private static ParamList<ParamDescriptionCollection> paramList;
     private static final List<Integer> baseConstructorParamOrder = Arrays.asList(1, 2, 4, 5, 6);
@@ -28,6 +41,10 @@ public class ParamDescriptionCollection<O, E, P extends Collection<? extends E>>
             paramList = ParamDescriptionBase.getParamListBase()
                                             .extendedBy(ParamDescriptionCollection.class)
                                             .withParam("entryClass", ParamDescriptionCollection::getEntryClass, Class.class)
+                                            .withParam("collectionEquality", ParamDescriptionCollection::getCollectionEquality,
+                                                       CollectionEquality.class)
+                                            .withParam("hashedEntryLimit", ParamDescriptionCollection::getHashedEntryLimit,
+                                                       Integer.class)
                                             .andThatsIt();
         }
         return paramList;
@@ -46,9 +63,177 @@ public class ParamDescriptionCollection<O, E, P extends Collection<? extends E>>
     public ParamDescriptionCollection(final Class<O> parentClass, final Class<P> paramClass,
                                       final Class<E> entryClass, final String name,
                                       final Function<? super O, P> getter, final ParamUsage paramUsage) {
+        this(parentClass, paramClass, entryClass, name, getter, paramUsage, CollectionEquality.COLLECTION_EQUALS);
+    }
+
+    /**
+     * Constructor for a parameter that is a collection of some type, with a specific way of comparing collections.<br>
+     *
+     * @param parentClass  the class of the object containing the parameter
+     * @param paramClass  the class of the parameter (must extend Collection)
+     * @param entryClass  the class of the entries in the collection parameter
+     * @param name  the name of the parameter
+     * @param getter  the getter for the parameter
+     * @param paramUsage  the {@link ParamUsage} value for the parameter
+     * @param collectionEquality  the {@link CollectionEquality} value for the parameter
+     */
+    public ParamDescriptionCollection(final Class<O> parentClass, final Class<P> paramClass,
+                                      final Class<E> entryClass, final String name,
+                                      final Function<? super O, P> getter, final ParamUsage paramUsage,
+                                      final CollectionEquality collectionEquality) {
+        this(parentClass, paramClass, entryClass, name, getter, paramUsage, collectionEquality, HASH_ALL_ENTRIES);
+    }
+
+    /**
+     * Constructor for a parameter that is a collection of some type, with a specific way of comparing collections,
+     * and a limit on how many entries are included in the hashCode.<br>
+     *
+     * @param parentClass  the class of the object containing the parameter
+     * @param paramClass  the class of the parameter (must extend Collection)
+     * @param entryClass  the class of the entries in the collection parameter
+     * @param name  the name of the parameter
+     * @param getter  the getter for the parameter
+     * @param paramUsage  the {@link ParamUsage} value for the parameter
+     * @param collectionEquality  the {@link CollectionEquality} value for the parameter
+     * @param hashedEntryLimit  the maximum number of entries to include in the hashCode, or {@link #HASH_ALL_ENTRIES}
+     * @throws IllegalArgumentException if the hashedEntryLimit is negative and not {@link #HASH_ALL_ENTRIES}.
+     * @see #valueHashCode(Collection)
+     */
+    public ParamDescriptionCollection(final Class<O> parentClass, final Class<P> paramClass,
+                                      final Class<E> entryClass, final String name,
+                                      final Function<? super O, P> getter, final ParamUsage paramUsage,
+                                      final CollectionEquality collectionEquality, final int hashedEntryLimit) {
         super(parentClass, paramClass, name, getter, paramUsage, baseConstructorParamOrder);
         requireNonNull(entryClass, 3, "entryClass", "ParamDescriptionMap constructor");
+        requireNonNull(collectionEquality, 7, "collectionEquality", "ParamDescriptionCollection constructor");
+        requireValidHashedEntryLimit(hashedEntryLimit, 8, "ParamDescriptionCollection constructor");
         this.entryClass = entryClass;
+        this.collectionEquality = collectionEquality;
+        this.hashedEntryLimit = hashedEntryLimit;
+    }
+
+    /**
+     * Creates a copy of this ParamDescriptionCollection with a different limit on how many entries are included in the hashCode.<br>
+     *
+     * @param newHashedEntryLimit  the maximum number of entries to include in the hashCode, or {@link #HASH_ALL_ENTRIES}
+     * @return A new ParamDescriptionCollection.
+     * @throws IllegalArgumentException if the limit is negative and not {@link #HASH_ALL_ENTRIES}.
+     */
+    public ParamDescriptionCollection<O, E, P> withHashedEntryLimit(final int newHashedEntryLimit) {
+        return new ParamDescriptionCollection<>(parentClass, paramClass, entryClass, name, getter, paramUsage,
+                                                collectionEquality, newHashedEntryLimit);
+    }
+
+    /**
+     * Makes sure a hashedEntryLimit is either {@link #HASH_ALL_ENTRIES} or not negative.<br>
+     *
+     * @param hashedEntryLimit  the limit to check
+     * @param position  the position of the limit in the method's arguments
+     * @param methodName  the name of the method being called
+     * @throws IllegalArgumentException if the limit is not valid.
+     */
+    static void requireValidHashedEntryLimit(final int hashedEntryLimit, final int position, final String methodName) {
+        if (hashedEntryLimit < 0 && hashedEntryLimit != HASH_ALL_ENTRIES) {
+            throw new IllegalArgumentException("Argument " + position + " (hashedEntryLimit) provided to " + methodName +
+                                               " cannot be negative unless it is HASH_ALL_ENTRIES.");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * When the {@link CollectionEquality} is {@link CollectionEquality#UNORDERED}, the collections are compared as multisets.
+     * The entries of the first collection are counted in a HashMap, then the entries of the second are counted off.
+     *
+     * @param thisValue  {@inheritDoc}
+     * @param thatValue  {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean valuesAreEqual(final P thisValue, final P thatValue) {
+        if (collectionEquality == CollectionEquality.COLLECTION_EQUALS || thisValue == thatValue
+            || thisValue == null || thatValue == null) {
+            return super.valuesAreEqual(thisValue, thatValue);
+        }
+        if (thisValue.size() != thatValue.size()) {
+            return false;
+        }
+        Map<Object, int[]> counts = new HashMap<>(thisValue.size() * 4 / 3 + 1);
+        for (Object entry : thisValue) {
+            counts.computeIfAbsent(entry, e -> new int[1])[0]++;
+        }
+        for (Object entry : thatValue) {
+            int[] count = counts.get(entry);
+            if (count == null || count[0] == 0) {
+                return false;
+            }
+            count[0]--;
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * When the {@link CollectionEquality} is {@link CollectionEquality#UNORDERED}, this is the sum of the entries' hashCodes.<br>
+     *
+     * When there is a hashed entry limit and the collection has more entries than that, only some of it is hashed:
+     * <ul>
+     * <li>A List (with {@link CollectionEquality#COLLECTION_EQUALS}) - its size and the entries at each end, up to the limit.
+     * <li>A Set, or any collection with {@link CollectionEquality#UNORDERED} - just its size.
+     *     Equal sets can iterate in different orders, so any sample of entries could differ.
+     * <li>Anything else - its own hashCode.
+     * </ul>
+     * This keeps the hashCode consistent with equals while keeping the cost of huge collections bounded.
+     *
+     * @param value  {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int valueHashCode(final P value) {
+        if (value == null) {
+            return 0;
+        }
+        if (hashedEntryLimit != HASH_ALL_ENTRIES && value.size() > hashedEntryLimit) {
+            if (collectionEquality == CollectionEquality.COLLECTION_EQUALS && value instanceof List) {
+                return boundedListHashCode((List<?>)value, hashedEntryLimit);
+            }
+            if (collectionEquality == CollectionEquality.UNORDERED || value instanceof Set) {
+                return value.size();
+            }
+        }
+        if (collectionEquality == CollectionEquality.COLLECTION_EQUALS) {
+            return value.hashCode();
+        }
+        int result = 0;
+        for (Object entry : value) {
+            result += Objects.hashCode(entry);
+        }
+        return result;
+    }
+
+    /**
+     * Calculates a hashCode for a List using its size and only some of its entries.<br>
+     *
+     * The first half (rounded up) of the limit comes from the start of the list, and the rest from the end.
+     * Equal lists have equal entries at every position, so they always get the same result.
+     *
+     * @param list  the list - assumed not null and bigger than the limit
+     * @param limit  the number of entries to include - assumed not negative
+     * @return An int.
+     */
+    private static int boundedListHashCode(final List<?> list, final int limit) {
+        int size = list.size();
+        int result = 31 + size;
+        ListIterator<?> fromStart = list.listIterator();
+        for (int i = 0; i < (limit + 1) / 2; i++) {
+            result = 31 * result + Objects.hashCode(fromStart.next());
+        }
+        ListIterator<?> fromEnd = list.listIterator(size);
+        for (int i = 0; i < limit / 2; i++) {
+            result = 31 * result + Objects.hashCode(fromEnd.previous());
+        }
+        return result;
     }
 
     /**
@@ -66,7 +251,22 @@ public class ParamDescriptionCollection<O, E, P extends Collection<? extends E>>
      */
     @Override
     public String getParamString(O obj, BiFunction<Object, Class, String> objectToString) {
-        P collection = getter.apply(obj);
+        return getValueString(getter.apply(obj), objectToString);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * If the collection is null, just passes that null and the parameter class into the provided BiFunction.
+     * Otherwise, the BiFunction is called on each entry using the entry class, and the results are
+     * converted to a String using <code>List.toString()</code>.<br>
+     *
+     * @param collection  {@inheritDoc}
+     * @param objectToString  {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public String getValueString(final P collection, final BiFunction<Object, Class, String> objectToString) {
         if (collection == null) {
             return objectToString.apply(collection, paramClass);
         }
@@ -76,6 +276,21 @@ public class ParamDescriptionCollection<O, E, P extends Collection<? extends E>>
                          .toString();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Copies the entries into a new list, keeping their iteration order.
+     * The entries themselves are not copied.<br>
+     *
+     * @param collection  {@inheritDoc}
+     * @return A new list with the same entries, or null if the collection is null.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public P copyValue(final P collection) {
+        return collection == null ? null : (P)new ArrayList<E>(collection);
+    }
+
     /**
      * Gets the class of the entries in this collection parameter.<br>
      *
@@ -85,6 +300,25 @@ public class ParamDescriptionCollection<O, E, P extends Collection<? extends E>>
         return entryClass;
     }
 
+    /**
+     * Gets how this collection parameter is compared in equals and combined in hashCode.<br>
+     *
+     * @return A {@link CollectionEquality} value.
+     */
+    public CollectionEquality getCollectionEquality() {
+        return collectionEquality;
+    }
+
+    /**
+     * Gets the maximum number of entries included in the hashCode.<br>
+     *
+     * @return A non-negative int, or {@link #HASH_ALL_ENTRIES}.
+     * @see #valueHashCode(Collection)
+     */
+    public int getHashedEntryLimit() {
+        return hashedEntryLimit;
+    }
+
     /**
      * equals method for a ParamDescriptionCollection object.<br>
      *
@@ -93,6 +327,12 @@ public class ParamDescriptionCollection<O, E, P extends Collection<? extends E>>
      */
     @Override
     public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (isKnownDifferent(obj)) {
+            return false;
+        }
         return getParamListCollection().equals(this, obj);
     }
 
@@ -103,7 +343,7 @@ public class ParamDescriptionCollection<O, E, P extends Collection<? extends E>>
      */
     @Override
     public int hashCode() {
-        return getParamListCollection().hashCode(this);
+        return getCachedHashCode(getParamListCollection());
     }
 
     /**
@@ -3,6 +3,7 @@ package EasyOverrider;
 import static EasyOverrider.EasyOverriderUtils.requireNonNull;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiFunction;
@@ -21,6 +22,7 @@ public class ParamDescriptionMap<O, K, V, P extends Map<? extends K, ? extends V
 
     private final Class<K> keyClass;
     private final Class<V> valueClass;
+    private final int hashedEntryLimit;
 
     private static ParamList<ParamDescriptionMap> paramList;
     private static final List<Integer> baseConstructorParamOrder = Arrays.asList(1, 2, 5, 6, 7);
@@ -31,6 +33,7 @@ public class ParamDescriptionMap<O, K, V, P extends Map<? extends K, ? extends V
                                             .extendedBy(ParamDescriptionMap.class)
                                             .withParam("keyClass", ParamDescriptionMap::getKeyClass, Class.class)
                                             .withParam("valueClass", ParamDescriptionMap::getValueClass, Class.class)
+                                            .withParam("hashedEntryLimit", ParamDescriptionMap::getHashedEntryLimit, Integer.class)
                                             .andThatsIt();
         }
         return paramList;
@@ -50,11 +53,74 @@ public class ParamDescriptionMap<O, K, V, P extends Map<? extends K, ? extends V
     public ParamDescriptionMap(final Class<O> parentClass, final Class<P> paramClass,
                                final Class<K> keyClass, final Class<V> valueClass, final String name,
                                final Function<? super O, P> getter, final ParamUsage paramUsage) {
+        this(parentClass, paramClass, keyClass, valueClass, name, getter, paramUsage, ParamDescriptionCollection.HASH_ALL_ENTRIES);
+    }
+
+    /**
+     * Constructor for a parameter that is a map of some type, with a limit on how many entries are included in the hashCode.<br>
+     *
+     * @param parentClass  the class of the object containing the parameter
+     * @param paramClass  the class of the parameter (must extend Map)
+     * @param keyClass  the class of the keys in the map parameter
+     * @param valueClass  the class of the values in the map parameter
+     * @param name  the name of the parameter
+     * @param getter  the getter for the parameter
+     * @param paramUsage  the {@link ParamUsage} value for the parameter
+     * @param hashedEntryLimit  the maximum number of entries to include in the hashCode,
+     *                          or {@link ParamDescriptionCollection#HASH_ALL_ENTRIES}
+     * @throws IllegalArgumentException if the hashedEntryLimit is negative and not HASH_ALL_ENTRIES.
+     * @see #valueHashCode(Map)
+     */
+    public ParamDescriptionMap(final Class<O> parentClass, final Class<P> paramClass,
+                               final Class<K> keyClass, final Class<V> valueClass, final String name,
+                               final Function<? super O, P> getter, final ParamUsage paramUsage, final int hashedEntryLimit) {
         super(parentClass, paramClass, name, getter, paramUsage, baseConstructorParamOrder);
         requireNonNull(keyClass, 3, "keyClass", "ParamDescriptionMap constructor");
         requireNonNull(valueClass, 4, "valueClass", "ParamDescriptionMap constructor");
+        ParamDescriptionCollection.requireValidHashedEntryLimit(hashedEntryLimit, 8, "ParamDescriptionMap constructor");
         this.keyClass = keyClass;
         this.valueClass = valueClass;
+        this.hashedEntryLimit = hashedEntryLimit;
+    }
+
+    /**
+     * Creates a copy of this ParamDescriptionMap with a different limit on how many entries are included in the hashCode.<br>
+     *
+     * @param newHashedEntryLimit  the maximum number of entries to include in the hashCode,
+     *                             or {@link ParamDescriptionCollection#HASH_ALL_ENTRIES}
+     * @return A new ParamDescriptionMap.
+     * @throws IllegalArgumentException if the limit is negative and not HASH_ALL_ENTRIES.
+     */
+    public ParamDescriptionMap<O, K, V, P> withHashedEntryLimit(final int newHashedEntryLimit) {
+        return new ParamDescriptionMap<>(parentClass, paramClass, keyClass, valueClass, name, getter, paramUsage,
+                                         newHashedEntryLimit);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * When there is a hashed entry limit and the map has more entries than that, only its size is used.
+     * Equal maps can iterate in different orders, so any sample of entries could differ.
+     *
+     * @param value  {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int valueHashCode(final P value) {
+        if (value != null && hashedEntryLimit != ParamDescriptionCollection.HASH_ALL_ENTRIES && value.size() > hashedEntryLimit) {
+            return value.size();
+        }
+        return super.valueHashCode(value);
+    }
+
+    /**
+     * Gets the maximum number of entries included in the hashCode.<br>
+     *
+     * @return A non-negative int, or {@link ParamDescriptionCollection#HASH_ALL_ENTRIES}.
+     * @see #valueHashCode(Map)
+     */
+    public int getHashedEntryLimit() {
+        return hashedEntryLimit;
     }
 
     /**
@@ -73,7 +139,22 @@ public class ParamDescriptionMap<O, K, V, P extends Map<? extends K, ? extends V
      */
     @Override
     public String getParamString(O obj, BiFunction<Object, Class, String> objectToString) {
-        P map = getter.apply(obj);
+        return getValueString(getter.apply(obj), objectToString);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * If the map is null, just passes that null and the parameter class into the provided BiFunction.
+     * Otherwise, the BiFunction is called on each key and value using the key class and value class respectively,
+     * and the results are converted to a String using <code>Map.toString()</code>.<br>
+     *
+     * @param map  {@inheritDoc}
+     * @param objectToString  {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public String getValueString(final P map, final BiFunction<Object, Class, String> objectToString) {
         if (map == null) {
             return objectToString.apply(map, paramClass);
         }
@@ -84,6 +165,21 @@ public class ParamDescriptionMap<O, K, V, P extends Map<? extends K, ? extends V
                   .toString();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Copies the entries into a new map, keeping their iteration order.
+     * The keys and values themselves are not copied.<br>
+     *
+     * @param map  {@inheritDoc}
+     * @return A new map with the same entries, or null if the map is null.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public P copyValue(final P map) {
+        return map == null ? null : (P)new LinkedHashMap<K, V>(map);
+    }
+
     /**
      * Gets the class of the keys in this map parameter.<br>
      *
@@ -110,6 +206,12 @@ public class ParamDescriptionMap<O, K, V, P extends Map<? extends K, ? extends V
      */
     @Override
     public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (isKnownDifferent(obj)) {
+            return false;
+        }
         return getParamListMap().equals(this, obj);
     }
 
@@ -120,7 +222,7 @@ public class ParamDescriptionMap<O, K, V, P extends Map<? extends K, ? extends V
      */
     @Override
     public int hashCode() {
-        return getParamListMap().hashCode(this);
+        return getCachedHashCode(getParamListMap());
     }
 
     /**
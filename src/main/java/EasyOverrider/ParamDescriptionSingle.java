@@ -2,18 +2,30 @@ package EasyOverrider;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
 /**
  * Describes a standard parameter in an object.<br>
  *
+ * Array parameters are compared by identity, like any other Object, unless they were created with comparingArrayContents set.
+ * Then values are compared by their contents (using {@link Objects#deepEquals(Object, Object)}).<br>
+ *
  * @param <O>  the type of the object
  * @param <P>  the type of the parameter
  */
 public class ParamDescriptionSingle<O, P> extends ParamDescriptionBase<O, P> {
 
     private boolean isPrimary;
+    private final int toStringCacheLimit;
+    private final boolean comparingArrayContents;
+
+    /**
+     * The toStringCacheLimit value indicating that the limit depends on the parameter class.
+     * Enum parameters can cache one String per enum constant, Boolean parameters can cache two, and others cache none.
+     */
+    public static final int DEFAULT_TO_STRING_CACHE_LIMIT = -1;
 
     private static ParamList<ParamDescriptionSingle> paramList;
     private static final List<Integer> baseConstructorParamOrder = Arrays.asList(1, 2, 3, 4, 5);
@@ -23,6 +35,10 @@ public class ParamDescriptionSingle<O, P> extends ParamDescriptionBase<O, P> {
             paramList = ParamDescriptionBase.getParamListBase()
                                             .extendedBy(ParamDescriptionSingle.class)
                                             .withParam("isPrimary", ParamDescriptionSingle::isPrimary, Boolean.class)
+                                            .withParam("toStringCacheLimit", ParamDescriptionSingle::getToStringCacheLimit,
+                                                       Integer.class)
+                                            .withParam("comparingArrayContents",
+                                                       ParamDescriptionSingle::isComparingArrayContents, Boolean.class)
                                             .andThatsIt();
         }
         return paramList;
@@ -44,8 +60,142 @@ public class ParamDescriptionSingle<O, P> extends ParamDescriptionBase<O, P> {
     public ParamDescriptionSingle(final Class<O> parentClass, final Class<P> paramClass, final String name,
                                   final Function<? super O, P> getter, final ParamUsage paramUsage,
                                   final boolean isPrimary) {
+        this(parentClass, paramClass, name, getter, paramUsage, isPrimary, DEFAULT_TO_STRING_CACHE_LIMIT);
+    }
+
+    /**
+     * Constructor for a generic parameter with a limit on how many of its formatted toString values can be cached.<br>
+     *
+     * @param parentClass The class of the object containing the parameter.
+     * @param paramClass The class of the parameter.
+     * @param name The name of the parameter.
+     * @param getter The getter for the parameter.
+     * @param paramUsage The {@link ParamUsage} value for the parameter.
+     * @param isPrimary  whether or not this parameter is a primary one
+     * @param toStringCacheLimit  the maximum number of values to cache, or {@link #DEFAULT_TO_STRING_CACHE_LIMIT}
+     * @throws IllegalArgumentException If any parameter is null.
+     * @throws IllegalArgumentException if the toStringCacheLimit is negative and not {@link #DEFAULT_TO_STRING_CACHE_LIMIT}.
+     * @see #getToStringCacheLimit()
+     */
+    public ParamDescriptionSingle(final Class<O> parentClass, final Class<P> paramClass, final String name,
+                                  final Function<? super O, P> getter, final ParamUsage paramUsage,
+                                  final boolean isPrimary, final int toStringCacheLimit) {
+        this(parentClass, paramClass, name, getter, paramUsage, isPrimary, toStringCacheLimit, false);
+    }
+
+    /**
+     * Constructor for a generic parameter that can also have its array values compared by their contents.<br>
+     *
+     * @param parentClass The class of the object containing the parameter.
+     * @param paramClass The class of the parameter.
+     * @param name The name of the parameter.
+     * @param getter The getter for the parameter.
+     * @param paramUsage The {@link ParamUsage} value for the parameter.
+     * @param isPrimary  whether or not this parameter is a primary one
+     * @param toStringCacheLimit  the maximum number of values to cache, or {@link #DEFAULT_TO_STRING_CACHE_LIMIT}
+     * @param comparingArrayContents  whether or not array values are compared by their contents instead of by identity
+     * @throws IllegalArgumentException If any parameter is null.
+     * @throws IllegalArgumentException if the toStringCacheLimit is negative and not {@link #DEFAULT_TO_STRING_CACHE_LIMIT}.
+     * @throws IllegalArgumentException if comparingArrayContents is true and the paramClass isn't an array class.
+     * @see #isComparingArrayContents()
+     */
+    public ParamDescriptionSingle(final Class<O> parentClass, final Class<P> paramClass, final String name,
+                                  final Function<? super O, P> getter, final ParamUsage paramUsage,
+                                  final boolean isPrimary, final int toStringCacheLimit, final boolean comparingArrayContents) {
         super(parentClass, paramClass, name, getter, paramUsage, baseConstructorParamOrder);
+        if (toStringCacheLimit < 0 && toStringCacheLimit != DEFAULT_TO_STRING_CACHE_LIMIT) {
+            throw new IllegalArgumentException("Argument 7 (toStringCacheLimit) provided to ParamDescriptionSingle constructor " +
+                                               "cannot be negative unless it is DEFAULT_TO_STRING_CACHE_LIMIT.");
+        }
+        if (comparingArrayContents && !paramClass.isArray()) {
+            throw new IllegalArgumentException("Argument 8 (comparingArrayContents) provided to ParamDescriptionSingle constructor " +
+                                               "cannot be true for the non-array class " + paramClass.getName() + ".");
+        }
         this.isPrimary = isPrimary;
+        this.toStringCacheLimit = toStringCacheLimit;
+        this.comparingArrayContents = comparingArrayContents;
+    }
+
+    /**
+     * Creates a copy of this ParamDescriptionSingle with a different limit on how many formatted toString values can be cached.<br>
+     *
+     * @param newToStringCacheLimit  the maximum number of values to cache, or {@link #DEFAULT_TO_STRING_CACHE_LIMIT}
+     * @return A new ParamDescriptionSingle.
+     * @throws IllegalArgumentException if the limit is negative and not {@link #DEFAULT_TO_STRING_CACHE_LIMIT}.
+     */
+    public ParamDescriptionSingle<O, P> withToStringCacheLimit(final int newToStringCacheLimit) {
+        return new ParamDescriptionSingle<>(parentClass, paramClass, name, getter, paramUsage, isPrimary, newToStringCacheLimit,
+                                            comparingArrayContents);
+    }
+
+    /**
+     * Creates a copy of this ParamDescriptionSingle that compares array values by their contents, or by identity.<br>
+     *
+     * @param newComparingArrayContents  whether or not array values are compared by their contents
+     * @return A new ParamDescriptionSingle.
+     * @throws IllegalArgumentException if newComparingArrayContents is true and the parameter class isn't an array class.
+     */
+    public ParamDescriptionSingle<O, P> withArrayContentsCompared(final boolean newComparingArrayContents) {
+        return new ParamDescriptionSingle<>(parentClass, paramClass, name, getter, paramUsage, isPrimary, toStringCacheLimit,
+                                            newComparingArrayContents);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * If {@link #isComparingArrayContents()}, values are compared by their contents using
+     * {@link Objects#deepEquals(Object, Object)}.
+     *
+     * @param thisValue  {@inheritDoc}
+     * @param thatValue  {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean valuesAreEqual(final P thisValue, final P thatValue) {
+        return comparingArrayContents ? Objects.deepEquals(thisValue, thatValue) : Objects.equals(thisValue, thatValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * If {@link #isComparingArrayContents()}, values get a hashCode from their contents, consistent with
+     * {@link #valuesAreEqual(Object, Object)}.
+     *
+     * @param value  {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int valueHashCode(final P value) {
+        return comparingArrayContents ? arrayHashCode(value) : Objects.hashCode(value);
+    }
+
+    /**
+     * Gets the hashCode of an array from its contents.<br>
+     *
+     * @param value  the array, or null
+     * @return The same value as the matching {@link Arrays} hashCode method, or 0 if the value is null.
+     */
+    private static int arrayHashCode(final Object value) {
+        if (value instanceof Object[]) {
+            return Arrays.deepHashCode((Object[])value);
+        } else if (value instanceof int[]) {
+            return Arrays.hashCode((int[])value);
+        } else if (value instanceof long[]) {
+            return Arrays.hashCode((long[])value);
+        } else if (value instanceof byte[]) {
+            return Arrays.hashCode((byte[])value);
+        } else if (value instanceof char[]) {
+            return Arrays.hashCode((char[])value);
+        } else if (value instanceof short[]) {
+            return Arrays.hashCode((short[])value);
+        } else if (value instanceof boolean[]) {
+            return Arrays.hashCode((boolean[])value);
+        } else if (value instanceof double[]) {
+            return Arrays.hashCode((double[])value);
+        } else if (value instanceof float[]) {
+            return Arrays.hashCode((float[])value);
+        }
+        return Objects.hashCode(value);
     }
 
     /**
@@ -59,7 +209,39 @@ public class ParamDescriptionSingle<O, P> extends ParamDescriptionBase<O, P> {
      */
     @Override
     public String getParamString(O obj, BiFunction<Object, Class, String> objectToString) {
-        return objectToString.apply(getter.apply(obj), paramClass);
+        return getValueString(getter.apply(obj), objectToString);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Unless a limit was provided, enum parameters can cache one value per enum constant, and Boolean parameters can cache two.<br>
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int getToStringCacheLimit() {
+        if (toStringCacheLimit != DEFAULT_TO_STRING_CACHE_LIMIT) {
+            return toStringCacheLimit;
+        }
+        if (paramClass.isEnum()) {
+            return paramClass.getEnumConstants().length;
+        }
+        if (paramClass == Boolean.class || paramClass == boolean.class) {
+            return 2;
+        }
+        return 0;
+    }
+
+    /**
+     * Returns whether or not array values of this parameter are compared (and hashed) by their contents instead of by identity.<br>
+     *
+     * This is always false unless the parameter class is an array class.<br>
+     *
+     * @return True if array values are compared by their contents. False otherwise.
+     */
+    public boolean isComparingArrayContents() {
+        return comparingArrayContents;
     }
 
     /**
@@ -79,6 +261,12 @@ public class ParamDescriptionSingle<O, P> extends ParamDescriptionBase<O, P> {
      */
     @Override
     public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (isKnownDifferent(obj)) {
+            return false;
+        }
         return getParamListSingle().equals(this, obj);
     }
 
@@ -89,7 +277,7 @@ public class ParamDescriptionSingle<O, P> extends ParamDescriptionBase<O, P> {
      */
     @Override
     public int hashCode() {
-        return getParamListSingle().hashCode(this);
+        return getCachedHashCode(getParamListSingle());
     }
 
     /**
@@ -2,13 +2,21 @@ package EasyOverrider;
 
 import static EasyOverrider.EasyOverriderUtils.requireNonNull;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -63,7 +71,27 @@ public class ParamList<O> {
     final private Class<O> parentClass;
     final private Map<String, ParamDescription<? super O, ?>> paramDescriptionMap;
     final private List<String> paramOrder;
+    final private Map<String, Integer> paramIndexes;
+    final private ParamList<? super O> superParamList;
+    final private Map<String, ParamSortOrder> sortOrderMap;
     private ParamListService service;
+    private volatile Comparator<O> comparator;
+    private volatile ParamListRenderPlan toStringPlan;
+    private volatile ParamListRenderPlan primaryToStringPlan;
+    // Kept by getFingerprint(). The structure it hashes never changes, so a thread that still sees 0 gets the same value.
+    private int fingerprint;
+    private volatile ParamListCompiledEngine<O> compiledEngine;
+    private volatile Future<?> compilation;
+    private final AtomicBoolean compiling = new AtomicBoolean(false);
+    private final AtomicInteger uncompiledCalls = new AtomicInteger();
+
+    // These are the parameters to use for each of the main methods, in order, so that they don't need to be found each call.
+    final private ParamDescription<? super O, ?>[] allParams;
+    final private ParamDescription<? super O, ?>[] equalsParams;
+    final private int[] equalsParamIndexes;
+    final private ParamDescription<? super O, ?>[] hashCodeParams;
+    final private ParamDescription<? super O, ?>[] toStringParams;
+    final private ParamDescription<? super O, ?>[] primaryToStringParams;
 
     private static ParamList<ParamList> paramList;
 
@@ -75,6 +103,8 @@ public class ParamList<O> {
                                           String.class, ParamDescription.class)
                                  .withCollection("paramOrder", ParamList::getParamOrder, List.class, String.class)
                                  .withParam("service", (pl) -> pl.service, ParamListService.class)
+                                 .withMap("sortOrderMap", ParamList::getSortOrderMap, Map.class,
+                                          String.class, ParamSortOrder.class)
                                  .andThatsIt();
         }
         return paramList;
@@ -91,6 +121,23 @@ public class ParamList<O> {
         return ParamListBuilder.forClass(parentClass);
     }
 
+    /**
+     * Gets a ParamList built from the fields (or record components) of the provided class.<br>
+     *
+     * The class is only looked at the first time this is called for it. After that, the same ParamList is returned.
+     * Getters are backed by {@link java.lang.invoke.MethodHandle}s, so using the ParamList doesn't involve reflection.
+     * See {@link ParamListDeriver} for which fields are used and how they're described.<br>
+     *
+     * @param parentClass  the class to derive a ParamList for - cannot be null
+     * @param <C>  the class to derive a ParamList for
+     * @return A ParamList.
+     * @throws IllegalArgumentException if parentClass is null, or its fields or accessors cannot be read.
+     */
+    public static <C> ParamList<C> derive(final Class<C> parentClass) {
+        requireNonNull(parentClass, 1, "parentClass", "derive");
+        return ParamListDeriver.derive(parentClass);
+    }
+
     /**
      * Constructor for a ParamList.<br>
      *
@@ -103,29 +150,129 @@ public class ParamList<O> {
      * @param paramDescriptionMap  a map of name to ParamDescription objects describing the parameters in the parent object
      * @param paramOrder  the order that the parameters should be in
      * @param paramListService  the paramListService to use for the key pieces of functionality - cannot be null
-     * @throws IllegalArgumentException if the paramListService is null.
+     * @param sortOrderMap  a map of name to the ParamSortOrder to use for that parameter in a comparator - cannot be null
+     * @throws IllegalArgumentException if any parameter is null.
      */
     ParamList(final Class<O> parentClass, final Map<String, ParamDescription<? super O, ?>> paramDescriptionMap,
-              final List<String> paramOrder, final ParamListService paramListService) {
+              final List<String> paramOrder, final ParamListService paramListService,
+              final Map<String, ParamSortOrder> sortOrderMap) {
+        this(parentClass, null, paramDescriptionMap, paramOrder, paramListService, sortOrderMap);
+    }
+
+    /**
+     * Constructor for a ParamList that shares the parameters of a ParamList it extends.<br>
+     *
+     * The provided paramDescriptionMap and paramOrder only describe the parameters added after the superParamList's.
+     * The superParamList's parameters are not copied. Instead, {@link #getParamDescriptionMap()} and {@link #getParamOrder()}
+     * are views of both. Only the arrays of parameters used by each method are flattened.
+     * Those arrays hold every parameter, including the superParamList's, so a chain of extensions still uses memory
+     * proportional to the number of levels times the number of parameters for them.<br>
+     *
+     * @param parentClass  the class of the object these parameters represent - cannot be null
+     * @param superParamList  the ParamList whose parameters come first - null if there isn't one
+     * @param paramDescriptionMap  a map of name to ParamDescription objects for the parameters added to the superParamList - cannot be null
+     * @param paramOrder  the order of the parameters added to the superParamList - cannot be null
+     * @param paramListService  the paramListService to use for the key pieces of functionality - cannot be null
+     * @param sortOrderMap  a map of name to the ParamSortOrder to use for any parameter in a comparator - cannot be null
+     * @throws IllegalArgumentException if any parameter other than superParamList is null.
+     * @throws IllegalArgumentException if the paramOrder doesn't match the paramDescriptionMap.
+     * @throws IllegalArgumentException if a parameter is also in the superParamList.
+     */
+    @SuppressWarnings("unchecked")
+    ParamList(final Class<O> parentClass, final ParamList<? super O> superParamList,
+              final Map<String, ParamDescription<? super O, ?>> paramDescriptionMap,
+              final List<String> paramOrder, final ParamListService paramListService,
+              final Map<String, ParamSortOrder> sortOrderMap) {
         requireNonNull(parentClass, 1, "parentClass", "ParamList constructor");
-        requireNonNull(paramDescriptionMap, 2, "paramDescriptionMap", "ParamList constructor");
-        requireNonNull(paramOrder, 3, "paramOrder", "ParamList constructor");
-        requireNonNull(paramListService, 4, "paramListService", "ParamList constructor");
+        requireNonNull(paramDescriptionMap, 3, "paramDescriptionMap", "ParamList constructor");
+        requireNonNull(paramOrder, 4, "paramOrder", "ParamList constructor");
+        requireNonNull(paramListService, 5, "paramListService", "ParamList constructor");
+        requireNonNull(sortOrderMap, 6, "sortOrderMap", "ParamList constructor");
         if (paramOrder.size() != paramDescriptionMap.size()) {
             throw new IllegalArgumentException("The size of the paramDescriptionMap [" + paramDescriptionMap.size() + "] " +
                                                "does not equal the size of the paramOrder list [" + paramOrder.size() + "]");
         }
-        if (!paramOrder.stream().allMatch(paramDescriptionMap::containsKey)) {
-            throw new IllegalArgumentException("Parameter names were found in the order list " +
-                                               "that do not exist in the paramDescriptionMap: " +
+        int superSize = superParamList == null ? 0 : superParamList.getParamOrder().size();
+        Map<String, Integer> indexes = new HashMap<>(paramOrder.size() * 4 / 3 + 1);
+        for (int index = 0; index < paramOrder.size(); index++) {
+            indexes.put(paramOrder.get(index), superSize + index);
+        }
+        if (!paramDescriptionMap.keySet().equals(indexes.keySet())) {
+            throw new IllegalArgumentException("The parameter names in the order list do not match the ones " +
+                                               "in the paramDescriptionMap. Unknown or repeated names: " +
                                                paramOrder.stream()
-                                                         .filter(name -> !paramDescriptionMap.containsKey(name))
+                                                         .filter(name -> !paramDescriptionMap.containsKey(name)
+                                                                         || paramOrder.indexOf(name) != paramOrder.lastIndexOf(name))
+                                                         .distinct()
+                                                         .collect(Collectors.joining(", ")));
+        }
+        if (superParamList != null && paramOrder.stream().anyMatch(name -> superParamList.indexOf(name) >= 0)) {
+            throw new IllegalArgumentException("Parameter names were found in the paramDescriptionMap " +
+                                               "that already exist in the superParamList: " +
+                                               paramOrder.stream()
+                                                         .filter(name -> superParamList.indexOf(name) >= 0)
                                                          .collect(Collectors.joining(", ")));
         }
         this.parentClass = parentClass;
-        this.paramDescriptionMap = new HashMap<>(paramDescriptionMap);
-        this.paramOrder = new LinkedList<>(paramOrder);
+        this.superParamList = superParamList;
+        // The unmodifiable views are created once here so the getters don't need to create new ones each call.
+        if (superParamList == null) {
+            this.paramDescriptionMap = Collections.unmodifiableMap(new HashMap<>(paramDescriptionMap));
+            this.paramOrder = Collections.unmodifiableList(new ArrayList<>(paramOrder));
+        } else {
+            this.paramDescriptionMap = new LayeredMap<>((Map<String, ParamDescription<? super O, ?>>)(Map<String, ?>)
+                                                                        superParamList.getParamDescriptionMap(),
+                                                        new HashMap<>(paramDescriptionMap));
+            this.paramOrder = new ConcatenatedList<>(superParamList.getParamOrder(), new ArrayList<>(paramOrder));
+        }
+        if (!this.paramDescriptionMap.keySet().containsAll(sortOrderMap.keySet())) {
+            throw new IllegalArgumentException("Parameter names were found in the sortOrderMap " +
+                                               "that do not exist in the paramDescriptionMap: " +
+                                               sortOrderMap.keySet()
+                                                           .stream()
+                                                           .filter(name -> !this.paramDescriptionMap.containsKey(name))
+                                                           .collect(Collectors.joining(", ")));
+        }
+        this.sortOrderMap = Collections.unmodifiableMap(new HashMap<>(sortOrderMap));
+        this.paramIndexes = indexes;
         this.service = paramListService;
+        this.allParams = filterParams(pd -> true);
+        this.equalsParams = filterParams(ParamDescription::isEqualsInclude);
+        this.equalsParamIndexes = new int[equalsParams.length];
+        int equalsIndex = 0;
+        for (int index = 0; index < this.paramOrder.size() && equalsIndex < equalsParams.length; index++) {
+            if (this.paramOrder.get(index).equals(equalsParams[equalsIndex].getName())) {
+                equalsParamIndexes[equalsIndex++] = index;
+            }
+        }
+        this.hashCodeParams = filterParams(ParamDescription::isHashCodeInclude);
+        this.toStringParams = filterParams(ParamDescription::isToStringInclude);
+        this.primaryToStringParams = filterParams(pd -> pd.isToStringInclude()
+                                                        && pd instanceof ParamDescriptionSingle
+                                                        && ((ParamDescriptionSingle)pd).isPrimary());
+    }
+
+    /**
+     * Gets the ParamDescriptions that pass the provided filter, in parameter order.<br>
+     *
+     * @param filter  the predicate to use in the filter, e.g. ParamDescription::isToStringInclude - assumed not null
+     * @return An array of ParamDescription objects.
+     */
+    @SuppressWarnings("unchecked")
+    private ParamDescription<? super O, ?>[] filterParams(final Predicate<ParamDescription<? super O, ?>> filter) {
+        return paramOrder.stream()
+                         .map(paramDescriptionMap::get)
+                         .filter(filter)
+                         .toArray(ParamDescription[]::new);
+    }
+
+    /**
+     * Gets the service that this ParamList uses.<br>
+     *
+     * @return A ParamListService.
+     */
+    ParamListService getService() {
+        return service;
     }
 
     /**
@@ -143,7 +290,7 @@ public class ParamList<O> {
      * @return An unmodifiable Map of Strings to ParamDescription values.<br>
      */
     public Map<String, ParamDescription<? super O, ?>> getParamDescriptionMap() {
-        return Collections.unmodifiableMap(paramDescriptionMap);
+        return paramDescriptionMap;
     }
 
     /**
@@ -152,7 +299,191 @@ public class ParamList<O> {
      * @return An unmodifiable list of Strings
      */
     public List<String> getParamOrder() {
-        return Collections.unmodifiableList(paramOrder);
+        return paramOrder;
+    }
+
+    /**
+     * Getter for the sortOrderMap parameter.<br>
+     *
+     * Only parameters that have had a sort order defined are in this map.<br>
+     *
+     * @return An unmodifiable Map of Strings to ParamSortOrder values.
+     * @see #getSortOrder(String)
+     */
+    public Map<String, ParamSortOrder> getSortOrderMap() {
+        return sortOrderMap;
+    }
+
+    /**
+     * Gets the ParamList whose parameters this one shares.<br>
+     *
+     * @return The ParamList this one was extended from, or null if this one doesn't share any parameters.
+     */
+    ParamList<? super O> getSuperParamList() {
+        return superParamList;
+    }
+
+    /**
+     * Gets the position of a parameter in the paramOrder list.<br>
+     *
+     * @param name  the name of the parameter
+     * @return The index of the parameter, or -1 if there isn't a parameter with that name.
+     */
+    int indexOf(final String name) {
+        Integer retval = paramIndexes.get(name);
+        if (retval == null) {
+            return superParamList == null ? -1 : superParamList.indexOf(name);
+        }
+        return retval;
+    }
+
+    /**
+     * Gets the ParamSortOrder to use for the parameter with the provided name.<br>
+     *
+     * @param name  the name of the parameter
+     * @return The defined {@link ParamSortOrder}, or {@link ParamSortOrder#ASCENDING_NULLS_FIRST} if one wasn't defined.
+     */
+    public ParamSortOrder getSortOrder(final String name) {
+        return sortOrderMap.getOrDefault(name, ParamSortOrder.ASCENDING_NULLS_FIRST);
+    }
+
+    /**
+     * Gets all of the ParamDescriptions, in parameter order.<br>
+     *
+     * The returned array is shared and must not be altered.
+     *
+     * @return An array of ParamDescription objects.
+     */
+    ParamDescription<? super O, ?>[] getAllParams() {
+        return allParams;
+    }
+
+    /**
+     * Gets the ParamDescriptions that are included in the equals method, in parameter order.<br>
+     *
+     * The returned array is shared and must not be altered.
+     *
+     * @return An array of ParamDescription objects.
+     */
+    ParamDescription<? super O, ?>[] getEqualsParams() {
+        return equalsParams;
+    }
+
+    /**
+     * Gets the position in the paramOrder list of each of the equals parameters.<br>
+     *
+     * The returned array is shared and must not be altered.
+     *
+     * @return An array of indexes that lines up with {@link #getEqualsParams()}.
+     */
+    int[] getEqualsParamIndexes() {
+        return equalsParamIndexes;
+    }
+
+    /**
+     * Gets the ParamDescriptions that are included in the hashCode method, in parameter order.<br>
+     *
+     * The returned array is shared and must not be altered.
+     *
+     * @return An array of ParamDescription objects.
+     */
+    ParamDescription<? super O, ?>[] getHashCodeParams() {
+        return hashCodeParams;
+    }
+
+    /**
+     * Gets the ParamDescriptions that are included in the toString method, in parameter order.<br>
+     *
+     * The returned array is shared and must not be altered.
+     *
+     * @return An array of ParamDescription objects.
+     */
+    ParamDescription<? super O, ?>[] getToStringParams() {
+        return toStringParams;
+    }
+
+    /**
+     * Gets the primary ParamDescriptions that are included in the toString method, in parameter order.<br>
+     *
+     * The returned array is shared and must not be altered.
+     *
+     * @return An array of ParamDescription objects.
+     */
+    ParamDescription<? super O, ?>[] getPrimaryToStringParams() {
+        return primaryToStringParams;
+    }
+
+    /**
+     * Gets the compiled version of the equals, hashCode and toString methods, counting the call if there isn't one yet.<br>
+     *
+     * Once there have been more calls than the config's threshold, a {@link ParamListCompiledEngine} is built
+     * on a background thread. Until it's ready, null keeps being returned, and the caller should keep doing the work itself.
+     * After it's ready, it's returned every time without counting or looking at the threshold again.<br>
+     *
+     * @param config  the config of the service doing the work - assumed not null
+     * @return A ParamListCompiledEngine, or null if there isn't one yet.
+     * @see ParamListServiceConfig#setCompilationThreshold(int)
+     */
+    ParamListCompiledEngine<O> getCompiledEngine(final ParamListServiceConfig config) {
+        ParamListCompiledEngine<O> retval = compiledEngine;
+        if (retval == null && !compiling.get()) {
+            int threshold = config.getCompilationThreshold();
+            if (threshold != ParamListServiceConfig.NEVER_COMPILE && uncompiledCalls.incrementAndGet() > threshold) {
+                compile(config);
+            }
+        }
+        return retval;
+    }
+
+    /**
+     * Builds a new {@link ParamListCompiledEngine} on a background thread, unless one is already being built.<br>
+     *
+     * The engine's toString is compiled for the render plan of the config's values at the time it's built.
+     * Until the new engine is ready, any engine already in use stays in use.
+     * If building fails, compiling isn't tried again, and the service keeps doing the work itself.
+     *
+     * @param config  the config of the service doing the work - assumed not null
+     */
+    void compile(final ParamListServiceConfig config) {
+        if (compiling.compareAndSet(false, true)) {
+            compilation = ParamListCompiledEngine.compileInBackground(() -> {
+                compiledEngine = new ParamListCompiledEngine<>(this, getRenderPlan(config.getSnapshot(), false));
+                compiling.set(false);
+            });
+        }
+    }
+
+    /**
+     * Gets the latest background compilation of this ParamList.<br>
+     *
+     * @return A Future that completes once the compiled version is in use, or null if compiling hasn't started.
+     * @see #getCompiledEngine(ParamListServiceConfig)
+     */
+    Future<?> getCompilation() {
+        return compilation;
+    }
+
+    /**
+     * Gets the render plan for the toString or primaryToString parameters using the provided config values.<br>
+     *
+     * The plan is created the first time it's needed, and again whenever the config values change.
+     *
+     * @param settings  the config values being used - assumed not null
+     * @param primary  true for the primaryToString parameters, false for the toString parameters
+     * @return A ParamListRenderPlan.
+     */
+    ParamListRenderPlan getRenderPlan(final ParamListServiceConfigSnapshot settings, final boolean primary) {
+        ParamListRenderPlan retval = primary ? primaryToStringPlan : toStringPlan;
+        if (retval == null || retval.getSettings() != settings) {
+            retval = new ParamListRenderPlan(settings, settings.getClassNameGetter().apply(parentClass),
+                                             primary ? primaryToStringParams : toStringParams);
+            if (primary) {
+                primaryToStringPlan = retval;
+            } else {
+                toStringPlan = retval;
+            }
+        }
+        return retval;
     }
 
     /**
@@ -217,6 +548,241 @@ public class ParamList<O> {
         return service.primaryToString(thisObj, this);
     }
 
+    /**
+     * Gets a handle that only creates the String representation of the provided object when it's needed.<br>
+     *
+     * The String is created (using {@link #toString(Object)}) the first time the handle's
+     * toString, get, or CharSequence methods are called, and kept after that.
+     *
+     * @param thisObj  the object to get the parameter values from - cannot be null
+     * @return A new {@link LazyToString}.
+     * @throws IllegalArgumentException if thisObj is null.
+     */
+    public LazyToString<O> lazyToString(final O thisObj) {
+        requireNonNull(thisObj, 1, "thisObj", "lazyToString");
+        return new LazyToString<>(this, thisObj, false);
+    }
+
+    /**
+     * Gets a handle that only creates the short String representation of the provided object when it's needed.<br>
+     *
+     * The String is created (using {@link #primaryToString(Object)}) the first time the handle's
+     * toString, get, or CharSequence methods are called, and kept after that.
+     *
+     * @param thisObj  the object to get the parameter values from - cannot be null
+     * @return A new {@link LazyToString}.
+     * @throws IllegalArgumentException if thisObj is null.
+     */
+    public LazyToString<O> lazyPrimaryToString(final O thisObj) {
+        requireNonNull(thisObj, 1, "thisObj", "lazyPrimaryToString");
+        return new LazyToString<>(this, thisObj, true);
+    }
+
+    /**
+     * Captures the toString-included parameter values of an object so its String representation can be created later.<br>
+     *
+     * This is the same as <code>snapshot(thisObj, false)</code>.
+     *
+     * @param thisObj  the object to get the parameter values from - cannot be null
+     * @return A new {@link ParamListSnapshot}.
+     * @throws IllegalArgumentException if thisObj is null.
+     * @see #snapshot(Object, boolean)
+     */
+    public ParamListSnapshot<O> snapshot(final O thisObj) {
+        requireNonNull(thisObj, 1, "thisObj", "snapshot");
+        return snapshot(thisObj, false);
+    }
+
+    /**
+     * Captures the toString-included parameter values of an object so its String representation can be created later.<br>
+     *
+     * Unlike {@link #lazyToString(Object)}, the parameter values are read right away, so the result is
+     * what {@link #toString(Object)} would give now, even if it's rendered later on another thread.
+     * Only the formatting is put off.<br>
+     *
+     * If the service being used isn't a {@link ParamListServiceImpl}, the String is created right away instead.
+     *
+     * @param thisObj  the object to get the parameter values from - cannot be null
+     * @param copyingCollections  whether or not collection and map values should be copied (but not their entries)
+     * @return A new {@link ParamListSnapshot}.
+     * @throws IllegalArgumentException if thisObj is null.
+     */
+    public ParamListSnapshot<O> snapshot(final O thisObj, final boolean copyingCollections) {
+        requireNonNull(thisObj, 1, "thisObj", "snapshot");
+        if (service instanceof ParamListServiceImpl) {
+            return ((ParamListServiceImpl)service).snapshot(thisObj, this, copyingCollections);
+        }
+        return new ParamListSnapshot<>(toString(thisObj));
+    }
+
+    /**
+     * Writes a JSON representation of the provided object into an Appendable.<br>
+     *
+     * The JSON object contains each toString-included parameter, in parameter order.
+     * Nested objects that have a registered ParamList (see {@link ParamListRegistry}) are written as nested JSON objects,
+     * and recursion is prevented the same way it is for toString.
+     * Any other nested object is written as a JSON string of its toString, even if it has an unregistered ParamList.
+     * Output is written as it's created, so writing to a Writer doesn't create an intermediate String.
+     *
+     * @param thisObj  the object to get the parameter values from - cannot be null
+     * @param out  where to write the JSON - cannot be null
+     * @throws IOException if the Appendable throws one.
+     * @throws IllegalArgumentException if either parameter is null.
+     * @throws IllegalArgumentException if two keys of a Map are written as the same JSON name (e.g. 1 and "1").
+     */
+    public void writeJson(final O thisObj, final Appendable out) throws IOException {
+        requireNonNull(thisObj, 1, "thisObj", "writeJson");
+        requireNonNull(out, 2, "out", "writeJson");
+        ParamListJsonWriter.write(this, thisObj, out);
+    }
+
+    /**
+     * Gets a JSON representation of the provided object.<br>
+     *
+     * @param thisObj  the object to get the parameter values from - cannot be null
+     * @return A String of JSON.
+     * @throws IllegalArgumentException if thisObj is null, or two keys of a Map are written as the same JSON name.
+     * @see #writeJson(Object, Appendable)
+     */
+    public String toJson(final O thisObj) {
+        requireNonNull(thisObj, 1, "thisObj", "toJson");
+        StringBuilder retval = new StringBuilder();
+        try {
+            ParamListJsonWriter.write(this, thisObj, retval);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return retval.toString();
+    }
+
+    /**
+     * Writes a canonical binary form of the equals-included parameters of the provided object into a ByteBuffer.<br>
+     *
+     * Two objects get the same bytes if, and only if, they are equal according to {@link #equals(Object, Object)}.
+     * This makes the bytes usable as a key in an off-heap cache without needing to read them back.
+     * Nested objects that have a registered ParamList (see {@link ParamListRegistry}) are written using their own equals-included parameters.
+     * Each value is written with a type tag: primitives are fixed-width, Strings are length-prefixed UTF-8,
+     * Lists are written in order, and Sets and Maps are written in a canonical order.<br>
+     *
+     * If there isn't enough room in the buffer, its position is left where it started.
+     *
+     * @param thisObj  the object to get the parameter values from - cannot be null
+     * @param out  where to write the bytes - cannot be null
+     * @return The number of bytes written.
+     * @throws IllegalArgumentException if either parameter is null, or if a parameter value cannot be encoded
+     *                                  (e.g. an array, or an object that contains itself).
+     * @throws java.nio.BufferOverflowException if there isn't enough room in the buffer.
+     */
+    public int encodeKey(final O thisObj, final ByteBuffer out) {
+        requireNonNull(thisObj, 1, "thisObj", "encodeKey");
+        requireNonNull(out, 2, "out", "encodeKey");
+        return ParamListKeyEncoder.encode(this, thisObj, out);
+    }
+
+    /**
+     * Gets a canonical binary form of the equals-included parameters of the provided object.<br>
+     *
+     * @param thisObj  the object to get the parameter values from - cannot be null
+     * @return A new byte array.
+     * @throws IllegalArgumentException if thisObj is null, or if a parameter value cannot be encoded.
+     * @see #encodeKey(Object, ByteBuffer)
+     */
+    public byte[] encodeKey(final O thisObj) {
+        requireNonNull(thisObj, 1, "thisObj", "encodeKey");
+        return ParamListKeyEncoder.encode(this, thisObj);
+    }
+
+    /**
+     * Estimates the number of bytes retained by the provided object.<br>
+     *
+     * Only the parameters in this ParamList are walked (no reflection is used), so it's cheap enough to use as a cache weigher.
+     * Nested objects that have a registered ParamList (see {@link ParamListRegistry}) are walked too,
+     * and each object is only counted once no matter how many times it's referenced.
+     * Sizes assume a 64-bit JVM with compressed references, so the result is only an approximation.
+     *
+     * @param thisObj  the object to get the parameter values from - cannot be null
+     * @return The estimated number of bytes.
+     * @throws IllegalArgumentException if thisObj is null.
+     */
+    public long estimateSize(final O thisObj) {
+        requireNonNull(thisObj, 1, "thisObj", "estimateSize");
+        return ParamListSizeEstimator.estimate(this, thisObj);
+    }
+
+    /**
+     * Finds all of the equals-included parameters that differ between two objects.<br>
+     *
+     * The parameter values are not kept in the result.
+     *
+     * @param before  the original object - cannot be null
+     * @param after  the changed object - cannot be null
+     * @return A {@link ParamListDiff} describing the changed parameters.
+     * @throws IllegalArgumentException if either object is null.
+     * @see #diff(Object, Object, boolean)
+     * @see #firstDifference(Object, Object)
+     */
+    public ParamListDiff<O> diff(final O before, final O after) {
+        return ParamListDiff.of(this, before, after, false);
+    }
+
+    /**
+     * Finds all of the equals-included parameters that differ between two objects.<br>
+     *
+     * Each parameter is compared the same way as in {@link #equals(Object, Object)},
+     * and the getter for each parameter is only called once per object.<br>
+     *
+     * @param before  the original object - cannot be null
+     * @param after  the changed object - cannot be null
+     * @param keepValues  whether or not to keep the old and new values of the changed parameters in the result
+     * @return A {@link ParamListDiff} describing the changed parameters.
+     * @throws IllegalArgumentException if either object is null.
+     * @see #firstDifference(Object, Object)
+     */
+    public ParamListDiff<O> diff(final O before, final O after, final boolean keepValues) {
+        return ParamListDiff.of(this, before, after, keepValues);
+    }
+
+    /**
+     * Finds the first equals-included parameter that differs between two objects.<br>
+     *
+     * As soon as one unequal parameter is found, the rest are skipped.<br>
+     *
+     * @param before  the original object - cannot be null
+     * @param after  the changed object - cannot be null
+     * @return The index (in {@link #getParamOrder()}) of the first parameter that differs, or -1 if none do.
+     * @throws IllegalArgumentException if either object is null.
+     * @see #diff(Object, Object)
+     */
+    public int firstDifference(final O before, final O after) {
+        requireNonNull(before, 1, "before", "firstDifference");
+        requireNonNull(after, 2, "after", "firstDifference");
+        if (before != after) {
+            for (int i = 0; i < equalsParams.length; i++) {
+                if (!ParamListDiff.paramIsEqual(before, after, equalsParams[i])) {
+                    return equalsParamIndexes[i];
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets a Comparator that orders objects using the parameters that are included in the equals method.<br>
+     *
+     * Parameters are compared in order, using the {@link ParamSortOrder} defined for each
+     * (see {@link ParamListBuilder#withSortOrder(String, ParamSortOrder)}).
+     * The comparator is created the first time this is called and re-used after that.<br>
+     *
+     * @return A Comparator that is consistent with {@link #equals(Object, Object)}.
+     * @throws IllegalStateException if any equals-included parameter cannot be ordered.
+     */
+    public Comparator<O> comparator() {
+        if (comparator == null) {
+            comparator = new ParamListComparator<>(this);
+        }
+        return comparator;
+    }
+
     /**
      * Creates a new ParamListBuilder based on this ParamList.<br>
      *
@@ -230,25 +796,61 @@ public class ParamList<O> {
         return new ParamListBuilder<C>(newParentClass, this, service);
     }
 
+    /**
+     * Gets a hash of the structure of this ParamList.<br>
+     *
+     * It covers the parent class, the parameters (in order), and the sort orders, all of which are fixed once
+     * a ParamList is created. So it's only worked out the first time it's needed, and kept after that.
+     * The service is left out since its config can change. ParamLists that are equal always have the same fingerprint.<br>
+     *
+     * It isn't worked out in the constructor because the ParamLists used by ParamDescriptions for their own hashCodes
+     * are created using ParamLists, and wouldn't exist yet.
+     *
+     * @return An int.
+     */
+    int getFingerprint() {
+        int retval = fingerprint;
+        if (retval == 0) {
+            retval = parentClass.hashCode();
+            for (String name : paramOrder) {
+                retval = 31 * retval + name.hashCode();
+                retval = 31 * retval + paramDescriptionMap.get(name).hashCode();
+            }
+            retval = 31 * retval + sortOrderMap.hashCode();
+            fingerprint = retval;
+        }
+        return retval;
+    }
+
     /**
      * equals method for a ParamList object.<br>
      *
+     * ParamLists with different fingerprints are known to be different without comparing all their parameters.
+     *
      * @param obj  the object to test against
      * @return True if this ParamList equals the provided object. False otherwise.
      */
     @Override
     public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof ParamList && ((ParamList<?>)obj).getFingerprint() != getFingerprint()) {
+            return false;
+        }
         return getParamList().equals(this, obj);
     }
 
     /**
      * hashCode method for a ParamList object.<br>
      *
+     * This is the fingerprint of the ParamList's structure, so it's only worked out once.
+     *
      * @return An int.
      */
     @Override
     public int hashCode() {
-        return getParamList().hashCode(this);
+        return getFingerprint();
     }
 
     /**
@@ -6,9 +6,11 @@ import static EasyOverrider.ParamUsage.TOSTRING_ONLY;
 import static EasyOverrider.ParamUsageRestriction.ALLOW_UNSAFE;
 import static EasyOverrider.ParamUsageRestriction.SAFE_ONLY;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -54,8 +56,14 @@ public class ParamListBuilder<O> {
 
     private final Class<O> parentClass;
     private ParamUsageRestriction paramUsageRestriction;
-    private final List<String> paramOrder;
-    private final Map<String, ParamDescription<? super O, ?>> paramDescriptionMap;
+    // A LinkedHashMap keeps the parameter order, so adding, replacing and removing by name are all constant time.
+    private final LinkedHashMap<String, ParamDescription<? super O, ?>> paramDescriptionMap;
+    // The ParamList being extended, as long as none of its parameters have been changed or removed.
+    // While set, the new ParamList shares this one's parameters instead of copying them.
+    private ParamList<? super O> sharedParamList;
+    // The parameter names in order, for equals and hashCode. Cleared whenever a parameter is added or removed.
+    private List<String> paramOrder;
+    private final Map<String, ParamSortOrder> sortOrderMap;
     private boolean usingServiceCalled = false;
     private ParamListService paramListService;
     private boolean configuredByCalled = false;
@@ -82,9 +90,11 @@ public class ParamListBuilder<O> {
                                  .withParam("paramUsageRestriction",
                                             (plb) -> plb.paramUsageRestriction,
                                             ParamUsageRestriction.class)
-                                 .withCollection("paramOrder", (plb) -> plb.paramOrder, List.class, String.class)
+                                 .withCollection("paramOrder", (plb) -> plb.getParamOrder(), List.class, String.class)
                                  .withMap("paramDescriptionMap", (plb) -> plb.paramDescriptionMap,
                                           Map.class, String.class, ParamDescription.class)
+                                 .withMap("sortOrderMap", (plb) -> plb.sortOrderMap,
+                                          Map.class, String.class, ParamSortOrder.class)
                                  .withParam("usingServiceCalled", (plb) -> plb.usingServiceCalled, Boolean.class)
                                  .withParam("paramListService", (plb) -> plb.paramListService, ParamListService.class)
                                  .withParam("configuredByCalled", (plb) -> plb.configuredByCalled, Boolean.class)
@@ -96,6 +106,20 @@ public class ParamListBuilder<O> {
         return paramList;
     }
 
+    /**
+     * Gets the names of the parameters in order.<br>
+     *
+     * The list is kept until a parameter is added or removed, so comparing or hashing a builder doesn't copy the names each time.
+     *
+     * @return An unmodifiable List of parameter names.
+     */
+    private List<String> getParamOrder() {
+        if (paramOrder == null) {
+            paramOrder = Collections.unmodifiableList(new ArrayList<>(paramDescriptionMap.keySet()));
+        }
+        return paramOrder;
+    }
+
     /**
      * Private constructor to do all the meat of the setting of stuff without any validation.<br>
      *
@@ -112,14 +136,17 @@ public class ParamListBuilder<O> {
                                               .map(ParamListService::getConfig)
                                               .orElse(null);
         this.parentClass = parentClass;
-        this.paramOrder = Optional.ofNullable(superParamList)
-                                  .map(ParamList::getParamOrder)
-                                  .map(LinkedList::new)
-                                  .orElseGet(LinkedList::new);
-        this.paramDescriptionMap = Optional.ofNullable(superParamList)
-                                           .map(ParamList::getParamDescriptionMap)
-                                           .map(HashMap<String, ParamDescription<? super O, ?>>::new)
-                                           .orElseGet(HashMap::new);
+        this.paramDescriptionMap = new LinkedHashMap<>();
+        this.sharedParamList = superParamList;
+        if (superParamList != null) {
+            for (ParamDescription<? super O, ?> paramDescription : superParamList.getAllParams()) {
+                paramDescriptionMap.put(paramDescription.getName(), paramDescription);
+            }
+        }
+        this.sortOrderMap = Optional.ofNullable(superParamList)
+                                    .map(ParamList::getSortOrderMap)
+                                    .map(HashMap<String, ParamSortOrder>::new)
+                                    .orElseGet(HashMap::new);
         this.paramUsageRestriction = SAFE_ONLY;
     }
 
@@ -164,7 +191,7 @@ public class ParamListBuilder<O> {
      * This method can only be called once for any ParamListBuilder.
      * Calling it a second time will result in an {@link IllegalStateException} being thrown.<br>
      *
-     * If this method is not called, the default {@link ParamListServiceImpl} is used.<br>
+     * If this method is not called, a shared {@link ParamListServiceImpl} is used (see {@link #andThatsIt()}).<br>
      *
      * @param paramListService  the ParamListService to use for the parameters and param list
      * @return The current ParamListBuilder.
@@ -451,7 +478,7 @@ public class ParamListBuilder<O> {
         requireNonNull(getter, 2, "getter", "withCollection");
         requireNonNull(paramClass, 3, "paramClass", "withCollection");
         requireNonNull(entryClass, 4, "entryClass", "withCollection");
-        addCollectionParam(paramClass, entryClass, name, getter, INCLUDED_IN_ALL);
+        addCollectionParam(paramClass, entryClass, name, getter, INCLUDED_IN_ALL, CollectionEquality.COLLECTION_EQUALS);
         return this;
     }
 
@@ -486,7 +513,72 @@ public class ParamListBuilder<O> {
         requireNonNull(paramUsage, 3, "paramUsage", "withCollection");
         requireNonNull(paramClass, 4, "paramClass", "withCollection");
         requireNonNull(entryClass, 5, "entryClass", "withCollection");
-        addCollectionParam(paramClass, entryClass, name, getter, paramUsage);
+        addCollectionParam(paramClass, entryClass, name, getter, paramUsage, CollectionEquality.COLLECTION_EQUALS);
+        return this;
+    }
+
+    /**
+     * Create a new ParamDescriptionCollection for a collection whose order doesn't matter,
+     * and add it to be included in the ParamList.<br>
+     *
+     * Uses the default paramUsage of {@link ParamUsage#INCLUDED_IN_ALL}
+     * and a {@link CollectionEquality} of {@link CollectionEquality#UNORDERED}.<br>
+     *
+     * @param name  the name of the parameter, e.g. "id" - cannot be null
+     * @param getter  the getter for the parameter, e.g. Product::getId - cannot be null
+     * @param paramClass  the class of the parameter in question - cannot be null
+     * @param entryClass  the class of the entries in the collection - cannot be null
+     * @param <P>  the type of the parameter (must be a {@link Collection} of some sort)
+     * @param <E>  the type of the entries in the parameter
+     * @return The current ParamListBuilder.
+     * @throws IllegalArgumentException if a ParamDescription with the same name has already been added to this builder.
+     * @throws IllegalArgumentException if any parameter is null.
+     * @see #withUnorderedCollection(String, Function, ParamUsage, Class, Class)
+     * @see #withCollection(String, Function, Class, Class)
+     */
+    @SuppressWarnings("unchecked")   //There's a comment at the top about why this is needed.
+    public <E, P extends Collection> ParamListBuilder<O> withUnorderedCollection(final String name, final Function<? super O, P> getter,
+                                                                                 final Class<P> paramClass, final Class<E> entryClass) {
+        requireNonNull(name, 1, "name", "withUnorderedCollection");
+        requireNonNull(getter, 2, "getter", "withUnorderedCollection");
+        requireNonNull(paramClass, 3, "paramClass", "withUnorderedCollection");
+        requireNonNull(entryClass, 4, "entryClass", "withUnorderedCollection");
+        addCollectionParam(paramClass, entryClass, name, getter, INCLUDED_IN_ALL, CollectionEquality.UNORDERED);
+        return this;
+    }
+
+    /**
+     * Create a new ParamDescriptionCollection for a collection whose order doesn't matter,
+     * and add it to be included in the ParamList.<br>
+     *
+     * Uses a {@link CollectionEquality} of {@link CollectionEquality#UNORDERED}.<br>
+     *
+     * @param name  the name of the parameter, e.g. "id" - cannot be null
+     * @param getter  the getter for the parameter, e.g. Product::getId - cannot be null
+     * @param paramUsage  the {@link ParamUsage} value indicating how this parameter should be used
+     *                                - cannot be null
+     * @param paramClass  the class of the parameter in question - cannot be null
+     * @param entryClass  the class of the entries in the collection - cannot be null
+     * @param <P>  the type of the parameter (must be a {@link Collection} of some sort)
+     * @param <E>  the type of the entries in the parameter
+     * @return The current ParamListBuilder
+     * @throws IllegalArgumentException if a ParamDescription with the same name has already been added to this builder.
+     * @throws IllegalArgumentException if any parameter is null.
+     * @throws IllegalArgumentException if the {@link ParamUsageRestriction} doesn't allow
+     *                                  the provided {@link ParamUsage}.
+     * @see #withUnorderedCollection(String, Function, Class, Class)
+     * @see #withCollection(String, Function, ParamUsage, Class, Class)
+     */
+    @SuppressWarnings("unchecked")   //There's a comment at the top about why this is needed.
+    public <E, P extends Collection> ParamListBuilder<O> withUnorderedCollection(final String name, final Function<? super O, P> getter,
+                                                                                 final ParamUsage paramUsage,
+                                                                                 final Class<P> paramClass, final Class<E> entryClass) {
+        requireNonNull(name, 1, "name", "withUnorderedCollection");
+        requireNonNull(getter, 2, "getter", "withUnorderedCollection");
+        requireNonNull(paramUsage, 3, "paramUsage", "withUnorderedCollection");
+        requireNonNull(paramClass, 4, "paramClass", "withUnorderedCollection");
+        requireNonNull(entryClass, 5, "entryClass", "withUnorderedCollection");
+        addCollectionParam(paramClass, entryClass, name, getter, paramUsage, CollectionEquality.UNORDERED);
         return this;
     }
 
@@ -498,6 +590,7 @@ public class ParamListBuilder<O> {
      * @param name  the name of the parameter, e.g. "id"
      * @param getter  the getter for the parameter, e.g. Product::getId
      * @param paramUsage  the {@link ParamUsage} value indicating how this parameter should be used
+     * @param collectionEquality  the {@link CollectionEquality} value indicating how collections are compared
      * @param <P>  the type of the parameter (must be a {@link Collection} of some sort)
      * @param <E>  the type of the entries in the parameter
      * @throws IllegalArgumentException if a ParamDescription with the same name has already been added to this builder.
@@ -506,8 +599,10 @@ public class ParamListBuilder<O> {
      */
     private <E, P extends Collection<? extends E>> void addCollectionParam(final Class<P> paramClass, final Class<E> entryClass,
                                                                            final String name, final Function<? super O, P> getter,
-                                                                           final ParamUsage paramUsage) {
-        addParam(new ParamDescriptionCollection<O, E, P>(parentClass, paramClass, entryClass, name, getter, paramUsage));
+                                                                           final ParamUsage paramUsage,
+                                                                           final CollectionEquality collectionEquality) {
+        addParam(new ParamDescriptionCollection<O, E, P>(parentClass, paramClass, entryClass, name, getter, paramUsage,
+                                                         collectionEquality));
     }
 
     /**
@@ -623,8 +718,33 @@ public class ParamListBuilder<O> {
             throw new IllegalArgumentException("A parameter named '" + name + "' already exists while trying to " +
                                                "build the ParamList for a " + parentClass.getCanonicalName());
         }
-        paramOrder.add(name);
         paramDescriptionMap.put(name, paramDescription);
+        paramOrder = null;
+    }
+
+    /**
+     * Adds several already-created parameters at once.<br>
+     *
+     * The parameters are added in the order provided, after any that are already defined.
+     * Each one is checked the same way as when added individually (e.g. using {@link #withParam(String, Function, Class)}).
+     * This is handy for generated classes with a lot of parameters.<br>
+     *
+     * @param paramDescriptions  the ParamDescriptions to add - cannot be null, and cannot contain nulls
+     * @return The current ParamListBuilder.
+     * @throws IllegalArgumentException if paramDescriptions is null or contains a null.
+     * @throws IllegalArgumentException if the {@link ParamUsageRestriction} doesn't allow one of the {@link ParamUsage}s.
+     * @throws IllegalArgumentException if any name has already been defined (or is in the collection twice).
+     * @see ParamDescriptionSingle
+     * @see ParamDescriptionCollection
+     * @see ParamDescriptionMap
+     */
+    public ParamListBuilder<O> withParams(final Collection<? extends ParamDescription<? super O, ?>> paramDescriptions) {
+        requireNonNull(paramDescriptions, 1, "paramDescriptions", "withParams");
+        for (ParamDescription<? super O, ?> paramDescription : paramDescriptions) {
+            requireNonNull(paramDescription, 1, "paramDescriptions entry", "withParams");
+            addParam(paramDescription);
+        }
+        return this;
     }
 
     /**
@@ -1015,6 +1135,18 @@ public class ParamListBuilder<O> {
                                                "build the ParamList for a " + parentClass.getCanonicalName());
         }
         paramDescriptionMap.replace(name, paramDescription);
+        stopSharingIfInherited(name);
+    }
+
+    /**
+     * Stops sharing the parameters of the ParamList being extended if the provided name is one of them.<br>
+     *
+     * @param name  the name of the parameter being changed or removed
+     */
+    private void stopSharingIfInherited(final String name) {
+        if (sharedParamList != null && sharedParamList.indexOf(name) >= 0) {
+            sharedParamList = null;
+        }
     }
 
     /**
@@ -1065,24 +1197,194 @@ public class ParamListBuilder<O> {
             throw new IllegalArgumentException("No parameter named '" + name + "' exists to be removed while trying to " +
                                                "build the ParamList for a " + parentClass.getCanonicalName());
         }
-        paramOrder.remove(name);
         paramDescriptionMap.remove(name);
+        paramOrder = null;
+        sortOrderMap.remove(name);
+        stopSharingIfInherited(name);
+        return this;
+    }
+
+    /**
+     * Removes several parameters at once.<br>
+     *
+     * @param names  the names of the parameters to remove - cannot be null, and cannot contain nulls
+     * @return The current ParamListBuilder.
+     * @throws IllegalArgumentException if names is null or contains a null.
+     * @throws IllegalArgumentException if any of the names is not defined.
+     * @see #withoutParam(String)
+     */
+    public ParamListBuilder<O> withoutParams(final Collection<String> names) {
+        requireNonNull(names, 1, "names", "withoutParams");
+        for (String name : names) {
+            requireNonNull(name, 1, "names entry", "withoutParams");
+            withoutParam(name);
+        }
+        return this;
+    }
+
+    /**
+     * Sets the ParamSortOrder to use for the parameter with the provided name in a {@link ParamList#comparator()}.<br>
+     *
+     * The parameter must already be defined. If this is not called for a parameter,
+     * {@link ParamSortOrder#ASCENDING_NULLS_FIRST} is used.
+     * Updating a parameter does not change its sort order. Removing a parameter removes its sort order too.<br>
+     *
+     * @param name  the name of the parameter - cannot be null
+     * @param sortOrder  the {@link ParamSortOrder} to use for the parameter - cannot be null
+     * @return The current ParamListBuilder.
+     * @throws IllegalArgumentException if either parameter is null.
+     * @throws IllegalArgumentException if the provided name is not already defined.
+     * @see ParamList#comparator()
+     */
+    public ParamListBuilder<O> withSortOrder(final String name, final ParamSortOrder sortOrder) {
+        requireNonNull(name, 1, "name", "withSortOrder");
+        requireNonNull(sortOrder, 2, "sortOrder", "withSortOrder");
+        if (!paramDescriptionMap.containsKey(name)) {
+            throw new IllegalArgumentException("No parameter named '" + name + "' exists to have a sort order while trying to " +
+                                               "build the ParamList for a " + parentClass.getCanonicalName());
+        }
+        sortOrderMap.put(name, sortOrder);
+        return this;
+    }
+
+    /**
+     * Limits how many entries of a collection or map parameter are included in the hashCode.<br>
+     *
+     * The parameter must already be defined, and must be a collection or map parameter.
+     * Once a value has more entries than the limit, a List only has its size and the entries at each end hashed,
+     * and any other collection or map only has its size hashed.
+     * This keeps hashCode consistent with equals, while keeping objects with huge collections usable in hash-based containers.<br>
+     *
+     * Updating the parameter afterwards replaces it, including this limit.<br>
+     *
+     * @param name  the name of the parameter - cannot be null
+     * @param hashedEntryLimit  the maximum number of entries to include in the hashCode - cannot be negative
+     * @return The current ParamListBuilder.
+     * @throws IllegalArgumentException if name is null, or hashedEntryLimit is negative.
+     * @throws IllegalArgumentException if the provided name is not already defined, or isn't a collection or map parameter.
+     * @see ParamDescriptionCollection#valueHashCode(Collection)
+     * @see ParamDescriptionMap#valueHashCode(Map)
+     */
+    public ParamListBuilder<O> withBoundedHashCode(final String name, final int hashedEntryLimit) {
+        requireNonNull(name, 1, "name", "withBoundedHashCode");
+        if (hashedEntryLimit < 0) {
+            throw new IllegalArgumentException("Argument 2 (hashedEntryLimit) provided to withBoundedHashCode cannot be negative.");
+        }
+        ParamDescription<? super O, ?> paramDescription = paramDescriptionMap.get(name);
+        if (paramDescription instanceof ParamDescriptionCollection) {
+            updateParam(((ParamDescriptionCollection<? super O, ?, ?>)paramDescription).withHashedEntryLimit(hashedEntryLimit));
+        } else if (paramDescription instanceof ParamDescriptionMap) {
+            updateParam(((ParamDescriptionMap<? super O, ?, ?, ?>)paramDescription).withHashedEntryLimit(hashedEntryLimit));
+        } else {
+            throw new IllegalArgumentException("No collection or map parameter named '" + name + "' exists to have a bounded " +
+                                               "hashCode while trying to build the ParamList for a " +
+                                               parentClass.getCanonicalName());
+        }
+        return this;
+    }
+
+    /**
+     * Sets how many different values of a parameter can have their formatted toString pieces cached.<br>
+     *
+     * The parameter must already be defined, and can't be a collection or map parameter.
+     * This is only correct for values whose toString never changes, and where equal values always have the same toString
+     * (e.g. a small set of status codes). Enum and Boolean parameters are already cached without calling this,
+     * and a limit of 0 turns that off.<br>
+     *
+     * Updating the parameter afterwards replaces it, including this limit.<br>
+     *
+     * @param name  the name of the parameter - cannot be null
+     * @param toStringCacheLimit  the maximum number of values to cache - cannot be negative
+     * @return The current ParamListBuilder.
+     * @throws IllegalArgumentException if name is null, or toStringCacheLimit is negative.
+     * @throws IllegalArgumentException if the provided name is not already defined, or is a collection or map parameter.
+     * @see ParamDescription#getToStringCacheLimit()
+     */
+    public ParamListBuilder<O> withToStringCacheLimit(final String name, final int toStringCacheLimit) {
+        requireNonNull(name, 1, "name", "withToStringCacheLimit");
+        if (toStringCacheLimit < 0) {
+            throw new IllegalArgumentException("Argument 2 (toStringCacheLimit) provided to withToStringCacheLimit cannot be negative.");
+        }
+        ParamDescription<? super O, ?> paramDescription = paramDescriptionMap.get(name);
+        if (!(paramDescription instanceof ParamDescriptionSingle)) {
+            throw new IllegalArgumentException("No single-value parameter named '" + name + "' exists to have its toString " +
+                                               "cached while trying to build the ParamList for a " +
+                                               parentClass.getCanonicalName());
+        }
+        updateParam(((ParamDescriptionSingle<? super O, ?>)paramDescription).withToStringCacheLimit(toStringCacheLimit));
+        return this;
+    }
+
+    /**
+     * Makes an array parameter get compared (and hashed) by its contents instead of by identity.<br>
+     *
+     * The parameter must already be defined, and its class must be an array class.
+     * Arrays of arrays are compared deeply, using {@link java.util.Objects#deepEquals(Object, Object)}.
+     * Parameters found by {@link ParamListDeriver} are already set up this way.<br>
+     *
+     * Updating the parameter afterwards replaces it, so it goes back to being compared by identity.<br>
+     *
+     * @param name  the name of the parameter - cannot be null
+     * @return The current ParamListBuilder.
+     * @throws IllegalArgumentException if name is null.
+     * @throws IllegalArgumentException if the provided name is not already defined as a single-value array parameter.
+     * @see ParamDescriptionSingle#isComparingArrayContents()
+     */
+    public ParamListBuilder<O> withArrayContentsCompared(final String name) {
+        requireNonNull(name, 1, "name", "withArrayContentsCompared");
+        ParamDescription<? super O, ?> paramDescription = paramDescriptionMap.get(name);
+        if (!(paramDescription instanceof ParamDescriptionSingle) || !paramDescription.getParamClass().isArray()) {
+            throw new IllegalArgumentException("No array parameter named '" + name + "' exists to have its contents " +
+                                               "compared while trying to build the ParamList for a " +
+                                               parentClass.getCanonicalName());
+        }
+        updateParam(((ParamDescriptionSingle<? super O, ?>)paramDescription).withArrayContentsCompared(true));
         return this;
     }
 
     /**
      * Finalizes the builder and returns the final ParamList.<br>
      *
+     * If this builder was started using {@link ParamList#extendedBy(Class)}, and none of the original parameters were
+     * updated or removed, the new ParamList shares the original's parameters instead of copying them.<br>
+     *
+     * If no service was provided using {@link #usingService(ParamListService)}, a shared service is used instead of a new one.
+     * Every ParamList without a config uses the same default service, and every ParamList given a config with the same values
+     * (using {@link #configuredBy(ParamListServiceConfig)}) uses the same service.
+     * Shared services and their configs can't be changed, so a config given to a builder started with
+     * {@link ParamList#extendedBy(Class)} only goes to the original ParamList's service if that service isn't shared.
+     *
      * @return a ParamList object.
      */
     public ParamList<O> andThatsIt() {
-        if (paramListService == null) {
-            paramListService = new ParamListServiceImpl();
-        }
-        if (paramListServiceConfig != null) {
+        if (paramListService == null || (configuredByCalled && isShared(paramListService))) {
+            paramListService = ParamListServiceImpl.forConfig(configuredByCalled ? paramListServiceConfig : null);
+        } else if (configuredByCalled) {
             paramListService.setConfig(paramListServiceConfig);
         }
-        return new ParamList<O>(parentClass, paramDescriptionMap, paramOrder, paramListService);
+        if (sharedParamList == null) {
+            return new ParamList<O>(parentClass, paramDescriptionMap, new ArrayList<>(paramDescriptionMap.keySet()),
+                                    paramListService, sortOrderMap);
+        }
+        Map<String, ParamDescription<? super O, ?>> addedParams = new LinkedHashMap<>();
+        for (Map.Entry<String, ParamDescription<? super O, ?>> entry : paramDescriptionMap.entrySet()) {
+            if (sharedParamList.indexOf(entry.getKey()) < 0) {
+                addedParams.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return new ParamList<O>(parentClass, sharedParamList, addedParams, new ArrayList<>(addedParams.keySet()),
+                                paramListService, sortOrderMap);
+    }
+
+    /**
+     * Checks whether or not a service is one of the shared ones.<br>
+     *
+     * @param service  the service to check - assumed not null
+     * @return True if the service is shared. False otherwise.
+     * @see ParamListServiceImpl#forConfig(ParamListServiceConfig)
+     */
+    private static boolean isShared(final ParamListService service) {
+        return service instanceof ParamListServiceImpl && ((ParamListServiceImpl)service).isShared();
     }
 
     /**
@@ -0,0 +1,259 @@
+package EasyOverrider;
+
+import static EasyOverrider.EasyOverriderUtils.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A Comparator that orders objects using the equals-included parameters of a {@link ParamList}.<br>
+ *
+ * The parameters are compared lexicographically in the order defined in the ParamList.
+ * As soon as one parameter differs, the rest are skipped.
+ * Each parameter is ordered according to its {@link ParamSortOrder} (default {@link ParamSortOrder#ASCENDING_NULLS_FIRST}).<br>
+ *
+ * The comparison used for each parameter is chosen once, when this comparator is created:
+ * <ul>
+ * <li>Primitive wrapper classes are compared using their primitive <code>compare</code> methods.
+ * <li>Other {@link Comparable} classes are compared using <code>compareTo</code>.
+ * <li>{@link List} collection parameters with {@link Comparable} entries are compared entry by entry, then by size.
+ * <li>{@link CollectionEquality#UNORDERED} collection parameters with {@link Comparable} entries are compared
+ *     the same way, using sorted copies of them, so that the order of the entries doesn't matter.
+ * </ul>
+ * Any other equals-included parameter cannot be ordered consistently with equals,
+ * so an {@link IllegalStateException} is thrown when trying to create the comparator.<br>
+ *
+ * This ordering is consistent with {@link ParamList#equals(Object, Object)}
+ * as long as the natural ordering of each parameter is consistent with its equals method.
+ * This is the case for the primitive wrappers, String, enums, and most other JDK value classes.
+ *
+ * @param <O>  the type of object being compared
+ */
+class ParamListComparator<O> implements Comparator<O> {
+
+    private final ParamComparison<O>[] comparisons;
+
+    /**
+     * Compares a single parameter in two objects.<br>
+     *
+     * @param <O>  the type of object being compared
+     */
+    @FunctionalInterface
+    private interface ParamComparison<O> {
+        int compare(O thisO, O thatO);
+    }
+
+    /**
+     * Compares two non-null parameter values.<br>
+     *
+     * @param <P>  the type of the parameter values
+     */
+    @FunctionalInterface
+    private interface ValueComparison<P> {
+        int compare(P thisP, P thatP);
+    }
+
+    /**
+     * Constructor for a ParamListComparator.<br>
+     *
+     * @param paramList  the ParamList describing the objects to compare - cannot be null
+     * @throws IllegalArgumentException if the provided paramList is null.
+     * @throws IllegalStateException if any equals-included parameter cannot be ordered.
+     */
+    @SuppressWarnings("unchecked")
+    ParamListComparator(final ParamList<O> paramList) {
+        requireNonNull(paramList, 1, "paramList", "ParamListComparator constructor");
+        List<ParamComparison<O>> comparisonList = new ArrayList<>();
+        List<String> unorderable = new ArrayList<>();
+        for (ParamDescription<? super O, ?> paramDescription : paramList.getEqualsParams()) {
+            String name = paramDescription.getName();
+            ParamComparison<O> comparison = createComparison(paramDescription, paramList.getSortOrder(name));
+            if (comparison == null) {
+                unorderable.add(name);
+            } else {
+                comparisonList.add(comparison);
+            }
+        }
+        if (!unorderable.isEmpty()) {
+            throw new IllegalStateException("Cannot create a comparator for " + paramList.getParentClass().getCanonicalName() +
+                                            " because the following parameters cannot be ordered: " +
+                                            String.join(", ", unorderable));
+        }
+        this.comparisons = comparisonList.toArray(new ParamComparison[0]);
+    }
+
+    /**
+     * Compares two objects using the equals-included parameters.<br>
+     *
+     * @param thisO  the first object to compare - cannot be null
+     * @param thatO  the second object to compare - cannot be null
+     * @return A negative int, zero, or a positive int as the first object is less than, equal to, or greater than the second.
+     * @throws IllegalArgumentException if either object is null.
+     */
+    @Override
+    public int compare(final O thisO, final O thatO) {
+        if (thisO == thatO) {
+            return 0;
+        }
+        requireNonNull(thisO, 1, "thisO", "compare");
+        requireNonNull(thatO, 2, "thatO", "compare");
+        for (ParamComparison<O> comparison : comparisons) {
+            int result = comparison.compare(thisO, thatO);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Creates the comparison for a single parameter, handling nulls and direction.<br>
+     *
+     * @param paramDescription  the description of the parameter - assumed not null
+     * @param sortOrder  the sort order to use for the parameter - assumed not null
+     * @param <O>  the type of object being compared
+     * @param <P>  the type of the parameter
+     * @return A ParamComparison, or null if the parameter cannot be ordered.
+     */
+    private static <O, P> ParamComparison<O> createComparison(final ParamDescription<? super O, P> paramDescription,
+                                                              final ParamSortOrder sortOrder) {
+        ValueComparison<P> valueComparison = createValueComparison(paramDescription);
+        if (valueComparison == null) {
+            return null;
+        }
+        Function<? super O, P> getter = paramDescription.getGetter();
+        boolean descending = sortOrder.isDescending();
+        int nullResult = sortOrder.isNullsFirst() ? -1 : 1;
+        return (thisO, thatO) -> {
+            P thisP = getter.apply(thisO);
+            P thatP = getter.apply(thatO);
+            if (thisP == thatP) {
+                return 0;
+            }
+            if (thisP == null) {
+                return nullResult;
+            }
+            if (thatP == null) {
+                return -nullResult;
+            }
+            return descending ? valueComparison.compare(thatP, thisP) : valueComparison.compare(thisP, thatP);
+        };
+    }
+
+    /**
+     * Picks the comparison to use on non-null values of a parameter.<br>
+     *
+     * @param paramDescription  the description of the parameter - assumed not null
+     * @param <P>  the type of the parameter
+     * @return A ValueComparison, or null if the parameter cannot be ordered.
+     */
+    @SuppressWarnings("unchecked")
+    private static <P> ValueComparison<P> createValueComparison(final ParamDescription<?, P> paramDescription) {
+        Class<P> paramClass = paramDescription.getParamClass();
+        if (paramDescription instanceof ParamDescriptionCollection) {
+            ParamDescriptionCollection<?, ?, ?> collectionDescription = (ParamDescriptionCollection<?, ?, ?>)paramDescription;
+            if (!Comparable.class.isAssignableFrom(collectionDescription.getEntryClass())) {
+                return null;
+            }
+            if (collectionDescription.getCollectionEquality() == CollectionEquality.UNORDERED) {
+                return (ValueComparison<P>)(ValueComparison<Collection<Comparable>>)ParamListComparator::compareSortedCopies;
+            }
+            if (List.class.isAssignableFrom(paramClass)) {
+                return (ValueComparison<P>)(ValueComparison<List<Comparable>>)ParamListComparator::compareLists;
+            }
+            return null;
+        }
+        if (paramDescription instanceof ParamDescriptionMap) {
+            return null;
+        }
+        ValueComparison<?> valueComparison;
+        if (paramClass == Integer.class) {
+            valueComparison = (ValueComparison<Integer>)(x, y) -> Integer.compare(x, y);
+        } else if (paramClass == Long.class) {
+            valueComparison = (ValueComparison<Long>)(x, y) -> Long.compare(x, y);
+        } else if (paramClass == Boolean.class) {
+            valueComparison = (ValueComparison<Boolean>)(x, y) -> Boolean.compare(x, y);
+        } else if (paramClass == Double.class) {
+            valueComparison = (ValueComparison<Double>)(x, y) -> Double.compare(x, y);
+        } else if (paramClass == Float.class) {
+            valueComparison = (ValueComparison<Float>)(x, y) -> Float.compare(x, y);
+        } else if (paramClass == Short.class) {
+            valueComparison = (ValueComparison<Short>)(x, y) -> Short.compare(x, y);
+        } else if (paramClass == Byte.class) {
+            valueComparison = (ValueComparison<Byte>)(x, y) -> Byte.compare(x, y);
+        } else if (paramClass == Character.class) {
+            valueComparison = (ValueComparison<Character>)(x, y) -> Character.compare(x, y);
+        } else if (paramClass == String.class) {
+            valueComparison = (ValueComparison<String>)String::compareTo;
+        } else if (Comparable.class.isAssignableFrom(paramClass)) {
+            valueComparison = (ValueComparison<Comparable>)(x, y) -> x.compareTo(y);
+        } else {
+            return null;
+        }
+        return (ValueComparison<P>)valueComparison;
+    }
+
+    /**
+     * Compares two collections whose entry order doesn't matter, by comparing sorted copies of them.<br>
+     *
+     * Collections with the same entries, each appearing the same number of times, compare as 0 no matter their order,
+     * which matches {@link CollectionEquality#UNORDERED}. Null entries are sorted first.<br>
+     *
+     * @param thisCollection  the first collection - assumed not null
+     * @param thatCollection  the second collection - assumed not null
+     * @return A negative int, zero, or a positive int as the first collection is less than, equal to, or greater than the second.
+     */
+    private static int compareSortedCopies(final Collection<Comparable> thisCollection,
+                                           final Collection<Comparable> thatCollection) {
+        return compareLists(sortedCopy(thisCollection), sortedCopy(thatCollection));
+    }
+
+    /**
+     * Copies a collection into a new list sorted by natural order, with null entries first.<br>
+     *
+     * @param collection  the collection to copy - assumed not null
+     * @return A new List.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Comparable> sortedCopy(final Collection<Comparable> collection) {
+        List<Comparable> retval = new ArrayList<>(collection);
+        retval.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+        return retval;
+    }
+
+    /**
+     * Compares two lists entry by entry, then by size.<br>
+     *
+     * Null entries come before non-null entries.<br>
+     *
+     * @param thisList  the first list - assumed not null
+     * @param thatList  the second list - assumed not null
+     * @return A negative int, zero, or a positive int as the first list is less than, equal to, or greater than the second.
+     */
+    @SuppressWarnings("unchecked")
+    private static int compareLists(final List<Comparable> thisList, final List<Comparable> thatList) {
+        Iterator<Comparable> thisIterator = thisList.iterator();
+        Iterator<Comparable> thatIterator = thatList.iterator();
+        while (thisIterator.hasNext() && thatIterator.hasNext()) {
+            Comparable thisEntry = thisIterator.next();
+            Comparable thatEntry = thatIterator.next();
+            if (thisEntry != thatEntry) {
+                if (thisEntry == null) {
+                    return -1;
+                }
+                if (thatEntry == null) {
+                    return 1;
+                }
+                int result = thisEntry.compareTo(thatEntry);
+                if (result != 0) {
+                    return result;
+                }
+            }
+        }
+        return Boolean.compare(thisIterator.hasNext(), thatIterator.hasNext());
+    }
+}
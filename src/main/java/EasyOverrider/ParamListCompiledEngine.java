@@ -0,0 +1,384 @@
+package EasyOverrider;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * A version of the equals, hashCode and toString methods specialized to one ParamList and one toString render plan.<br>
+ *
+ * {@link ParamListServiceImpl} loops over a ParamList's parameters, asking each ParamDescription for its getter
+ * and working out how to compare, hash and format each value every call. This works all of that out once:<br>
+ *
+ * <ul>
+ * <li>Each equals and hashCode parameter gets one small function with its getter already bound.
+ *     Parameters described by a plain, non-array {@link ParamDescriptionSingle} use {@link Objects#equals(Object, Object)}
+ *     and {@link Objects#hashCode(Object)} directly instead of going through the ParamDescription.</li>
+ * <li>Each toString parameter of a plain {@link ParamDescriptionSingle} whose class is final, isn't an array,
+ *     isn't a {@link RecursionPreventingToString}, has no {@link ValueRenderer}, and doesn't cache its formatted pieces,
+ *     is appended from constants. The delimiter, name and value wrapping around it are joined into one String
+ *     before and one String after the value, so only the value's own toString is left to do.
+ *     Every other parameter is handed back to the service to append the usual way.</li>
+ * <li>When every toString parameter can be compiled, the whole result is put together in one step
+ *     by a {@link ParamListPlatform#concatenator(String[])}, with the format's literal text, the class name,
+ *     the delimiters, and the parameter names all in its constants.
+ *     Only the hash code, the values, and whether each value is wrapped are left as arguments.</li>
+ * </ul>
+ *
+ * The results are always the same as the service's. The toString part is only correct for the render plan
+ * (and so the config values) it was compiled for. See {@link #getToStringPlan()}.<br>
+ *
+ * Building one takes a little time and memory, so a ParamList only does it once it's been used enough,
+ * and it's done on a single shared background thread. See {@link ParamList#getCompiledEngine(ParamListServiceConfig)}
+ * and {@link ParamListServiceConfig#setCompilationThreshold(int)}.
+ *
+ * @param <O>  the type of the object
+ */
+final class ParamListCompiledEngine<O> {
+
+    private static final ExecutorService COMPILER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "EasyOverrider-ParamList-compiler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final BiPredicate<O, O>[] equalsSteps;
+    private final ToIntFunction<O>[] hashCodeSteps;
+    private final ParamListRenderPlan toStringPlan;
+    private final Function<? super O, ?>[] toStringGetters;
+    private final Class<?>[] toStringClasses;
+    private final String[] leads;
+    private final String[] tails;
+    private final String[] wrappedLeads;
+    private final String[] wrappedTails;
+    private final String stringForNull;
+    private final String stringForRecursionPrevented;
+    private final String stringForEmptyParamList;
+    private final String valuePrefix;
+    private final String valueSuffix;
+    private final Function<String[], String> concatenator;
+    private final int concatenatorArgCount;
+
+    /**
+     * Constructor for a ParamListCompiledEngine.<br>
+     *
+     * @param paramList  the ParamList to compile - assumed not null
+     * @param toStringPlan  the render plan for the ParamList's toString parameters to compile toString for - assumed not null
+     */
+    ParamListCompiledEngine(final ParamList<O> paramList, final ParamListRenderPlan toStringPlan) {
+        ParamDescription<? super O, ?>[] equalsParams = paramList.getEqualsParams();
+        ParamDescription<? super O, ?>[] hashCodeParams = paramList.getHashCodeParams();
+        ParamDescription<? super O, ?>[] toStringParams = paramList.getToStringParams();
+        this.equalsSteps = newEqualsSteps(equalsParams.length);
+        for (int i = 0; i < equalsParams.length; i++) {
+            equalsSteps[i] = equalsStep(equalsParams[i]);
+        }
+        this.hashCodeSteps = newHashCodeSteps(hashCodeParams.length);
+        for (int i = 0; i < hashCodeParams.length; i++) {
+            hashCodeSteps[i] = hashCodeStep(hashCodeParams[i]);
+        }
+        ParamListServiceConfigSnapshot settings = toStringPlan.getSettings();
+        this.toStringPlan = toStringPlan;
+        this.toStringGetters = newGetters(toStringParams.length);
+        this.toStringClasses = new Class<?>[toStringParams.length];
+        this.leads = new String[toStringParams.length];
+        this.tails = new String[toStringParams.length];
+        this.wrappedLeads = new String[toStringParams.length];
+        this.wrappedTails = new String[toStringParams.length];
+        this.stringForNull = settings.getStringForNull();
+        this.stringForRecursionPrevented = settings.getStringForRecursionPrevented();
+        this.stringForEmptyParamList = settings.getStringForEmptyParamList();
+        this.valuePrefix = toStringPlan.getValuePrefix();
+        this.valueSuffix = toStringPlan.getValueSuffix();
+        boolean allCompiled = toStringPlan.isUsable();
+        if (toStringPlan.isUsable()) {
+            for (int i = 0; i < toStringParams.length; i++) {
+                if (isConstantWrapped(settings, toStringPlan, i, toStringParams[i])) {
+                    toStringGetters[i] = toStringParams[i].getGetter();
+                    toStringClasses[i] = toStringParams[i].getParamClass();
+                    leads[i] = (i > 0 ? settings.getParameterDelimiter() : "") + toStringPlan.getNamePrefix(i);
+                    tails[i] = toStringPlan.getNameSuffix(i);
+                    wrappedLeads[i] = leads[i] + valuePrefix;
+                    wrappedTails[i] = valueSuffix + tails[i];
+                } else {
+                    allCompiled = false;
+                }
+            }
+        }
+        if (allCompiled) {
+            String[] constants = concatenatorConstants();
+            this.concatenator = ParamListPlatform.concatenator(constants);
+            this.concatenatorArgCount = constants.length - 1;
+        } else {
+            this.concatenator = null;
+            this.concatenatorArgCount = 0;
+        }
+    }
+
+    /**
+     * Compiles a ParamList on the shared background thread.<br>
+     *
+     * @param task  the work to do - assumed not null
+     * @return A Future that completes once the task is done.
+     */
+    static Future<?> compileInBackground(final Runnable task) {
+        return COMPILER.submit(task);
+    }
+
+    /**
+     * Gets the render plan the toString part of this engine was compiled for.<br>
+     *
+     * {@link #appendParams(Object, StringBuilder, ObjIntConsumer)} must only be used with this plan.
+     *
+     * @return A ParamListRenderPlan.
+     */
+    ParamListRenderPlan getToStringPlan() {
+        return toStringPlan;
+    }
+
+    /**
+     * Checks to see if two objects have equal parameters.<br>
+     *
+     * @param thisO  the first object - assumed not null
+     * @param thatO  the second object - assumed not null, and not the same object as thisO
+     * @return True if all the equals-included parameters are equal. False otherwise.
+     */
+    boolean equals(final O thisO, final O thatO) {
+        for (BiPredicate<O, O> equalsStep : equalsSteps) {
+            if (!equalsStep.test(thisO, thatO)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the hashCode of an object.<br>
+     *
+     * @param thisO  the object - assumed not null
+     * @return The same value as {@link ParamListServiceImpl#hashCode(Object, ParamList)} gives without registry dispatching.
+     */
+    int hashCode(final O thisO) {
+        int result = 1;
+        for (ToIntFunction<O> hashCodeStep : hashCodeSteps) {
+            result = 31 * result + hashCodeStep.applyAsInt(thisO);
+        }
+        return result;
+    }
+
+    /**
+     * Creates the whole toString result of an object in one step, for the render plan this was compiled for.<br>
+     *
+     * This is only possible when every toString parameter was compiled, and every value is exactly its parameter's class.
+     * Otherwise null is returned, and the result should be put together with
+     * {@link #appendParams(Object, StringBuilder, ObjIntConsumer)} instead.
+     *
+     * @param obj  the object being converted to a String - assumed not null
+     * @param hashCode  the hash code String - assumed not null
+     * @return The toString result, or null if it can't be created in one step.
+     */
+    String concatenate(final O obj, final String hashCode) {
+        if (concatenator == null) {
+            return null;
+        }
+        String[] args = new String[concatenatorArgCount];
+        int arg = 0;
+        boolean[] slotIsHashCode = toStringPlan.getSlotIsHashCode();
+        for (boolean isHashCode : slotIsHashCode) {
+            if (isHashCode) {
+                args[arg++] = hashCode;
+                continue;
+            }
+            for (int i = 0; i < toStringGetters.length; i++) {
+                Object value = toStringGetters[i].apply(obj);
+                if (value == null) {
+                    args[arg++] = "";
+                    args[arg++] = stringForNull;
+                    args[arg++] = "";
+                } else if (value.getClass() != toStringClasses[i]) {
+                    return null;
+                } else {
+                    String valueString = value.toString();
+                    boolean unwrapped = valueString.equals(stringForNull) || valueString.equals(stringForRecursionPrevented);
+                    args[arg++] = unwrapped ? "" : valuePrefix;
+                    args[arg++] = valueString;
+                    args[arg++] = unwrapped ? "" : valueSuffix;
+                }
+            }
+        }
+        return concatenator.apply(args);
+    }
+
+    /**
+     * Appends the parameters String of an object's toString, for the render plan this was compiled for.<br>
+     *
+     * Parameters that weren't compiled, and values that aren't exactly the parameter's class,
+     * are passed to the provided appender along with their index. It must append the delimiter (if the index isn't 0)
+     * and the parameter the same way the service does without a compiled engine.
+     *
+     * @param obj  the object being converted to a String - assumed not null
+     * @param output  the StringBuilder to append to - assumed not null
+     * @param uncompiledAppender  appends a parameter that wasn't compiled - assumed not null
+     */
+    void appendParams(final O obj, final StringBuilder output, final ObjIntConsumer<StringBuilder> uncompiledAppender) {
+        if (toStringGetters.length == 0) {
+            output.append(stringForEmptyParamList);
+            return;
+        }
+        for (int i = 0; i < toStringGetters.length; i++) {
+            if (toStringGetters[i] == null) {
+                uncompiledAppender.accept(output, i);
+                continue;
+            }
+            Object value = toStringGetters[i].apply(obj);
+            if (value == null) {
+                output.append(leads[i]).append(stringForNull).append(tails[i]);
+            } else if (value.getClass() != toStringClasses[i]) {
+                uncompiledAppender.accept(output, i);
+            } else {
+                String valueString = value.toString();
+                if (valueString.equals(stringForNull) || valueString.equals(stringForRecursionPrevented)) {
+                    output.append(leads[i]).append(valueString).append(tails[i]);
+                } else {
+                    output.append(wrappedLeads[i]).append(valueString).append(wrappedTails[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Works out the constant pieces of the toString result, for when every toString parameter was compiled.<br>
+     *
+     * The arguments that go between them are the hash code String for each hash code slot,
+     * and three for each parameter in each parameters slot: the value prefix (or nothing), the value String,
+     * and the value suffix (or nothing). Everything else, including the parameter names and delimiters, is constant.
+     *
+     * @return An array with one more constant than there are arguments.
+     */
+    private String[] concatenatorConstants() {
+        List<String> constants = new ArrayList<>();
+        String[] literals = toStringPlan.getLiterals();
+        boolean[] slotIsHashCode = toStringPlan.getSlotIsHashCode();
+        StringBuilder pending = new StringBuilder();
+        for (int slot = 0; slot < slotIsHashCode.length; slot++) {
+            pending.append(literals[slot]);
+            if (slotIsHashCode[slot]) {
+                constants.add(pending.toString());
+                pending.setLength(0);
+            } else if (toStringGetters.length == 0) {
+                pending.append(stringForEmptyParamList);
+            } else {
+                for (int i = 0; i < toStringGetters.length; i++) {
+                    constants.add(pending.append(leads[i]).toString());
+                    constants.add("");
+                    constants.add("");
+                    pending.setLength(0);
+                    pending.append(tails[i]);
+                }
+            }
+        }
+        constants.add(pending.append(literals[slotIsHashCode.length]).toString());
+        return constants.toArray(new String[0]);
+    }
+
+    /**
+     * Checks whether or not a toString parameter can be appended from constants and its value's own toString.<br>
+     *
+     * @param settings  the config values the plan is for - assumed not null
+     * @param plan  the usable render plan - assumed not null
+     * @param index  the index of the parameter
+     * @param paramDescription  the parameter - assumed not null
+     * @return True if the parameter can be compiled. False if the service needs to append it.
+     */
+    private static boolean isConstantWrapped(final ParamListServiceConfigSnapshot settings, final ParamListRenderPlan plan,
+                                             final int index, final ParamDescription<?, ?> paramDescription) {
+        Class<?> paramClass = paramDescription.getParamClass();
+        return paramDescription.getClass() == ParamDescriptionSingle.class
+               && Modifier.isFinal(paramClass.getModifiers())
+               && !paramClass.isPrimitive()
+               && !paramClass.isArray()
+               && !RecursionPreventingToString.class.isAssignableFrom(paramClass)
+               && !plan.isCachingFragments(index)
+               && settings.getValueRenderer(paramClass) == null;
+    }
+
+    /**
+     * Creates the function that compares one parameter of two objects.<br>
+     *
+     * @param paramDescription  the parameter - assumed not null
+     * @param <O>  the type of the object
+     * @param <P>  the type of the parameter
+     * @return A BiPredicate.
+     */
+    private static <O, P> BiPredicate<O, O> equalsStep(final ParamDescription<? super O, P> paramDescription) {
+        final Function<? super O, P> getter = paramDescription.getGetter();
+        if (paramDescription.getClass() == ParamDescriptionSingle.class && !paramDescription.getParamClass().isArray()) {
+            return (thisO, thatO) -> Objects.equals(getter.apply(thisO), getter.apply(thatO));
+        }
+        return (thisO, thatO) -> {
+            P thisP = getter.apply(thisO);
+            P thatP = getter.apply(thatO);
+            return thisP == thatP || paramDescription.valuesAreEqual(thisP, thatP);
+        };
+    }
+
+    /**
+     * Creates the function that gets the hashCode of one parameter of an object.<br>
+     *
+     * @param paramDescription  the parameter - assumed not null
+     * @param <O>  the type of the object
+     * @param <P>  the type of the parameter
+     * @return A ToIntFunction.
+     */
+    private static <O, P> ToIntFunction<O> hashCodeStep(final ParamDescription<? super O, P> paramDescription) {
+        final Function<? super O, P> getter = paramDescription.getGetter();
+        if (paramDescription.getClass() == ParamDescriptionSingle.class && !paramDescription.getParamClass().isArray()) {
+            return (thisO) -> Objects.hashCode(getter.apply(thisO));
+        }
+        return (thisO) -> paramDescription.valueHashCode(getter.apply(thisO));
+    }
+
+    /**
+     * Creates the array to hold the equals steps.<br>
+     *
+     * @param length  the number of parameters
+     * @param <O>  the type of the object
+     * @return An array of nulls.
+     */
+    @SuppressWarnings("unchecked")
+    private static <O> BiPredicate<O, O>[] newEqualsSteps(final int length) {
+        return new BiPredicate[length];
+    }
+
+    /**
+     * Creates the array to hold the hashCode steps.<br>
+     *
+     * @param length  the number of parameters
+     * @param <O>  the type of the object
+     * @return An array of nulls.
+     */
+    @SuppressWarnings("unchecked")
+    private static <O> ToIntFunction<O>[] newHashCodeSteps(final int length) {
+        return new ToIntFunction[length];
+    }
+
+    /**
+     * Creates the array to hold the getters of the compiled toString parameters.<br>
+     *
+     * @param length  the number of parameters
+     * @param <O>  the type of the object
+     * @return An array of nulls.
+     */
+    @SuppressWarnings("unchecked")
+    private static <O> Function<? super O, ?>[] newGetters(final int length) {
+        return new Function[length];
+    }
+}
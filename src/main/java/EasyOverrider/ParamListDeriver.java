@@ -0,0 +1,190 @@
+package EasyOverrider;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Creates ParamLists by looking at the fields (or record components) of a class.<br>
+ *
+ * This is used by {@link ParamList#derive(Class)}.
+ * Each class is only looked at once. The resulting ParamList is kept using a {@link ClassValue}.<br>
+ *
+ * For a normal class, every non-static, non-transient, non-synthetic field is used, including inherited ones,
+ * except for fields holding a ParamList.
+ * Superclass fields come first. If a field hides one with the same name in a superclass, only the subclass's field is used.
+ * For a record (Java 16 or later), the record components are used in order, through their accessor methods.<br>
+ *
+ * Each getter is created once, so there is no reflection when the getter is used.
+ * On Java 17 or later, record accessors are called through a Function spun by LambdaMetafactory, like a method reference.
+ * Fields (and accessors whose class isn't open to EasyOverrider) are read through a {@link MethodHandle}
+ * that isn't a constant, so the JIT can't inline it as well as a hand-written getter.
+ * How those handles are created depends on the Java version (see {@link ParamListPlatform}).
+ * Array fields are compared by their contents, as if {@link ParamListBuilder#withArrayContentsCompared(String)} were called.
+ * Collection and Map fields become {@link ParamDescriptionCollection} and {@link ParamDescriptionMap} parameters.
+ * The entry, key, and value classes come from the field's generic type when it has simple type arguments, and are Object otherwise.
+ * Primitive fields use their wrapper class. Every parameter uses {@link ParamUsage#INCLUDED_IN_ALL}.<br>
+ *
+ * A derived ParamList isn't added to the {@link ParamListRegistry}. Register it if nested objects of the class should use it.
+ */
+final class ParamListDeriver {
+
+    private static final ClassValue<ParamList<?>> derived = new ClassValue<ParamList<?>>() {
+        @Override
+        protected ParamList<?> computeValue(final Class<?> type) {
+            return create(type);
+        }
+    };
+
+    private ParamListDeriver() {
+        //This is a static utility class.
+    }
+
+    /**
+     * Gets the derived ParamList for a class, creating it the first time.<br>
+     *
+     * @param parentClass  the class to derive a ParamList for - assumed not null
+     * @param <O>  the class to derive a ParamList for
+     * @return A ParamList.
+     * @throws IllegalArgumentException if the fields or accessors of the class cannot be read.
+     */
+    @SuppressWarnings("unchecked")
+    static <O> ParamList<O> derive(final Class<O> parentClass) {
+        return (ParamList<O>)derived.get(parentClass);
+    }
+
+    /**
+     * Creates a new ParamList for a class.<br>
+     *
+     * @param parentClass  the class to create a ParamList for - assumed not null
+     * @param <O>  the class to create a ParamList for
+     * @return A new ParamList.
+     */
+    private static <O> ParamList<O> create(final Class<O> parentClass) {
+        ParamListBuilder<O> builder = ParamList.forClass(parentClass);
+        try {
+            if (ParamListPlatform.isRecord(parentClass)) {
+                for (Method accessor : ParamListPlatform.getRecordAccessors(parentClass)) {
+                    Function<Object, Object> getter = ParamListPlatform.accessorFunction(accessor);
+                    addParam(builder, accessor.getName(),
+                             getter != null ? getter : getterFor(ParamListPlatform.accessorGetter(accessor)),
+                             accessor.getReturnType(), accessor.getGenericReturnType());
+                }
+            } else {
+                for (Field field : instanceFields(parentClass)) {
+                    addParam(builder, field.getName(), getterFor(ParamListPlatform.fieldGetter(field)),
+                             field.getType(), field.getGenericType());
+                }
+            }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalArgumentException("Unable to derive a ParamList for " + parentClass.getName() + ".", e);
+        }
+        return builder.andThatsIt();
+    }
+
+    /**
+     * Gets the fields to use for a normal class, superclass fields first.<br>
+     *
+     * @param parentClass  the class to get the fields of - assumed not null
+     * @return A List of Fields.
+     */
+    private static List<Field> instanceFields(final Class<?> parentClass) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> c = parentClass; c != null && c != Object.class; c = c.getSuperclass()) {
+            hierarchy.add(0, c);
+        }
+        Map<String, Field> fields = new LinkedHashMap<>();
+        for (Class<?> c : hierarchy) {
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()
+                    && !ParamList.class.isAssignableFrom(field.getType())) {
+                    fields.remove(field.getName());
+                    fields.put(field.getName(), field);
+                }
+            }
+        }
+        return new ArrayList<>(fields.values());
+    }
+
+    /**
+     * Adds a parameter to the builder, classifying it as a collection, map, or single parameter.<br>
+     *
+     * Array parameters are compared by their contents.<br>
+     *
+     * @param builder  the builder to add the parameter to - assumed not null
+     * @param name  the name of the parameter - assumed not null
+     * @param getter  the Function that gets the parameter from an object - assumed not null
+     * @param type  the declared class of the parameter - assumed not null
+     * @param genericType  the declared generic type of the parameter - assumed not null
+     * @param <O>  the class of the parent object
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <O> void addParam(final ParamListBuilder<O> builder, final String name, final Function<Object, Object> getter,
+                                     final Class<?> type, final Type genericType) {
+        if (Collection.class.isAssignableFrom(type)) {
+            builder.withCollection(name, (Function)getter, (Class)type, typeArgument(genericType, 0));
+        } else if (Map.class.isAssignableFrom(type)) {
+            builder.withMap(name, (Function)getter, (Class)type, typeArgument(genericType, 0), typeArgument(genericType, 1));
+        } else {
+            builder.withParam(name, (Function)getter, (Class)MethodType.methodType(type).wrap().returnType());
+            if (type.isArray()) {
+                builder.withArrayContentsCompared(name);
+            }
+        }
+    }
+
+    /**
+     * Wraps a MethodHandle in a Function.<br>
+     *
+     * The MethodHandle is held in a field of the lambda rather than being a constant, so the JIT can't inline through it
+     * the way it can a hand-written getter. Reading the field is still much cheaper than reflection.
+     *
+     * @param handle  a MethodHandle that takes in the parent object and returns the parameter - assumed not null
+     * @return A Function that calls the MethodHandle.
+     */
+    private static Function<Object, Object> getterFor(final MethodHandle handle) {
+        final MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+        return obj -> {
+            try {
+                return (Object)generic.invokeExact((Object)obj);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Unable to get a derived parameter value.", t);
+            }
+        };
+    }
+
+    /**
+     * Gets a type argument of a generic type as a class.<br>
+     *
+     * @param genericType  the generic type - assumed not null
+     * @param index  which type argument to get
+     * @return The class of the type argument, or Object if it isn't a simple class.
+     */
+    private static Class<?> typeArgument(final Type genericType, final int index) {
+        if (genericType instanceof ParameterizedType) {
+            Type[] arguments = ((ParameterizedType)genericType).getActualTypeArguments();
+            if (index < arguments.length) {
+                if (arguments[index] instanceof Class) {
+                    return (Class<?>)arguments[index];
+                }
+                if (arguments[index] instanceof ParameterizedType) {
+                    return (Class<?>)((ParameterizedType)arguments[index]).getRawType();
+                }
+            }
+        }
+        return Object.class;
+    }
+}
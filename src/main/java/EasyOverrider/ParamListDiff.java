@@ -0,0 +1,281 @@
+package EasyOverrider;
+
+import static EasyOverrider.EasyOverriderUtils.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Describes which equals-included parameters differ between two objects.<br>
+ *
+ * These are created using {@link ParamList#diff(Object, Object)} or {@link ParamList#diff(Object, Object, boolean)}.<br>
+ *
+ * Changed parameters are recorded by their index in the {@link ParamList#getParamOrder()} list.
+ * If requested, the old and new values of each changed parameter are also kept.
+ *
+ * @param <O>  the type of the objects that were compared
+ */
+public class ParamListDiff<O> {
+
+    private final ParamList<O> paramList;
+    private final BitSet changed;
+    private final Object[] oldValues;
+    private final Object[] newValues;
+
+    private static ParamList<ParamListDiff> paramListDiff;
+
+    private static ParamList<ParamListDiff> getParamListDiff() {
+        if (paramListDiff == null) {
+            paramListDiff = ParamList.forClass(ParamListDiff.class)
+                                     .withParam("parentClass", (pld) -> pld.paramList.getParentClass(), Class.class)
+                                     .withCollection("changedNames", ParamListDiff::getChangedNames, List.class, String.class)
+                                     .withParam("keepingValues", ParamListDiff::isKeepingValues, Boolean.class)
+                                     .andThatsIt();
+        }
+        return paramListDiff;
+    }
+
+    /**
+     * Constructor for a ParamListDiff.<br>
+     *
+     * @param paramList  the ParamList used to compare the objects - assumed not null
+     * @param changed  the indexes of the changed parameters - assumed not null
+     * @param oldValues  the values from the original object, indexed the same as the ParamList's paramOrder - null if not kept
+     * @param newValues  the values from the changed object, indexed the same as the ParamList's paramOrder - null if not kept
+     */
+    private ParamListDiff(final ParamList<O> paramList, final BitSet changed,
+                          final Object[] oldValues, final Object[] newValues) {
+        this.paramList = paramList;
+        this.changed = changed;
+        this.oldValues = oldValues;
+        this.newValues = newValues;
+    }
+
+    /**
+     * Compares each equals-included parameter of the two objects and creates the resulting ParamListDiff.<br>
+     *
+     * @param paramList  the ParamList describing the objects - cannot be null
+     * @param before  the original object - cannot be null
+     * @param after  the changed object - cannot be null
+     * @param keepValues  whether or not to keep the old and new values of changed parameters
+     * @param <O>  the type of the objects
+     * @return A new ParamListDiff.
+     * @throws IllegalArgumentException if paramList, before, or after is null.
+     */
+    static <O> ParamListDiff<O> of(final ParamList<O> paramList, final O before, final O after, final boolean keepValues) {
+        requireNonNull(paramList, 1, "paramList", "diff");
+        requireNonNull(before, 2, "before", "diff");
+        requireNonNull(after, 3, "after", "diff");
+        ParamDescription<? super O, ?>[] equalsParams = paramList.getEqualsParams();
+        int[] equalsParamIndexes = paramList.getEqualsParamIndexes();
+        BitSet changed = new BitSet(equalsParams.length == 0 ? 0 : equalsParamIndexes[equalsParams.length - 1] + 1);
+        Object[] oldValues = null;
+        Object[] newValues = null;
+        if (before != after) {
+            for (int i = 0; i < equalsParams.length; i++) {
+                Object oldValue = equalsParams[i].getGetter().apply(before);
+                Object newValue = equalsParams[i].getGetter().apply(after);
+                if (!valuesAreEqual(equalsParams[i], oldValue, newValue)) {
+                    int index = equalsParamIndexes[i];
+                    changed.set(index);
+                    if (keepValues) {
+                        if (oldValues == null) {
+                            oldValues = new Object[paramList.getParamOrder().size()];
+                            newValues = new Object[oldValues.length];
+                        }
+                        oldValues[index] = oldValue;
+                        newValues[index] = newValue;
+                    }
+                }
+            }
+        }
+        if (keepValues && oldValues == null) {
+            oldValues = new Object[0];
+            newValues = oldValues;
+        }
+        return new ParamListDiff<>(paramList, changed, oldValues, newValues);
+    }
+
+    /**
+     * Checks to see if the corresponding parameters are the same in both objects.<br>
+     *
+     * This is the same test used by {@link ParamListServiceImpl#equals(Object, Object, ParamList)}.
+     *
+     * @param thisO  the first object to get the parameter from - assumed not null
+     * @param thatO  the second object to get the parameter from - assumed not null
+     * @param paramDescription  the description of the parameter to compare - assumed not null
+     * @param <O>  the type of the objects
+     * @param <P>  the type of the parameter
+     * @return True if the parameter in each of the objects are equal. False if different.
+     */
+    static <O, P> boolean paramIsEqual(final O thisO, final O thatO, final ParamDescription<? super O, P> paramDescription) {
+        return valuesAreEqual(paramDescription, paramDescription.getGetter().apply(thisO),
+                              paramDescription.getGetter().apply(thatO));
+    }
+
+    /**
+     * Checks to see if two values of a parameter are equal.<br>
+     *
+     * The same instance is always equal to itself, without calling {@link ParamDescription#valuesAreEqual(Object, Object)}.
+     *
+     * @param paramDescription  the description of the parameter - assumed not null
+     * @param thisP  the first value - can be null
+     * @param thatP  the second value - can be null
+     * @param <P>  the type of the parameter
+     * @return True if the values are equal. False if different.
+     */
+    @SuppressWarnings("unchecked")
+    private static <P> boolean valuesAreEqual(final ParamDescription<?, P> paramDescription,
+                                              final Object thisP, final Object thatP) {
+        return thisP == thatP || paramDescription.valuesAreEqual((P)thisP, (P)thatP);
+    }
+
+    /**
+     * Gets the ParamList that was used to compare the objects.<br>
+     *
+     * @return A ParamList.
+     */
+    public ParamList<O> getParamList() {
+        return paramList;
+    }
+
+    /**
+     * Whether or not any parameters differ.<br>
+     *
+     * @return True if at least one parameter changed. False if the objects are equal.
+     */
+    public boolean hasChanges() {
+        return !changed.isEmpty();
+    }
+
+    /**
+     * Gets the number of parameters that differ.<br>
+     *
+     * @return An int.
+     */
+    public int getChangedCount() {
+        return changed.cardinality();
+    }
+
+    /**
+     * Gets the indexes (in {@link ParamList#getParamOrder()}) of the parameters that differ.<br>
+     *
+     * @return A copy of the BitSet of changed indexes.
+     */
+    public BitSet getChangedIndexes() {
+        return (BitSet)changed.clone();
+    }
+
+    /**
+     * Whether or not the parameter at the provided index differs.<br>
+     *
+     * @param index  the index of the parameter in {@link ParamList#getParamOrder()}
+     * @return True if the parameter changed. False otherwise.
+     */
+    public boolean isChanged(final int index) {
+        return index >= 0 && changed.get(index);
+    }
+
+    /**
+     * Whether or not the parameter with the provided name differs.<br>
+     *
+     * @param name  the name of the parameter
+     * @return True if the parameter changed. False otherwise, including if no parameter has that name.
+     */
+    public boolean isChanged(final String name) {
+        return isChanged(paramList.indexOf(name));
+    }
+
+    /**
+     * Gets the names of the parameters that differ, in parameter order.<br>
+     *
+     * @return A List of Strings.
+     */
+    public List<String> getChangedNames() {
+        List<String> paramOrder = paramList.getParamOrder();
+        List<String> retval = new ArrayList<>(changed.cardinality());
+        for (int index = changed.nextSetBit(0); index >= 0; index = changed.nextSetBit(index + 1)) {
+            retval.add(paramOrder.get(index));
+        }
+        return retval;
+    }
+
+    /**
+     * Whether or not the old and new values of the changed parameters were kept.<br>
+     *
+     * @return True if values are available. False if not.
+     */
+    public boolean isKeepingValues() {
+        return oldValues != null;
+    }
+
+    /**
+     * Gets the value of a changed parameter from the original object.<br>
+     *
+     * @param index  the index of the parameter in {@link ParamList#getParamOrder()}
+     * @return The original value, or null if that parameter did not change.
+     * @throws IllegalStateException if the values were not kept.
+     */
+    public Object getOldValue(final int index) {
+        return getValue(oldValues, index, "getOldValue");
+    }
+
+    /**
+     * Gets the value of a changed parameter from the changed object.<br>
+     *
+     * @param index  the index of the parameter in {@link ParamList#getParamOrder()}
+     * @return The new value, or null if that parameter did not change.
+     * @throws IllegalStateException if the values were not kept.
+     */
+    public Object getNewValue(final int index) {
+        return getValue(newValues, index, "getNewValue");
+    }
+
+    /**
+     * Gets a kept value of a parameter, if that parameter changed.<br>
+     *
+     * @param values  the kept values to get it from, or null if values weren't kept
+     * @param index  the index of the parameter in {@link ParamList#getParamOrder()}
+     * @param methodName  the name of the calling method, for the exception message - assumed not null
+     * @return The value, or null if that parameter did not change.
+     * @throws IllegalStateException if the values were not kept.
+     */
+    private Object getValue(final Object[] values, final int index, final String methodName) {
+        if (values == null) {
+            throw new IllegalStateException("Method " + methodName + " cannot be used on a ParamListDiff that did not keep values.");
+        }
+        return isChanged(index) ? values[index] : null;
+    }
+
+    /**
+     * equals method for a ParamListDiff object.<br>
+     *
+     * @param obj  the object to test against
+     * @return True if this ParamListDiff is equal to the provided object. False otherwise.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        return getParamListDiff().equals(this, obj);
+    }
+
+    /**
+     * hashCode method for a ParamListDiff object.<br>
+     *
+     * @return an int.
+     */
+    @Override
+    public int hashCode() {
+        return getParamListDiff().hashCode(this);
+    }
+
+    /**
+     * toString method for a ParamListDiff object.<br>
+     *
+     * @return A string representation of this object.
+     */
+    @Override
+    public String toString() {
+        return getParamListDiff().toString(this);
+    }
+}
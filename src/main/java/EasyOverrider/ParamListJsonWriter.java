@@ -0,0 +1,284 @@
+package EasyOverrider;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes ParamList-backed objects as JSON directly into an Appendable.<br>
+ *
+ * An object is written as a JSON object containing each toString-included parameter, in parameter order.
+ * Parameter values are written based on their runtime type:
+ * <ul>
+ * <li><code>null</code> - <code>null</code>
+ * <li>Booleans - <code>true</code> or <code>false</code>
+ * <li>Integers, Longs, Shorts, Bytes, BigIntegers, BigDecimals, and finite Doubles and Floats - as JSON numbers
+ * <li>Enums - their name as a JSON string
+ * <li>Collections and arrays - as JSON arrays
+ * <li>Maps - as JSON objects, using <code>String.valueOf(key)</code> for the names
+ *     (an IllegalArgumentException is thrown if two keys get the same name, e.g. <code>1</code> and <code>"1"</code>)
+ * <li>Objects with a ParamList in the {@link ParamListRegistry} - as nested JSON objects
+ * <li>Everything else - as a JSON string, NOT a nested JSON object. {@link RecursionPreventingToString} objects use
+ *     {@link RecursionPreventingToString#toString(Map)}, so recursion is still prevented, and others use <code>toString()</code>.
+ *     This includes objects whose ParamList isn't registered, since the writer has no other way to find it.
+ * </ul>
+ *
+ * Recursion is prevented the same way as toString: If an object is found inside itself,
+ * it is written using only its primary parameters. If it's found again inside that,
+ * the {@link ParamListServiceConfig#getStringForRecursionPrevented()} value is written as a JSON string.
+ * A Collection, array, or Map found inside itself is written as that value right away, since it has no primary parameters.
+ */
+class ParamListJsonWriter {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final Appendable out;
+    private final ParamList<?> rootParamList;
+    private final String stringForRecursionPrevented;
+    private final Set<Object> inProgress = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Object> primaryInProgress = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Set<Object> containersInProgress = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Constructor for a ParamListJsonWriter.<br>
+     *
+     * @param out  where to write the JSON - assumed not null
+     * @param rootParamList  the ParamList of the top-level object - assumed not null
+     */
+    private ParamListJsonWriter(final Appendable out, final ParamList<?> rootParamList) {
+        this.out = out;
+        this.rootParamList = rootParamList;
+        this.stringForRecursionPrevented = rootParamList.getService().getConfig().getSnapshot().getStringForRecursionPrevented();
+    }
+
+    /**
+     * Writes an object as JSON.<br>
+     *
+     * @param paramList  the ParamList describing the object - assumed not null
+     * @param obj  the object to write - assumed not null
+     * @param out  where to write the JSON - assumed not null
+     * @param <O>  the type of the object
+     * @throws IOException if the Appendable throws one.
+     */
+    static <O> void write(final ParamList<O> paramList, final O obj, final Appendable out) throws IOException {
+        new ParamListJsonWriter(out, paramList).writeObject(obj, paramList);
+    }
+
+    /**
+     * Writes an object as a JSON object using a ParamList.<br>
+     *
+     * The first time an object is found, its toString-included parameters are written.
+     * If it's found again inside itself, only its primary parameters are written,
+     * and if it's found a third time, the String for recursion prevented is written instead.
+     *
+     * @param obj  the object to write - assumed not null
+     * @param paramList  the ParamList describing the object - assumed not null
+     * @param <O>  the type of the object
+     * @throws IOException if the Appendable throws one.
+     */
+    private <O> void writeObject(final O obj, final ParamList<? super O> paramList) throws IOException {
+        ParamDescription<?, ?>[] paramDescriptions;
+        if (inProgress.add(obj)) {
+            paramDescriptions = paramList.getToStringParams();
+        } else if (primaryInProgress.add(obj)) {
+            paramDescriptions = paramList.getPrimaryToStringParams();
+        } else {
+            writeString(stringForRecursionPrevented);
+            return;
+        }
+        out.append('{');
+        for (int i = 0; i < paramDescriptions.length; i++) {
+            @SuppressWarnings("unchecked")
+            ParamDescription<? super O, ?> paramDescription = (ParamDescription<? super O, ?>)paramDescriptions[i];
+            if (i > 0) {
+                out.append(',');
+            }
+            writeString(paramDescription.getName());
+            out.append(':');
+            writeValue(paramDescription.getGetter().apply(obj));
+        }
+        out.append('}');
+        if (!primaryInProgress.remove(obj)) {
+            inProgress.remove(obj);
+        }
+    }
+
+    /**
+     * Writes a parameter value as JSON, based on its runtime type.<br>
+     *
+     * See the class description for how each type is written.
+     *
+     * @param value  the value to write - can be null
+     * @throws IOException if the Appendable throws one.
+     */
+    private void writeValue(final Object value) throws IOException {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof CharSequence) {
+            writeString((CharSequence)value);
+        } else if (value instanceof Boolean) {
+            out.append(value.toString());
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+                   || value instanceof BigInteger || value instanceof BigDecimal) {
+            out.append(value.toString());
+        } else if (value instanceof Double || value instanceof Float) {
+            double d = ((Number)value).doubleValue();
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                writeString(value.toString());
+            } else {
+                out.append(value.toString());
+            }
+        } else if (value instanceof Enum) {
+            writeString(((Enum<?>)value).name());
+        } else if (value instanceof Iterable || value instanceof Map || value.getClass().isArray()) {
+            if (containersInProgress.add(value)) {
+                writeContainer(value);
+                containersInProgress.remove(value);
+            } else {
+                writeString(stringForRecursionPrevented);
+            }
+        } else {
+            writeNested(value);
+        }
+    }
+
+    /**
+     * Writes a Collection, array, or Map as a JSON array or object.<br>
+     *
+     * @param value  the Iterable, array, or Map to write - assumed not null
+     * @throws IOException if the Appendable throws one.
+     * @throws IllegalArgumentException if two keys of a Map are written as the same name.
+     */
+    private void writeContainer(final Object value) throws IOException {
+        if (value instanceof Iterable) {
+            out.append('[');
+            boolean first = true;
+            for (Object entry : (Iterable<?>)value) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                writeValue(entry);
+            }
+            out.append(']');
+        } else if (value instanceof Map) {
+            out.append('{');
+            Set<String> names = new HashSet<>();
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>)value).entrySet()) {
+                if (!first) {
+                    out.append(',');
+                }
+                first = false;
+                String name = String.valueOf(entry.getKey());
+                if (!names.add(name)) {
+                    throw new IllegalArgumentException("Unable to write a Map as JSON when more than one of its keys " +
+                                                       "is written as the name \"" + name + "\".");
+                }
+                writeString(name);
+                out.append(':');
+                writeValue(entry.getValue());
+            }
+            out.append('}');
+        } else {
+            out.append('[');
+            int length = Array.getLength(value);
+            for (int i = 0; i < length; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                writeValue(Array.get(value, i));
+            }
+            out.append(']');
+        }
+    }
+
+    /**
+     * Writes an object that isn't a simple value or container.<br>
+     *
+     * Objects of the top-level object's class use its ParamList, others use the ParamList registered for their class.
+     * If there isn't one, {@link RecursionPreventingToString#toString(Map)} (or <code>toString()</code> for other objects)
+     * is written as a JSON string.
+     *
+     * @param value  the object to write - assumed not null
+     * @param <O>  the type of the object
+     * @throws IOException if the Appendable throws one.
+     */
+    @SuppressWarnings("unchecked")
+    private <O> void writeNested(final O value) throws IOException {
+        Class<O> valueClass = (Class<O>)value.getClass();
+        ParamList<? super O> paramList = valueClass == rootParamList.getParentClass()
+                                         ? (ParamList<? super O>)rootParamList
+                                         : ParamListRegistry.lookup(valueClass);
+        if (paramList == null) {
+            writeString(value instanceof RecursionPreventingToString
+                        ? ((RecursionPreventingToString)value).toString(new HashMap<>())
+                        : value.toString());
+        } else {
+            writeObject(value, paramList);
+        }
+    }
+
+    /**
+     * Writes a JSON string, escaping characters as needed.<br>
+     *
+     * Runs of characters that don't need escaping are appended in one call.
+     *
+     * @param value  the characters to write - assumed not null
+     * @throws IOException if the Appendable throws one.
+     */
+    private void writeString(final CharSequence value) throws IOException {
+        out.append('"');
+        int start = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c == '"' || c == '\\' || c == '\u2028' || c == '\u2029') {
+                if (i > start) {
+                    out.append(value, start, i);
+                }
+                start = i + 1;
+                switch (c) {
+                    case '"':
+                        out.append("\\\"");
+                        break;
+                    case '\\':
+                        out.append("\\\\");
+                        break;
+                    case '\n':
+                        out.append("\\n");
+                        break;
+                    case '\r':
+                        out.append("\\r");
+                        break;
+                    case '\t':
+                        out.append("\\t");
+                        break;
+                    case '\b':
+                        out.append("\\b");
+                        break;
+                    case '\f':
+                        out.append("\\f");
+                        break;
+                    default:
+                        out.append("\\u")
+                           .append(HEX_DIGITS[(c >> 12) & 0xF])
+                           .append(HEX_DIGITS[(c >> 8) & 0xF])
+                           .append(HEX_DIGITS[(c >> 4) & 0xF])
+                           .append(HEX_DIGITS[c & 0xF]);
+                }
+            }
+        }
+        if (length > start) {
+            out.append(value, start, length);
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,438 @@
+package EasyOverrider;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Writes a canonical binary form of the equals-included parameters of an object.<br>
+ *
+ * Two objects that are equal according to their ParamList get the same bytes, and two objects that are not equal
+ * get different bytes. Each value starts with a one-byte type tag followed by:
+ * <ul>
+ * <li><code>null</code> - nothing
+ * <li>Booleans, Bytes, Shorts, Characters, Integers, and Longs - their fixed-width big-endian value
+ * <li>Floats and Doubles - the bits from {@link Float#floatToIntBits(float)} or {@link Double#doubleToLongBits(double)}
+ * <li>Strings - the length then the UTF-8 bytes (unpaired surrogates are kept as three-byte sequences)
+ * <li>Enums - the enum class name and the constant name, each as a String
+ * <li>BigIntegers - the length then {@link BigInteger#toByteArray()}
+ * <li>BigDecimals - the scale then the unscaled value as a BigInteger
+ * <li>Lists - the size then each entry in order
+ * <li>Sets, and collection parameters with {@link CollectionEquality#UNORDERED} - the size then each entry,
+ *     ordered by their encoded bytes
+ * <li>Maps - the size then each key and value, ordered by the encoded bytes of the key
+ * <li>Objects whose exact class has a ParamList in the {@link ParamListRegistry} - the class name,
+ *     then each of that ParamList's equals-included parameters
+ * <li>Arrays held by parameters that compare array contents (see {@link ParamDescriptionSingle#isComparingArrayContents()})
+ *     - the tag of the component type for primitive arrays (or the array tag for any array of Objects), the length,
+ *     then each entry. Arrays inside an array of Objects are written the same way, like {@link Arrays#deepEquals(Object[], Object[])}.
+ * </ul>
+ * Lengths and sizes are unsigned variable-length integers (7 bits per byte, low bits first).
+ * Any other type of value causes an IllegalArgumentException, since its equals method can't be matched.
+ * This includes arrays anywhere else, which are compared by identity.
+ * This includes subclasses of registered classes that aren't registered themselves,
+ * since their equals method may use parameters the superclass's ParamList doesn't have.
+ */
+class ParamListKeyEncoder {
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_BOOLEAN = 1;
+    private static final byte TAG_BYTE = 2;
+    private static final byte TAG_SHORT = 3;
+    private static final byte TAG_CHARACTER = 4;
+    private static final byte TAG_INTEGER = 5;
+    private static final byte TAG_LONG = 6;
+    private static final byte TAG_FLOAT = 7;
+    private static final byte TAG_DOUBLE = 8;
+    private static final byte TAG_STRING = 9;
+    private static final byte TAG_ENUM = 10;
+    private static final byte TAG_BIG_INTEGER = 11;
+    private static final byte TAG_BIG_DECIMAL = 12;
+    private static final byte TAG_LIST = 13;
+    private static final byte TAG_SET = 14;
+    private static final byte TAG_MAP = 15;
+    private static final byte TAG_OBJECT = 16;
+    private static final byte TAG_ARRAY = 17;
+
+    private static final int INITIAL_BUFFER_SIZE = 64;
+
+    private final ByteBuffer out;
+    private final Set<Object> inProgress;
+
+    /**
+     * Constructor for a ParamListKeyEncoder.<br>
+     *
+     * @param out  where to write the bytes - assumed not null
+     * @param inProgress  the objects currently being encoded, shared by every encoder for one key - assumed not null
+     */
+    private ParamListKeyEncoder(final ByteBuffer out, final Set<Object> inProgress) {
+        this.out = out;
+        this.inProgress = inProgress;
+    }
+
+    /**
+     * Writes the equals-included parameters of an object into a ByteBuffer.<br>
+     *
+     * If there isn't enough room, the buffer's position is put back to where it started.
+     *
+     * @param paramList  the ParamList describing the object - assumed not null
+     * @param obj  the object to encode - assumed not null
+     * @param out  where to write the bytes - assumed not null
+     * @param <O>  the type of the object
+     * @return The number of bytes written.
+     * @throws BufferOverflowException if there isn't enough room in the buffer.
+     * @throws IllegalArgumentException if a parameter value can't be encoded.
+     */
+    static <O> int encode(final ParamList<O> paramList, final O obj, final ByteBuffer out) {
+        int start = out.position();
+        try {
+            new ParamListKeyEncoder(out, Collections.newSetFromMap(new IdentityHashMap<>())).writeParams(obj, paramList);
+        } catch (BufferOverflowException e) {
+            out.position(start);
+            throw e;
+        }
+        return out.position() - start;
+    }
+
+    /**
+     * Gets the equals-included parameters of an object as a byte array.<br>
+     *
+     * @param paramList  the ParamList describing the object - assumed not null
+     * @param obj  the object to encode - assumed not null
+     * @param <O>  the type of the object
+     * @return A new byte array.
+     * @throws IllegalArgumentException if a parameter value can't be encoded.
+     */
+    static <O> byte[] encode(final ParamList<O> paramList, final O obj) {
+        Set<Object> inProgress = Collections.newSetFromMap(new IdentityHashMap<>());
+        return toBytes(encoder -> encoder.writeParams(obj, paramList), inProgress);
+    }
+
+    /**
+     * Runs something with an encoder, growing the buffer until it fits.<br>
+     *
+     * @param writer  what to write - assumed not null
+     * @param inProgress  the objects currently being encoded - assumed not null
+     * @return A new byte array of what was written.
+     */
+    private static byte[] toBytes(final EncoderConsumer writer, final Set<Object> inProgress) {
+        int size = INITIAL_BUFFER_SIZE;
+        while (true) {
+            ByteBuffer buffer = ByteBuffer.allocate(size);
+            try {
+                writer.accept(new ParamListKeyEncoder(buffer, inProgress));
+                return Arrays.copyOf(buffer.array(), buffer.position());
+            } catch (BufferOverflowException e) {
+                size *= 2;
+            }
+        }
+    }
+
+    /**
+     * Something to write using an encoder.<br>
+     *
+     * This is a Consumer that can be retried with a bigger buffer by {@link #toBytes(EncoderConsumer, Set)}.
+     */
+    private interface EncoderConsumer {
+        void accept(ParamListKeyEncoder encoder);
+    }
+
+    /**
+     * Writes each of the equals-included parameters of an object.<br>
+     *
+     * Collection parameters with {@link CollectionEquality#UNORDERED} are written like Sets,
+     * and array values of parameters that compare array contents are written as arrays.
+     *
+     * @param obj  the object to encode - assumed not null
+     * @param paramList  the ParamList describing the object - assumed not null
+     * @param <O>  the type of the object
+     * @throws IllegalArgumentException if the object contains itself, or a parameter value can't be encoded.
+     */
+    private <O> void writeParams(final O obj, final ParamList<? super O> paramList) {
+        if (!inProgress.add(obj)) {
+            throw new IllegalArgumentException("Unable to encode a key for an object that contains itself: " +
+                                               paramList.getParentClass().getName());
+        }
+        try {
+            for (ParamDescription<? super O, ?> paramDescription : paramList.getEqualsParams()) {
+                Object value = paramDescription.getGetter().apply(obj);
+                if (value instanceof Collection && paramDescription instanceof ParamDescriptionCollection
+                    && ((ParamDescriptionCollection<?, ?, ?>)paramDescription).getCollectionEquality()
+                       == CollectionEquality.UNORDERED) {
+                    out.put(TAG_SET);
+                    writeSorted((Collection<?>)value, entry -> toBytes(encoder -> encoder.writeValue(entry), inProgress));
+                } else if (value != null && value.getClass().isArray() && paramDescription instanceof ParamDescriptionSingle
+                           && ((ParamDescriptionSingle<?, ?>)paramDescription).isComparingArrayContents()) {
+                    writeArray(value);
+                } else {
+                    writeValue(value);
+                }
+            }
+        } finally {
+            inProgress.remove(obj);
+        }
+    }
+
+    /**
+     * Writes a tagged value, based on its runtime type.<br>
+     *
+     * See the class description for how each type is written.
+     *
+     * @param value  the value to write - can be null
+     * @throws IllegalArgumentException if the value can't be encoded.
+     */
+    private void writeValue(final Object value) {
+        if (value == null) {
+            out.put(TAG_NULL);
+        } else if (value instanceof String) {
+            out.put(TAG_STRING);
+            writeString((String)value);
+        } else if (value instanceof Integer) {
+            out.put(TAG_INTEGER).putInt((Integer)value);
+        } else if (value instanceof Long) {
+            out.put(TAG_LONG).putLong((Long)value);
+        } else if (value instanceof Boolean) {
+            out.put(TAG_BOOLEAN).put((byte)((Boolean)value ? 1 : 0));
+        } else if (value instanceof Byte) {
+            out.put(TAG_BYTE).put((Byte)value);
+        } else if (value instanceof Short) {
+            out.put(TAG_SHORT).putShort((Short)value);
+        } else if (value instanceof Character) {
+            out.put(TAG_CHARACTER).putChar((Character)value);
+        } else if (value instanceof Float) {
+            out.put(TAG_FLOAT).putInt(Float.floatToIntBits((Float)value));
+        } else if (value instanceof Double) {
+            out.put(TAG_DOUBLE).putLong(Double.doubleToLongBits((Double)value));
+        } else if (value instanceof Enum) {
+            out.put(TAG_ENUM);
+            writeString(((Enum<?>)value).getDeclaringClass().getName());
+            writeString(((Enum<?>)value).name());
+        } else if (value instanceof BigInteger) {
+            out.put(TAG_BIG_INTEGER);
+            writeBigInteger((BigInteger)value);
+        } else if (value instanceof BigDecimal) {
+            out.put(TAG_BIG_DECIMAL).putInt(((BigDecimal)value).scale());
+            writeBigInteger(((BigDecimal)value).unscaledValue());
+        } else if (value instanceof List) {
+            out.put(TAG_LIST);
+            writeLength(((List<?>)value).size());
+            for (Object entry : (List<?>)value) {
+                writeValue(entry);
+            }
+        } else if (value instanceof Set) {
+            out.put(TAG_SET);
+            writeSorted((Set<?>)value, entry -> toBytes(encoder -> encoder.writeValue(entry), inProgress));
+        } else if (value instanceof Map) {
+            out.put(TAG_MAP);
+            writeSorted(((Map<?, ?>)value).entrySet(), entry -> {
+                byte[] key = toBytes(encoder -> encoder.writeValue(entry.getKey()), inProgress);
+                byte[] entryValue = toBytes(encoder -> encoder.writeValue(entry.getValue()), inProgress);
+                byte[] retval = Arrays.copyOf(key, key.length + entryValue.length);
+                System.arraycopy(entryValue, 0, retval, key.length, entryValue.length);
+                return retval;
+            });
+        } else {
+            writeNested(value);
+        }
+    }
+
+    /**
+     * Writes an array by its contents, matching {@link java.util.Objects#deepEquals(Object, Object)}.<br>
+     *
+     * Entries of an array of Objects that are arrays themselves are also written by their contents.
+     *
+     * @param array  the array to write - assumed not null and an array
+     * @throws IllegalArgumentException if an entry can't be encoded.
+     */
+    private void writeArray(final Object array) {
+        out.put(TAG_ARRAY).put(arrayKind(array.getClass().getComponentType()));
+        int length = Array.getLength(array);
+        writeLength(length);
+        for (int i = 0; i < length; i++) {
+            Object entry = Array.get(array, i);
+            if (array instanceof Object[] && entry != null && entry.getClass().isArray()) {
+                writeArray(entry);
+            } else {
+                writeValue(entry);
+            }
+        }
+    }
+
+    /**
+     * Gets the byte that tells arrays with different component types apart.<br>
+     *
+     * Arrays of Objects all get the same byte, since {@link Arrays#deepEquals(Object[], Object[])} ignores their component type.
+     *
+     * @param componentType  the component type of the array - assumed not null
+     * @return The tag of the wrapper class for a primitive component type, or {@link #TAG_ARRAY} otherwise.
+     */
+    private static byte arrayKind(final Class<?> componentType) {
+        if (componentType == int.class) {
+            return TAG_INTEGER;
+        } else if (componentType == long.class) {
+            return TAG_LONG;
+        } else if (componentType == byte.class) {
+            return TAG_BYTE;
+        } else if (componentType == char.class) {
+            return TAG_CHARACTER;
+        } else if (componentType == short.class) {
+            return TAG_SHORT;
+        } else if (componentType == boolean.class) {
+            return TAG_BOOLEAN;
+        } else if (componentType == double.class) {
+            return TAG_DOUBLE;
+        } else if (componentType == float.class) {
+            return TAG_FLOAT;
+        }
+        return TAG_ARRAY;
+    }
+
+    /**
+     * Writes an object using the ParamList registered for its exact class.<br>
+     *
+     * Only the registered ParamList is used (see {@link ParamListRegistry#register(ParamList)}),
+     * since it's the one the object's own equals method uses.
+     *
+     * @param value  the object to write - assumed not null
+     * @param <O>  the type of the object
+     * @throws IllegalArgumentException if no ParamList is registered for the object's class, or it's an array.
+     */
+    @SuppressWarnings("unchecked")
+    private <O> void writeNested(final O value) {
+        Class<O> valueClass = (Class<O>)value.getClass();
+        if (valueClass.isArray()) {
+            throw new IllegalArgumentException("Unable to encode a key containing a " + valueClass.getName()
+                                               + ". Arrays are compared by identity unless they're held by a parameter "
+                                               + "set up with ParamListBuilder.withArrayContentsCompared.");
+        }
+        ParamList<O> paramList = ParamListRegistry.lookup(valueClass);
+        if (paramList == null) {
+            throw new IllegalArgumentException("Unable to encode a key containing a " + valueClass.getName()
+                                               + ". No ParamList is registered for that class.");
+        }
+        out.put(TAG_OBJECT);
+        writeString(valueClass.getName());
+        writeParams(value, paramList);
+    }
+
+    /**
+     * Encodes each entry on its own, then writes them ordered by those bytes.<br>
+     *
+     * For map entries, the key bytes come first and keys are unique, so entries end up ordered by key.
+     *
+     * @param entries  the entries to write - assumed not null
+     * @param toBytes  how to encode an entry - assumed not null
+     * @param <E>  the type of the entries
+     */
+    private <E> void writeSorted(final Collection<E> entries, final Function<E, byte[]> toBytes) {
+        byte[][] encoded = new byte[entries.size()][];
+        int i = 0;
+        for (E entry : entries) {
+            encoded[i++] = toBytes.apply(entry);
+        }
+        Arrays.sort(encoded, ParamListKeyEncoder::compareUnsigned);
+        writeLength(encoded.length);
+        for (byte[] bytes : encoded) {
+            out.put(bytes);
+        }
+    }
+
+    /**
+     * Compares two byte arrays as unsigned bytes, with a shorter array coming before any longer array it's the start of.<br>
+     *
+     * @param a  the first array - assumed not null
+     * @param b  the second array - assumed not null
+     * @return A negative number, zero, or a positive number as a is before, the same as, or after b.
+     */
+    private static int compareUnsigned(final byte[] a, final byte[] b) {
+        int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; i++) {
+            int diff = (a[i] & 0xFF) - (b[i] & 0xFF);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return a.length - b.length;
+    }
+
+    /**
+     * Writes a BigInteger as the length then the bytes of its two's-complement form.<br>
+     *
+     * @param value  the value to write - assumed not null
+     */
+    private void writeBigInteger(final BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        writeLength(bytes.length);
+        out.put(bytes);
+    }
+
+    /**
+     * Writes a length or size as an unsigned variable-length integer, 7 bits per byte, low bits first.<br>
+     *
+     * @param length  the length to write - assumed not negative
+     */
+    private void writeLength(final int length) {
+        int remaining = length;
+        while ((remaining & ~0x7F) != 0) {
+            out.put((byte)((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.put((byte)remaining);
+    }
+
+    /**
+     * Writes a String as its UTF-8 length followed by its UTF-8 bytes, without creating a byte array.<br>
+     *
+     * Unpaired surrogates are written as three-byte sequences instead of being replaced,
+     * so that different Strings never get the same bytes.
+     *
+     * @param value  the String to write - assumed not null
+     */
+    private void writeString(final String value) {
+        int length = value.length();
+        int byteLength = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                byteLength += 1;
+            } else if (c < 0x800) {
+                byteLength += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                byteLength += 4;
+                i++;
+            } else {
+                byteLength += 3;
+            }
+        }
+        writeLength(byteLength);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out.put((byte)c);
+            } else if (c < 0x800) {
+                out.put((byte)(0xC0 | (c >> 6)))
+                   .put((byte)(0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out.put((byte)(0xF0 | (codePoint >> 18)))
+                   .put((byte)(0x80 | ((codePoint >> 12) & 0x3F)))
+                   .put((byte)(0x80 | ((codePoint >> 6) & 0x3F)))
+                   .put((byte)(0x80 | (codePoint & 0x3F)));
+            } else {
+                out.put((byte)(0xE0 | (c >> 12)))
+                   .put((byte)(0x80 | ((c >> 6) & 0x3F)))
+                   .put((byte)(0x80 | (c & 0x3F)));
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package EasyOverrider;
+
+/**
+ * Enum of the operations that a {@link ParamListService} performs on behalf of a {@link ParamList}.
+ * <ul>
+ * <li>{@link #EQUALS}
+ * <li>{@link #HASH_CODE}
+ * <li>{@link #TO_STRING}
+ * <li>{@link #PRIMARY_TO_STRING}
+ * </ul>
+ */
+public enum ParamListOperation {
+
+    /**
+     * Indicates a call to {@link ParamListService#equals(Object, Object, ParamList)}.
+     */
+    EQUALS("Equals"),
+
+    /**
+     * Indicates a call to {@link ParamListService#hashCode(Object, ParamList)}.
+     */
+    HASH_CODE("HashCode"),
+
+    /**
+     * Indicates a call to {@link ParamListService#toString(Object, ParamList, java.util.Map)}.
+     */
+    TO_STRING("ToString"),
+
+    /**
+     * Indicates a call to {@link ParamListService#primaryToString(Object, ParamList)}.
+     */
+    PRIMARY_TO_STRING("PrimaryToString");
+
+    private final String displayName;
+
+    ParamListOperation(final String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gets a short, camel-cased name for this operation, e.g. <code>"ToString"</code>.
+     *
+     * @return A String.
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,174 @@
+package EasyOverrider;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters for one {@link ParamListOperation} on the ParamLists of one parent class.<br>
+ *
+ * These are kept by a {@link ParamListStatistics}. All of the counters are {@link LongAdder}s,
+ * so recording is lock-free and the getters give a (possibly slightly stale) view of the current values.<br>
+ *
+ * Durations are also counted in a coarse histogram. The bucket upper bounds (exclusive) are given by
+ * {@link #getHistogramBoundsNanos()}, with one last bucket for anything slower than that.
+ */
+public class ParamListOperationStatistics {
+
+    private static final long[] HISTOGRAM_BOUNDS_NANOS = { 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L };
+
+    private final Class<?> parentClass;
+    private final ParamListOperation operation;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder totalOutputLength = new LongAdder();
+    private final LongAdder[] histogram = new LongAdder[HISTOGRAM_BOUNDS_NANOS.length + 1];
+
+    private static ParamList<ParamListOperationStatistics> paramList;
+
+    private static ParamList<ParamListOperationStatistics> getParamList() {
+        if (paramList == null) {
+            paramList = ParamList.forClass(ParamListOperationStatistics.class)
+                                 .withParam("parentClass", ParamListOperationStatistics::getParentClass, Class.class)
+                                 .withParam("operation", ParamListOperationStatistics::getOperation, ParamListOperation.class)
+                                 .withParam("count", ParamListOperationStatistics::getCount, Long.class)
+                                 .withParam("totalNanos", ParamListOperationStatistics::getTotalNanos, Long.class)
+                                 .withParam("totalOutputLength", ParamListOperationStatistics::getTotalOutputLength, Long.class)
+                                 .withParam("histogram", (s) -> Arrays.toString(s.getHistogram()), String.class)
+                                 .andThatsIt();
+        }
+        return paramList;
+    }
+
+    /**
+     * Constructor for a ParamListOperationStatistics.<br>
+     *
+     * @param parentClass  the parent class of the ParamLists being counted - assumed not null
+     * @param operation  the operation being counted - assumed not null
+     */
+    ParamListOperationStatistics(final Class<?> parentClass, final ParamListOperation operation) {
+        this.parentClass = parentClass;
+        this.operation = operation;
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records one completed operation.<br>
+     *
+     * @param outputLength  the length of the resulting String, or 0
+     * @param durationNanos  how long the operation took
+     */
+    void record(final int outputLength, final long durationNanos) {
+        count.increment();
+        totalNanos.add(durationNanos);
+        if (outputLength > 0) {
+            totalOutputLength.add(outputLength);
+        }
+        int bucket = 0;
+        while (bucket < HISTOGRAM_BOUNDS_NANOS.length && durationNanos >= HISTOGRAM_BOUNDS_NANOS[bucket]) {
+            bucket++;
+        }
+        histogram[bucket].increment();
+    }
+
+    /**
+     * Sets all the counters back to zero.<br>
+     */
+    void reset() {
+        count.reset();
+        totalNanos.reset();
+        totalOutputLength.reset();
+        for (LongAdder bucket : histogram) {
+            bucket.reset();
+        }
+    }
+
+    /**
+     * Gets the exclusive upper bounds (in nanoseconds) of the histogram buckets.<br>
+     *
+     * @return A new array of longs. The histogram has one more bucket than this has entries.
+     */
+    public static long[] getHistogramBoundsNanos() {
+        return Arrays.copyOf(HISTOGRAM_BOUNDS_NANOS, HISTOGRAM_BOUNDS_NANOS.length);
+    }
+
+    /**
+     * Gets the parent class of the ParamLists being counted.<br>
+     *
+     * @return A Class.
+     */
+    public Class<?> getParentClass() {
+        return parentClass;
+    }
+
+    /**
+     * Gets the operation being counted.<br>
+     *
+     * @return A {@link ParamListOperation}.
+     */
+    public ParamListOperation getOperation() {
+        return operation;
+    }
+
+    /**
+     * Gets the number of times the operation was performed.<br>
+     *
+     * @return A long.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gets the total time (in nanoseconds) spent on the operation.<br>
+     *
+     * @return A long.
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Gets the average time (in nanoseconds) spent on each operation.<br>
+     *
+     * @return A long, 0 if the operation hasn't been performed.
+     */
+    public long getAverageNanos() {
+        long currentCount = getCount();
+        return currentCount == 0 ? 0 : getTotalNanos() / currentCount;
+    }
+
+    /**
+     * Gets the total length of all the Strings created by the operation.<br>
+     *
+     * This is always 0 for {@link ParamListOperation#EQUALS} and {@link ParamListOperation#HASH_CODE}.
+     *
+     * @return A long.
+     */
+    public long getTotalOutputLength() {
+        return totalOutputLength.sum();
+    }
+
+    /**
+     * Gets the number of operations that fell in each histogram bucket.<br>
+     *
+     * @return A new array of longs.
+     * @see #getHistogramBoundsNanos()
+     */
+    public long[] getHistogram() {
+        return Arrays.stream(histogram).mapToLong(LongAdder::sum).toArray();
+    }
+
+    /**
+     * toString method for a ParamListOperationStatistics object.<br>
+     *
+     * These are live counters, so equals and hashCode are left as identity.
+     *
+     * @return A string representation of this object.
+     */
+    @Override
+    public String toString() {
+        return getParamList().toString(this);
+    }
+}
@@ -0,0 +1,202 @@
+package EasyOverrider;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+/**
+ * The pieces of EasyOverrider that are done differently depending on the Java version it runs on.<br>
+ *
+ * This is the Java 8 version. The jar is a multi-release jar, and the version in <code>src/main/java17</code>
+ * is used instead when running on Java 17 or later.
+ * Both versions must have the same package-private methods.<br>
+ *
+ * On Java 8, records are looked up reflectively (they only exist on Java 16 or later),
+ * and private members are read by making them accessible and unreflecting them.
+ * This version is also used on Java 9 through 16. There, a private lookup is used first (also found reflectively),
+ * since making a member accessible fails when its package isn't open to EasyOverrider.
+ */
+final class ParamListPlatform {
+
+    private static final Method isRecord = findMethod(Class.class, "isRecord");
+    private static final Method getRecordComponents = findMethod(Class.class, "getRecordComponents");
+    private static final Method privateLookupIn = findMethod(MethodHandles.class, "privateLookupIn",
+                                                             Class.class, MethodHandles.Lookup.class);
+
+    private ParamListPlatform() {
+        //This is a static utility class.
+    }
+
+    /**
+     * Gets the Java feature version this version of the class was built for.<br>
+     *
+     * @return 8
+     */
+    static int getFeatureVersion() {
+        return 8;
+    }
+
+    /**
+     * Checks whether or not a class is a record.<br>
+     *
+     * @param type  the class to check - assumed not null
+     * @return True if the class is a record. False otherwise, including when records aren't supported.
+     * @throws ReflectiveOperationException if the check fails.
+     */
+    static boolean isRecord(final Class<?> type) throws ReflectiveOperationException {
+        return isRecord != null && getRecordComponents != null && (Boolean)isRecord.invoke(type);
+    }
+
+    /**
+     * Gets the accessor methods of a record's components, in order.<br>
+     *
+     * @param type  the record class - assumed to be a record
+     * @return An array of Methods.
+     * @throws ReflectiveOperationException if the components cannot be read.
+     */
+    static Method[] getRecordAccessors(final Class<?> type) throws ReflectiveOperationException {
+        Object[] components = (Object[])getRecordComponents.invoke(type);
+        Method[] retval = new Method[components.length];
+        for (int i = 0; i < components.length; i++) {
+            retval[i] = (Method)components[i].getClass().getMethod("getAccessor").invoke(components[i]);
+        }
+        return retval;
+    }
+
+    /**
+     * Creates a MethodHandle that reads a field.<br>
+     *
+     * @param field  the field to read - assumed not static
+     * @return A MethodHandle of type (declaring class)field type.
+     * @throws IllegalAccessException if the field cannot be accessed.
+     */
+    static MethodHandle fieldGetter(final Field field) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = privateLookup(field.getDeclaringClass());
+        if (lookup != null) {
+            return lookup.unreflectGetter(field);
+        }
+        makeAccessible(field);
+        return MethodHandles.lookup().unreflectGetter(field);
+    }
+
+    /**
+     * Creates a MethodHandle that calls an accessor method.<br>
+     *
+     * @param accessor  the method to call - assumed to take no arguments and not be static
+     * @return A MethodHandle of type (declaring class)return type.
+     * @throws IllegalAccessException if the method cannot be accessed.
+     */
+    static MethodHandle accessorGetter(final Method accessor) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = privateLookup(accessor.getDeclaringClass());
+        if (lookup != null) {
+            return lookup.unreflect(accessor);
+        }
+        makeAccessible(accessor);
+        return MethodHandles.lookup().unreflect(accessor);
+    }
+
+    /**
+     * Creates a Function that calls an accessor method directly, instead of through a MethodHandle.<br>
+     *
+     * Accessors are only used for records, which don't exist before Java 16, so this version never creates one.
+     *
+     * @param accessor  the method to call - assumed to take no arguments and not be static
+     * @return null
+     */
+    static Function<Object, Object> accessorFunction(final Method accessor) {
+        return null;
+    }
+
+    /**
+     * Creates a Function that puts constant pieces of text and String arguments together, alternating between them.<br>
+     *
+     * The result is <code>constants[0] + args[0] + constants[1] + ... + args[n - 1] + constants[n]</code>,
+     * where there is one more constant than there are arguments.
+     * On Java 8, it's appended to a StringBuilder created at exactly the right size, so it never needs to grow.
+     *
+     * @param constants  the constant pieces - assumed not null, with no null entries
+     * @return A Function taking the arguments, which must be one fewer than the constants and not null.
+     */
+    static Function<String[], String> concatenator(final String[] constants) {
+        return builderConcatenator(constants);
+    }
+
+    /**
+     * Creates a concatenator (see {@link #concatenator(String[])}) that appends to an exactly sized StringBuilder.<br>
+     *
+     * @param constants  the constant pieces - assumed not null, with no null entries
+     * @return A Function taking the arguments.
+     */
+    private static Function<String[], String> builderConcatenator(final String[] constants) {
+        final String[] pieces = constants.clone();
+        int length = 0;
+        for (String piece : pieces) {
+            length += piece.length();
+        }
+        final int constantsLength = length;
+        return (args) -> {
+            int resultLength = constantsLength;
+            for (String arg : args) {
+                resultLength += arg.length();
+            }
+            StringBuilder output = new StringBuilder(resultLength);
+            for (int i = 0; i < args.length; i++) {
+                output.append(pieces[i]).append(args[i]);
+            }
+            return output.append(pieces[args.length]).toString();
+        };
+    }
+
+    /**
+     * Gets a lookup with private access to a class, on Java 9 or later.<br>
+     *
+     * @param type  the class to get the lookup for - assumed not null
+     * @return A Lookup, or null if this is Java 8 or the class's package isn't open to EasyOverrider.
+     */
+    private static MethodHandles.Lookup privateLookup(final Class<?> type) {
+        if (privateLookupIn == null) {
+            return null;
+        }
+        try {
+            return (MethodHandles.Lookup)privateLookupIn.invoke(null, type, MethodHandles.lookup());
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Makes a field or method accessible.<br>
+     *
+     * @param member  the field or method - assumed not null
+     * @throws IllegalAccessException if it can't be made accessible,
+     *                                e.g. its package isn't open to EasyOverrider on Java 9 or later.
+     */
+    private static void makeAccessible(final AccessibleObject member) throws IllegalAccessException {
+        try {
+            member.setAccessible(true);
+        } catch (RuntimeException e) {
+            IllegalAccessException retval = new IllegalAccessException(member + " cannot be read. Its package must be open to EasyOverrider.");
+            retval.initCause(e);
+            throw retval;
+        }
+    }
+
+    /**
+     * Looks up a public method, if it exists.<br>
+     *
+     * @param owner  the class with the method - assumed not null
+     * @param name  the name of the method - assumed not null
+     * @param parameterTypes  the parameter types of the method
+     * @return The Method, or null if it doesn't exist.
+     */
+    private static Method findMethod(final Class<?> owner, final String name, final Class<?>... parameterTypes) {
+        try {
+            return owner.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package EasyOverrider;
+
+import static EasyOverrider.EasyOverriderUtils.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Samples equals and hashCode calls to find out which parameters are expensive.<br>
+ *
+ * Give one of these to {@link ParamListServiceImpl#setProfiler(ParamListProfiler)}.
+ * Then, about one in every <code>sampleRate</code> calls to equals or hashCode will time
+ * each parameter's getter and comparison (or hash calculation) separately.
+ * The results are kept as a {@link ParamProfile} for each parent class and parameter name.<br>
+ *
+ * <pre>
+ * {@code
+ *
+ * ParamListProfiler profiler = new ParamListProfiler(100);
+ * ParamListServiceImpl service = new ParamListServiceImpl().setProfiler(profiler);
+ * ...
+ * System.out.println(profiler.getReport(Foo.class));
+ * }
+ * </pre>
+ */
+public class ParamListProfiler {
+
+    private final int sampleRate;
+    private final Map<Class<?>, Map<String, ParamProfile>> profileMap = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for a ParamListProfiler.<br>
+     *
+     * @param sampleRate  profile one out of about this many calls - must be at least 1
+     * @throws IllegalArgumentException if the sampleRate is less than 1.
+     */
+    public ParamListProfiler(final int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("Argument 1 (sampleRate) provided to ParamListProfiler constructor " +
+                                               "must be at least 1.");
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Gets the sample rate. About one out of this many calls are profiled.<br>
+     *
+     * @return An int.
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Decides whether or not the current call should be profiled.<br>
+     *
+     * @return True if this call should be profiled. False otherwise.
+     */
+    boolean shouldSample() {
+        return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    /**
+     * Compares the equals-included parameters of two objects, timing each parameter.<br>
+     *
+     * The result is the same as the un-profiled comparison, including stopping at the first unequal parameter.
+     *
+     * @param thisO  the first object - assumed not null
+     * @param thatO  the second object - assumed not null
+     * @param paramList  the ParamList describing the objects - assumed not null
+     * @param <O>  the type of the objects
+     * @return True if all equals-included parameters are equal. False otherwise.
+     */
+    <O> boolean profileEquals(final O thisO, final O thatO, final ParamList<O> paramList) {
+        Map<String, ParamProfile> profiles = getProfiles(paramList.getParentClass());
+        for (ParamDescription<? super O, ?> paramDescription : paramList.getEqualsParams()) {
+            long startNanos = System.nanoTime();
+            Object thisP = paramDescription.getGetter().apply(thisO);
+            Object thatP = paramDescription.getGetter().apply(thatO);
+            long getterDoneNanos = System.nanoTime();
+            boolean isEqual = thisP == thatP || valuesAreEqual(paramDescription, thisP, thatP);
+            long comparisonDoneNanos = System.nanoTime();
+            ParamProfile profile = getProfile(profiles, paramList.getParentClass(), paramDescription.getName());
+            profile.recordGetter(2, getterDoneNanos - startNanos);
+            profile.recordComparison(comparisonDoneNanos - getterDoneNanos);
+            if (!isEqual) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compares two values of a parameter using the parameter's own comparison.<br>
+     *
+     * @param paramDescription  the description of the parameter - assumed not null
+     * @param thisP  the first value - can be null
+     * @param thatP  the second value - can be null
+     * @param <P>  the type of the parameter
+     * @return True if the values are equal. False if different.
+     */
+    @SuppressWarnings("unchecked")
+    private static <P> boolean valuesAreEqual(final ParamDescription<?, P> paramDescription,
+                                              final Object thisP, final Object thatP) {
+        return paramDescription.valuesAreEqual((P)thisP, (P)thatP);
+    }
+
+    /**
+     * Gets the hashCode of a parameter value using the parameter's own hashCode calculation.<br>
+     *
+     * @param paramDescription  the description of the parameter - assumed not null
+     * @param value  the value - can be null
+     * @param <P>  the type of the parameter
+     * @return An int.
+     */
+    @SuppressWarnings("unchecked")
+    private static <P> int valueHashCode(final ParamDescription<?, P> paramDescription, final Object value) {
+        return paramDescription.valueHashCode((P)value);
+    }
+
+    /**
+     * Calculates the hashCode of an object, timing each parameter.<br>
+     *
+     * The result is the same as the un-profiled calculation.
+     *
+     * @param thisObj  the object - assumed not null
+     * @param paramList  the ParamList describing the object - assumed not null
+     * @param <O>  the type of the object
+     * @return An int.
+     */
+    <O> int profileHashCode(final O thisObj, final ParamList<O> paramList) {
+        Map<String, ParamProfile> profiles = getProfiles(paramList.getParentClass());
+        int result = 1;
+        for (ParamDescription<? super O, ?> paramDescription : paramList.getHashCodeParams()) {
+            long startNanos = System.nanoTime();
+            Object thisP = paramDescription.getGetter().apply(thisObj);
+            long getterDoneNanos = System.nanoTime();
+            result = 31 * result + valueHashCode(paramDescription, thisP);
+            long hashDoneNanos = System.nanoTime();
+            ParamProfile profile = getProfile(profiles, paramList.getParentClass(), paramDescription.getName());
+            profile.recordGetter(1, getterDoneNanos - startNanos);
+            profile.recordComparison(hashDoneNanos - getterDoneNanos);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the profiles of a parent class's parameters, creating an empty map for them the first time.<br>
+     *
+     * The map is looked up without locking first, since it only needs to be created once per class.
+     *
+     * @param parentClass  the class of the profiled objects - assumed not null
+     * @return A concurrent Map of parameter name to ParamProfile.
+     */
+    private Map<String, ParamProfile> getProfiles(final Class<?> parentClass) {
+        Map<String, ParamProfile> retval = profileMap.get(parentClass);
+        if (retval == null) {
+            retval = profileMap.computeIfAbsent(parentClass, pc -> new ConcurrentHashMap<>());
+        }
+        return retval;
+    }
+
+    /**
+     * Gets the profile of one parameter, creating it the first time.<br>
+     *
+     * @param profiles  the profiles of the parent class's parameters - assumed not null
+     * @param parentClass  the class of the profiled objects - assumed not null
+     * @param name  the name of the parameter - assumed not null
+     * @return A ParamProfile.
+     */
+    private static ParamProfile getProfile(final Map<String, ParamProfile> profiles, final Class<?> parentClass,
+                                           final String name) {
+        ParamProfile retval = profiles.get(name);
+        if (retval == null) {
+            retval = profiles.computeIfAbsent(name, n -> new ParamProfile(parentClass, n));
+        }
+        return retval;
+    }
+
+    /**
+     * Gets the parent classes that have had at least one call profiled.<br>
+     *
+     * @return An unmodifiable Set of Classes.
+     */
+    public Set<Class<?>> getParentClasses() {
+        return Collections.unmodifiableSet(profileMap.keySet());
+    }
+
+    /**
+     * Gets the profiles of the parameters of a parent class, ranked so that the most total time is first.<br>
+     *
+     * @param parentClass  the parent class of the ParamList - cannot be null
+     * @return A List of ParamProfile objects. If nothing has been profiled for the class, the list is empty.
+     * @throws IllegalArgumentException if parentClass is null.
+     */
+    public List<ParamProfile> getRankedProfiles(final Class<?> parentClass) {
+        requireNonNull(parentClass, 1, "parentClass", "getRankedProfiles");
+        Map<String, ParamProfile> profiles = profileMap.get(parentClass);
+        if (profiles == null) {
+            return Collections.emptyList();
+        }
+        List<ParamProfile> retval = new ArrayList<>(profiles.values());
+        retval.sort(Comparator.comparingLong(ParamProfile::getTotalNanos).reversed());
+        return retval;
+    }
+
+    /**
+     * Creates a report of the parameters of a parent class, one line per parameter, with the most total time first.<br>
+     *
+     * @param parentClass  the parent class of the ParamList - cannot be null
+     * @return A String.
+     * @throws IllegalArgumentException if parentClass is null.
+     */
+    public String getReport(final Class<?> parentClass) {
+        requireNonNull(parentClass, 1, "parentClass", "getReport");
+        return getRankedProfiles(parentClass)
+                        .stream()
+                        .map(p -> String.format("%s: totalNanos=%d, getterCalls=%d, getterNanos=%d, comparisonCalls=%d, comparisonNanos=%d",
+                                                p.getName(), p.getTotalNanos(), p.getGetterCalls(), p.getGetterNanos(),
+                                                p.getComparisonCalls(), p.getComparisonNanos()))
+                        .collect(Collectors.joining(System.lineSeparator(),
+                                                    "ParamListProfiler " + parentClass.getName() + System.lineSeparator(), ""));
+    }
+
+    /**
+     * Sets all the counters back to zero.<br>
+     *
+     * Parent classes and parameters that have been seen are kept.
+     */
+    public void reset() {
+        profileMap.values().forEach(profiles -> profiles.values().forEach(ParamProfile::reset));
+    }
+
+    /**
+     * toString method for a ParamListProfiler.<br>
+     *
+     * @return A String.
+     */
+    @Override
+    public String toString() {
+        return "ParamListProfiler [sampleRate='" + sampleRate + "', parentClasses='" + profileMap.keySet() + "']";
+    }
+}
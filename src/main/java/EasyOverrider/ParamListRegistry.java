@@ -0,0 +1,80 @@
+package EasyOverrider;
+
+import static EasyOverrider.EasyOverriderUtils.requireNonNull;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps track of the canonical ParamList for each class: the one the class's own equals, hashCode, and toString methods use.<br>
+ *
+ * A ParamList is only added here when {@link #register(ParamList)} is called with it;
+ * creating a ParamList doesn't register it, since a class can have derived, extended, or temporary ParamLists
+ * that aren't the ones its own methods use.
+ * This lets features that walk an object graph (e.g. {@link ParamList#writeJson(Object, Appendable)})
+ * find the ParamList for a nested object that they only know the runtime class of.<br>
+ *
+ * Only one ParamList can be registered for a class at a time, so what's found never depends on the order ParamLists were created.
+ * Lookups are by exact class. A subclass doesn't get its superclass's ParamList, since that would leave out the subclass's own parameters.<br>
+ *
+ * Entries are kept using a {@link ClassValue}, so each one is stored with its class.
+ * When a class loader is discarded (e.g. on redeploy), its entries go with it instead of being held on to here.
+ */
+public final class ParamListRegistry {
+
+    private static final ClassValue<AtomicReference<ParamList<?>>> registered =
+                    new ClassValue<AtomicReference<ParamList<?>>>() {
+                        @Override
+                        protected AtomicReference<ParamList<?>> computeValue(final Class<?> type) {
+                            return new AtomicReference<>();
+                        }
+                    };
+
+    private ParamListRegistry() {
+        //This is a static utility class.
+    }
+
+    /**
+     * Registers a ParamList as the canonical one for its parent class.<br>
+     *
+     * Registering the same ParamList again does nothing.
+     * Use {@link #unregister(ParamList)} first to replace it with a different one.
+     *
+     * @param paramList  the ParamList to register - cannot be null
+     * @throws IllegalArgumentException if paramList is null.
+     * @throws IllegalStateException if a different ParamList is already registered for the parent class.
+     */
+    public static void register(final ParamList<?> paramList) {
+        requireNonNull(paramList, 1, "paramList", "register");
+        AtomicReference<ParamList<?>> entry = registered.get(paramList.getParentClass());
+        if (!entry.compareAndSet(null, paramList) && entry.get() != paramList) {
+            throw new IllegalStateException("A different ParamList is already registered for "
+                                            + paramList.getParentClass().getName() + ".");
+        }
+    }
+
+    /**
+     * Removes a ParamList from the registry if it's still the one registered for its parent class.<br>
+     *
+     * @param paramList  the ParamList to remove - cannot be null
+     * @return True if it was removed. False if a different ParamList (or none) is registered for its parent class.
+     * @throws IllegalArgumentException if paramList is null.
+     */
+    public static boolean unregister(final ParamList<?> paramList) {
+        requireNonNull(paramList, 1, "paramList", "unregister");
+        return registered.get(paramList.getParentClass()).compareAndSet(paramList, null);
+    }
+
+    /**
+     * Finds the canonical ParamList for objects of the provided class.<br>
+     *
+     * @param objClass  the class of the object - cannot be null
+     * @param <O>  the type of the object
+     * @return The ParamList registered for exactly that class, or null if there isn't one.
+     * @throws IllegalArgumentException if objClass is null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <O> ParamList<O> lookup(final Class<O> objClass) {
+        requireNonNull(objClass, 1, "objClass", "lookup");
+        return (ParamList<O>)registered.get(objClass).get();
+    }
+}
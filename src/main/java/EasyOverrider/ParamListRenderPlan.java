@@ -0,0 +1,340 @@
+package EasyOverrider;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The constant pieces of a ParamList's toString result, worked out once for a set of config values.<br>
+ *
+ * The toString format is made of literal text around the hash code and parameters Strings,
+ * and the class name is the same every time. Each parameter is also wrapped in the same text every time
+ * (e.g. <code>theString='</code> and <code>'</code> with the default formats).
+ * A plan finds all of those pieces up front so that a toString can append them directly
+ * instead of running {@link String#format(String, Object...)} for every parameter.<br>
+ *
+ * The pieces are found by formatting with stand-in values. If a format does anything to a value other than
+ * insert it once as-is (e.g. padding, upper-casing, or using it twice), the plan can't be used,
+ * and {@link #isUsable()} returns false.<br>
+ *
+ * For parameters with a {@link ParamDescription#getToStringCacheLimit()}, a plan also keeps the whole formatted piece
+ * (e.g. <code>status='ACTIVE'</code>) for each value it sees, up to the limit, so those values are only formatted once.<br>
+ *
+ * A plan also keeps a running estimate of how long its results are, so output buffers can be created at about the right size.<br>
+ *
+ * Plans are created and kept by {@link ParamList#getRenderPlan(ParamListServiceConfigSnapshot, boolean)}.
+ */
+final class ParamListRenderPlan {
+
+    // Private use characters are used so that the stand-ins won't match any literal text.
+    private static final String[] HASH_CODE_PROBES = { "\uE000h\uE000", "\uE000hh\uE000" };
+    private static final String[] PARAMS_PROBES = { "\uE000p\uE000", "\uE000pp\uE000" };
+    private static final String[] VALUE_PROBES = { "\uE000v\uE000", "\uE000vv\uE000" };
+
+    private static final int MIN_ESTIMATED_LENGTH = 16;
+
+    private final ParamListServiceConfigSnapshot settings;
+    private final boolean usable;
+    private final String[] literals;
+    private final boolean[] slotIsHashCode;
+    private final String[] namePrefixes;
+    private final String[] nameSuffixes;
+    private final String valuePrefix;
+    private final String valueSuffix;
+    private final int[] fragmentLimits;
+    private final Map<Object, String>[] fragmentCaches;
+    private volatile int estimatedLength = MIN_ESTIMATED_LENGTH;
+
+    /**
+     * Constructor for a ParamListRenderPlan.<br>
+     *
+     * @param settings  the config values to create the plan for - assumed not null
+     * @param className  the class name String of the ParamList's parent class - assumed not null
+     * @param paramDescriptions  the parameters the plan is for, in order - assumed not null
+     */
+    ParamListRenderPlan(final ParamListServiceConfigSnapshot settings, final String className,
+                        final ParamDescription<?, ?>[] paramDescriptions) {
+        this.settings = settings;
+        String[] toStringPieces = splitToStringFormat(settings, className);
+        String[] valuePieces = split(settings.getParameterValueFormat(), VALUE_PROBES);
+        String[] namePrefixes = new String[paramDescriptions.length];
+        String[] nameSuffixes = new String[paramDescriptions.length];
+        boolean namesSplit = true;
+        for (int i = 0; i < paramDescriptions.length && namesSplit; i++) {
+            String[] namePieces = split(settings.getNameValueFormat(), VALUE_PROBES, paramDescriptions[i].getName());
+            if (namePieces == null) {
+                namesSplit = false;
+            } else {
+                namePrefixes[i] = namePieces[0];
+                nameSuffixes[i] = namePieces[1];
+            }
+        }
+        this.usable = toStringPieces != null && valuePieces != null && namesSplit;
+        if (usable) {
+            int slots = toStringPieces.length / 2;
+            this.literals = new String[slots + 1];
+            this.slotIsHashCode = new boolean[slots];
+            for (int i = 0; i < slots; i++) {
+                literals[i] = toStringPieces[i * 2];
+                slotIsHashCode[i] = HASH_CODE_PROBES[0].equals(toStringPieces[i * 2 + 1]);
+            }
+            literals[slots] = toStringPieces[toStringPieces.length - 1];
+            this.namePrefixes = namePrefixes;
+            this.nameSuffixes = nameSuffixes;
+            this.valuePrefix = valuePieces[0];
+            this.valueSuffix = valuePieces[1];
+            this.fragmentLimits = new int[paramDescriptions.length];
+            this.fragmentCaches = newFragmentCaches(paramDescriptions.length);
+            for (int i = 0; i < paramDescriptions.length; i++) {
+                fragmentLimits[i] = paramDescriptions[i].getToStringCacheLimit();
+                if (fragmentLimits[i] > 0) {
+                    fragmentCaches[i] = new ConcurrentHashMap<>();
+                }
+            }
+        } else {
+            this.literals = null;
+            this.slotIsHashCode = null;
+            this.namePrefixes = null;
+            this.nameSuffixes = null;
+            this.valuePrefix = null;
+            this.valueSuffix = null;
+            this.fragmentLimits = null;
+            this.fragmentCaches = null;
+        }
+    }
+
+    /**
+     * Gets the config values this plan was created for.<br>
+     *
+     * @return A ParamListServiceConfigSnapshot.
+     */
+    ParamListServiceConfigSnapshot getSettings() {
+        return settings;
+    }
+
+    /**
+     * Gets whether or not this plan can be used.<br>
+     *
+     * @return True if every format could be split into literal pieces. False otherwise.
+     */
+    boolean isUsable() {
+        return usable;
+    }
+
+    /**
+     * Gets the literal text of the toString format.<br>
+     *
+     * There is one more literal than there are slots. Literal <code>i</code> comes before slot <code>i</code>,
+     * and the last literal comes after the last slot. The class name is already part of the literals.
+     *
+     * @return An array of Strings - must not be altered.
+     */
+    String[] getLiterals() {
+        return literals;
+    }
+
+    /**
+     * Gets what goes in each slot of the toString format.<br>
+     *
+     * @return An array with true for the hash code String and false for the parameters String - must not be altered.
+     */
+    boolean[] getSlotIsHashCode() {
+        return slotIsHashCode;
+    }
+
+    /**
+     * Gets the text that comes before a parameter's value (e.g. <code>theString=</code>).<br>
+     *
+     * @param index  the index of the parameter
+     * @return A String.
+     */
+    String getNamePrefix(final int index) {
+        return namePrefixes[index];
+    }
+
+    /**
+     * Gets the text that comes after a parameter's value.<br>
+     *
+     * @param index  the index of the parameter
+     * @return A String.
+     */
+    String getNameSuffix(final int index) {
+        return nameSuffixes[index];
+    }
+
+    /**
+     * Gets the text that comes before a formatted value (e.g. <code>'</code>).<br>
+     *
+     * @return A String.
+     */
+    String getValuePrefix() {
+        return valuePrefix;
+    }
+
+    /**
+     * Gets the text that comes after a formatted value (e.g. <code>'</code>).<br>
+     *
+     * @return A String.
+     */
+    String getValueSuffix() {
+        return valueSuffix;
+    }
+
+    /**
+     * Gets whether or not formatted pieces are cached for a parameter.<br>
+     *
+     * @param index  the index of the parameter
+     * @return True if the parameter has a cache. False otherwise.
+     */
+    boolean isCachingFragments(final int index) {
+        return fragmentCaches[index] != null;
+    }
+
+    /**
+     * Gets the cached formatted piece for a parameter value.<br>
+     *
+     * @param index  the index of a parameter that is caching fragments
+     * @param value  the parameter value - cannot be null
+     * @return The name and formatted value, or null if it isn't cached.
+     */
+    String getCachedFragment(final int index, final Object value) {
+        return fragmentCaches[index].get(value);
+    }
+
+    /**
+     * Caches the formatted piece for a parameter value, unless the parameter's cache is already full.<br>
+     *
+     * @param index  the index of a parameter that is caching fragments
+     * @param value  the parameter value - cannot be null
+     * @param fragment  the name and formatted value - cannot be null
+     */
+    void cacheFragment(final int index, final Object value, final String fragment) {
+        Map<Object, String> cache = fragmentCaches[index];
+        if (cache.size() < fragmentLimits[index]) {
+            cache.putIfAbsent(value, fragment);
+        }
+    }
+
+    /**
+     * Gets the estimated length of a result, for sizing an output buffer.<br>
+     *
+     * @return An int.
+     */
+    int getEstimatedLength() {
+        return estimatedLength;
+    }
+
+    /**
+     * Updates the estimated length using the length of a result.<br>
+     *
+     * A longer result raises the estimate right away, so the next buffer won't need to grow.
+     * A shorter one only lowers it a little, so one small result doesn't undo that.
+     * This is only a hint, so updates from different threads aren't coordinated.
+     *
+     * @param length  the length of a result
+     */
+    void recordLength(final int length) {
+        int current = estimatedLength;
+        if (length > current) {
+            estimatedLength = length;
+        } else if (length < current) {
+            estimatedLength = Math.max(MIN_ESTIMATED_LENGTH, current - (current - length) / 8);
+        }
+    }
+
+    /**
+     * Creates the array to hold the fragment caches.<br>
+     *
+     * @param length  the number of parameters
+     * @return An array of nulls.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<Object, String>[] newFragmentCaches(final int length) {
+        return new Map[length];
+    }
+
+    /**
+     * Splits the toString format into literals and slots.<br>
+     *
+     * @param settings  the config values - assumed not null
+     * @param className  the class name String - assumed not null
+     * @return Alternating literals and slot probes (starting and ending with a literal), or null if it can't be split.
+     */
+    private static String[] splitToStringFormat(final ParamListServiceConfigSnapshot settings, final String className) {
+        String[] retval = null;
+        for (int probe = 0; probe < PARAMS_PROBES.length; probe++) {
+            String formatted = String.format(settings.getToStringFormat(), className, HASH_CODE_PROBES[probe],
+                                             PARAMS_PROBES[probe]);
+            int hashCodeAt = settings.isHashCodeInToString() ? indexOfOnly(formatted, HASH_CODE_PROBES[probe]) : -1;
+            int paramsAt = indexOfOnly(formatted, PARAMS_PROBES[probe]);
+            if (paramsAt < 0 || (settings.isHashCodeInToString() && hashCodeAt < 0)) {
+                return null;
+            }
+            String[] pieces;
+            if (hashCodeAt < 0) {
+                pieces = new String[] { formatted.substring(0, paramsAt), PARAMS_PROBES[0],
+                                        formatted.substring(paramsAt + PARAMS_PROBES[probe].length()) };
+            } else {
+                boolean hashCodeFirst = hashCodeAt < paramsAt;
+                int firstAt = Math.min(hashCodeAt, paramsAt);
+                int firstEnd = firstAt + (hashCodeFirst ? HASH_CODE_PROBES[probe] : PARAMS_PROBES[probe]).length();
+                int secondAt = Math.max(hashCodeAt, paramsAt);
+                int secondEnd = secondAt + (hashCodeFirst ? PARAMS_PROBES[probe] : HASH_CODE_PROBES[probe]).length();
+                pieces = new String[] { formatted.substring(0, firstAt),
+                                        hashCodeFirst ? HASH_CODE_PROBES[0] : PARAMS_PROBES[0],
+                                        formatted.substring(firstEnd, secondAt),
+                                        hashCodeFirst ? PARAMS_PROBES[0] : HASH_CODE_PROBES[0],
+                                        formatted.substring(secondEnd) };
+            }
+            if (retval == null) {
+                retval = pieces;
+            } else if (!Arrays.equals(retval, pieces)) {
+                return null;
+            }
+        }
+        return retval;
+    }
+
+    /**
+     * Splits a format into the text before and after the value it's given.<br>
+     *
+     * @param format  the format - assumed valid
+     * @param probes  the stand-in values to try - assumed not null
+     * @param leadingArgs  any arguments that come before the value
+     * @return The text before and after the value, or null if it can't be split.
+     */
+    private static String[] split(final String format, final String[] probes, final Object... leadingArgs) {
+        String[] retval = null;
+        Object[] args = Arrays.copyOf(leadingArgs, leadingArgs.length + 1);
+        for (String probe : probes) {
+            args[leadingArgs.length] = probe;
+            String formatted = String.format(format, args);
+            int at = indexOfOnly(formatted, probe);
+            if (at < 0) {
+                return null;
+            }
+            String[] pieces = { formatted.substring(0, at), formatted.substring(at + probe.length()) };
+            if (retval == null) {
+                retval = pieces;
+            } else if (!Arrays.equals(retval, pieces)) {
+                return null;
+            }
+        }
+        return retval;
+    }
+
+    /**
+     * Finds a String that should be in another exactly once.<br>
+     *
+     * @param text  the String to look in - assumed not null
+     * @param part  the String to look for - assumed not null
+     * @return The index of the part, or -1 if it isn't there exactly once.
+     */
+    private static int indexOfOnly(final String text, final String part) {
+        int at = text.indexOf(part);
+        if (at < 0 || text.indexOf(part, at + 1) >= 0) {
+            return -1;
+        }
+        return at;
+    }
+}
@@ -3,11 +3,27 @@ package EasyOverrider;
 import static EasyOverrider.ParamUsage.TOSTRING_ONLY;
 import static EasyOverrider.EasyOverriderUtils.requireNonNull;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.Date;
 import java.util.IllegalFormatException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 
 /**
  * This houses any configuration pieces that should be available to the ParamListService.<br>
+ *
+ * Every change made through a setter is also copied into an immutable {@link ParamListServiceConfigSnapshot}.
+ * The service only reads values from that snapshot, so changes made while a toString is running are picked up by the next one.
  */
 public class ParamListServiceConfig {
 
@@ -20,6 +36,30 @@ public class ParamListServiceConfig {
     private String toStringFormat = "%1$s@%2$s [%3$s]";
     private Function<Class, String> classNameGetter = Class::getSimpleName;
     private Function<Integer, String> hashCodeToString = Integer::toHexString;
+    private IntFunction<String> hashCodeRenderer = Integer::toHexString;
+    private boolean usingIdentityHashCode = false;
+    private int compilationThreshold = DEFAULT_COMPILATION_THRESHOLD;
+    private final Map<Class<?>, ValueRenderer<?>> valueRenderers = new LinkedHashMap<>();
+    private boolean frozen = false;
+    // Stays null until a setter is called, meaning the values are still the defaults. See getSnapshot().
+    private final AtomicReference<ParamListServiceConfigSnapshot> snapshot = new AtomicReference<>();
+
+    private static ParamListServiceConfigSnapshot defaultSnapshot;
+
+    /**
+     * The default maximum number of bytes rendered by the built-in byte[] renderer.
+     */
+    public static final int DEFAULT_MAX_RENDERED_BYTES = 32;
+
+    /**
+     * The default number of calls a ParamList handles before it switches to a compiled version of its methods.
+     */
+    public static final int DEFAULT_COMPILATION_THRESHOLD = 1000;
+
+    /**
+     * The compilationThreshold value indicating that ParamLists are never compiled.
+     */
+    public static final int NEVER_COMPILE = -1;
 
     private static ParamList<ParamListServiceConfig> paramList;
 
@@ -43,6 +83,13 @@ public class ParamListServiceConfig {
                                  .withParam("hashCodeToString",
                                             ParamListServiceConfig::getHashCodeToString, TOSTRING_ONLY,
                                             Function.class)
+                                 .withParam("hashCodeRenderer",
+                                            ParamListServiceConfig::getHashCodeRenderer, TOSTRING_ONLY,
+                                            IntFunction.class)
+                                 .withParam("usingIdentityHashCode", ParamListServiceConfig::isUsingIdentityHashCode, Boolean.class)
+                                 .withParam("compilationThreshold", ParamListServiceConfig::getCompilationThreshold, Integer.class)
+                                 .withMap("valueRenderers", ParamListServiceConfig::getValueRenderers, Map.class,
+                                          Class.class, ValueRenderer.class)
                                  .andThatsIt();
         }
         return paramList;
@@ -95,19 +142,26 @@ public class ParamListServiceConfig {
     /**
      * A Copy constructor.<br>
      *
+     * The original's values were already checked when they were set, so they're copied directly, and one snapshot is made for them.
+     *
      * @param original  the ParamListServiceConfig to copy
      * @see #copyOf()
      */
     public ParamListServiceConfig(ParamListServiceConfig original) {
-        this.setStringForNull(original.getStringForNull());
-        this.setStringForRecursionPrevented(original.getStringForRecursionPrevented());
-        this.setStringForEmptyParamList(original.getStringForEmptyParamList());
-        this.setParameterDelimiter(original.getParameterDelimiter());
-        this.setNameValueFormat(original.getNameValueFormat());
-        this.setParameterValueFormat(original.getParameterValueFormat());
-        this.setToStringFormat(original.getToStringFormat());
-        this.setClassNameGetter(original.getClassNameGetter());
-        this.setHashCodeToString(original.getHashCodeToString());
+        this.stringForNull = original.getStringForNull();
+        this.stringForRecursionPrevented = original.getStringForRecursionPrevented();
+        this.stringForEmptyParamList = original.getStringForEmptyParamList();
+        this.parameterDelimiter = original.getParameterDelimiter();
+        this.nameValueFormat = original.getNameValueFormat();
+        this.parameterValueFormat = original.getParameterValueFormat();
+        this.toStringFormat = original.getToStringFormat();
+        this.classNameGetter = original.getClassNameGetter();
+        this.hashCodeToString = original.getHashCodeToString();
+        this.hashCodeRenderer = original.getHashCodeRenderer();
+        this.usingIdentityHashCode = original.isUsingIdentityHashCode();
+        this.compilationThreshold = original.getCompilationThreshold();
+        this.valueRenderers.putAll(original.getValueRenderers());
+        publish();
     }
 
     /**
@@ -139,10 +193,13 @@ public class ParamListServiceConfig {
      * @param stringForNull  the string to use in a toString when a value is null - cannot be null
      * @return the current ParamListServiceConfig
      * @throws IllegalArgumentException if the provided String is null
+     * @throws IllegalStateException if this config is frozen.
      */
     public ParamListServiceConfig setStringForNull(final String stringForNull) {
+        requireNotFrozen("setStringForNull");
         requireNonNull(stringForNull, 1, "stringForNull", "setStringForNull");
         this.stringForNull = stringForNull;
+        publish();
         return this;
     }
 
@@ -165,10 +222,13 @@ public class ParamListServiceConfig {
      * @param stringForRecursionPrevented  the string to use in a toString when a previously seen object is seen again - cannot be null
      * @return the current ParamListServiceConfig
      * @throws IllegalArgumentException if the provided String is null
+     * @throws IllegalStateException if this config is frozen.
      */
     public ParamListServiceConfig setStringForRecursionPrevented(final String stringForRecursionPrevented) {
+        requireNotFrozen("setStringForRecursionPrevented");
         requireNonNull(stringForRecursionPrevented, 1, "stringForRecursionPrevented", "setStringForRecursionPrevented");
         this.stringForRecursionPrevented = stringForRecursionPrevented;
+        publish();
         return this;
     }
 
@@ -191,10 +251,13 @@ public class ParamListServiceConfig {
      * @param stringForEmptyParamList  the string to use in a toString when an empty ParamList is encountered - cannot be null
      * @return the current ParamListServiceConfig
      * @throws IllegalArgumentException if the provided String is null
+     * @throws IllegalStateException if this config is frozen.
      */
     public ParamListServiceConfig setStringForEmptyParamList(final String stringForEmptyParamList) {
+        requireNotFrozen("setStringForEmptyParamList");
         requireNonNull(stringForEmptyParamList, 1, "stringForEmptyParamList", "setStringForEmptyParamList");
         this.stringForEmptyParamList = stringForEmptyParamList;
+        publish();
         return this;
     }
 
@@ -217,10 +280,13 @@ public class ParamListServiceConfig {
      * @param parameterDelimiter  the string to use in a toString between parameters - cannot be null
      * @return the current ParamListServiceConfig
      * @throws IllegalArgumentException if the provided String is null
+     * @throws IllegalStateException if this config is frozen.
      */
     public ParamListServiceConfig setParameterDelimiter(final String parameterDelimiter) {
+        requireNotFrozen("setParameterDelimiter");
         requireNonNull(parameterDelimiter, 1, "parameterDelimiter", "setParameterDelimiter");
         this.parameterDelimiter = parameterDelimiter;
+        publish();
         return this;
     }
 
@@ -246,8 +312,10 @@ public class ParamListServiceConfig {
      * @return the current ParamListServiceConfig
      * @throws IllegalArgumentException if the provided String is null
      * @throws IllegalArgumentException if the provided format is invalid
+     * @throws IllegalStateException if this config is frozen.
      */
     public ParamListServiceConfig setNameValueFormat(final String nameValueFormat) {
+        requireNotFrozen("setNameValueFormat");
         requireNonNull(nameValueFormat, 1, "nameValueFormat", "setNameValueFormat");
         try {
             String.format(nameValueFormat, "name", "value");
@@ -255,6 +323,7 @@ public class ParamListServiceConfig {
             throw new IllegalArgumentException("The string provided to setNameValueFormat is not a valid format string.", e);
         }
         this.nameValueFormat = nameValueFormat;
+        publish();
         return this;
     }
 
@@ -280,8 +349,10 @@ public class ParamListServiceConfig {
      * @return the current ParamListServiceConfig
      * @throws IllegalArgumentException if the provided String is null
      * @throws IllegalArgumentException if the provided format is invalid
+     * @throws IllegalStateException if this config is frozen.
      */
     public ParamListServiceConfig setParameterValueFormat(final String parameterValueFormat) {
+        requireNotFrozen("setParameterValueFormat");
         requireNonNull(parameterValueFormat, 1, "parameterValueFormat", "setParameterValueFormat");
         try {
             String.format(parameterValueFormat, "parameter");
@@ -289,6 +360,7 @@ public class ParamListServiceConfig {
             throw new IllegalArgumentException("The string provided to setParameterValueFormat is not a valid format string.", e);
         }
         this.parameterValueFormat = parameterValueFormat;
+        publish();
         return this;
     }
 
@@ -306,7 +378,8 @@ public class ParamListServiceConfig {
     /**
      * Setter for the format String that is used in a toString to create the final toString value.<br>
      *
-     * When using this format String, three values will be provided in this order: class, hexed hash code, parameter name/value pairs.<br>
+     * When using this format String, three values will be provided in this order: class, hexed hash code, parameter name/value pairs.
+     * If the format doesn't use the hash code, it isn't calculated.<br>
      *
      * Default value is <code>"%1$s@%2$s [%3$s]"</code>.<br>
      *
@@ -314,8 +387,10 @@ public class ParamListServiceConfig {
      * @return the current ParamListServiceConfig
      * @throws IllegalArgumentException if the provided String is null
      * @throws IllegalArgumentException if the provided format is invalid
+     * @throws IllegalStateException if this config is frozen.
      */
     public ParamListServiceConfig setToStringFormat(final String toStringFormat) {
+        requireNotFrozen("setToStringFormat");
         requireNonNull(toStringFormat, 1, "toStringFormat", "setToStringFormat");
         try {
             String.format(toStringFormat, "class", "hashcode", "paramslist");
@@ -323,6 +398,7 @@ public class ParamListServiceConfig {
             throw new IllegalArgumentException("The string provided to setToStringFormat is not a valid format string.", e);
         }
         this.toStringFormat = toStringFormat;
+        publish();
         return this;
     }
 
@@ -345,10 +421,13 @@ public class ParamListServiceConfig {
      * @param classNameGetter  the function to use to get the class name from a Class object - cannot be null
      * @return the current ParamListServiceConfig
      * @throws IllegalArgumentException if the provided Function is null
+     * @throws IllegalStateException if this config is frozen.
      */
     public ParamListServiceConfig setClassNameGetter(final Function<Class, String> classNameGetter) {
+        requireNotFrozen("setClassNameGetter");
         requireNonNull(classNameGetter, 1, "classNameGetter", "setClassNameGetter");
         this.classNameGetter = classNameGetter;
+        publish();
         return this;
     }
 
@@ -366,18 +445,348 @@ public class ParamListServiceConfig {
     /**
      * Setter for the function that is used to convert the hashCode to a String for the toString method.<br>
      *
+     * This also replaces the {@link #getHashCodeRenderer()}.
+     * Using {@link #setHashCodeRenderer(IntFunction)} instead avoids boxing the hashCode.<br>
+     *
      * Default value is <code>Integer::toHexString</code>.<br>
      *
      * @param hashCodeToString  the function to use to convert the hashCode to a String - cannot be null
      * @return the current ParamListServiceConfig
      * @throws IllegalArgumentException if the provided Function is null
+     * @throws IllegalStateException if this config is frozen.
      */
     public ParamListServiceConfig setHashCodeToString(final Function<Integer, String> hashCodeToString) {
+        requireNotFrozen("setHashCodeToString");
         requireNonNull(hashCodeToString, 1, "hashCodeToString", "setHashCodeToString");
         this.hashCodeToString = hashCodeToString;
+        this.hashCodeRenderer = hashCodeToString::apply;
+        publish();
+        return this;
+    }
+
+    /**
+     * Getter for the function that is used to convert the hashCode int to a String for the toString method.<br>
+     *
+     * Default value is <code>Integer::toHexString</code>.<br>
+     *
+     * @return An IntFunction
+     */
+    public IntFunction<String> getHashCodeRenderer() {
+        return hashCodeRenderer;
+    }
+
+    /**
+     * Setter for the function that is used to convert the hashCode int to a String for the toString method.<br>
+     *
+     * This is the same as {@link #setHashCodeToString(Function)}, but takes in an int so it doesn't have to be boxed.
+     * It also replaces the {@link #getHashCodeToString()}.<br>
+     *
+     * Default value is <code>Integer::toHexString</code>.<br>
+     *
+     * @param hashCodeRenderer  the function to use to convert the hashCode to a String - cannot be null
+     * @return the current ParamListServiceConfig
+     * @throws IllegalArgumentException if the provided IntFunction is null
+     * @throws IllegalStateException if this config is frozen.
+     */
+    public ParamListServiceConfig setHashCodeRenderer(final IntFunction<String> hashCodeRenderer) {
+        requireNotFrozen("setHashCodeRenderer");
+        requireNonNull(hashCodeRenderer, 1, "hashCodeRenderer", "setHashCodeRenderer");
+        this.hashCodeRenderer = hashCodeRenderer;
+        this.hashCodeToString = hashCodeRenderer::apply;
+        publish();
+        return this;
+    }
+
+    /**
+     * Getter for whether the identity hashCode is used for the toString method instead of the object's hashCode.<br>
+     *
+     * Default value is <code>false</code>.<br>
+     *
+     * @return A boolean
+     */
+    public boolean isUsingIdentityHashCode() {
+        return usingIdentityHashCode;
+    }
+
+    /**
+     * Setter for whether the identity hashCode is used for the toString method instead of the object's hashCode.<br>
+     *
+     * The object's hashCode includes the hashCode of every parameter (and every nested object) it uses.
+     * {@link System#identityHashCode(Object)} doesn't look at any of them, so it's much cheaper.
+     * The trade-off is that equal objects will show different values.<br>
+     *
+     * Either way, the hashCode is only found when the {@link #getToStringFormat()} uses it.<br>
+     *
+     * Default value is <code>false</code>.<br>
+     *
+     * @param usingIdentityHashCode  whether or not to use the identity hashCode
+     * @return the current ParamListServiceConfig
+     * @throws IllegalStateException if this config is frozen.
+     */
+    public ParamListServiceConfig setUsingIdentityHashCode(final boolean usingIdentityHashCode) {
+        requireNotFrozen("setUsingIdentityHashCode");
+        this.usingIdentityHashCode = usingIdentityHashCode;
+        publish();
+        return this;
+    }
+
+    /**
+     * Getter for the number of equals, hashCode and toString calls a ParamList handles before they're compiled.<br>
+     *
+     * Default value is {@link #DEFAULT_COMPILATION_THRESHOLD}.<br>
+     *
+     * @return An int
+     * @see #setCompilationThreshold(int)
+     */
+    public int getCompilationThreshold() {
+        return compilationThreshold;
+    }
+
+    /**
+     * Setter for the number of equals, hashCode and toString calls a ParamList handles before they're compiled.<br>
+     *
+     * Every ParamList starts out using the general loops in {@link ParamListServiceImpl}, which cost nothing to set up.
+     * Once a ParamList has been used this many times, a version specialized to its parameters and toString formats
+     * is built on a background thread, and the ParamList switches over to it when it's ready. Both give the same results.
+     * That way the many ParamLists that are hardly used stay cheap, and the busy ones get faster.<br>
+     *
+     * Use 0 to compile each ParamList the first time it's used, or {@link #NEVER_COMPILE} to never compile them.
+     * ParamLists that have already been compiled stay compiled.<br>
+     *
+     * Default value is {@link #DEFAULT_COMPILATION_THRESHOLD}.<br>
+     *
+     * @param compilationThreshold  the number of calls - cannot be negative unless it is {@link #NEVER_COMPILE}
+     * @return the current ParamListServiceConfig
+     * @throws IllegalArgumentException if the compilationThreshold is negative and not {@link #NEVER_COMPILE}.
+     * @throws IllegalStateException if this config is frozen.
+     */
+    public ParamListServiceConfig setCompilationThreshold(final int compilationThreshold) {
+        requireNotFrozen("setCompilationThreshold");
+        if (compilationThreshold < 0 && compilationThreshold != NEVER_COMPILE) {
+            throw new IllegalArgumentException("Argument 1 (compilationThreshold) provided to setCompilationThreshold " +
+                                               "cannot be negative unless it is NEVER_COMPILE.");
+        }
+        this.compilationThreshold = compilationThreshold;
+        publish();
+        return this;
+    }
+
+    /**
+     * Getter for the renderers used in a toString for values of specific classes.<br>
+     *
+     * Default value is an empty map.<br>
+     *
+     * @return An unmodifiable Map of class to ValueRenderer, in the order they were set.
+     * @see #setValueRenderer(Class, ValueRenderer)
+     */
+    public Map<Class<?>, ValueRenderer<?>> getValueRenderers() {
+        return Collections.unmodifiableMap(valueRenderers);
+    }
+
+    /**
+     * Sets the renderer used in a toString for values of the provided class.<br>
+     *
+     * The renderer is used instead of the value's toString() method. It also applies to subclasses and implementations
+     * of the provided class, unless they have a renderer of their own or it was made with {@link ValueRenderer#forExactClassOnly()}.
+     * If a value matches more than one, the one that was set first is used.
+     * Setting a renderer for a class that already has one replaces it, keeping its original place.<br>
+     *
+     * @param valueClass  the class of values to render - cannot be null
+     * @param valueRenderer  the renderer to use - cannot be null
+     * @param <T>  the type of values to render
+     * @return the current ParamListServiceConfig
+     * @throws IllegalArgumentException if either parameter is null
+     * @throws IllegalStateException if this config is frozen.
+     */
+    public <T> ParamListServiceConfig setValueRenderer(final Class<T> valueClass, final ValueRenderer<? super T> valueRenderer) {
+        requireNotFrozen("setValueRenderer");
+        requireNonNull(valueClass, 1, "valueClass", "setValueRenderer");
+        requireNonNull(valueRenderer, 2, "valueRenderer", "setValueRenderer");
+        valueRenderers.put(valueClass, valueRenderer);
+        publish();
+        return this;
+    }
+
+    /**
+     * Removes the renderer for the provided class, if there is one.<br>
+     *
+     * @param valueClass  the class to stop rendering - cannot be null
+     * @return the current ParamListServiceConfig
+     * @throws IllegalArgumentException if the provided class is null
+     * @throws IllegalStateException if this config is frozen.
+     */
+    public ParamListServiceConfig removeValueRenderer(final Class<?> valueClass) {
+        requireNotFrozen("removeValueRenderer");
+        requireNonNull(valueClass, 1, "valueClass", "removeValueRenderer");
+        if (valueRenderers.remove(valueClass) != null) {
+            publish();
+        }
+        return this;
+    }
+
+    /**
+     * Adds the built-in renderers for classes that don't already have one.<br>
+     *
+     * The built-in renderers are:
+     * <ul>
+     * <li>Boxed primitives - appended directly, giving the same result as their toString() without creating a String.
+     * <li>{@link CharSequence} (including String and StringBuilder) - appended directly.
+     * <li><code>byte[]</code> - lowercase hex, up to {@link #DEFAULT_MAX_RENDERED_BYTES} bytes.
+     * <li>{@link Instant}, {@link LocalDate}, {@link LocalTime}, {@link LocalDateTime}, {@link OffsetDateTime}
+     *     and {@link ZonedDateTime} - the matching ISO-8601 {@link DateTimeFormatter}.
+     * <li>{@link Date} - an ISO-8601 instant in UTC. This is only used for <code>java.util.Date</code> itself,
+     *     so <code>java.sql</code> subclasses like Timestamp keep their own toString().
+     * </ul>
+     *
+     * @return the current ParamListServiceConfig
+     * @throws IllegalStateException if this config is frozen.
+     */
+    public ParamListServiceConfig addBuiltInValueRenderers() {
+        requireNotFrozen("addBuiltInValueRenderers");
+        Map<Class<?>, ValueRenderer<?>> builtIns = new LinkedHashMap<>();
+        builtIns.put(Integer.class, (ValueRenderer<Integer>)(value, output) -> output.append(value.intValue()));
+        builtIns.put(Long.class, (ValueRenderer<Long>)(value, output) -> output.append(value.longValue()));
+        builtIns.put(Short.class, (ValueRenderer<Short>)(value, output) -> output.append(value.shortValue()));
+        builtIns.put(Byte.class, (ValueRenderer<Byte>)(value, output) -> output.append(value.byteValue()));
+        builtIns.put(Double.class, (ValueRenderer<Double>)(value, output) -> output.append(value.doubleValue()));
+        builtIns.put(Float.class, (ValueRenderer<Float>)(value, output) -> output.append(value.floatValue()));
+        builtIns.put(Boolean.class, (ValueRenderer<Boolean>)(value, output) -> output.append(value.booleanValue()));
+        builtIns.put(Character.class, (ValueRenderer<Character>)(value, output) -> output.append(value.charValue()));
+        builtIns.put(CharSequence.class, ValueRenderer.forCharSequence());
+        builtIns.put(byte[].class, ValueRenderer.forBytes(DEFAULT_MAX_RENDERED_BYTES));
+        builtIns.put(Instant.class, ValueRenderer.forTemporal(DateTimeFormatter.ISO_INSTANT));
+        builtIns.put(LocalDate.class, ValueRenderer.forTemporal(DateTimeFormatter.ISO_LOCAL_DATE));
+        builtIns.put(LocalTime.class, ValueRenderer.forTemporal(DateTimeFormatter.ISO_LOCAL_TIME));
+        builtIns.put(LocalDateTime.class, ValueRenderer.forTemporal(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        builtIns.put(OffsetDateTime.class, ValueRenderer.forTemporal(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+        builtIns.put(ZonedDateTime.class, ValueRenderer.forTemporal(DateTimeFormatter.ISO_ZONED_DATE_TIME));
+        builtIns.put(Date.class, ValueRenderer.forDate());
+        builtIns.forEach(valueRenderers::putIfAbsent);
+        publish();
         return this;
     }
 
+    /**
+     * Gets the renderer to use for values of the provided class.<br>
+     *
+     * The result for each class is looked up once and then kept until the renderers are changed.
+     *
+     * @param valueClass  the runtime class of the value - cannot be null
+     * @return The ValueRenderer to use, or null if the value's toString() method should be used.
+     * @throws IllegalArgumentException if the provided class is null
+     * @see #setValueRenderer(Class, ValueRenderer)
+     */
+    public ValueRenderer<Object> getValueRenderer(final Class<?> valueClass) {
+        requireNonNull(valueClass, 1, "valueClass", "getValueRenderer");
+        return getSnapshot().getValueRenderer(valueClass);
+    }
+
+    /**
+     * Gets whether or not this config is frozen.<br>
+     *
+     * The configs used by shared services are frozen (see {@link ParamListServiceImpl#isShared()}),
+     * since changing one would change every ParamList that uses it.
+     * The setters of a frozen config throw an {@link IllegalStateException}.
+     * Use {@link #copyOf()} to get one that can be changed.
+     *
+     * @return True if this config is frozen. False otherwise.
+     */
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Creates a frozen copy of this config.<br>
+     *
+     * @return A new ParamListServiceConfig with the same values that can't be changed.
+     * @see #isFrozen()
+     */
+    ParamListServiceConfig frozenCopy() {
+        ParamListServiceConfig retval = new ParamListServiceConfig(this);
+        retval.frozen = true;
+        return retval;
+    }
+
+    /**
+     * Checks whether or not this config would render and compare exactly like another one.<br>
+     *
+     * {@link #equals(Object)} only looks at the functions' presence, not at which functions they are.
+     * This also requires the class name getter and hash code functions to be the very same objects.<br>
+     *
+     * @param other  the config to compare against - assumed not null
+     * @return True if both configs are equal and use the same functions. False otherwise.
+     */
+    boolean hasSameValuesAs(final ParamListServiceConfig other) {
+        return equals(other)
+               && getClassNameGetter() == other.getClassNameGetter()
+               && getHashCodeToString() == other.getHashCodeToString()
+               && getHashCodeRenderer() == other.getHashCodeRenderer();
+    }
+
+    /**
+     * Makes sure this config can be changed.<br>
+     *
+     * @param methodName  the name of the method doing the change - assumed not null
+     * @throws IllegalStateException if this config is frozen.
+     */
+    private void requireNotFrozen(final String methodName) {
+        if (frozen) {
+            throw new IllegalStateException("Method " + methodName + " cannot be called on a frozen ParamListServiceConfig. " +
+                                            "Use copyOf() to get one that can be changed.");
+        }
+    }
+
+    /**
+     * Gets an immutable copy of the current values in this config.<br>
+     *
+     * A new snapshot is created every time this config is changed, so the one returned is never changed afterwards.
+     * Getting it is a single read, and it's safe to use from any thread.
+     * The service gets one at the start of each toString so that every value it uses comes from the same version of this config.<br>
+     *
+     * Until one of its setters is called, a config returns the snapshot of the default values shared by every such config.<br>
+     *
+     * Subclasses might override the getters to get their values some other way, so a subclass gets a new snapshot
+     * made from its getters on every call instead.
+     *
+     * @return A ParamListServiceConfigSnapshot.
+     */
+    public ParamListServiceConfigSnapshot getSnapshot() {
+        if (getClass() != ParamListServiceConfig.class) {
+            return new ParamListServiceConfigSnapshot(this);
+        }
+        ParamListServiceConfigSnapshot retval = snapshot.get();
+        return retval != null ? retval : getDefaultSnapshot();
+    }
+
+    /**
+     * Gets the snapshot of the default values.<br>
+     *
+     * It's made from a new config rather than this one, since one of this config's setters might be part way through.
+     * Like the paramList, it's created the first time it's needed, and creating it twice does no harm.
+     *
+     * @return A ParamListServiceConfigSnapshot with the default values.
+     */
+    private static ParamListServiceConfigSnapshot getDefaultSnapshot() {
+        ParamListServiceConfigSnapshot retval = defaultSnapshot;
+        if (retval == null) {
+            retval = new ParamListServiceConfigSnapshot(new ParamListServiceConfig());
+            defaultSnapshot = retval;
+        }
+        return retval;
+    }
+
+    /**
+     * Replaces the snapshot with one made from the current values.<br>
+     *
+     * Snapshots are created one at a time, so an older one never replaces a newer one.
+     * Subclasses don't keep one (see {@link #getSnapshot()}), so their getters aren't called while they're still being created.
+     */
+    private synchronized void publish() {
+        if (getClass() == ParamListServiceConfig.class) {
+            snapshot.set(new ParamListServiceConfigSnapshot(this));
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         return getParamList().equals(this, obj);
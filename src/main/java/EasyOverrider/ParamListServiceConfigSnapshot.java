@@ -0,0 +1,371 @@
+package EasyOverrider;
+
+import static EasyOverrider.ParamUsage.TOSTRING_ONLY;
+import static EasyOverrider.EasyOverriderUtils.requireNonNull;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * An immutable copy of the values in a {@link ParamListServiceConfig}.<br>
+ *
+ * A ParamListServiceConfig keeps one of these up to date, replacing it every time one of its setters is called.
+ * The service gets it once at the start of each call using {@link ParamListServiceConfig#getSnapshot()} and reads every value
+ * from it. That way a single toString sees one consistent set of values even if the config is being changed by another thread,
+ * and no locking is needed to read them.<br>
+ *
+ * Since all the fields are final, these can be shared freely between threads.
+ */
+public final class ParamListServiceConfigSnapshot {
+
+    private final String stringForNull;
+    private final String stringForRecursionPrevented;
+    private final String stringForEmptyParamList;
+    private final String parameterDelimiter;
+    private final String nameValueFormat;
+    private final String parameterValueFormat;
+    private final String toStringFormat;
+    private final Function<Class, String> classNameGetter;
+    private final Function<Integer, String> hashCodeToString;
+    private final IntFunction<String> hashCodeRenderer;
+    private final boolean usingIdentityHashCode;
+    private final int compilationThreshold;
+    private final boolean hashCodeInToString;
+    private final Map<Class<?>, ValueRenderer<?>> valueRenderers;
+    private final ClassValue<Optional<ValueRenderer<Object>>> resolvedValueRenderers;
+
+    private static ParamList<ParamListServiceConfigSnapshot> paramList;
+
+    private static ParamList<ParamListServiceConfigSnapshot> getParamList() {
+        if (paramList == null) {
+            paramList = ParamList.forClass(ParamListServiceConfigSnapshot.class)
+                                 .withParam("stringForNull", ParamListServiceConfigSnapshot::getStringForNull, String.class)
+                                 .withParam("stringForRecursionPrevented",
+                                            ParamListServiceConfigSnapshot::getStringForRecursionPrevented,
+                                            String.class)
+                                 .withParam("stringForEmptyParamList",
+                                            ParamListServiceConfigSnapshot::getStringForEmptyParamList,
+                                            String.class)
+                                 .withParam("parameterDelimiter", ParamListServiceConfigSnapshot::getParameterDelimiter, String.class)
+                                 .withParam("nameValueFormat", ParamListServiceConfigSnapshot::getNameValueFormat, String.class)
+                                 .withParam("parameterValueFormat",
+                                            ParamListServiceConfigSnapshot::getParameterValueFormat,
+                                            String.class)
+                                 .withParam("toStringFormat", ParamListServiceConfigSnapshot::getToStringFormat, String.class)
+                                 .withParam("classNameGetter",
+                                            ParamListServiceConfigSnapshot::getClassNameGetter, TOSTRING_ONLY,
+                                            Function.class)
+                                 .withParam("hashCodeToString",
+                                            ParamListServiceConfigSnapshot::getHashCodeToString, TOSTRING_ONLY,
+                                            Function.class)
+                                 .withParam("hashCodeRenderer",
+                                            ParamListServiceConfigSnapshot::getHashCodeRenderer, TOSTRING_ONLY,
+                                            IntFunction.class)
+                                 .withParam("usingIdentityHashCode",
+                                            ParamListServiceConfigSnapshot::isUsingIdentityHashCode,
+                                            Boolean.class)
+                                 .withParam("compilationThreshold",
+                                            ParamListServiceConfigSnapshot::getCompilationThreshold,
+                                            Integer.class)
+                                 .withMap("valueRenderers", ParamListServiceConfigSnapshot::getValueRenderers, Map.class,
+                                          Class.class, ValueRenderer.class)
+                                 .andThatsIt();
+        }
+        return paramList;
+    }
+
+    /**
+     * Constructor that copies the current values of a config.<br>
+     *
+     * @param config  the config to copy - cannot be null
+     * @throws IllegalArgumentException if config is null.
+     */
+    ParamListServiceConfigSnapshot(final ParamListServiceConfig config) {
+        requireNonNull(config, 1, "config", "ParamListServiceConfigSnapshot constructor");
+        this.stringForNull = config.getStringForNull();
+        this.stringForRecursionPrevented = config.getStringForRecursionPrevented();
+        this.stringForEmptyParamList = config.getStringForEmptyParamList();
+        this.parameterDelimiter = config.getParameterDelimiter();
+        this.nameValueFormat = config.getNameValueFormat();
+        this.parameterValueFormat = config.getParameterValueFormat();
+        this.toStringFormat = config.getToStringFormat();
+        this.classNameGetter = config.getClassNameGetter();
+        this.hashCodeToString = config.getHashCodeToString();
+        this.hashCodeRenderer = config.getHashCodeRenderer();
+        this.usingIdentityHashCode = config.isUsingIdentityHashCode();
+        this.compilationThreshold = config.getCompilationThreshold();
+        this.hashCodeInToString = usesHashCode(toStringFormat);
+        this.valueRenderers = Collections.unmodifiableMap(new LinkedHashMap<>(config.getValueRenderers()));
+        this.resolvedValueRenderers = newValueRendererResolver(valueRenderers);
+    }
+
+    /**
+     * Getter for the String that is used in a toString when a value is null.<br>
+     *
+     * @return A String
+     * @see ParamListServiceConfig#getStringForNull()
+     */
+    public String getStringForNull() {
+        return stringForNull;
+    }
+
+    /**
+     * Getter for the String that is used in a toString when a previously seen object is seen again.<br>
+     *
+     * @return A String
+     * @see ParamListServiceConfig#getStringForRecursionPrevented()
+     */
+    public String getStringForRecursionPrevented() {
+        return stringForRecursionPrevented;
+    }
+
+    /**
+     * Getter for the String that is used in a toString when an empty ParamList is encountered.<br>
+     *
+     * @return A String
+     * @see ParamListServiceConfig#getStringForEmptyParamList()
+     */
+    public String getStringForEmptyParamList() {
+        return stringForEmptyParamList;
+    }
+
+    /**
+     * Getter for the String that is used in a toString between parameters.<br>
+     *
+     * @return A String
+     * @see ParamListServiceConfig#getParameterDelimiter()
+     */
+    public String getParameterDelimiter() {
+        return parameterDelimiter;
+    }
+
+    /**
+     * Getter for the format String that is used in a toString to create a name/value string.<br>
+     *
+     * @return A String
+     * @see ParamListServiceConfig#getNameValueFormat()
+     */
+    public String getNameValueFormat() {
+        return nameValueFormat;
+    }
+
+    /**
+     * Getter for the format String that is used in a toString on each parameter value.<br>
+     *
+     * @return A String
+     * @see ParamListServiceConfig#getParameterValueFormat()
+     */
+    public String getParameterValueFormat() {
+        return parameterValueFormat;
+    }
+
+    /**
+     * Getter for the format String that is used in a toString to create the final toString value.<br>
+     *
+     * @return A String
+     * @see ParamListServiceConfig#getToStringFormat()
+     */
+    public String getToStringFormat() {
+        return toStringFormat;
+    }
+
+    /**
+     * Getter for the function that is used to get the class name from a Class object.<br>
+     *
+     * @return A Function
+     * @see ParamListServiceConfig#getClassNameGetter()
+     */
+    public Function<Class, String> getClassNameGetter() {
+        return classNameGetter;
+    }
+
+    /**
+     * Getter for the function that is used to convert the hashCode to a String for the toString method.<br>
+     *
+     * @return A Function
+     * @see ParamListServiceConfig#getHashCodeToString()
+     */
+    public Function<Integer, String> getHashCodeToString() {
+        return hashCodeToString;
+    }
+
+    /**
+     * Getter for the function that is used to convert the hashCode int to a String for the toString method.<br>
+     *
+     * @return An IntFunction
+     * @see ParamListServiceConfig#getHashCodeRenderer()
+     */
+    public IntFunction<String> getHashCodeRenderer() {
+        return hashCodeRenderer;
+    }
+
+    /**
+     * Getter for whether the identity hashCode is used for the toString method instead of the object's hashCode.<br>
+     *
+     * @return A boolean
+     * @see ParamListServiceConfig#isUsingIdentityHashCode()
+     */
+    public boolean isUsingIdentityHashCode() {
+        return usingIdentityHashCode;
+    }
+
+    /**
+     * Getter for the number of equals, hashCode and toString calls a ParamList handles before they're compiled.<br>
+     *
+     * @return An int
+     * @see ParamListServiceConfig#getCompilationThreshold()
+     */
+    public int getCompilationThreshold() {
+        return compilationThreshold;
+    }
+
+    /**
+     * Gets whether or not the toString format uses the hash code.<br>
+     *
+     * When it doesn't, the service skips finding the hash code altogether.
+     *
+     * @return True if the {@link #getToStringFormat()} uses its second argument. False otherwise.
+     */
+    public boolean isHashCodeInToString() {
+        return hashCodeInToString;
+    }
+
+    /**
+     * Creates the hash code String for the toString of an object.<br>
+     *
+     * @param obj  the object being converted to a String - assumed not null
+     * @return The rendered hash code, or an empty String if the toString format doesn't use it.
+     */
+    String hashCodeString(final Object obj) {
+        if (!hashCodeInToString) {
+            return "";
+        }
+        return hashCodeRenderer.apply(toStringHashCode(obj));
+    }
+
+    /**
+     * Renders a hash code found earlier using {@link #toStringHashCode(Object)}.<br>
+     *
+     * @param hashCode  the hash code
+     * @return The rendered hash code, or an empty String if the toString format doesn't use it.
+     */
+    String hashCodeString(final int hashCode) {
+        if (!hashCodeInToString) {
+            return "";
+        }
+        return hashCodeRenderer.apply(hashCode);
+    }
+
+    /**
+     * Gets the hash code shown in the toString of an object.<br>
+     *
+     * @param obj  the object being converted to a String - assumed not null
+     * @return The identity hash code if {@link #isUsingIdentityHashCode()}, or the object's hashCode otherwise.
+     */
+    int toStringHashCode(final Object obj) {
+        return usingIdentityHashCode ? System.identityHashCode(obj) : obj.hashCode();
+    }
+
+    /**
+     * Getter for the renderers used in a toString for values of specific classes.<br>
+     *
+     * @return An unmodifiable Map of class to ValueRenderer, in the order they were set.
+     * @see ParamListServiceConfig#getValueRenderers()
+     */
+    public Map<Class<?>, ValueRenderer<?>> getValueRenderers() {
+        return valueRenderers;
+    }
+
+    /**
+     * Gets the renderer to use for values of the provided class.<br>
+     *
+     * The result for each class is looked up once and then kept for as long as this snapshot is.
+     *
+     * @param valueClass  the runtime class of the value - cannot be null
+     * @return The ValueRenderer to use, or null if the value's toString() method should be used.
+     * @throws IllegalArgumentException if the provided class is null
+     * @see ParamListServiceConfig#setValueRenderer(Class, ValueRenderer)
+     */
+    public ValueRenderer<Object> getValueRenderer(final Class<?> valueClass) {
+        requireNonNull(valueClass, 1, "valueClass", "getValueRenderer");
+        if (valueRenderers.isEmpty()) {
+            return null;
+        }
+        return resolvedValueRenderers.get(valueClass).orElse(null);
+    }
+
+    /**
+     * Finds out whether a toString format uses its second (hash code) argument.<br>
+     *
+     * This is done by formatting with a stand-in that notes when it's used.
+     *
+     * @param toStringFormat  the format to check - assumed to be valid
+     * @return True if the hash code argument is used. False otherwise.
+     */
+    private static boolean usesHashCode(final String toStringFormat) {
+        final boolean[] used = { false };
+        Object hashCodeProbe = new Object() {
+            @Override
+            public String toString() {
+                used[0] = true;
+                return "";
+            }
+
+            @Override
+            public int hashCode() {
+                used[0] = true;
+                return 0;
+            }
+        };
+        String.format(toStringFormat, "", hashCodeProbe, "");
+        return used[0];
+    }
+
+    /**
+     * Creates the ClassValue that finds the renderer for each class using the provided renderers.<br>
+     *
+     * An exact match is used first. Otherwise the first renderer (in the order they were set) for a
+     * superclass or interface of the class is used, skipping renderers that don't apply to subclasses.
+     *
+     * @param renderers  the renderers to use - assumed not null and not changed later
+     * @return A new ClassValue.
+     */
+    private static ClassValue<Optional<ValueRenderer<Object>>> newValueRendererResolver(
+                    final Map<Class<?>, ValueRenderer<?>> renderers) {
+        return new ClassValue<Optional<ValueRenderer<Object>>>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            protected Optional<ValueRenderer<Object>> computeValue(final Class<?> type) {
+                ValueRenderer<?> exact = renderers.get(type);
+                if (exact != null) {
+                    return Optional.of((ValueRenderer<Object>)exact);
+                }
+                return renderers.entrySet()
+                                .stream()
+                                .filter(entry -> entry.getKey().isAssignableFrom(type)
+                                                 && entry.getValue().appliesToSubclasses())
+                                .findFirst()
+                                .map(entry -> (ValueRenderer<Object>)entry.getValue());
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return getParamList().equals(this, obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return getParamList().hashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return getParamList().toString(this);
+    }
+}
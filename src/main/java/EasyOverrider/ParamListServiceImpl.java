@@ -2,6 +2,8 @@ package EasyOverrider;
 
 import static EasyOverrider.EasyOverriderUtils.requireNonNull;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -9,16 +11,28 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 /**
  * The default implementation of a ParamListService.<br>
  */
 public class ParamListServiceImpl implements ParamListService {
 
-    private ParamListServiceConfig config;
+    private volatile ParamListServiceConfig config;
+    private volatile ParamListServiceListener[] listeners = NO_LISTENERS;
+    private volatile ParamListStatistics statistics;
+    private volatile ParamListProfiler profiler;
+    private volatile boolean dispatchingThroughRegistry = false;
+    private final boolean shared;
+
+    private static final ParamListServiceListener[] NO_LISTENERS = new ParamListServiceListener[0];
+
+    private static final ParamListServiceImpl DEFAULT_SERVICE = new ParamListServiceImpl(new ParamListServiceConfig().frozenCopy(), true);
+
+    // Shared services for configs given to ParamListBuilder.configuredBy, keyed by a frozen copy of the config's values.
+    private static final Map<ConfigKey, ParamListServiceImpl> INTERNED_SERVICES = new ConcurrentHashMap<>();
 
     private static ParamList<ParamListServiceImpl> paramList;
 
@@ -26,6 +40,8 @@ public class ParamListServiceImpl implements ParamListService {
         if (paramList == null) {
             paramList = ParamList.forClass(ParamListServiceImpl.class)
                                  .withParam("config", ParamListServiceImpl::getConfig, ParamListServiceConfig.class)
+                                 .withParam("dispatchingThroughRegistry", ParamListServiceImpl::isDispatchingThroughRegistry,
+                                            Boolean.class)
                                  .andThatsIt();
         }
         return paramList;
@@ -36,6 +52,7 @@ public class ParamListServiceImpl implements ParamListService {
      */
     public ParamListServiceImpl() {
         config = new ParamListServiceConfig();
+        shared = false;
     }
 
     /**
@@ -45,8 +62,22 @@ public class ParamListServiceImpl implements ParamListService {
      * @throws IllegalArgumentException if the provided config is null.
      */
     public ParamListServiceImpl(ParamListServiceConfig config) {
+        this(config, false);
+    }
+
+    /**
+     * Constructor that takes in a config and whether or not the service is shared.<br>
+     *
+     * A shared service cannot be changed after it's created, so its config should be frozen too.
+     *
+     * @param config  the config to use - cannot be null
+     * @param shared  whether or not this service is shared between ParamLists
+     * @throws IllegalArgumentException if the provided config is null.
+     */
+    ParamListServiceImpl(ParamListServiceConfig config, boolean shared) {
         requireNonNull(config, 1, "config", "ParamListServiceImpl constructor");
         this.config = config;
+        this.shared = shared;
     }
 
     /**
@@ -55,7 +86,11 @@ public class ParamListServiceImpl implements ParamListService {
      * @param original The service to copy.
      */
     public ParamListServiceImpl(ParamListService original) {
+        this.shared = false;
         this.setConfig(original.getConfig().copyOf());
+        if (original instanceof ParamListServiceImpl) {
+            this.dispatchingThroughRegistry = ((ParamListServiceImpl)original).isDispatchingThroughRegistry();
+        }
     }
 
     /**
@@ -68,6 +103,62 @@ public class ParamListServiceImpl implements ParamListService {
         return new ParamListServiceImpl(this);
     }
 
+    /**
+     * Gets the service for a ParamList built without {@link ParamListBuilder#usingService(ParamListService)}.<br>
+     *
+     * With no config, the one default service is returned, so ParamLists that don't need anything special
+     * all share the same service and config.<br>
+     *
+     * Otherwise, the service is shared by every ParamList given a config with the same values.
+     * It uses a frozen copy of the provided config (see {@link ParamListServiceConfig#isFrozen()}),
+     * so changes made to the provided config afterwards don't affect it.
+     * Configs of a subclass of ParamListServiceConfig can't be copied without losing what the subclass does,
+     * so they get a new service of their own that isn't shared.
+     * Configs that differ only in which functions they use (e.g. the hash code renderer) get different services.<br>
+     *
+     * @param config  the config the service should use - null for the default config
+     * @return A ParamListServiceImpl.
+     * @see #isShared()
+     */
+    static ParamListServiceImpl forConfig(final ParamListServiceConfig config) {
+        if (config == null) {
+            return DEFAULT_SERVICE;
+        }
+        if (config.getClass() != ParamListServiceConfig.class) {
+            return new ParamListServiceImpl(config);
+        }
+        ParamListServiceConfig frozenConfig = config.isFrozen() ? config : config.frozenCopy();
+        if (frozenConfig.hasSameValuesAs(DEFAULT_SERVICE.getConfig())) {
+            return DEFAULT_SERVICE;
+        }
+        return INTERNED_SERVICES.computeIfAbsent(new ConfigKey(frozenConfig), k -> new ParamListServiceImpl(k.config, true));
+    }
+
+    /**
+     * Gets whether or not this service is shared between ParamLists.<br>
+     *
+     * A shared service cannot be changed. Its setters throw an {@link IllegalStateException},
+     * and so do the setters of its config. Use {@link #copyOf()} to get one that can be changed.
+     *
+     * @return True if this service is shared. False otherwise.
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Makes sure this service can be changed.<br>
+     *
+     * @param methodName  the name of the method doing the change - assumed not null
+     * @throws IllegalStateException if this service is shared.
+     */
+    private void requireNotShared(final String methodName) {
+        if (shared) {
+            throw new IllegalStateException("Method " + methodName + " cannot be called on a shared ParamListServiceImpl. " +
+                                            "Use copyOf() to get one that can be changed.");
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -83,13 +174,205 @@ public class ParamListServiceImpl implements ParamListService {
      * @param paramListServiceConfig  {@inheritDoc} - cannot be null
      * @return {@inheritDoc}
      * @throws IllegalArgumentException if the provided parameter is null.
+     * @throws IllegalStateException if this service is shared.
      */
     public ParamListService setConfig(ParamListServiceConfig paramListServiceConfig) {
         requireNonNull(paramListServiceConfig, 1, "config", "setConfig");
+        requireNotShared("setConfig");
         this.config = paramListServiceConfig;
         return this;
     }
 
+    /**
+     * Adds a listener to be told about each operation this service performs.<br>
+     *
+     * While a service has no listeners, operations are not timed.<br>
+     *
+     * @param listener  the listener to add - cannot be null
+     * @return This ParamListServiceImpl
+     * @throws IllegalArgumentException if the provided listener is null.
+     * @throws IllegalStateException if this service is shared.
+     * @see #removeListener(ParamListServiceListener)
+     */
+    public synchronized ParamListServiceImpl addListener(final ParamListServiceListener listener) {
+        requireNonNull(listener, 1, "listener", "addListener");
+        requireNotShared("addListener");
+        ParamListServiceListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+        newListeners[listeners.length] = listener;
+        listeners = newListeners;
+        return this;
+    }
+
+    /**
+     * Removes a listener that was previously added.<br>
+     *
+     * @param listener  the listener to remove
+     * @return This ParamListServiceImpl
+     * @throws IllegalStateException if this service is shared.
+     * @see #addListener(ParamListServiceListener)
+     */
+    public synchronized ParamListServiceImpl removeListener(final ParamListServiceListener listener) {
+        requireNotShared("removeListener");
+        listeners = Arrays.stream(listeners)
+                          .filter(l -> l != listener)
+                          .toArray(ParamListServiceListener[]::new);
+        return this;
+    }
+
+    /**
+     * Gets the listeners that have been added to this service.<br>
+     *
+     * @return An unmodifiable List of listeners.
+     */
+    public List<ParamListServiceListener> getListeners() {
+        return Collections.unmodifiableList(Arrays.asList(listeners));
+    }
+
+    /**
+     * Turns the in-process statistics for this service on or off.<br>
+     *
+     * When turned on, a new {@link ParamListStatistics} is added as a listener.
+     * When turned off, that listener is removed (and its statistics are no longer updated).
+     * Turning it on when it's already on does nothing.
+     *
+     * @param enabled  whether or not statistics should be kept
+     * @return This ParamListServiceImpl
+     * @throws IllegalStateException if this service is shared.
+     * @see #getStatistics()
+     */
+    public synchronized ParamListServiceImpl setStatisticsEnabled(final boolean enabled) {
+        requireNotShared("setStatisticsEnabled");
+        if (enabled && statistics == null) {
+            statistics = new ParamListStatistics();
+            addListener(statistics);
+        } else if (!enabled && statistics != null) {
+            removeListener(statistics);
+            statistics = null;
+        }
+        return this;
+    }
+
+    /**
+     * Gets the in-process statistics for this service.<br>
+     *
+     * @return The {@link ParamListStatistics} being kept, or null if statistics are not enabled.
+     * @see #setStatisticsEnabled(boolean)
+     */
+    public ParamListStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Sets the profiler to use for sampling equals and hashCode calls.<br>
+     *
+     * @param profiler  the profiler to use - null to stop profiling
+     * @return This ParamListServiceImpl
+     * @throws IllegalStateException if this service is shared.
+     * @see ParamListProfiler
+     */
+    public ParamListServiceImpl setProfiler(final ParamListProfiler profiler) {
+        requireNotShared("setProfiler");
+        this.profiler = profiler;
+        return this;
+    }
+
+    /**
+     * Gets the profiler being used for sampling equals and hashCode calls.<br>
+     *
+     * @return A ParamListProfiler, or null if not profiling.
+     */
+    public ParamListProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Sets whether or not nested values are handled directly through their own ParamList.<br>
+     *
+     * When true, any parameter value whose class has a ParamList in the {@link ParamListRegistry} is compared,
+     * hashed, and converted to a String using that ParamList directly, rather than through its
+     * equals, hashCode, and {@link RecursionPreventingToString} methods.
+     * Recursion is prevented for those values whether or not they implement {@link RecursionPreventingToString}.<br>
+     *
+     * Since the registry only holds one ParamList per exact class (see {@link ParamListRegistry#register(ParamList)}),
+     * this gives the same results as the nested values' own methods as long as each class registers the ParamList those methods use.
+     * The default is false.
+     *
+     * @param dispatchingThroughRegistry  whether or not to use the registry for nested values
+     * @return This ParamListServiceImpl
+     * @throws IllegalStateException if this service is shared.
+     */
+    public ParamListServiceImpl setDispatchingThroughRegistry(final boolean dispatchingThroughRegistry) {
+        requireNotShared("setDispatchingThroughRegistry");
+        this.dispatchingThroughRegistry = dispatchingThroughRegistry;
+        return this;
+    }
+
+    /**
+     * Gets whether or not nested values are handled directly through their own ParamList.<br>
+     *
+     * @return True if the {@link ParamListRegistry} is used for nested values. False otherwise.
+     * @see #setDispatchingThroughRegistry(boolean)
+     */
+    public boolean isDispatchingThroughRegistry() {
+        return dispatchingThroughRegistry;
+    }
+
+    /**
+     * Looks up the ParamList to use for a nested value.<br>
+     *
+     * @param value  the nested value - assumed not null
+     * @return The ParamList registered for exactly the value's class, or null if there isn't one.
+     */
+    @SuppressWarnings("unchecked")
+    private static ParamList<Object> nestedParamList(final Object value) {
+        return (ParamList<Object>)ParamListRegistry.lookup(value.getClass());
+    }
+
+    /**
+     * Tells each of the provided listeners that an operation is starting.<br>
+     *
+     * The array of contexts is only created once a listener returns one, so listeners that don't use them cost nothing extra.
+     *
+     * @param currentListeners  the listeners to notify - assumed not null
+     * @param operation  the operation about to be performed - assumed not null
+     * @param paramList  the ParamList that the operation is for - assumed not null
+     * @return What each listener returned, by index, or null if they all returned null.
+     */
+    private static Object[] startListeners(final ParamListServiceListener[] currentListeners, final ParamListOperation operation,
+                                           final ParamList<?> paramList) {
+        Object[] contexts = null;
+        for (int i = 0; i < currentListeners.length; i++) {
+            Object context = currentListeners[i].operationStarting(operation, paramList);
+            if (context != null) {
+                if (contexts == null) {
+                    contexts = new Object[currentListeners.length];
+                }
+                contexts[i] = context;
+            }
+        }
+        return contexts;
+    }
+
+    /**
+     * Tells each of the provided listeners about a completed operation.<br>
+     *
+     * @param currentListeners  the listeners to notify - assumed not null
+     * @param contexts  what {@link #startListeners(ParamListServiceListener[], ParamListOperation, ParamList)} returned
+     * @param operation  the operation that was performed - assumed not null
+     * @param paramList  the ParamList that the operation was performed for - assumed not null
+     * @param outputLength  the length of the resulting String, or 0 if not applicable
+     * @param startNanos  the {@link System#nanoTime()} when the operation started
+     */
+    private static void notifyListeners(final ParamListServiceListener[] currentListeners, final Object[] contexts,
+                                        final ParamListOperation operation, final ParamList<?> paramList,
+                                        final int outputLength, final long startNanos) {
+        long durationNanos = System.nanoTime() - startNanos;
+        for (int i = 0; i < currentListeners.length; i++) {
+            currentListeners[i].operationCompleted(operation, paramList, outputLength, durationNanos,
+                                                   contexts == null ? null : contexts[i]);
+        }
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -101,7 +384,10 @@ public class ParamListServiceImpl implements ParamListService {
      * Then get a list of all ParameterDescription objects that are to be included in an equals comparison.
      * For each entry, call the getter on both objects and compare the results using {@link Objects#equals(Object, Object)}.
      * If they are all equal, return true. Otherwise, return false.
-     * As soon as one unequal parameter is found, the rest are skipped.
+     * As soon as one unequal parameter is found, the rest are skipped.<br>
+     *
+     * Once the ParamList has been used enough (see {@link ParamListServiceConfig#setCompilationThreshold(int)}),
+     * its {@link ParamListCompiledEngine} does the comparison instead, with the same result.
      *
      * @param thisObj  {@inheritDoc}
      * @param thatObj  {@inheritDoc}
@@ -113,6 +399,27 @@ public class ParamListServiceImpl implements ParamListService {
     @Override
     public <O> boolean equals(final Object thisObj, final Object thatObj, final ParamList<O> paramList) {
         requireNonNull(paramList, 3, "paramList", "equals");
+        ParamListServiceListener[] currentListeners = listeners;
+        if (currentListeners.length == 0) {
+            return objectsAreEqual(thisObj, thatObj, paramList);
+        }
+        Object[] contexts = startListeners(currentListeners, ParamListOperation.EQUALS, paramList);
+        long startNanos = System.nanoTime();
+        boolean retval = objectsAreEqual(thisObj, thatObj, paramList);
+        notifyListeners(currentListeners, contexts, ParamListOperation.EQUALS, paramList, 0, startNanos);
+        return retval;
+    }
+
+    /**
+     * Does the actual work of the {@link #equals(Object, Object, ParamList)} method.<br>
+     *
+     * @param thisObj  the first object in the comparison
+     * @param thatObj  the second object in the comparison
+     * @param paramList  the ParamList to operate on - assumed not null
+     * @param <O>  the class of the object
+     * @return true if the objects are equal, false if not
+     */
+    private <O> boolean objectsAreEqual(final Object thisObj, final Object thatObj, final ParamList<O> paramList) {
         if (thisObj == thatObj) {
             return true;
         }
@@ -131,8 +438,65 @@ public class ParamListServiceImpl implements ParamListService {
         O thisO = (O)thisObj;
         @SuppressWarnings("unchecked")
         O thatO = (O)thatObj;
-        return getFilteredParamList(ParamDescription::isEqualsInclude, paramList)
-                        .stream().allMatch(pd -> paramsAreEqual(thisO, thatO, pd));
+        ParamListProfiler currentProfiler = profiler;
+        if (currentProfiler != null && currentProfiler.shouldSample()) {
+            return currentProfiler.profileEquals(thisO, thatO, paramList);
+        }
+        if (dispatchingThroughRegistry) {
+            for (ParamDescription<? super O, ?> paramDescription : paramList.getEqualsParams()) {
+                if (isUnorderedCollection(paramDescription) || isComparingArrayContents(paramDescription)) {
+                    if (!paramsAreEqual(thisO, thatO, paramDescription)) {
+                        return false;
+                    }
+                } else if (!nestedValuesAreEqual(paramDescription.getGetter().apply(thisO),
+                                                 paramDescription.getGetter().apply(thatO))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        ParamListCompiledEngine<O> compiledEngine = paramList.getCompiledEngine(config);
+        if (compiledEngine != null) {
+            return compiledEngine.equals(thisO, thatO);
+        }
+        for (ParamDescription<? super O, ?> paramDescription : paramList.getEqualsParams()) {
+            if (!paramsAreEqual(thisO, thatO, paramDescription)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks to see if two parameter values are equal, using the first value's registered ParamList if it has one.<br>
+     *
+     * @param thisP  the first value
+     * @param thatP  the second value
+     * @return True if the values are equal. False if different.
+     */
+    private static boolean nestedValuesAreEqual(final Object thisP, final Object thatP) {
+        if (thisP == thatP) {
+            return true;
+        }
+        if (thisP == null || thatP == null) {
+            return false;
+        }
+        ParamList<Object> nested = nestedParamList(thisP);
+        return nested != null ? nested.equals(thisP, thatP) : thisP.equals(thatP);
+    }
+
+    /**
+     * Gets the hashCode of a parameter value, using its registered ParamList if it has one.<br>
+     *
+     * @param value  the value
+     * @return The hashCode, or 0 if the value is null.
+     */
+    private static int nestedHashCode(final Object value) {
+        if (value == null) {
+            return 0;
+        }
+        ParamList<Object> nested = nestedParamList(value);
+        return nested != null ? nested.hashCode(value) : value.hashCode();
     }
 
     /**
@@ -140,7 +504,8 @@ public class ParamListServiceImpl implements ParamListService {
      *
      * If <code>thisO == thatO</code>, true is returned.<br>
      * Then, if either of them are null, false is returned.<br>
-     * Then, the parameters are retrieved. If they are equal using == or equal using Objects.equals then true is returned.<br>
+     * Then, the parameters are retrieved. If they are equal using == or {@link ParamDescription#valuesAreEqual(Object, Object)}
+     * then true is returned.<br>
      * Otherwise, false is returned.<br>
      *
      * @param thisO  the first object to get the parameter from
@@ -151,7 +516,7 @@ public class ParamListServiceImpl implements ParamListService {
      * @return True if the parameter in each of the objects are equal. False if different.
      * @throws IllegalArgumentException if the provided getter is null
      */
-    private <O, P> boolean paramsAreEqual(final O thisO, final O thatO, ParamDescription<O, P> paramDescription) {
+    private <O, P> boolean paramsAreEqual(final O thisO, final O thatO, ParamDescription<? super O, P> paramDescription) {
         if (thisO == thatO) {
             return true;
         }
@@ -160,15 +525,75 @@ public class ParamListServiceImpl implements ParamListService {
         }
         P thisP = paramDescription.getGetter().apply(thisO);
         P thatP = paramDescription.getGetter().apply(thatO);
-        return thisP == thatP || Objects.equals(thisP, thatP);
+        return thisP == thatP || paramDescription.valuesAreEqual(thisP, thatP);
+    }
+
+    /**
+     * Gets the hashCode of a parameter in an object using {@link ParamDescription#valueHashCode(Object)}.<br>
+     *
+     * @param obj  the object to get the parameter from - assumed not null
+     * @param paramDescription  the description of the parameter - assumed not null
+     * @param <O>  the type of the object
+     * @param <P>  the type of the parameter (getter return value)
+     * @return An int.
+     */
+    private static <O, P> int paramHashCode(final O obj, final ParamDescription<? super O, P> paramDescription) {
+        return paramDescription.valueHashCode(paramDescription.getGetter().apply(obj));
+    }
+
+    /**
+     * Checks whether or not a parameter's hashCode should always come from {@link ParamDescription#valueHashCode(Object)}.<br>
+     *
+     * @param paramDescription  the description of the parameter - assumed not null
+     * @return True if the parameter compares array contents, is an unordered collection, or is a collection or map
+     *         with a hashed entry limit.
+     */
+    private static boolean hasOwnHashCode(final ParamDescription<?, ?> paramDescription) {
+        if (isComparingArrayContents(paramDescription)) {
+            return true;
+        }
+        if (paramDescription instanceof ParamDescriptionCollection) {
+            return isUnorderedCollection(paramDescription)
+                   || ((ParamDescriptionCollection<?, ?, ?>)paramDescription).getHashedEntryLimit()
+                      != ParamDescriptionCollection.HASH_ALL_ENTRIES;
+        }
+        return paramDescription instanceof ParamDescriptionMap
+               && ((ParamDescriptionMap<?, ?, ?, ?>)paramDescription).getHashedEntryLimit()
+                  != ParamDescriptionCollection.HASH_ALL_ENTRIES;
+    }
+
+    /**
+     * Checks whether or not a parameter is an array parameter compared by its contents, which always uses its own equals and hashCode.<br>
+     *
+     * @param paramDescription  the description of the parameter - assumed not null
+     * @return True if the parameter is a {@link ParamDescriptionSingle} comparing array contents. False otherwise.
+     */
+    private static boolean isComparingArrayContents(final ParamDescription<?, ?> paramDescription) {
+        return paramDescription instanceof ParamDescriptionSingle
+               && ((ParamDescriptionSingle<?, ?>)paramDescription).isComparingArrayContents();
+    }
+
+    /**
+     * Checks whether or not a parameter is an unordered collection, which always uses its own equals and hashCode.<br>
+     *
+     * @param paramDescription  the description of the parameter - assumed not null
+     * @return True if the parameter is a collection with {@link CollectionEquality#UNORDERED}. False otherwise.
+     */
+    private static boolean isUnorderedCollection(final ParamDescription<?, ?> paramDescription) {
+        return paramDescription instanceof ParamDescriptionCollection
+               && ((ParamDescriptionCollection<?, ?, ?>)paramDescription).getCollectionEquality() == CollectionEquality.UNORDERED;
     }
 
     /**
      * {@inheritDoc}
      *
      * Gets all ParamDescription entries that should be included in the hashCode.
-     * Then loops through them getting each parameter from the object.
-     * The results are converted to an array of objects and then provided to {@link Objects#hash(Object...)}.<br>
+     * Then loops through them getting each parameter from the object and combining their hashCodes.
+     * The result is the same as providing the parameters to {@link Objects#hash(Object...)},
+     * except that each parameter's hashCode comes from {@link ParamDescription#valueHashCode(Object)}.<br>
+     *
+     * Once the ParamList has been used enough (see {@link ParamListServiceConfig#setCompilationThreshold(int)}),
+     * its {@link ParamListCompiledEngine} works out the hashCode instead, with the same result.
      *
      * @param thisObj  {@inheritDoc} - cannot be null
      * @param paramList  {@inheritDoc} - cannot be null
@@ -180,23 +605,64 @@ public class ParamListServiceImpl implements ParamListService {
     public <O> int hashCode(final O thisObj, final ParamList<O> paramList) {
         requireNonNull(thisObj, 1, "thisObj", "hashCode");
         requireNonNull(paramList, 2, "paramList", "hashCode");
-        return Objects.hash(getFilteredParamList(ParamDescription::isHashCodeInclude, paramList)
-                                            .stream()
-                                            .map(pd -> pd.getGetter().apply(thisObj))
-                                            .toArray());
+        ParamListServiceListener[] currentListeners = listeners;
+        if (currentListeners.length == 0) {
+            return calculateHashCode(thisObj, paramList);
+        }
+        Object[] contexts = startListeners(currentListeners, ParamListOperation.HASH_CODE, paramList);
+        long startNanos = System.nanoTime();
+        int retval = calculateHashCode(thisObj, paramList);
+        notifyListeners(currentListeners, contexts, ParamListOperation.HASH_CODE, paramList, 0, startNanos);
+        return retval;
+    }
+
+    /**
+     * Does the actual work of the {@link #hashCode(Object, ParamList)} method.<br>
+     *
+     * @param thisObj  the object to get the hashCode for - assumed not null
+     * @param paramList  the ParamList to operate on - assumed not null
+     * @param <O>  the class of the object
+     * @return a hashcode
+     */
+    private <O> int calculateHashCode(final O thisObj, final ParamList<O> paramList) {
+        ParamListProfiler currentProfiler = profiler;
+        if (currentProfiler != null && currentProfiler.shouldSample()) {
+            return currentProfiler.profileHashCode(thisObj, paramList);
+        }
+        int result = 1;
+        if (dispatchingThroughRegistry) {
+            for (ParamDescription<? super O, ?> paramDescription : paramList.getHashCodeParams()) {
+                result = 31 * result + (hasOwnHashCode(paramDescription)
+                                        ? paramHashCode(thisObj, paramDescription)
+                                        : nestedHashCode(paramDescription.getGetter().apply(thisObj)));
+            }
+            return result;
+        }
+        ParamListCompiledEngine<O> compiledEngine = paramList.getCompiledEngine(config);
+        if (compiledEngine != null) {
+            return compiledEngine.hashCode(thisObj);
+        }
+        for (ParamDescription<? super O, ?> paramDescription : paramList.getHashCodeParams()) {
+            result = 31 * result + paramHashCode(thisObj, paramDescription);
+        }
+        return result;
     }
 
     /**
      * {@inheritDoc}
      *
      * First, the class name String is retrieved using the {@link ParamListServiceConfig#getClassNameGetter()}.<br>
-     * Then, the hashCode is calculated using <code>thisObj.hashCode()</code>,
-     * and converted to a string using {@link ParamListServiceConfig#getHashCodeToString()}.<br>
+     * Then, if the toString format uses it, the hashCode is calculated using <code>thisObj.hashCode()</code>
+     * (or {@link System#identityHashCode(Object)} when {@link ParamListServiceConfig#isUsingIdentityHashCode()}),
+     * and converted to a string using {@link ParamListServiceConfig#getHashCodeRenderer()}.<br>
      * Then, the parameters String is created in a recursion-safe way.<br>
      * Lastly, {@link ParamListServiceConfig#getToStringFormat()} is used to create the final String.
      * Arguments are provided to the {@link ParamListServiceConfig#getToStringFormat()} in this order:
      * <code>class name</code>, <code>hash code String</code>, <code>parameters String</code><br>
      *
+     * Once the ParamList has been used enough (see {@link ParamListServiceConfig#setCompilationThreshold(int)}),
+     * the parameters String comes from its {@link ParamListCompiledEngine} instead, with the same result.
+     *
      * @param thisObj  {@inheritDoc} - cannot be null
      * @param paramList  {@inheritDoc} - cannot be null
      * @param seen  {@inheritDoc} - if null, a new empty HashMap is used
@@ -208,17 +674,24 @@ public class ParamListServiceImpl implements ParamListService {
     public <O> String toString(final O thisObj, final ParamList<O> paramList, final Map<Class, Set<Integer>> seen) {
         requireNonNull(thisObj, 1, "thisObj", "toString");
         requireNonNull(paramList, 2, "paramList", "toString");
-        List<ParamDescription<? super O, ?>> paramDescriptions = getFilteredParamList(ParamDescription::isToStringInclude, paramList);
-        return createToStringResult(thisObj, paramList.getParentClass(), paramDescriptions,
-                                    Optional.ofNullable(seen).orElseGet(HashMap::new), false);
+        ParamListServiceListener[] currentListeners = listeners;
+        if (currentListeners.length == 0) {
+            return createToStringResult(thisObj, paramList, false, Optional.ofNullable(seen).orElseGet(HashMap::new));
+        }
+        Object[] contexts = startListeners(currentListeners, ParamListOperation.TO_STRING, paramList);
+        long startNanos = System.nanoTime();
+        String retval = createToStringResult(thisObj, paramList, false, Optional.ofNullable(seen).orElseGet(HashMap::new));
+        notifyListeners(currentListeners, contexts, ParamListOperation.TO_STRING, paramList, retval.length(), startNanos);
+        return retval;
     }
 
     /**
      * {@inheritDoc}
      *
      * First, the class name String is retrieved using the {@link ParamListServiceConfig#getClassNameGetter()}.<br>
-     * Then, the hashCode is calculated using <code>thisObj.hashCode()</code>,
-     * and converted to a string using {@link ParamListServiceConfig#getHashCodeToString()}.<br>
+     * Then, if the toString format uses it, the hashCode is calculated using <code>thisObj.hashCode()</code>
+     * (or {@link System#identityHashCode(Object)} when {@link ParamListServiceConfig#isUsingIdentityHashCode()}),
+     * and converted to a string using {@link ParamListServiceConfig#getHashCodeRenderer()}.<br>
      * Then, the parameters String is created using only the primary parameters.<br>
      * Lastly, {@link ParamListServiceConfig#getToStringFormat()} is used to create the final String.
      * Arguments are provided to the {@link ParamListServiceConfig#getToStringFormat()} in this order:
@@ -234,48 +707,126 @@ public class ParamListServiceImpl implements ParamListService {
     public <O> String primaryToString(final O thisObj, final ParamList<O> paramList) {
         requireNonNull(thisObj, 1, "thisObj", "primaryToString");
         requireNonNull(paramList, 2, "paramList", "primaryToString");
-        Predicate<ParamDescription<? super O, ?>> filter = pd -> pd.isToStringInclude()
-                                                                 && ParamDescriptionSingle.class.isAssignableFrom(pd.getClass())
-                                                                 && ((ParamDescriptionSingle)pd).isPrimary();
-        List<ParamDescription<? super O, ?>> paramDescriptions = getFilteredParamList(filter, paramList);
-        return createToStringResult(thisObj, paramList.getParentClass(), paramDescriptions,
-                                    new HashMap<>(), true);
+        ParamListServiceListener[] currentListeners = listeners;
+        if (currentListeners.length == 0) {
+            return createToStringResult(thisObj, paramList, true, new HashMap<>());
+        }
+        Object[] contexts = startListeners(currentListeners, ParamListOperation.PRIMARY_TO_STRING, paramList);
+        long startNanos = System.nanoTime();
+        String retval = createToStringResult(thisObj, paramList, true, new HashMap<>());
+        notifyListeners(currentListeners, contexts, ParamListOperation.PRIMARY_TO_STRING, paramList, retval.length(), startNanos);
+        return retval;
     }
 
     /**
-     * Filters the params list using the provided predicate and returns an unmodifiable list of ParamDescriptions.<br>
+     * Creates the toString or primaryToString result for an object.<br>
+     *
+     * The config values are gotten once here, and the ParamList's render plan for them is used.
+     * For toString, the ParamList's compiled engine is used if it has one that was compiled for that plan.
+     * If it has one compiled for an older plan, it's compiled again for the current one,
+     * and the result is put together without it until that's ready.
      *
-     * @param filter  the predicate to use in the filter, e.g. ParamDescription::isToStringInclude - assumed not null
-     * @param paramList  the paramList to get the ParamDescriptions from - assumed not null
-     * @return A list of ParamDescription objects
+     * @param thisObj  the object being converted to a String - assumed not null
+     * @param paramList  the ParamList for the object - assumed not null
+     * @param primary  true for primaryToString (which also marks recursion as prevented), false for toString
+     * @param seen  the map of classes to sets of hashCodes indicating objects that have already been converted to a string - assumed not null
+     * @param <O>  the type of the object
+     * @return A String.
      */
-    private <O> List<ParamDescription<? super O, ?>> getFilteredParamList(
-                    final Predicate<ParamDescription<? super O, ?>> filter, final ParamList<O> paramList) {
-        Map<String, ParamDescription<? super O, ?>> paramDescriptionMap = paramList.getParamDescriptionMap();
-        return paramList.getParamOrder()
-                        .stream()
-                        .map(paramDescriptionMap::get)
-                        .filter(filter)
-                        .collect(Collectors.toList());
+    private <O> String createToStringResult(final O thisObj, final ParamList<O> paramList, final boolean primary,
+                                            final Map<Class, Set<Integer>> seen) {
+        ParamListServiceConfig currentConfig = config;
+        ParamListServiceConfigSnapshot settings = currentConfig.getSnapshot();
+        ParamListRenderPlan plan = paramList.getRenderPlan(settings, primary);
+        ParamListCompiledEngine<O> compiledEngine =
+                        primary || dispatchingThroughRegistry ? null : paramList.getCompiledEngine(currentConfig);
+        if (compiledEngine != null && plan.isUsable()) {
+            if (compiledEngine.getToStringPlan() == plan) {
+                return createCompiledToStringResult(settings, plan, compiledEngine, thisObj, paramList.getToStringParams(), seen);
+            }
+            // Subclass configs create new values every time they're asked, so compiling for them would never catch up.
+            if (currentConfig.getClass() == ParamListServiceConfig.class) {
+                paramList.compile(currentConfig);
+            }
+        }
+        return createToStringResult(settings, plan, thisObj, paramList.getParentClass(),
+                                    settings.hashCodeString(thisObj),
+                                    primary ? paramList.getPrimaryToStringParams() : paramList.getToStringParams(),
+                                    null, seen, primary);
+    }
+
+    /**
+     * Puts together the toString result using a compiled engine for the parameters String.<br>
+     *
+     * This gives the same result as {@link #appendParams(ParamListServiceConfigSnapshot, ParamListRenderPlan, Object, ParamDescription[], Object[], Map, boolean, StringBuilder)},
+     * but the parameters the engine compiled are appended from its constants.
+     * If every parameter was compiled, the engine creates the whole result in one step instead
+     * (see {@link ParamListCompiledEngine#concatenate(Object, String)}).
+     * The rest are appended by {@link #appendParam(ParamListServiceConfigSnapshot, ParamListRenderPlan, Object, ParamDescription[], Object[], int, BiFunction, StringBuilder)}.
+     *
+     * @param settings  the config values to use - assumed not null
+     * @param plan  the usable render plan the engine was compiled for - assumed not null
+     * @param compiledEngine  the ParamList's compiled engine - assumed not null
+     * @param obj  the object being converted to a String - assumed not null
+     * @param paramDescriptions  the toString parameters - assumed not null
+     * @param seen  the map of classes to sets of hashCodes indicating objects that have already been converted to a string - assumed not null
+     * @param <O>  the type of the object
+     * @return A String.
+     */
+    private <O> String createCompiledToStringResult(final ParamListServiceConfigSnapshot settings, final ParamListRenderPlan plan,
+                                                    final ParamListCompiledEngine<O> compiledEngine, final O obj,
+                                                    final ParamDescription<? super O, ?>[] paramDescriptions,
+                                                    final Map<Class, Set<Integer>> seen) {
+        String hashCode = settings.hashCodeString(obj);
+        String concatenated = compiledEngine.concatenate(obj, hashCode);
+        if (concatenated != null) {
+            return concatenated;
+        }
+        @SuppressWarnings("unchecked")
+        BiFunction<Object, Class, String> recursiveToString = (p, c) -> objectToString(settings, p, c, seen);
+        StringBuilder output = new StringBuilder(plan.getEstimatedLength());
+        String[] literals = plan.getLiterals();
+        boolean[] slotIsHashCode = plan.getSlotIsHashCode();
+        for (int slot = 0; slot < slotIsHashCode.length; slot++) {
+            output.append(literals[slot]);
+            if (slotIsHashCode[slot]) {
+                output.append(hashCode);
+            } else {
+                compiledEngine.appendParams(obj, output, (out, i) -> {
+                    if (i > 0) {
+                        out.append(settings.getParameterDelimiter());
+                    }
+                    appendParam(settings, plan, obj, paramDescriptions, null, i, recursiveToString, out);
+                });
+            }
+        }
+        output.append(literals[slotIsHashCode.length]);
+        plan.recordLength(output.length());
+        return output.toString();
     }
 
     /**
      * Put together the pieces to create the final toString result.<br>
      *
-     * Generates the object's hashCode using {@link Object#hashCode()} then converts it to a String
-     * using the {@link ParamListServiceConfig#getHashCodeToString()} Function.
-     * Uses the {@link ParamListServiceConfig#getClassNameGetter()} Function to create the class name String.
+     * If the {@link ParamListServiceConfigSnapshot#getToStringFormat()} uses it, generates the object's hashCode
+     * using {@link Object#hashCode()} (or {@link System#identityHashCode(Object)}) then converts it to a String
+     * using the {@link ParamListServiceConfigSnapshot#getHashCodeRenderer()} IntFunction.
+     * Uses the {@link ParamListServiceConfigSnapshot#getClassNameGetter()} Function to create the class name String.
      * Then uses the provided <code>paramDescriptions</code> list to generate a String of the parameters joined together
-     * using {@link ParamListServiceConfig#getParameterDelimiter()}.
+     * using {@link ParamListServiceConfigSnapshot#getParameterDelimiter()}.
      * If the provided <code>paramDescriptions</code> list is null or empty,
      * the provided <code>isPreventingRecursion</code> flag determines whether
-     * to use {@link ParamListServiceConfig#getStringForEmptyParamList()} (false)
-     * or {@link ParamListServiceConfig#getStringForRecursionPrevented()} (true).
+     * to use {@link ParamListServiceConfigSnapshot#getStringForEmptyParamList()} (false)
+     * or {@link ParamListServiceConfigSnapshot#getStringForRecursionPrevented()} (true).
      * If there were paramDescriptions provided, and the <code>isPreventingRecursion</code> flag is true, the
-     * {@link ParamListServiceConfig#getStringForRecursionPrevented()} is then appended to the parameters String.
-     * Then uses the {@link ParamListServiceConfig#getToStringFormat()} format to combine the
+     * {@link ParamListServiceConfigSnapshot#getStringForRecursionPrevented()} is then appended to the parameters String.
+     * Then uses the {@link ParamListServiceConfigSnapshot#getToStringFormat()} format to combine the
      * class name, hash code and parameters String into one String.<br>
      *
+     * Every config value comes from the provided snapshot, which is gotten once at the start of the call.
+     * So a config change made part way through doesn't mix old and new values in one result.<br>
+     *
+     * @param settings  the config values to use - assumed not null
      * @param obj  the object being converted to a String - assumed not null
      * @param objClass  the class of the object - assumed not null
      * @param paramDescriptions  the list of parameter descriptions
@@ -284,103 +835,463 @@ public class ParamListServiceImpl implements ParamListService {
      * @param <O>  the type of the object
      * @return  A String.
      */
-    private <O> String createToStringResult(final O obj, final Class<O> objClass,
-                                            final List<ParamDescription<? super O, ?>> paramDescriptions,
+    private <O> String createToStringResult(final ParamListServiceConfigSnapshot settings, final O obj, final Class<O> objClass,
+                                            final ParamDescription<? super O, ?>[] paramDescriptions,
                                             final Map<Class, Set<Integer>> seen, boolean isPreventingRecursion) {
-        String hashCode = config.getHashCodeToString().apply(obj.hashCode());
-        String className = config.getClassNameGetter().apply(objClass);
+        return createToStringResult(settings, null, obj, objClass, settings.hashCodeString(obj), paramDescriptions, null,
+                                    seen, isPreventingRecursion);
+    }
+
+    /**
+     * Put together the pieces to create the final toString result, using parameter values that might already be captured.<br>
+     *
+     * This works the same as {@link #createToStringResult(ParamListServiceConfigSnapshot, Object, Class, ParamDescription[], Map, boolean)},
+     * but takes in the hash code String, and can use parameter values that were captured earlier
+     * (see {@link #snapshot(Object, ParamList, boolean)}) instead of getting them from the object.<br>
+     *
+     * If a usable render plan is provided, the result is put together by appending the plan's
+     * literal pieces and the parameter values into one presized StringBuilder.
+     * Otherwise the formats are applied using {@link String#format(String, Object...)}.<br>
+     *
+     * @param settings  the config values to use - assumed not null
+     * @param plan  the render plan for the parameters and config values - null if there isn't one
+     * @param obj  the object being converted to a String - can only be null if values are provided
+     * @param objClass  the class of the object - assumed not null
+     * @param hashCode  the hash code String to use - assumed not null
+     * @param paramDescriptions  the list of parameter descriptions
+     * @param values  the captured parameter values, in the same order as paramDescriptions - null to get them from obj
+     * @param seen  the map of classes to sets of hashCodes indicating objects that have already been converted to a string - assumed not null
+     * @param isPreventingRecursion  flag for whether or not we're in the middle of preventing recrusion
+     * @param <O>  the type of the object
+     * @return  A String.
+     */
+    private <O> String createToStringResult(final ParamListServiceConfigSnapshot settings, final ParamListRenderPlan plan,
+                                            final O obj, final Class<O> objClass, final String hashCode,
+                                            final ParamDescription<? super O, ?>[] paramDescriptions,
+                                            final Object[] values, final Map<Class, Set<Integer>> seen,
+                                            boolean isPreventingRecursion) {
+        if (plan != null && plan.isUsable() && paramDescriptions != null) {
+            StringBuilder output = new StringBuilder(plan.getEstimatedLength());
+            String[] literals = plan.getLiterals();
+            boolean[] slotIsHashCode = plan.getSlotIsHashCode();
+            for (int slot = 0; slot < slotIsHashCode.length; slot++) {
+                output.append(literals[slot]);
+                if (slotIsHashCode[slot]) {
+                    output.append(hashCode);
+                } else {
+                    appendParams(settings, plan, obj, paramDescriptions, values, seen, isPreventingRecursion, output);
+                }
+            }
+            output.append(literals[slotIsHashCode.length]);
+            plan.recordLength(output.length());
+            return output.toString();
+        }
+        String className = settings.getClassNameGetter().apply(objClass);
         String paramsString;
-        if (paramDescriptions == null || paramDescriptions.isEmpty()) {
+        if (paramDescriptions == null || paramDescriptions.length == 0) {
             if (isPreventingRecursion) {
-                paramsString = config.getStringForRecursionPrevented();
+                paramsString = settings.getStringForRecursionPrevented();
             } else {
-                paramsString = config.getStringForEmptyParamList();
+                paramsString = settings.getStringForEmptyParamList();
             }
         } else {
-            paramsString = paramDescriptions.stream()
-                                            .map(pd -> getNameValueString(obj, pd, seen))
-                                            .collect(Collectors.joining(config.getParameterDelimiter()));
+            StringJoiner joiner = new StringJoiner(settings.getParameterDelimiter());
+            @SuppressWarnings("unchecked")
+            BiFunction<Object, Class, String> recursiveToString = (p, c) -> objectToString(settings, p, c, seen);
+            for (int i = 0; i < paramDescriptions.length; i++) {
+                String value = values == null ? paramDescriptions[i].getParamString(obj, recursiveToString)
+                                              : getValueString(paramDescriptions[i], values[i], recursiveToString);
+                joiner.add(getNameValueString(settings, paramDescriptions[i].getName(), value));
+            }
+            paramsString = joiner.toString();
             if (isPreventingRecursion) {
-                paramsString += config.getStringForRecursionPrevented();
+                paramsString += settings.getStringForRecursionPrevented();
             }
         }
-        return String.format(config.getToStringFormat(), className, hashCode, paramsString);
+        return String.format(settings.getToStringFormat(), className, hashCode, paramsString);
     }
 
     /**
-     * Creates a name/value String for a parameter in an object.<br>
-     *
-     * Makes a call to {@link ParamDescription#getParamString(Object, BiFunction)} with the object and
-     * a reference to {@link #objectToString(Object, Class, Map)}.
-     * Then, if that result is not the {@link ParamListServiceConfig#getStringForNull()}
-     * or {@link ParamListServiceConfig#getStringForRecursionPrevented()} values,
-     * the {@link ParamListServiceConfig#getParameterValueFormat()} is applied to it.<br>
+     * Appends the parameters String using a render plan.<br>
      *
-     * Finally, the {@link ParamListServiceConfig#getNameValueFormat()} is applied,
-     * being provided the <code>name</code> and value created above.<br>
+     * This gives the same result as the parameters String put together in
+     * {@link #createToStringResult(ParamListServiceConfigSnapshot, ParamListRenderPlan, Object, Class, String, ParamDescription[], Object[], Map, boolean)}
+     * without a plan, but only the value Strings need to be created.
+     * Values of plain parameters that have a {@link ValueRenderer} don't even need that; the renderer appends straight to the output.<br>
      *
-     * @param obj  the object to get the parameter from - assumed not null
-     * @param paramDescription  the ParamDescription with the info on the param to get - assumed not null
+     * @param settings  the config values to use - assumed not null
+     * @param plan  the usable render plan for the parameters - assumed not null
+     * @param obj  the object being converted to a String - can only be null if values are provided
+     * @param paramDescriptions  the parameters to append - assumed not null
+     * @param values  the captured parameter values, in the same order as paramDescriptions - null to get them from obj
      * @param seen  the map of classes to sets of hashCodes indicating objects that have already been converted to a string - assumed not null
+     * @param isPreventingRecursion  flag for whether or not we're in the middle of preventing recrusion
+     * @param output  the StringBuilder to append to - assumed not null
      * @param <O>  the type of the object
-     * @param <P>  the type of the parameter (getter return value)
-     * @return A String
      */
-    private <O, P> String getNameValueString(final O obj, final ParamDescription<O, P> paramDescription,
-                                             final Map<Class, Set<Integer>> seen) {
+    private <O> void appendParams(final ParamListServiceConfigSnapshot settings, final ParamListRenderPlan plan, final O obj,
+                                  final ParamDescription<? super O, ?>[] paramDescriptions, final Object[] values,
+                                  final Map<Class, Set<Integer>> seen, final boolean isPreventingRecursion,
+                                  final StringBuilder output) {
+        if (paramDescriptions.length == 0) {
+            output.append(isPreventingRecursion ? settings.getStringForRecursionPrevented() : settings.getStringForEmptyParamList());
+            return;
+        }
         @SuppressWarnings("unchecked")
-        String value = paramDescription.getParamString(obj, (p, c) -> objectToString(p, c, seen));
-        if (!value.equals(config.getStringForNull())
-            && !value.equals(config.getStringForRecursionPrevented())) {
-            value = String.format(config.getParameterValueFormat(), value);
+        BiFunction<Object, Class, String> recursiveToString = (p, c) -> objectToString(settings, p, c, seen);
+        for (int i = 0; i < paramDescriptions.length; i++) {
+            if (i > 0) {
+                output.append(settings.getParameterDelimiter());
+            }
+            appendParam(settings, plan, obj, paramDescriptions, values, i, recursiveToString, output);
+        }
+        if (isPreventingRecursion) {
+            output.append(settings.getStringForRecursionPrevented());
+        }
+    }
+
+    /**
+     * Appends the name and value String of one parameter using a render plan.<br>
+     *
+     * @param settings  the config values to use - assumed not null
+     * @param plan  the usable render plan for the parameters - assumed not null
+     * @param obj  the object being converted to a String - can only be null if values are provided
+     * @param paramDescriptions  the parameters being appended - assumed not null
+     * @param values  the captured parameter values, in the same order as paramDescriptions - null to get them from obj
+     * @param index  the index of the parameter to append
+     * @param recursiveToString  the BiFunction to use to create value Strings - assumed not null
+     * @param output  the StringBuilder to append to - assumed not null
+     * @param <O>  the type of the object
+     */
+    private static <O> void appendParam(final ParamListServiceConfigSnapshot settings, final ParamListRenderPlan plan,
+                                        final O obj, final ParamDescription<? super O, ?>[] paramDescriptions,
+                                        final Object[] values, final int index,
+                                        final BiFunction<Object, Class, String> recursiveToString, final StringBuilder output) {
+        if (plan.isCachingFragments(index)) {
+            Object rawValue = values == null ? captureValue(paramDescriptions[index], obj, false) : values[index];
+            output.append(getFragment(settings, plan, index, paramDescriptions[index], rawValue, recursiveToString));
+            return;
+        }
+        if (!settings.getValueRenderers().isEmpty() && paramDescriptions[index].getClass() == ParamDescriptionSingle.class) {
+            Object rawValue = values == null ? captureValue(paramDescriptions[index], obj, false) : values[index];
+            ValueRenderer<Object> valueRenderer = rawValue == null ? null : settings.getValueRenderer(rawValue.getClass());
+            if (valueRenderer != null) {
+                appendRendered(settings, plan, index, rawValue, valueRenderer, output);
+            } else {
+                appendValueString(settings, plan, index, getValueString(paramDescriptions[index], rawValue, recursiveToString),
+                                  output);
+            }
+            return;
+        }
+        String value = values == null ? paramDescriptions[index].getParamString(obj, recursiveToString)
+                                      : getValueString(paramDescriptions[index], values[index], recursiveToString);
+        appendValueString(settings, plan, index, value, output);
+    }
+
+    /**
+     * Appends the name and value String of a parameter using a render plan.<br>
+     *
+     * The value is wrapped in the plan's value prefix and suffix unless it is the String for null or for recursion prevention.
+     *
+     * @param settings  the config values to use - assumed not null
+     * @param plan  the usable render plan for the parameters - assumed not null
+     * @param index  the index of the parameter
+     * @param value  the String version of the parameter value - assumed not null
+     * @param output  the StringBuilder to append to - assumed not null
+     */
+    private static void appendValueString(final ParamListServiceConfigSnapshot settings, final ParamListRenderPlan plan,
+                                          final int index, final String value, final StringBuilder output) {
+        output.append(plan.getNamePrefix(index));
+        if (value.equals(settings.getStringForNull()) || value.equals(settings.getStringForRecursionPrevented())) {
+            output.append(value);
+        } else {
+            output.append(plan.getValuePrefix()).append(value).append(plan.getValueSuffix());
+        }
+        output.append(plan.getNameSuffix(index));
+    }
+
+    /**
+     * Appends the name and value of a parameter using a render plan, with the value's renderer appending straight to the output.<br>
+     *
+     * This gives the same result as rendering the value into its own String and passing that to
+     * {@link #appendValueString(ParamListServiceConfigSnapshot, ParamListRenderPlan, int, String, StringBuilder)},
+     * without creating that String. The value prefix is appended before the renderer runs,
+     * and taken back out if the renderer turns out to have appended the String for null or for recursion prevention.
+     *
+     * @param settings  the config values to use - assumed not null
+     * @param plan  the usable render plan for the parameters - assumed not null
+     * @param index  the index of the parameter
+     * @param value  the parameter value - assumed not null
+     * @param valueRenderer  the renderer for the value's class - assumed not null
+     * @param output  the StringBuilder to append to - assumed not null
+     */
+    private static void appendRendered(final ParamListServiceConfigSnapshot settings, final ParamListRenderPlan plan,
+                                       final int index, final Object value, final ValueRenderer<Object> valueRenderer,
+                                       final StringBuilder output) {
+        output.append(plan.getNamePrefix(index));
+        int prefixStart = output.length();
+        output.append(plan.getValuePrefix());
+        int valueStart = output.length();
+        valueRenderer.render(value, output);
+        if (endsWithOnly(output, valueStart, settings.getStringForNull())
+            || endsWithOnly(output, valueStart, settings.getStringForRecursionPrevented())) {
+            output.delete(prefixStart, valueStart);
+        } else {
+            output.append(plan.getValueSuffix());
+        }
+        output.append(plan.getNameSuffix(index));
+    }
+
+    /**
+     * Checks whether or not everything appended to a StringBuilder since a position is exactly the provided String.<br>
+     *
+     * @param output  the StringBuilder to check - assumed not null
+     * @param start  the position the appended text starts at
+     * @param expected  the String to compare to - assumed not null
+     * @return True if the appended text equals the String. False otherwise.
+     */
+    private static boolean endsWithOnly(final StringBuilder output, final int start, final String expected) {
+        if (output.length() - start != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (output.charAt(start + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the name and formatted value of a parameter that caches them, formatting and caching them if needed.<br>
+     *
+     * Values whose String is the one for recursion prevention aren't cached, since that depends on where the value was seen.
+     *
+     * @param settings  the config values to use - assumed not null
+     * @param plan  the usable render plan for the parameters - assumed not null
+     * @param index  the index of the parameter - assumed to be caching fragments
+     * @param paramDescription  the parameter - assumed not null
+     * @param value  the parameter value
+     * @param recursiveToString  the BiFunction to use to create the value String - assumed not null
+     * @return A String.
+     */
+    private static String getFragment(final ParamListServiceConfigSnapshot settings, final ParamListRenderPlan plan,
+                                      final int index, final ParamDescription<?, ?> paramDescription, final Object value,
+                                      final BiFunction<Object, Class, String> recursiveToString) {
+        if (value != null) {
+            String cached = plan.getCachedFragment(index, value);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        String valueString = getValueString(paramDescription, value, recursiveToString);
+        if (value == null || valueString.equals(settings.getStringForRecursionPrevented())) {
+            return plan.getNamePrefix(index) + valueString + plan.getNameSuffix(index);
+        }
+        String fragment = valueString.equals(settings.getStringForNull())
+                        ? plan.getNamePrefix(index) + valueString + plan.getNameSuffix(index)
+                        : plan.getNamePrefix(index) + plan.getValuePrefix() + valueString + plan.getValueSuffix()
+                          + plan.getNameSuffix(index);
+        plan.cacheFragment(index, value, fragment);
+        return fragment;
+    }
+
+    /**
+     * Creates a name/value String for a parameter.<br>
+     *
+     * The value String comes from {@link ParamDescription#getParamString(Object, BiFunction)}
+     * (or {@link ParamDescription#getValueString(Object, BiFunction)} for a captured value), using
+     * a reference to {@link #objectToString(ParamListServiceConfigSnapshot, Object, Class, Map)}.
+     * If that value String is not the {@link ParamListServiceConfigSnapshot#getStringForNull()}
+     * or {@link ParamListServiceConfigSnapshot#getStringForRecursionPrevented()} values,
+     * the {@link ParamListServiceConfigSnapshot#getParameterValueFormat()} is applied to it.<br>
+     *
+     * Finally, the {@link ParamListServiceConfigSnapshot#getNameValueFormat()} is applied,
+     * being provided the <code>name</code> and value created above.<br>
+     *
+     * @param settings  the config values to use - assumed not null
+     * @param name  the name of the parameter - assumed not null
+     * @param value  the String version of the parameter value - assumed not null
+     * @return A String
+     */
+    private String getNameValueString(final ParamListServiceConfigSnapshot settings, final String name, final String value) {
+        String formattedValue = value;
+        if (!value.equals(settings.getStringForNull())
+            && !value.equals(settings.getStringForRecursionPrevented())) {
+            formattedValue = String.format(settings.getParameterValueFormat(), value);
         }
-        return String.format(config.getNameValueFormat(), paramDescription.getName(), value);
+        return String.format(settings.getNameValueFormat(), name, formattedValue);
+    }
+
+    /**
+     * Converts a captured parameter value to a String.<br>
+     *
+     * @param paramDescription  the ParamDescription the value was captured with - assumed not null
+     * @param value  the captured value
+     * @param recursiveToString  the BiFunction to use to actually create the String - assumed not null
+     * @param <P>  the type of the parameter
+     * @return A String
+     */
+    @SuppressWarnings("unchecked")
+    private static <P> String getValueString(final ParamDescription<?, P> paramDescription, final Object value,
+                                             final BiFunction<Object, Class, String> recursiveToString) {
+        return paramDescription.getValueString((P)value, recursiveToString);
+    }
+
+    /**
+     * Captures what's needed to create the toString result for an object later.<br>
+     *
+     * The toString-included parameter values are read from the object now, along with the config values
+     * and (if the toString format uses it) the object's hash code.
+     * Creating the String from them is left to {@link ParamListSnapshot#get()}.<br>
+     *
+     * @param thisObj  the object to capture - assumed not null
+     * @param paramList  the ParamList for the object - assumed not null
+     * @param copyingCollections  whether or not to copy collection and map values (see {@link ParamDescription#copyValue(Object)})
+     * @param <O>  the type of the object
+     * @return A new ParamListSnapshot.
+     */
+    <O> ParamListSnapshot<O> snapshot(final O thisObj, final ParamList<O> paramList, final boolean copyingCollections) {
+        ParamListServiceConfigSnapshot settings = config.getSnapshot();
+        ParamDescription<? super O, ?>[] paramDescriptions = paramList.getToStringParams();
+        Object[] values = new Object[paramDescriptions.length];
+        for (int i = 0; i < paramDescriptions.length; i++) {
+            values[i] = captureValue(paramDescriptions[i], thisObj, copyingCollections);
+        }
+        int hashCode = settings.isHashCodeInToString() ? settings.toStringHashCode(thisObj) : 0;
+        return new ParamListSnapshot<>(this, settings, paramList.getRenderPlan(settings, false), paramList.getParentClass(),
+                                       paramDescriptions, values, hashCode);
+    }
+
+    /**
+     * Creates the toString result from values captured by {@link #snapshot(Object, ParamList, boolean)}.<br>
+     *
+     * @param settings  the config values captured - assumed not null
+     * @param plan  the render plan for the captured parameters and config values - assumed not null
+     * @param objClass  the class of the captured object - assumed not null
+     * @param paramDescriptions  the toString-included parameters - assumed not null
+     * @param values  the captured parameter values, in the same order as paramDescriptions - assumed not null
+     * @param hashCode  the captured hash code
+     * @param <O>  the type of the captured object
+     * @return A String.
+     */
+    <O> String renderSnapshot(final ParamListServiceConfigSnapshot settings, final ParamListRenderPlan plan, final Class<O> objClass,
+                              final ParamDescription<? super O, ?>[] paramDescriptions, final Object[] values,
+                              final int hashCode) {
+        return createToStringResult(settings, plan, null, objClass, settings.hashCodeString(hashCode), paramDescriptions,
+                                    values, new HashMap<>(), false);
+    }
+
+    /**
+     * Gets a parameter value from an object, copying it if asked to.<br>
+     *
+     * @param paramDescription  the ParamDescription of the parameter - assumed not null
+     * @param obj  the object to get the value from - assumed not null
+     * @param copying  whether or not to copy the value
+     * @param <O>  the type of the object
+     * @param <P>  the type of the parameter
+     * @return The value.
+     */
+    private static <O, P> Object captureValue(final ParamDescription<? super O, P> paramDescription, final O obj,
+                                              final boolean copying) {
+        P value = paramDescription.getGetter().apply(obj);
+        return copying ? paramDescription.copyValue(value) : value;
     }
 
     /**
      * Converts an object to a String in a recursion-safe way.<br>
      *
-     * If the provided object is null, {@link ParamListServiceConfig#getStringForNull()} is returned.<br>
+     * If the provided object is null, {@link ParamListServiceConfigSnapshot#getStringForNull()} is returned.<br>
+     *
+     * If the config has a {@link ValueRenderer} for the object's class, it is used to create the String.<br>
      *
      * If the provided object does not implement {@link RecursionPreventingToString},
      * then the standard {@link Object#toString()} method is returned.<br>
      *
      * If the provided object DOES implement {@link RecursionPreventingToString},
-     * the hashCode of the object is calculated.<br>
+     * the identity hash code of the object is calculated (see {@link #markSeen(Map, Class, Object)}).<br>
      *
-     * If the hashCode is not already in the seen map, it is added, and the parameter's
+     * If that is not already in the seen map, it is added, and the parameter's
      * {@link RecursionPreventingToString#toString(Map)} method is called and returned.<br>
      *
      * Otherwise, recursion has been detected.
      * The object's {@link RecursionPreventingToString#primaryToString()} method is called.
      * If that is not null, it is returned.
-     * Otherwise, {@link #createToStringResult(Object, Class, List, Map, boolean)} is called with an empty list
-     * and supplying {@link ParamListServiceConfig#getStringForRecursionPrevented()} for the value.<br>
+     * Otherwise, {@link #createToStringResult(ParamListServiceConfigSnapshot, Object, Class, ParamDescription[], Map, boolean)} is called with an empty list
+     * and supplying {@link ParamListServiceConfigSnapshot#getStringForRecursionPrevented()} for the value.<br>
      *
+     * @param settings  the config values to use - assumed not null
      * @param obj  the parameter to convert
      * @param objClass  the class of the parameter being converted - assumed not null
      * @param seen  the map of classes to sets of hashCodes indicating objects that have already been converted to a string - assumed not null
      * @param <P>  the type of the parameter
      * @return A String
      */
-    private <P> String objectToString(final P obj, final Class<P> objClass, final Map<Class, Set<Integer>> seen) {
+    private <P> String objectToString(final ParamListServiceConfigSnapshot settings, final P obj, final Class<P> objClass,
+                                      final Map<Class, Set<Integer>> seen) {
         if (obj == null) {
-            return config.getStringForNull();
+            return settings.getStringForNull();
+        }
+        if (!settings.getValueRenderers().isEmpty()) {
+            ValueRenderer<Object> valueRenderer = settings.getValueRenderer(obj.getClass());
+            if (valueRenderer != null) {
+                StringBuilder output = new StringBuilder();
+                valueRenderer.render(obj, output);
+                return output.toString();
+            }
+        }
+        if (dispatchingThroughRegistry) {
+            ParamList<Object> nested = nestedParamList(obj);
+            if (nested != null) {
+                return nestedToString(obj, objClass, nested, seen);
+            }
         }
         if (!RecursionPreventingToString.class.isAssignableFrom(objClass)) {
             return obj.toString();
         }
-        int objHashCode = obj.hashCode();
         RecursionPreventingToString recursiveObject = (RecursionPreventingToString)obj;
-        if (!seen.containsKey(objClass)) {
-            seen.put(objClass, new HashSet<>());
-        }
-        if (!seen.get(objClass).contains(objHashCode)) {
-            seen.get(objClass).add(objHashCode);
+        if (markSeen(seen, objClass, obj)) {
             return recursiveObject.toString(seen);
         }
         return Optional.ofNullable(recursiveObject.primaryToString())
-                       .orElseGet(() -> createToStringResult(obj, objClass, null, null, true));
+                       .orElseGet(() -> createToStringResult(settings, obj, objClass, null, null, true));
+    }
+
+    /**
+     * Converts a nested value to a String in a recursion-safe way using its registered ParamList.<br>
+     *
+     * This works the same as {@link #objectToString(ParamListServiceConfigSnapshot, Object, Class, Map)} does for a {@link RecursionPreventingToString},
+     * but calls the ParamList directly.
+     *
+     * @param obj  the value to convert - assumed not null
+     * @param objClass  the class of the parameter being converted - assumed not null
+     * @param nested  the registered ParamList for the value - assumed not null
+     * @param seen  the map of classes to sets of hashCodes indicating objects that have already been converted to a string - assumed not null
+     * @return A String
+     */
+    private String nestedToString(final Object obj, final Class<?> objClass, final ParamList<Object> nested,
+                                  final Map<Class, Set<Integer>> seen) {
+        if (markSeen(seen, objClass, obj)) {
+            return nested.toString(obj, seen);
+        }
+        return nested.primaryToString(obj);
+    }
+
+    /**
+     * Records that an object is being converted to a String, unless it already has been.<br>
+     *
+     * Objects are recorded by {@link System#identityHashCode(Object)} rather than their own hashCode.
+     * Their own hashCode would go through every one of their parameters (and their parameters' parameters)
+     * for each nested object, and two different but equal objects would be treated as the same one.
+     * The identity hash code takes no work to get, and only tells objects apart by identity.
+     *
+     * @param seen  the map of classes to sets of hashCodes indicating objects that have already been converted to a string - assumed not null
+     * @param objClass  the class of the object - assumed not null
+     * @param obj  the object - assumed not null
+     * @return True if the object hadn't been seen yet. False if it had.
+     */
+    private static boolean markSeen(final Map<Class, Set<Integer>> seen, final Class<?> objClass, final Object obj) {
+        return seen.computeIfAbsent(objClass, c -> new HashSet<>()).add(System.identityHashCode(obj));
     }
 
     /**
@@ -413,4 +1324,35 @@ public class ParamListServiceImpl implements ParamListService {
     public String toString() {
         return getParamList().toString(this);
     }
+
+    /**
+     * Key for the interned services, comparing frozen configs with {@link ParamListServiceConfig#hasSameValuesAs}.<br>
+     *
+     * The config's own equals ignores which functions it uses, so it can't be used as the key directly.
+     */
+    private static final class ConfigKey {
+
+        private final ParamListServiceConfig config;
+        private final int hashCode;
+
+        /**
+         * Constructor for a ConfigKey.<br>
+         *
+         * @param config  the frozen config - assumed not null
+         */
+        private ConfigKey(final ParamListServiceConfig config) {
+            this.config = config;
+            this.hashCode = config.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ConfigKey && config.hasSameValuesAs(((ConfigKey)obj).config);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
@@ -0,0 +1,55 @@
+package EasyOverrider;
+
+/**
+ * Interface to implement in order to be told about each operation a {@link ParamListServiceImpl} performs.<br>
+ *
+ * Listeners are added using {@link ParamListServiceImpl#addListener(ParamListServiceListener)}.
+ * When a service has no listeners, the operations are not timed at all.<br>
+ *
+ * Listeners are called on the thread that performed the operation, so implementations should be fast and thread-safe.
+ */
+@FunctionalInterface
+public interface ParamListServiceListener {
+
+    /**
+     * Called after the service finishes an operation.<br>
+     *
+     * @param operation  the {@link ParamListOperation} that was performed
+     * @param paramList  the ParamList the operation was performed for
+     * @param outputLength  the length of the resulting String for toString operations, 0 for equals and hashCode
+     * @param durationNanos  how long the operation took, in nanoseconds
+     */
+    void operationCompleted(ParamListOperation operation, ParamList<?> paramList, int outputLength, long durationNanos);
+
+    /**
+     * Called before the service starts an operation.<br>
+     *
+     * Whatever is returned is provided back to {@link #operationCompleted(ParamListOperation, ParamList, int, long, Object)}
+     * when the operation finishes. If the operation throws an exception, it's dropped.
+     * This lets a listener time an operation itself (e.g. by beginning an event) without keeping per-thread state.
+     * The default does nothing and returns null.
+     *
+     * @param operation  the {@link ParamListOperation} about to be performed
+     * @param paramList  the ParamList the operation is for
+     * @return Anything the listener wants back when the operation completes, or null.
+     */
+    default Object operationStarting(ParamListOperation operation, ParamList<?> paramList) {
+        return null;
+    }
+
+    /**
+     * Called after the service finishes an operation, with what {@link #operationStarting(ParamListOperation, ParamList)} returned.<br>
+     *
+     * The default calls {@link #operationCompleted(ParamListOperation, ParamList, int, long)}.
+     *
+     * @param operation  the {@link ParamListOperation} that was performed
+     * @param paramList  the ParamList the operation was performed for
+     * @param outputLength  the length of the resulting String for toString operations, 0 for equals and hashCode
+     * @param durationNanos  how long the operation took, in nanoseconds
+     * @param context  what operationStarting returned
+     */
+    default void operationCompleted(ParamListOperation operation, ParamList<?> paramList, int outputLength, long durationNanos,
+                                    Object context) {
+        operationCompleted(operation, paramList, outputLength, durationNanos);
+    }
+}
@@ -0,0 +1,233 @@
+package EasyOverrider;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Estimates the number of bytes retained by a ParamList-backed object.<br>
+ *
+ * This only uses the parameters in the ParamList (not reflection), so it's fast enough to use as a cache weigher.
+ * Sizes assume a 64-bit JVM with compressed references (12 byte object headers, 4 byte references, 8 byte alignment)
+ * and compact Strings. The result is an approximation:
+ * <ul>
+ * <li>Each object is counted once, no matter how many times it's referenced.
+ * <li>Parameters whose class is a primitive wrapper are assumed to be primitive fields.
+ * <li>Enums and Classes are shared, so they don't add anything.
+ * <li>Nested objects whose exact class has a ParamList in the {@link ParamListRegistry} are walked using that ParamList.
+ *     Other objects are counted as an empty object.
+ * </ul>
+ */
+class ParamListSizeEstimator {
+
+    private static final int HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int HASH_MAP = 48;
+    private static final int HASH_MAP_NODE = 32;
+    private static final int TREE_MAP = 48;
+    private static final int TREE_MAP_ENTRY = 40;
+    private static final int LINKED_LIST = 32;
+    private static final int LINKED_LIST_NODE = 24;
+    private static final int LIST = 24;
+    private static final int STRING = 24;
+
+    private final Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Estimates the number of bytes retained by an object.<br>
+     *
+     * @param paramList  the ParamList describing the object - assumed not null
+     * @param obj  the object to estimate - assumed not null
+     * @param <O>  the type of the object
+     * @return The estimated number of bytes.
+     */
+    static <O> long estimate(final ParamList<O> paramList, final O obj) {
+        return new ParamListSizeEstimator().estimateObject(obj, paramList);
+    }
+
+    /**
+     * Estimates the bytes retained by an object described by a ParamList, unless it was already counted.<br>
+     *
+     * Primitive parameters add their size to the object itself, and other parameters add a reference plus their own estimate.
+     *
+     * @param obj  the object to estimate - assumed not null
+     * @param paramList  the ParamList describing the object - assumed not null
+     * @param <O>  the type of the object
+     * @return The estimated number of bytes, or 0 if the object was already counted.
+     */
+    private <O> long estimateObject(final O obj, final ParamList<? super O> paramList) {
+        if (!seen.add(obj)) {
+            return 0;
+        }
+        long shallow = HEADER;
+        long deep = 0;
+        for (ParamDescription<? super O, ?> paramDescription : paramList.getAllParams()) {
+            int primitiveSize = primitiveSize(paramDescription.getParamClass());
+            if (primitiveSize > 0) {
+                shallow += primitiveSize;
+            } else {
+                shallow += REFERENCE;
+                deep += estimateValue(paramDescription.getGetter().apply(obj));
+            }
+        }
+        return align(shallow) + deep;
+    }
+
+    /**
+     * Estimates the bytes retained by a parameter value, based on its runtime type, unless it was already counted.<br>
+     *
+     * Enums and Classes are shared, so they count as 0. Objects with a registered ParamList are walked using it,
+     * and any other object only counts as an empty object.
+     *
+     * @param value  the value to estimate - can be null
+     * @return The estimated number of bytes, or 0 if the value is null, shared, or already counted.
+     */
+    @SuppressWarnings("unchecked")
+    private long estimateValue(final Object value) {
+        if (value == null || value instanceof Enum || value instanceof Class || !seen.add(value)) {
+            return 0;
+        }
+        int primitiveSize = primitiveSize(value.getClass());
+        if (primitiveSize > 0) {
+            return align(HEADER + primitiveSize);
+        }
+        if (value instanceof String) {
+            return STRING + align(ARRAY_HEADER + ((String)value).length());
+        }
+        if (value instanceof BigInteger) {
+            return align(HEADER + 24) + align(ARRAY_HEADER + ((BigInteger)value).bitLength() / 8 + 1);
+        }
+        if (value instanceof BigDecimal) {
+            return align(HEADER + 28) + estimateValue(((BigDecimal)value).unscaledValue());
+        }
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>)value;
+            long retval = mapOverhead(map);
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                retval += estimateValue(entry.getKey()) + estimateValue(entry.getValue());
+            }
+            return retval;
+        }
+        if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>)value;
+            long retval = collectionOverhead(collection);
+            for (Object entry : collection) {
+                retval += estimateValue(entry);
+            }
+            return retval;
+        }
+        if (value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            int entrySize = primitiveSize(value.getClass().getComponentType());
+            if (entrySize > 0) {
+                return align(ARRAY_HEADER + (long)length * entrySize);
+            }
+            long retval = align(ARRAY_HEADER + (long)length * REFERENCE);
+            for (int i = 0; i < length; i++) {
+                retval += estimateValue(Array.get(value, i));
+            }
+            return retval;
+        }
+        ParamList<Object> paramList = (ParamList<Object>)ParamListRegistry.lookup(value.getClass());
+        if (paramList != null) {
+            seen.remove(value);
+            return estimateObject(value, paramList);
+        }
+        return align(HEADER);
+    }
+
+    /**
+     * Estimates the bytes used by a Map itself, not counting its keys and values.<br>
+     *
+     * TreeMaps are counted as a TreeMap plus one entry per key. Every other Map is counted as a HashMap.
+     *
+     * @param map  the Map - assumed not null
+     * @return The number of bytes.
+     */
+    private static long mapOverhead(final Map<?, ?> map) {
+        int size = map.size();
+        if (map instanceof TreeMap) {
+            return TREE_MAP + (long)size * TREE_MAP_ENTRY;
+        }
+        return HASH_MAP + hashTable(size) + (long)size * HASH_MAP_NODE;
+    }
+
+    /**
+     * Estimates the bytes used by a Collection itself, not counting its entries.<br>
+     *
+     * HashSets and TreeSets are counted as the Map they wrap, LinkedLists as one node per entry,
+     * and every other Collection as an ArrayList with no spare capacity.
+     *
+     * @param collection  the Collection - assumed not null
+     * @return The number of bytes.
+     */
+    private static long collectionOverhead(final Collection<?> collection) {
+        int size = collection.size();
+        if (collection instanceof HashSet) {
+            return align(HEADER + REFERENCE) + HASH_MAP + hashTable(size) + (long)size * HASH_MAP_NODE;
+        }
+        if (collection instanceof TreeSet) {
+            return align(HEADER + REFERENCE) + TREE_MAP + (long)size * TREE_MAP_ENTRY;
+        }
+        if (collection instanceof LinkedList) {
+            return LINKED_LIST + (long)size * LINKED_LIST_NODE;
+        }
+        return LIST + align(ARRAY_HEADER + (long)size * REFERENCE);
+    }
+
+    /**
+     * Estimates the size of a hash table array for a HashMap with the default load factor.<br>
+     *
+     * @param size  the number of entries
+     * @return The number of bytes.
+     */
+    private static long hashTable(final int size) {
+        if (size == 0) {
+            return 0;
+        }
+        int capacity = Integer.highestOneBit(Math.max(1, (int)(size / 0.75f)) * 2 - 1);
+        return align(ARRAY_HEADER + (long)Math.max(16, capacity) * REFERENCE);
+    }
+
+    /**
+     * Gets the size of the primitive that the provided class is or wraps.<br>
+     *
+     * @param c  the class
+     * @return The number of bytes, or 0 if the class isn't a primitive or primitive wrapper.
+     */
+    private static int primitiveSize(final Class<?> c) {
+        if (c == Integer.class || c == int.class || c == Float.class || c == float.class) {
+            return 4;
+        }
+        if (c == Long.class || c == long.class || c == Double.class || c == double.class) {
+            return 8;
+        }
+        if (c == Short.class || c == short.class || c == Character.class || c == char.class) {
+            return 2;
+        }
+        if (c == Byte.class || c == byte.class || c == Boolean.class || c == boolean.class) {
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Rounds a size up to the 8 byte alignment of objects on the heap.<br>
+     *
+     * @param size  the number of bytes
+     * @return The smallest multiple of 8 that is at least the provided size.
+     */
+    private static long align(final long size) {
+        return (size + 7) & ~7L;
+    }
+}
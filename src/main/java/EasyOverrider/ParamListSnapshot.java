@@ -0,0 +1,147 @@
+package EasyOverrider;
+
+import java.util.function.Supplier;
+
+/**
+ * The captured state of an object that can be turned into its toString result later, on any thread.<br>
+ *
+ * These are created using {@link ParamList#snapshot(Object)} or {@link ParamList#snapshot(Object, boolean)}.
+ * Creating one only reads the toString-included parameter values into an array (along with the config and,
+ * if the toString format uses it, the hash code). None of the formatting is done until {@link #toString()},
+ * {@link #get()}, or one of the {@link CharSequence} methods is called.
+ * After that, the rendered String is kept and re-used.<br>
+ *
+ * The result is the same as calling {@link ParamList#toString(Object)} when the snapshot was taken,
+ * as long as the captured values aren't changed in the meantime.
+ * Parameter values are captured by reference, so a mutable value (e.g. a list) that is changed before
+ * rendering will show its new contents. Snapshots taken with <code>copyingCollections</code> set to true
+ * copy collection and map values so that adding or removing entries doesn't affect them.
+ * The entries themselves are still captured by reference.<br>
+ *
+ * This makes them handy for asynchronous loggers that format messages on a background thread:
+ *
+ * <pre>
+ * {@code
+ *
+ * log.info("state {}", paramList.snapshot(foo)); // Values read now, formatted by the logger's thread.
+ * }
+ * </pre>
+ *
+ * @param <O>  the type of the object that was captured
+ */
+public class ParamListSnapshot<O> implements CharSequence, Supplier<String> {
+
+    private final ParamListServiceImpl service;
+    private final ParamListServiceConfigSnapshot settings;
+    private final ParamListRenderPlan plan;
+    private final Class<O> parentClass;
+    private final ParamDescription<? super O, ?>[] paramDescriptions;
+    private final Object[] values;
+    private final int hashCode;
+    private volatile String rendered;
+
+    /**
+     * Constructor for a ParamListSnapshot that still needs to be rendered.<br>
+     *
+     * @param service  the service to render with - assumed not null
+     * @param settings  the config values to render with - assumed not null
+     * @param plan  the render plan for the parameters and config values - assumed not null
+     * @param parentClass  the class of the captured object - assumed not null
+     * @param paramDescriptions  the toString-included parameters - assumed not null
+     * @param values  the captured parameter values, in the same order as paramDescriptions - assumed not null
+     * @param hashCode  the captured hash code (only used if the toString format uses it)
+     */
+    ParamListSnapshot(final ParamListServiceImpl service, final ParamListServiceConfigSnapshot settings,
+                      final ParamListRenderPlan plan, final Class<O> parentClass, final ParamDescription<? super O, ?>[] paramDescriptions,
+                      final Object[] values, final int hashCode) {
+        this.service = service;
+        this.settings = settings;
+        this.plan = plan;
+        this.parentClass = parentClass;
+        this.paramDescriptions = paramDescriptions;
+        this.values = values;
+        this.hashCode = hashCode;
+    }
+
+    /**
+     * Constructor for a ParamListSnapshot that has already been rendered.<br>
+     *
+     * This is used when the ParamList's service doesn't support capturing values to render later.
+     *
+     * @param rendered  the rendered String - assumed not null
+     */
+    ParamListSnapshot(final String rendered) {
+        this(null, null, null, null, null, null, 0);
+        this.rendered = rendered;
+    }
+
+    /**
+     * Whether or not the String has been rendered yet.<br>
+     *
+     * @return True if the String has already been created. False otherwise.
+     */
+    public boolean isRendered() {
+        return rendered != null;
+    }
+
+    /**
+     * Gets the rendered String, creating it if needed.<br>
+     *
+     * If two threads ask for it at the same time, it might be rendered twice, but only one result is ever kept.
+     *
+     * @return A String.
+     */
+    @Override
+    public String get() {
+        String retval = rendered;
+        if (retval == null) {
+            retval = service.renderSnapshot(settings, plan, parentClass, paramDescriptions, values, hashCode);
+            rendered = retval;
+        }
+        return retval;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int length() {
+        return get().length();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param index  {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public char charAt(final int index) {
+        return get().charAt(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param start  {@inheritDoc}
+     * @param end  {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        return get().subSequence(start, end);
+    }
+
+    /**
+     * Gets the rendered String, creating it if needed.<br>
+     *
+     * @return A String.
+     * @see #get()
+     */
+    @Override
+    public String toString() {
+        return get();
+    }
+}
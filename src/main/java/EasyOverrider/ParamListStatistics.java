@@ -0,0 +1,130 @@
+package EasyOverrider;
+
+import static EasyOverrider.EasyOverriderUtils.requireNonNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link ParamListServiceListener} that keeps in-process statistics for each ParamList parent class.<br>
+ *
+ * For each parent class, and each {@link ParamListOperation}, a {@link ParamListOperationStatistics} keeps the
+ * call count, total time, total output length, and a coarse latency histogram.
+ * Recording is lock-free once a parent class has been seen.<br>
+ *
+ * The easiest way to use this is with {@link ParamListServiceImpl#setStatisticsEnabled(boolean)}
+ * and {@link ParamListServiceImpl#getStatistics()}.
+ */
+public class ParamListStatistics implements ParamListServiceListener {
+
+    private final Map<Class<?>, ParamListOperationStatistics[]> statisticsMap = new ConcurrentHashMap<>();
+
+    /**
+     * {@inheritDoc}
+     *
+     * Adds the operation to the statistics for the ParamList's parent class.
+     *
+     * @param operation  {@inheritDoc}
+     * @param paramList  {@inheritDoc}
+     * @param outputLength  {@inheritDoc}
+     * @param durationNanos  {@inheritDoc}
+     */
+    @Override
+    public void operationCompleted(final ParamListOperation operation, final ParamList<?> paramList,
+                                   final int outputLength, final long durationNanos) {
+        getStatisticsArray(paramList.getParentClass())[operation.ordinal()].record(outputLength, durationNanos);
+    }
+
+    /**
+     * Gets (creating if needed) the statistics for each operation on a parent class.<br>
+     *
+     * @param parentClass  the parent class - assumed not null
+     * @return An array of ParamListOperationStatistics indexed by operation ordinal.
+     */
+    private ParamListOperationStatistics[] getStatisticsArray(final Class<?> parentClass) {
+        ParamListOperationStatistics[] retval = statisticsMap.get(parentClass);
+        if (retval == null) {
+            retval = statisticsMap.computeIfAbsent(parentClass, pc -> {
+                ParamListOperation[] operations = ParamListOperation.values();
+                ParamListOperationStatistics[] statistics = new ParamListOperationStatistics[operations.length];
+                for (ParamListOperation operation : operations) {
+                    statistics[operation.ordinal()] = new ParamListOperationStatistics(pc, operation);
+                }
+                return statistics;
+            });
+        }
+        return retval;
+    }
+
+    /**
+     * Gets the parent classes that have had at least one operation recorded.<br>
+     *
+     * @return An unmodifiable Set of Classes.
+     */
+    public Set<Class<?>> getParentClasses() {
+        return Collections.unmodifiableSet(statisticsMap.keySet());
+    }
+
+    /**
+     * Gets the statistics for an operation on a parent class.<br>
+     *
+     * @param parentClass  the parent class of the ParamList - cannot be null
+     * @param operation  the operation - cannot be null
+     * @return The live {@link ParamListOperationStatistics}. If nothing has been recorded yet, the counts will be 0.
+     * @throws IllegalArgumentException if either parameter is null.
+     */
+    public ParamListOperationStatistics getStatistics(final Class<?> parentClass, final ParamListOperation operation) {
+        requireNonNull(parentClass, 1, "parentClass", "getStatistics");
+        requireNonNull(operation, 2, "operation", "getStatistics");
+        return getStatisticsArray(parentClass)[operation.ordinal()];
+    }
+
+    /**
+     * Gets the statistics for every operation on every parent class that has been seen,
+     * ordered so that the most total time is first.<br>
+     *
+     * @return A List of ParamListOperationStatistics.
+     */
+    public List<ParamListOperationStatistics> getAllByTotalTime() {
+        return statisticsMap.values()
+                            .stream()
+                            .flatMap(Arrays::stream)
+                            .filter(s -> s.getCount() > 0)
+                            .sorted(Comparator.comparingLong(ParamListOperationStatistics::getTotalNanos).reversed())
+                            .collect(Collectors.toList());
+    }
+
+    /**
+     * Sets all the counters back to zero.<br>
+     *
+     * Parent classes that have been seen are kept.
+     */
+    public void reset() {
+        statisticsMap.values()
+                     .stream()
+                     .flatMap(Arrays::stream)
+                     .forEach(ParamListOperationStatistics::reset);
+    }
+
+    /**
+     * Creates a report of all the statistics, one line per parent class and operation, with the most total time first.<br>
+     *
+     * @return A String.
+     */
+    @Override
+    public String toString() {
+        Collection<ParamListOperationStatistics> all = getAllByTotalTime();
+        return all.stream()
+                  .map(s -> String.format("%s %s: count=%d, totalNanos=%d, averageNanos=%d, totalOutputLength=%d",
+                                          s.getParentClass().getName(), s.getOperation().getDisplayName(),
+                                          s.getCount(), s.getTotalNanos(), s.getAverageNanos(), s.getTotalOutputLength()))
+                  .collect(Collectors.joining(System.lineSeparator(), "ParamListStatistics" + System.lineSeparator(), ""));
+    }
+}
@@ -0,0 +1,153 @@
+package EasyOverrider;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The cumulative sampled cost of one parameter of a ParamList.<br>
+ *
+ * These are kept by a {@link ParamListProfiler}.
+ * Time spent in the parameter's getter is kept separate from time spent comparing (for equals)
+ * or hashing (for hashCode) the values that were retrieved.
+ */
+public class ParamProfile {
+
+    private final Class<?> parentClass;
+    private final String name;
+    private final LongAdder getterCalls = new LongAdder();
+    private final LongAdder getterNanos = new LongAdder();
+    private final LongAdder comparisonCalls = new LongAdder();
+    private final LongAdder comparisonNanos = new LongAdder();
+
+    private static ParamList<ParamProfile> paramList;
+
+    private static ParamList<ParamProfile> getParamList() {
+        if (paramList == null) {
+            paramList = ParamList.forClass(ParamProfile.class)
+                                 .withParam("parentClass", ParamProfile::getParentClass, Class.class)
+                                 .withParam("name", ParamProfile::getName, String.class)
+                                 .withParam("getterCalls", ParamProfile::getGetterCalls, Long.class)
+                                 .withParam("getterNanos", ParamProfile::getGetterNanos, Long.class)
+                                 .withParam("comparisonCalls", ParamProfile::getComparisonCalls, Long.class)
+                                 .withParam("comparisonNanos", ParamProfile::getComparisonNanos, Long.class)
+                                 .andThatsIt();
+        }
+        return paramList;
+    }
+
+    /**
+     * Constructor for a ParamProfile.<br>
+     *
+     * @param parentClass  the parent class of the ParamList - assumed not null
+     * @param name  the name of the parameter - assumed not null
+     */
+    ParamProfile(final Class<?> parentClass, final String name) {
+        this.parentClass = parentClass;
+        this.name = name;
+    }
+
+    /**
+     * Records time spent in the parameter's getter.<br>
+     *
+     * @param calls  the number of times the getter was called
+     * @param nanos  the total time those calls took
+     */
+    void recordGetter(final int calls, final long nanos) {
+        getterCalls.add(calls);
+        getterNanos.add(nanos);
+    }
+
+    /**
+     * Records time spent comparing or hashing the parameter's values.<br>
+     *
+     * @param nanos  the time it took
+     */
+    void recordComparison(final long nanos) {
+        comparisonCalls.increment();
+        comparisonNanos.add(nanos);
+    }
+
+    /**
+     * Sets all the counters back to zero.<br>
+     */
+    void reset() {
+        getterCalls.reset();
+        getterNanos.reset();
+        comparisonCalls.reset();
+        comparisonNanos.reset();
+    }
+
+    /**
+     * Gets the parent class of the ParamList the parameter belongs to.<br>
+     *
+     * @return A Class.
+     */
+    public Class<?> getParentClass() {
+        return parentClass;
+    }
+
+    /**
+     * Gets the name of the parameter.<br>
+     *
+     * @return A String.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the number of sampled getter calls.<br>
+     *
+     * @return A long.
+     */
+    public long getGetterCalls() {
+        return getterCalls.sum();
+    }
+
+    /**
+     * Gets the total time (in nanoseconds) of the sampled getter calls.<br>
+     *
+     * @return A long.
+     */
+    public long getGetterNanos() {
+        return getterNanos.sum();
+    }
+
+    /**
+     * Gets the number of sampled comparisons (for equals) or hash calculations (for hashCode).<br>
+     *
+     * @return A long.
+     */
+    public long getComparisonCalls() {
+        return comparisonCalls.sum();
+    }
+
+    /**
+     * Gets the total time (in nanoseconds) of the sampled comparisons and hash calculations.<br>
+     *
+     * @return A long.
+     */
+    public long getComparisonNanos() {
+        return comparisonNanos.sum();
+    }
+
+    /**
+     * Gets the total sampled time (in nanoseconds) spent on this parameter.<br>
+     *
+     * @return The getter nanos plus the comparison nanos.
+     */
+    public long getTotalNanos() {
+        return getGetterNanos() + getComparisonNanos();
+    }
+
+    /**
+     * toString method for a ParamProfile object.<br>
+     *
+     * These are live counters, so equals and hashCode are left as identity.
+     *
+     * @return A string representation of this object.
+     */
+    @Override
+    public String toString() {
+        return getParamList().toString(this);
+    }
+}
@@ -0,0 +1,64 @@
+package EasyOverrider;
+
+/**
+ * Enum to dictate how a parameter is ordered by a {@link ParamList#comparator()}.
+ * <ul>
+ * <li>{@link #ASCENDING_NULLS_FIRST}
+ * <li>{@link #ASCENDING_NULLS_LAST}
+ * <li>{@link #DESCENDING_NULLS_FIRST}
+ * <li>{@link #DESCENDING_NULLS_LAST}
+ * </ul>
+ *
+ * The default for any parameter is {@link #ASCENDING_NULLS_FIRST}.<br>
+ *
+ * The null ordering is applied independently of the direction.
+ * That is, a parameter with {@link #DESCENDING_NULLS_FIRST} will still have null values before any non-null values.
+ */
+public enum ParamSortOrder {
+
+    /**
+     * Indicates that values should be in their natural order, with nulls before all other values.
+     */
+    ASCENDING_NULLS_FIRST(false, true),
+
+    /**
+     * Indicates that values should be in their natural order, with nulls after all other values.
+     */
+    ASCENDING_NULLS_LAST(false, false),
+
+    /**
+     * Indicates that values should be in the reverse of their natural order, with nulls before all other values.
+     */
+    DESCENDING_NULLS_FIRST(true, true),
+
+    /**
+     * Indicates that values should be in the reverse of their natural order, with nulls after all other values.
+     */
+    DESCENDING_NULLS_LAST(true, false);
+
+    private final boolean descending;
+    private final boolean nullsFirst;
+
+    ParamSortOrder(final boolean descending, final boolean nullsFirst) {
+        this.descending = descending;
+        this.nullsFirst = nullsFirst;
+    }
+
+    /**
+     * Whether or not the natural order of the values should be reversed.
+     *
+     * @return True if the values should be in descending order. False if ascending.
+     */
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Whether or not null values should come before non-null values.
+     *
+     * @return True if nulls come first. False if nulls come last.
+     */
+    public boolean isNullsFirst() {
+        return nullsFirst;
+    }
+}
@@ -16,7 +16,8 @@ public interface RecursionPreventingToString {
 
     /**
      * A toString method that, as it generates the strings of parameters,
-     * records the hashCodes of objects as it goes in order to prevent a recursive toString call.<br>
+     * records the identity hash codes (see {@link System#identityHashCode(Object)}) of objects as it goes
+     * in order to prevent a recursive toString call.<br>
      *
      * Implementation often looks something like this:<br>
      * <pre>
@@ -28,7 +29,7 @@ public interface RecursionPreventingToString {
      * }
      * </pre>
      *
-     * @param seen  the map of class to sets of hashCodes of objects that have already been toString-ified.
+     * @param seen  the map of class to sets of identity hash codes of objects that have already been toString-ified.
      * @return A String representation of this object.
      */
     String toString(final Map<Class, Set<Integer>> seen);
@@ -0,0 +1,132 @@
+package EasyOverrider;
+
+import static EasyOverrider.EasyOverriderUtils.requireNonNull;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+
+/**
+ * Appends a String representation of a parameter value to a toString result.<br>
+ *
+ * Renderers are set up per class using {@link ParamListServiceConfig#setValueRenderer(Class, ValueRenderer)}.
+ * When a value has a renderer, it is used instead of the value's own toString() method.
+ * This is handy for types where toString() is slow (e.g. {@link Date}), allocates a lot (e.g. a large {@link StringBuilder}),
+ * or isn't useful (e.g. a <code>byte[]</code>).<br>
+ *
+ * A set of built-in renderers can be added using {@link ParamListServiceConfig#addBuiltInValueRenderers()}.
+ * The static methods in this interface create them.<br>
+ *
+ * @param <T>  the type of value being rendered
+ */
+@FunctionalInterface
+public interface ValueRenderer<T> {
+
+    /**
+     * Appends a String representation of the provided value.<br>
+     *
+     * @param value  the value to render - never null
+     * @param output  the StringBuilder to append to - never null
+     */
+    void render(T value, StringBuilder output);
+
+    /**
+     * Returns whether or not this renderer is also used for subclasses and implementations of the class it was set for.<br>
+     *
+     * @return True unless this renderer was made with {@link #forExactClassOnly()}.
+     */
+    default boolean appliesToSubclasses() {
+        return true;
+    }
+
+    /**
+     * Creates a renderer that does the same thing as this one, but only for values of the exact class it's set for.<br>
+     *
+     * Values of subclasses use their own toString() method (or a renderer set for their own class) instead.
+     * This is useful when subclasses add information this renderer would leave out.
+     *
+     * @return A ValueRenderer that doesn't apply to subclasses.
+     */
+    default ValueRenderer<T> forExactClassOnly() {
+        ValueRenderer<T> original = this;
+        return new ValueRenderer<T>() {
+            @Override
+            public void render(final T value, final StringBuilder output) {
+                original.render(value, output);
+            }
+
+            @Override
+            public boolean appliesToSubclasses() {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Creates a renderer that appends a CharSequence directly without calling its toString() method.<br>
+     *
+     * @return A ValueRenderer.
+     */
+    static ValueRenderer<CharSequence> forCharSequence() {
+        return (value, output) -> output.append(value);
+    }
+
+    /**
+     * Creates a renderer that appends a byte array as lowercase hex digits.<br>
+     *
+     * If there are more than <code>maxBytes</code> bytes, only that many are rendered,
+     * followed by <code>...(n bytes)</code> where n is the full length.
+     *
+     * @param maxBytes  the maximum number of bytes to render - cannot be negative
+     * @return A ValueRenderer.
+     * @throws IllegalArgumentException if maxBytes is negative.
+     */
+    static ValueRenderer<byte[]> forBytes(final int maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Argument 1 (maxBytes) provided to forBytes cannot be negative.");
+        }
+        return (value, output) -> {
+            int count = Math.min(value.length, maxBytes);
+            output.ensureCapacity(output.length() + count * 2 + 20);
+            for (int i = 0; i < count; i++) {
+                output.append(Character.forDigit((value[i] >> 4) & 0xF, 16))
+                      .append(Character.forDigit(value[i] & 0xF, 16));
+            }
+            if (count < value.length) {
+                output.append("...(").append(value.length).append(" bytes)");
+            }
+        };
+    }
+
+    /**
+     * Creates a renderer that appends a java.time value using the provided formatter.<br>
+     *
+     * The formatter appends straight to the output, so no intermediate String is created.
+     *
+     * @param formatter  the formatter to use - cannot be null
+     * @param <T>  the type of java.time value
+     * @return A ValueRenderer.
+     * @throws IllegalArgumentException if formatter is null.
+     */
+    static <T extends TemporalAccessor> ValueRenderer<T> forTemporal(final DateTimeFormatter formatter) {
+        requireNonNull(formatter, 1, "formatter", "forTemporal");
+        return (value, output) -> formatter.formatTo(value, output);
+    }
+
+    /**
+     * Creates a renderer that appends a {@link Date} as an ISO-8601 instant in UTC, e.g. <code>2019-06-12T06:08:43.123Z</code>.<br>
+     *
+     * This avoids the time zone lookups done by {@link Date#toString()}.
+     * It only applies to <code>java.util.Date</code> itself. Subclasses such as <code>java.sql.Timestamp</code>
+     * (which has nanoseconds) and <code>java.sql.Date</code> (which has no time) use their own toString() method.
+     *
+     * @return A ValueRenderer.
+     * @see #forExactClassOnly()
+     */
+    static ValueRenderer<Date> forDate() {
+        ValueRenderer<Date> renderer =
+                        (value, output) -> DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochMilli(value.getTime()), output);
+        return renderer.forExactClassOnly();
+    }
+}
@@ -0,0 +1,249 @@
+package EasyOverrider;
+
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.StringConcatException;
+import java.lang.invoke.StringConcatFactory;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.InaccessibleObjectException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.Collections;
+import java.util.function.Function;
+
+/**
+ * The pieces of EasyOverrider that are done differently depending on the Java version it runs on.<br>
+ *
+ * This is the Java 17 version. It is put in <code>META-INF/versions/17</code> of the multi-release jar,
+ * and replaces the Java 8 version in <code>src/main/java</code> when running on Java 17 or later.
+ * Both versions must have the same package-private methods.<br>
+ *
+ * On Java 17, records are used directly, and fields and accessors are read through a private lookup
+ * in the declaring class, without changing their accessibility.
+ * Record accessors can also be called through a Function spun by {@link LambdaMetafactory}.<br>
+ *
+ * The compiled toString of a {@link ParamListCompiledEngine} puts its pieces together with a
+ * {@link StringConcatFactory} strategy, the same way <code>+</code> on Strings is compiled on Java 9 or later.
+ * Otherwise, {@link ParamListServiceImpl} runs the same equals, hashCode, and toString code on every Java version.
+ */
+final class ParamListPlatform {
+
+    // StringConcatFactory can't take more than this many arguments.
+    private static final int MAX_CONCAT_ARGS = 200;
+    private static final char ARG_TAG = '\u0001';
+    private static final char CONSTANT_TAG = '\u0002';
+
+    private ParamListPlatform() {
+        //This is a static utility class.
+    }
+
+    /**
+     * Gets the Java feature version this version of the class was built for.<br>
+     *
+     * @return 17
+     */
+    static int getFeatureVersion() {
+        return 17;
+    }
+
+    /**
+     * Checks whether or not a class is a record.<br>
+     *
+     * @param type  the class to check - assumed not null
+     * @return True if the class is a record. False otherwise.
+     */
+    static boolean isRecord(final Class<?> type) {
+        return type.isRecord();
+    }
+
+    /**
+     * Gets the accessor methods of a record's components, in order.<br>
+     *
+     * @param type  the record class - assumed to be a record
+     * @return An array of Methods.
+     */
+    static Method[] getRecordAccessors(final Class<?> type) {
+        RecordComponent[] components = type.getRecordComponents();
+        Method[] retval = new Method[components.length];
+        for (int i = 0; i < components.length; i++) {
+            retval[i] = components[i].getAccessor();
+        }
+        return retval;
+    }
+
+    /**
+     * Creates a MethodHandle that reads a field.<br>
+     *
+     * A private lookup is used if the field's package is open to EasyOverrider.
+     * Otherwise the field is made accessible and unreflected.
+     *
+     * @param field  the field to read - assumed not static
+     * @return A MethodHandle of type (declaring class)field type.
+     * @throws IllegalAccessException if the field cannot be accessed.
+     */
+    static MethodHandle fieldGetter(final Field field) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = privateLookup(field.getDeclaringClass());
+        if (lookup != null) {
+            return lookup.unreflectGetter(field);
+        }
+        makeAccessible(field);
+        return MethodHandles.lookup().unreflectGetter(field);
+    }
+
+    /**
+     * Creates a MethodHandle that calls an accessor method.<br>
+     *
+     * @param accessor  the method to call - assumed to take no arguments and not be static
+     * @return A MethodHandle of type (declaring class)return type.
+     * @throws IllegalAccessException if the method cannot be accessed.
+     */
+    static MethodHandle accessorGetter(final Method accessor) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = privateLookup(accessor.getDeclaringClass());
+        if (lookup != null) {
+            return lookup.unreflect(accessor);
+        }
+        makeAccessible(accessor);
+        return MethodHandles.lookup().unreflect(accessor);
+    }
+
+    /**
+     * Creates a Function that calls an accessor method directly, instead of through a MethodHandle.<br>
+     *
+     * The Function is spun by {@link LambdaMetafactory} in the accessor's class, the same way a method reference would be,
+     * so the JIT can inline the accessor into its callers.
+     *
+     * @param accessor  the method to call - assumed to take no arguments and not be static
+     * @return A Function, or null if the accessor's class isn't open to EasyOverrider.
+     * @throws IllegalAccessException if the method cannot be accessed.
+     */
+    @SuppressWarnings("unchecked")
+    static Function<Object, Object> accessorFunction(final Method accessor) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = privateLookup(accessor.getDeclaringClass());
+        if (lookup == null || !lookup.hasFullPrivilegeAccess()) {
+            return null;
+        }
+        MethodHandle handle = lookup.unreflect(accessor);
+        try {
+            return (Function<Object, Object>)LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+                                                                            MethodType.methodType(Object.class, Object.class), handle,
+                                                                            handle.type().wrap())
+                                                              .getTarget()
+                                                              .invoke();
+        } catch (LambdaConversionException e) {
+            return null;
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Unable to create a getter for " + accessor + ".", t);
+        }
+    }
+
+    /**
+     * Creates a Function that puts constant pieces of text and String arguments together, alternating between them.<br>
+     *
+     * The result is <code>constants[0] + args[0] + constants[1] + ... + args[n - 1] + constants[n]</code>,
+     * where there is one more constant than there are arguments.
+     * On Java 17, the constants are baked into a {@link StringConcatFactory} recipe, which works out the exact length
+     * and copies each piece once. If there are more than {@link #MAX_CONCAT_ARGS} arguments,
+     * or a constant contains one of the recipe's tag characters, an exactly sized StringBuilder is used instead.
+     *
+     * @param constants  the constant pieces - assumed not null, with no null entries
+     * @return A Function taking the arguments, which must be one fewer than the constants and not null.
+     */
+    static Function<String[], String> concatenator(final String[] constants) {
+        int argCount = constants.length - 1;
+        if (argCount > MAX_CONCAT_ARGS) {
+            return builderConcatenator(constants);
+        }
+        StringBuilder recipe = new StringBuilder();
+        for (int i = 0; i < constants.length; i++) {
+            if (constants[i].indexOf(ARG_TAG) >= 0 || constants[i].indexOf(CONSTANT_TAG) >= 0) {
+                return builderConcatenator(constants);
+            }
+            recipe.append(constants[i]);
+            if (i < argCount) {
+                recipe.append(ARG_TAG);
+            }
+        }
+        MethodHandle concat;
+        try {
+            concat = StringConcatFactory.makeConcatWithConstants(MethodHandles.lookup(), "concat",
+                                                                 MethodType.methodType(String.class,
+                                                                                       Collections.nCopies(argCount, String.class)),
+                                                                 recipe.toString())
+                                        .getTarget()
+                                        .asSpreader(String[].class, argCount);
+        } catch (StringConcatException e) {
+            return builderConcatenator(constants);
+        }
+        return (args) -> {
+            try {
+                return (String)concat.invokeExact(args);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException("Unable to put the String together.", t);
+            }
+        };
+    }
+
+    /**
+     * Creates a concatenator (see {@link #concatenator(String[])}) that appends to an exactly sized StringBuilder.<br>
+     *
+     * @param constants  the constant pieces - assumed not null, with no null entries
+     * @return A Function taking the arguments.
+     */
+    private static Function<String[], String> builderConcatenator(final String[] constants) {
+        final String[] pieces = constants.clone();
+        int length = 0;
+        for (String piece : pieces) {
+            length += piece.length();
+        }
+        final int constantsLength = length;
+        return (args) -> {
+            int resultLength = constantsLength;
+            for (String arg : args) {
+                resultLength += arg.length();
+            }
+            StringBuilder output = new StringBuilder(resultLength);
+            for (int i = 0; i < args.length; i++) {
+                output.append(pieces[i]).append(args[i]);
+            }
+            return output.append(pieces[args.length]).toString();
+        };
+    }
+
+    /**
+     * Makes a field or method accessible.<br>
+     *
+     * @param member  the field or method - assumed not null
+     * @throws IllegalAccessException if it can't be made accessible, e.g. its package isn't open to EasyOverrider.
+     */
+    private static void makeAccessible(final AccessibleObject member) throws IllegalAccessException {
+        try {
+            member.setAccessible(true);
+        } catch (InaccessibleObjectException | SecurityException e) {
+            IllegalAccessException retval = new IllegalAccessException(member + " cannot be read. Its package must be open to EasyOverrider.");
+            retval.initCause(e);
+            throw retval;
+        }
+    }
+
+    /**
+     * Gets a lookup with private access to a class.<br>
+     *
+     * @param type  the class to get the lookup for - assumed not null
+     * @return A Lookup, or null if the class's package isn't open to EasyOverrider.
+     */
+    private static MethodHandles.Lookup privateLookup(final Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+}
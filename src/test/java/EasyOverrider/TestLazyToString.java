@@ -0,0 +1,64 @@
+package EasyOverrider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import EasyOverrider.TestingUtils.TestObj;
+import org.junit.Test;
+
+public class TestLazyToString {
+
+    private static ParamList<TestObj> paramListUsing(ParamListServiceImpl service) {
+        return ParamList.forClass(TestObj.class)
+                        .usingService(service)
+                        .withPrimaryParam("theInt", TestObj::getTheInt, ParamUsage.INCLUDED_IN_ALL, Integer.class)
+                        .withParam("theString", TestObj::getTheString, String.class)
+                        .andThatsIt();
+    }
+
+    @Test
+    public void lazyToString_null_boom() {
+        try {
+            paramListUsing(new ParamListServiceImpl()).lazyToString(null);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("thisObj"));
+            assertTrue("Exception message does not contain method name.", e.getMessage().contains("lazyToString"));
+        }
+    }
+
+    @Test
+    public void lazyToString_notUsed_notRendered() {
+        ParamListServiceImpl service = new ParamListServiceImpl().setStatisticsEnabled(true);
+        LazyToString<TestObj> lazy = paramListUsing(service).lazyToString(new TestObj());
+        assertFalse(lazy.isRendered());
+        assertEquals(0, service.getStatistics().getStatistics(TestObj.class, ParamListOperation.TO_STRING).getCount());
+    }
+
+    @Test
+    public void lazyToString_usedTwice_renderedOnceAndMatches() {
+        ParamListServiceImpl service = new ParamListServiceImpl().setStatisticsEnabled(true);
+        ParamList<TestObj> paramList = paramListUsing(service);
+        TestObj testObj = new TestObj();
+        testObj.setTheString("theString");
+        LazyToString<TestObj> lazy = paramList.lazyToString(testObj);
+        String first = lazy.toString();
+        assertTrue(lazy.isRendered());
+        assertSame(first, lazy.get());
+        assertEquals(first.length(), lazy.length());
+        assertEquals(first.charAt(0), lazy.charAt(0));
+        assertEquals(1, service.getStatistics().getStatistics(TestObj.class, ParamListOperation.TO_STRING).getCount());
+        assertEquals(paramList.toString(testObj), first);
+    }
+
+    @Test
+    public void lazyPrimaryToString_used_matchesPrimaryToString() {
+        ParamList<TestObj> paramList = paramListUsing(new ParamListServiceImpl());
+        TestObj testObj = new TestObj();
+        testObj.setTheInt(42);
+        assertEquals(paramList.primaryToString(testObj), paramList.lazyPrimaryToString(testObj).toString());
+    }
+}
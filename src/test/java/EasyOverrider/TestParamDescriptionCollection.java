@@ -18,8 +18,10 @@ import org.junit.Ignore;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -496,4 +498,157 @@ public class TestParamDescriptionCollection {
         String actual = paramDescriptionCollection.toString();
         assertTrue(actual, actual.contains("INCLUDED_IN_ALL"));
     }
+
+    private ParamDescriptionCollection<TestObj, String, ?> getUnorderedCollectionString() {
+        return new ParamDescriptionCollection<>(TestObj.class, Collection.class, String.class, "unordered",
+                                                TestObj::getTheCollectionString, INCLUDED_IN_ALL, CollectionEquality.UNORDERED);
+    }
+
+    @Test
+    public void constructor_nullCollectionEquality_boom() {
+        try {
+            new ParamDescriptionCollection<>(TestObj.class, Collection.class, String.class, "name",
+                                             TestObj::getTheCollectionString, INCLUDED_IN_ALL, null);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("collectionEquality"));
+        }
+    }
+
+    @Test
+    public void getCollectionEquality_sixArgConstructor_collectionEquals() {
+        assertEquals(CollectionEquality.COLLECTION_EQUALS, getParamCollectionString("name", INCLUDED_IN_ALL).getCollectionEquality());
+    }
+
+    @Test
+    public void valuesAreEqual_collectionEqualsDifferentOrder_false() {
+        ParamDescriptionCollection<TestObj, String, Collection<String>> paramDescription =
+                        (ParamDescriptionCollection<TestObj, String, Collection<String>>)getParamCollectionString("name", INCLUDED_IN_ALL);
+        assertFalse(paramDescription.valuesAreEqual(Arrays.asList("a", "b"), Arrays.asList("b", "a")));
+    }
+
+    @Test
+    public void valuesAreEqual_unorderedDifferentOrder_true() {
+        ParamDescriptionCollection<TestObj, String, Collection<String>> paramDescription =
+                        (ParamDescriptionCollection<TestObj, String, Collection<String>>)getUnorderedCollectionString();
+        assertTrue(paramDescription.valuesAreEqual(Arrays.asList("a", "b", null, "a"), Arrays.asList("a", null, "b", "a")));
+        assertEquals(paramDescription.valueHashCode(Arrays.asList("a", "b", null, "a")),
+                     paramDescription.valueHashCode(Arrays.asList("a", null, "b", "a")));
+    }
+
+    @Test
+    public void valuesAreEqual_unorderedDifferentCounts_false() {
+        ParamDescriptionCollection<TestObj, String, Collection<String>> paramDescription =
+                        (ParamDescriptionCollection<TestObj, String, Collection<String>>)getUnorderedCollectionString();
+        assertFalse(paramDescription.valuesAreEqual(Arrays.asList("a", "a", "b"), Arrays.asList("a", "b", "b")));
+        assertFalse(paramDescription.valuesAreEqual(Arrays.asList("a", "b"), Arrays.asList("a", "b", "b")));
+        assertFalse(paramDescription.valuesAreEqual(Arrays.asList("a"), null));
+    }
+
+    @Test
+    public void valuesAreEqual_unorderedListAndSet_true() {
+        ParamDescriptionCollection<TestObj, String, Collection<String>> paramDescription =
+                        (ParamDescriptionCollection<TestObj, String, Collection<String>>)getUnorderedCollectionString();
+        assertTrue(paramDescription.valuesAreEqual(Arrays.asList("b", "a"), new HashSet<>(Arrays.asList("a", "b"))));
+    }
+
+    @Test
+    public void withUnorderedCollection_equalsHashCodeAndKey_ignoreOrder() {
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class)
+                                                .withUnorderedCollection("theCollectionString", TestObj::getTheCollectionString,
+                                                                         Collection.class, String.class)
+                                                .andThatsIt();
+        TestObj testObj1 = new TestObj();
+        testObj1.setTheCollectionString(Arrays.asList("x", "y", "z"));
+        TestObj testObj2 = new TestObj();
+        testObj2.setTheCollectionString(Arrays.asList("z", "x", "y"));
+        assertTrue(paramList.equals(testObj1, testObj2));
+        assertEquals(paramList.hashCode(testObj1), paramList.hashCode(testObj2));
+        assertTrue(Arrays.equals(paramList.encodeKey(testObj1), paramList.encodeKey(testObj2)));
+        assertFalse(paramList.diff(testObj1, testObj2).hasChanges());
+    }
+
+    @Test
+    public void constructor_negativeHashedEntryLimit_boom() {
+        try {
+            new ParamDescriptionCollection<>(TestObj.class, Collection.class, String.class, "name",
+                                             TestObj::getTheCollectionString, INCLUDED_IN_ALL,
+                                             CollectionEquality.COLLECTION_EQUALS, -2);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("hashedEntryLimit"));
+        }
+    }
+
+    @Test
+    public void valueHashCode_boundedListSameEnds_sameHashCode() {
+        ParamDescriptionCollection<TestObj, String, Collection<String>> paramDescription =
+                        ((ParamDescriptionCollection<TestObj, String, Collection<String>>)getParamCollectionString("name", INCLUDED_IN_ALL))
+                                        .withHashedEntryLimit(3);
+        assertEquals(3, paramDescription.getHashedEntryLimit());
+        int hashCode = paramDescription.valueHashCode(Arrays.asList("a", "b", "c", "d", "e"));
+        assertEquals(hashCode, paramDescription.valueHashCode(Arrays.asList("a", "b", "x", "y", "e")));
+        assertNotEquals(hashCode, paramDescription.valueHashCode(Arrays.asList("a", "x", "c", "d", "e")));
+        assertNotEquals(hashCode, paramDescription.valueHashCode(Arrays.asList("a", "b", "c", "d", "x")));
+        assertNotEquals(hashCode, paramDescription.valueHashCode(Arrays.asList("a", "b", "c", "d", "d", "e")));
+    }
+
+    @Test
+    public void valueHashCode_boundedListWithinLimit_listHashCode() {
+        ParamDescriptionCollection<TestObj, String, Collection<String>> paramDescription =
+                        ((ParamDescriptionCollection<TestObj, String, Collection<String>>)getParamCollectionString("name", INCLUDED_IN_ALL))
+                                        .withHashedEntryLimit(3);
+        List<String> list = Arrays.asList("a", "b", "c");
+        assertEquals(list.hashCode(), paramDescription.valueHashCode(list));
+    }
+
+    @Test
+    public void valueHashCode_boundedSetOverLimit_size() {
+        ParamDescriptionCollection<TestObj, String, Collection<String>> paramDescription =
+                        ((ParamDescriptionCollection<TestObj, String, Collection<String>>)getParamCollectionString("name", INCLUDED_IN_ALL))
+                                        .withHashedEntryLimit(2);
+        assertEquals(3, paramDescription.valueHashCode(new HashSet<>(Arrays.asList("a", "b", "c"))));
+    }
+
+    @Test
+    public void valueHashCode_boundedUnorderedOverLimit_size() {
+        ParamDescriptionCollection<TestObj, String, Collection<String>> paramDescription =
+                        ((ParamDescriptionCollection<TestObj, String, Collection<String>>)getUnorderedCollectionString())
+                                        .withHashedEntryLimit(2);
+        assertEquals(CollectionEquality.UNORDERED, paramDescription.getCollectionEquality());
+        assertEquals(3, paramDescription.valueHashCode(Arrays.asList("c", "a", "b")));
+    }
+
+    @Test
+    public void withBoundedHashCode_hugeList_consistentWithEquals() {
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class)
+                                                .withCollection("theCollectionString", TestObj::getTheCollectionString,
+                                                                Collection.class, String.class)
+                                                .withBoundedHashCode("theCollectionString", 4)
+                                                .andThatsIt();
+        List<String> list1 = new ArrayList<>();
+        List<String> list2 = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list1.add("entry" + i);
+            list2.add("entry" + i);
+        }
+        TestObj testObj1 = new TestObj();
+        testObj1.setTheCollectionString(list1);
+        TestObj testObj2 = new TestObj();
+        testObj2.setTheCollectionString(list2);
+        assertTrue(paramList.equals(testObj1, testObj2));
+        assertEquals(paramList.hashCode(testObj1), paramList.hashCode(testObj2));
+    }
+
+    @Test
+    public void withBoundedHashCode_singleParam_boom() {
+        try {
+            ParamList.forClass(TestObj.class)
+                     .withParam("theString", TestObj::getTheString, String.class)
+                     .withBoundedHashCode("theString", 4);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("theString"));
+        }
+    }
 }
@@ -459,4 +459,28 @@ public class TestParamDescriptionMap {
         String actual = paramDescriptionMap.toString();
         assertTrue(actual, actual.contains("INCLUDED_IN_ALL"));
     }
+
+    @Test
+    public void valueHashCode_boundedOverLimit_size() {
+        ParamDescriptionMap<TestObj, String, Integer, Map<String, Integer>> paramDescription =
+                        ((ParamDescriptionMap<TestObj, String, Integer, Map<String, Integer>>)getParamMapStringInteger("name", INCLUDED_IN_ALL))
+                                        .withHashedEntryLimit(1);
+        Map<String, Integer> map = new HashMap<>();
+        map.put("a", 1);
+        assertEquals(map.hashCode(), paramDescription.valueHashCode(map));
+        map.put("b", 2);
+        assertEquals(2, paramDescription.valueHashCode(map));
+        assertEquals(1, paramDescription.getHashedEntryLimit());
+    }
+
+    @Test
+    public void valueHashCode_unbounded_mapHashCode() {
+        ParamDescriptionMap<TestObj, String, Integer, Map<String, Integer>> paramDescription =
+                        (ParamDescriptionMap<TestObj, String, Integer, Map<String, Integer>>)getParamMapStringInteger("name", INCLUDED_IN_ALL);
+        Map<String, Integer> map = new HashMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        assertEquals(map.hashCode(), paramDescription.valueHashCode(map));
+        assertEquals(ParamDescriptionCollection.HASH_ALL_ENTRIES, paramDescription.getHashedEntryLimit());
+    }
 }
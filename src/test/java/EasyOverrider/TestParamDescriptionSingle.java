@@ -345,6 +345,51 @@ public class TestParamDescriptionSingle {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void valuesAreEqual_arrayParam_comparesContents() {
+        ParamDescriptionSingle<TestObj, int[]> paramDescriptionSingle =
+                        new ParamDescriptionSingle<>(TestObj.class, int[].class, "theArray", obj -> null, INCLUDED_IN_ALL, false,
+                                                     ParamDescriptionSingle.DEFAULT_TO_STRING_CACHE_LIMIT, true);
+        assertTrue(paramDescriptionSingle.valuesAreEqual(new int[] { 1, 2 }, new int[] { 1, 2 }));
+        assertFalse(paramDescriptionSingle.valuesAreEqual(new int[] { 1, 2 }, new int[] { 2, 1 }));
+        assertFalse(paramDescriptionSingle.valuesAreEqual(new int[] { 1 }, null));
+        assertEquals(paramDescriptionSingle.valueHashCode(new int[] { 1, 2 }), paramDescriptionSingle.valueHashCode(new int[] { 1, 2 }));
+        assertEquals(0, paramDescriptionSingle.valueHashCode(null));
+    }
+
+    @Test
+    public void valuesAreEqual_nestedArrayParam_comparesDeepContents() {
+        ParamDescriptionSingle<TestObj, Object[]> paramDescriptionSingle =
+                        new ParamDescriptionSingle<>(TestObj.class, Object[].class, "theArray", obj -> null, INCLUDED_IN_ALL, false)
+                                        .withArrayContentsCompared(true);
+        Object[] value1 = { "a", new int[] { 1 }, new String[] { "b" } };
+        Object[] value2 = { "a", new int[] { 1 }, new String[] { "b" } };
+        assertTrue(paramDescriptionSingle.valuesAreEqual(value1, value2));
+        assertEquals(paramDescriptionSingle.valueHashCode(value1), paramDescriptionSingle.valueHashCode(value2));
+    }
+
+    @Test
+    public void valuesAreEqual_arrayParamByDefault_comparesIdentity() {
+        ParamDescriptionSingle<TestObj, int[]> paramDescriptionSingle =
+                        new ParamDescriptionSingle<>(TestObj.class, int[].class, "theArray", obj -> null, INCLUDED_IN_ALL, false);
+        int[] value = { 1, 2 };
+        assertFalse(paramDescriptionSingle.isComparingArrayContents());
+        assertTrue(paramDescriptionSingle.valuesAreEqual(value, value));
+        assertFalse(paramDescriptionSingle.valuesAreEqual(value, new int[] { 1, 2 }));
+        assertEquals(value.hashCode(), paramDescriptionSingle.valueHashCode(value));
+    }
+
+    @Test
+    public void constructor_comparingContentsOfNonArray_boom() {
+        try {
+            new ParamDescriptionSingle<>(TestObj.class, String.class, "theString", TestObj::getTheString, INCLUDED_IN_ALL, false,
+                                         ParamDescriptionSingle.DEFAULT_TO_STRING_CACHE_LIMIT, true);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("Argument 8"));
+        }
+    }
+
     @Test
     public void equals_sameObject_true() {
         ParamDescriptionSingle<TestObj, TestObj> paramDescriptionSingle =
@@ -626,5 +671,73 @@ public class TestParamDescriptionSingle {
         String actual = paramDescriptionSingle1.toString();
         assertTrue(actual, actual.contains("INCLUDED_IN_ALL"));
     }
-}
 
+    @Test
+    public void constructor_negativeToStringCacheLimit_boom() {
+        try {
+            new ParamDescriptionSingle<>(TestObj.class, String.class, "theString", TestObj::getTheString, INCLUDED_IN_ALL,
+                                         false, -2);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("toStringCacheLimit"));
+        }
+    }
+
+    @Test
+    public void getToStringCacheLimit_defaults_dependOnParamClass() {
+        assertEquals(ParamUsage.values().length,
+                     new ParamDescriptionSingle<>(ParamDescriptionBase.class, ParamUsage.class, "paramUsage",
+                                                  ParamDescriptionBase::getParamUsage, INCLUDED_IN_ALL, false)
+                                     .getToStringCacheLimit());
+        assertEquals(2, new ParamDescriptionSingle<>(ParamDescriptionSingle.class, Boolean.class, "isPrimary",
+                                                     ParamDescriptionSingle::isPrimary, INCLUDED_IN_ALL, false)
+                                        .getToStringCacheLimit());
+        assertEquals(0, new ParamDescriptionSingle<>(TestObj.class, String.class, "theString", TestObj::getTheString,
+                                                     INCLUDED_IN_ALL, false)
+                                        .getToStringCacheLimit());
+    }
+
+    @Test
+    public void withToStringCacheLimit_stringParam_limitSetAndOthersKept() {
+        ParamDescriptionSingle<TestObj, String> original =
+                        new ParamDescriptionSingle<>(TestObj.class, String.class, "theString", TestObj::getTheString,
+                                                     TOSTRING_ONLY, true);
+        ParamDescriptionSingle<TestObj, String> limited = original.withToStringCacheLimit(5);
+        assertEquals(5, limited.getToStringCacheLimit());
+        assertEquals("theString", limited.getName());
+        assertEquals(TOSTRING_ONLY, limited.getParamUsage());
+        assertTrue(limited.isPrimary());
+        assertNotEquals(original, limited);
+    }
+
+    @Test
+    public void withArrayContentsCompared_builder_flagSetAndOthersKept() {
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class)
+                                                .withParam("theArray", obj -> new int[] { obj.getTheInt() }, int[].class)
+                                                .withToStringCacheLimit("theArray", 3)
+                                                .withArrayContentsCompared("theArray")
+                                                .andThatsIt();
+        ParamDescriptionSingle<?, ?> paramDescriptionSingle =
+                        (ParamDescriptionSingle<?, ?>)paramList.getParamDescriptionMap().get("theArray");
+        assertTrue(paramDescriptionSingle.isComparingArrayContents());
+        assertEquals(3, paramDescriptionSingle.getToStringCacheLimit());
+        TestObj testObj1 = new TestObj();
+        testObj1.setTheInt(5);
+        TestObj testObj2 = new TestObj();
+        testObj2.setTheInt(5);
+        assertTrue(paramList.equals(testObj1, testObj2));
+        assertEquals(paramList.hashCode(testObj1), paramList.hashCode(testObj2));
+    }
+
+    @Test
+    public void withArrayContentsCompared_nonArrayParam_boom() {
+        try {
+            ParamList.forClass(TestObj.class)
+                     .withParam("theString", TestObj::getTheString, String.class)
+                     .withArrayContentsCompared("theString");
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("theString"));
+        }
+    }
+}
@@ -1,5 +1,16 @@
 package EasyOverrider;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import EasyOverrider.TestingUtils.TestObj;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
 public class TestParamList {
 
     //TODO: Finish writing tests.
@@ -11,4 +22,63 @@ public class TestParamList {
     // primaryToString(Object), extendedBy(class),
     //Static:
     // forClass(Class)
+
+    private static ParamListBuilder<TestObj> builder() {
+        return ParamList.forClass(TestObj.class)
+                        .withPrimaryParam("theInt", TestObj::getTheInt, ParamUsage.INCLUDED_IN_ALL, Integer.class)
+                        .withParam("theString", TestObj::getTheString, String.class);
+    }
+
+    @Test
+    public void hashCode_sameStructure_sameHashCode() {
+        ParamList<TestObj> paramList1 = builder().andThatsIt();
+        ParamList<TestObj> paramList2 = builder().andThatsIt();
+        assertEquals(paramList1, paramList2);
+        assertEquals(paramList1.hashCode(), paramList2.hashCode());
+        assertEquals(paramList1.getFingerprint(), paramList1.hashCode());
+    }
+
+    @Test
+    public void hashCode_configChanged_unchanged() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        ParamList<TestObj> paramList = builder().usingService(new ParamListServiceImpl(config)).andThatsIt();
+        int hashCode = paramList.hashCode();
+        config.setParameterDelimiter(" | ");
+        assertEquals(hashCode, paramList.hashCode());
+    }
+
+    @Test
+    public void equals_differentParamUsage_notEqual() {
+        ParamList<TestObj> paramList1 = builder().andThatsIt();
+        ParamList<TestObj> paramList2 = builder().withUpdatedParam("theString", TestObj::getTheString, ParamUsage.TOSTRING_ONLY,
+                                                                   String.class)
+                                                 .andThatsIt();
+        assertNotEquals(paramList1.getFingerprint(), paramList2.getFingerprint());
+        assertFalse(paramList1.equals(paramList2));
+    }
+
+    @Test
+    public void equals_differentSortOrder_notEqual() {
+        ParamList<TestObj> paramList1 = builder().andThatsIt();
+        ParamList<TestObj> paramList2 = builder().withSortOrder("theInt", ParamSortOrder.DESCENDING_NULLS_LAST).andThatsIt();
+        assertFalse(paramList1.equals(paramList2));
+    }
+
+    @Test
+    public void equals_differentServicesSameStructure_notEqual() {
+        ParamList<TestObj> paramList1 = builder().usingService(new ParamListServiceImpl()).andThatsIt();
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        config.setStringForNull("nil");
+        ParamList<TestObj> paramList2 = builder().usingService(new ParamListServiceImpl(config)).andThatsIt();
+        assertEquals(paramList1.hashCode(), paramList2.hashCode());
+        assertFalse(paramList1.equals(paramList2));
+    }
+
+    @Test
+    public void hashCode_asMapKey_found() {
+        Map<ParamList<TestObj>, String> map = new HashMap<>();
+        map.put(builder().andThatsIt(), "found");
+        assertEquals("found", map.get(builder().andThatsIt()));
+        assertTrue(map.containsKey(builder().andThatsIt()));
+    }
 }
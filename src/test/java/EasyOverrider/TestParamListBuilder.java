@@ -1,5 +1,19 @@
 package EasyOverrider;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import EasyOverrider.TestingUtils.TestObj;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 public class TestParamListBuilder {
 
     //TODO: Finish writing tests.
@@ -18,4 +32,261 @@ public class TestParamListBuilder {
     // withUpdatedCollection(String, Function, Class, Class), withUpdatedCollection(String, Function, ParamUsage, Class, Class),
     // withUpdatedMap(String, Function, Class, Class, Class), withUpdatedMap(String, Function, ParamUsage, Class, Class, Class),
     // withoutParam(String), andThatsIt(),
+
+    private static List<ParamDescription<TestObj, ?>> manyParams(int count) {
+        List<ParamDescription<TestObj, ?>> retval = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final int value = i;
+            retval.add(new ParamDescriptionSingle<>(TestObj.class, Integer.class, "param" + i, t -> value,
+                                                    ParamUsage.INCLUDED_IN_ALL, false));
+        }
+        return retval;
+    }
+
+    @Test
+    public void withParams_null_boom() {
+        try {
+            ParamList.forClass(TestObj.class).withParams(null);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("paramDescriptions"));
+            assertTrue("Exception message does not contain method name.", e.getMessage().contains("withParams"));
+        }
+    }
+
+    @Test
+    public void withParams_manyParams_orderKept() {
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class)
+                                                .withParam("first", TestObj::getTheInt, Integer.class)
+                                                .withParams(manyParams(300))
+                                                .andThatsIt();
+        List<String> paramOrder = paramList.getParamOrder();
+        assertEquals(301, paramOrder.size());
+        assertEquals("first", paramOrder.get(0));
+        assertEquals("param0", paramOrder.get(1));
+        assertEquals("param299", paramOrder.get(300));
+        assertEquals(150, paramList.indexOf("param149"));
+        assertEquals(-1, paramList.indexOf("notAParam"));
+    }
+
+    @Test
+    public void withParams_duplicateName_boom() {
+        List<ParamDescription<TestObj, ?>> params = manyParams(2);
+        params.addAll(manyParams(1));
+        try {
+            ParamList.forClass(TestObj.class).withParams(params);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("param0"));
+        }
+    }
+
+    @Test
+    public void withParams_unsafeUsage_boom() {
+        List<ParamDescription<TestObj, ?>> params = new ArrayList<>();
+        params.add(new ParamDescriptionSingle<>(TestObj.class, Integer.class, "unsafe", TestObj::getTheInt,
+                                                ParamUsage.EQUALS_ONLY__UNSAFE, false));
+        try {
+            ParamList.forClass(TestObj.class).withParams(params);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("EQUALS_ONLY__UNSAFE"));
+        }
+    }
+
+    @Test
+    public void withoutParams_someParams_removedAndOrderKept() {
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class)
+                                                .withParams(manyParams(5))
+                                                .withoutParams(Arrays.asList("param1", "param3"))
+                                                .andThatsIt();
+        assertEquals(Arrays.asList("param0", "param2", "param4"), paramList.getParamOrder());
+    }
+
+    @Test
+    public void withoutParams_unknownName_boom() {
+        try {
+            ParamList.forClass(TestObj.class).withParams(manyParams(1)).withoutParams(Arrays.asList("nope"));
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("nope"));
+        }
+    }
+
+    @Test
+    public void withUpdatedParam_middleParam_orderKept() {
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class)
+                                                .withParams(manyParams(3))
+                                                .withUpdatedParam("param1", TestObj::getTheString, String.class)
+                                                .andThatsIt();
+        assertEquals(Arrays.asList("param0", "param1", "param2"), paramList.getParamOrder());
+        assertEquals(String.class, paramList.getParamDescriptionMap().get("param1").getParamClass());
+    }
+
+    @Test
+    public void extendedBy_manyParams_orderKept() {
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class).withParams(manyParams(50)).andThatsIt();
+        ParamList<TestObj> extended = paramList.extendedBy(TestObj.class)
+                                               .withParam("last", TestObj::getTheInt, Integer.class)
+                                               .andThatsIt();
+        assertEquals(paramList.getParamOrder(), extended.getParamOrder().subList(0, 50));
+        assertEquals("last", extended.getParamOrder().get(50));
+    }
+
+    @Test
+    public void getParamOrder_calledTwice_sameInstance() {
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class).withParams(manyParams(2)).andThatsIt();
+        assertSame(paramList.getParamOrder(), paramList.getParamOrder());
+    }
+
+    @Test
+    public void extendedBy_onlyAdding_sharesSuperParamList() {
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class).withParams(manyParams(3)).andThatsIt();
+        ParamList<TestObj> extended = paramList.extendedBy(TestObj.class)
+                                               .withParam("added", TestObj::getTheString, String.class)
+                                               .withSortOrder("param0", ParamSortOrder.DESCENDING_NULLS_LAST)
+                                               .andThatsIt();
+        assertSame(paramList, extended.getSuperParamList());
+        assertEquals(Arrays.asList("param0", "param1", "param2", "added"), extended.getParamOrder());
+        assertEquals(4, extended.getParamDescriptionMap().size());
+        assertSame(paramList.getParamDescriptionMap().get("param1"), extended.getParamDescriptionMap().get("param1"));
+        assertEquals(2, extended.indexOf("param2"));
+        assertEquals(3, extended.indexOf("added"));
+        assertEquals(ParamSortOrder.DESCENDING_NULLS_LAST, extended.getSortOrder("param0"));
+    }
+
+    @Test
+    public void extendedBy_sharedAndCopied_equal() {
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class).withParams(manyParams(3)).andThatsIt();
+        ParamList<TestObj> shared = paramList.extendedBy(TestObj.class)
+                                             .withParam("added", TestObj::getTheString, String.class)
+                                             .andThatsIt();
+        List<ParamDescription<? super TestObj, ?>> params = new ArrayList<>();
+        for (String name : paramList.getParamOrder()) {
+            params.add(paramList.getParamDescriptionMap().get(name));
+        }
+        ParamList<TestObj> copied = ParamList.forClass(TestObj.class)
+                                             .usingService(paramList.getService())
+                                             .withParams(params)
+                                             .withParam("added", TestObj::getTheString, String.class)
+                                             .andThatsIt();
+        assertEquals(copied.getParamDescriptionMap(), shared.getParamDescriptionMap());
+        assertEquals(shared.getParamDescriptionMap(), copied.getParamDescriptionMap());
+        assertEquals(copied.getParamDescriptionMap().hashCode(), shared.getParamDescriptionMap().hashCode());
+        assertEquals(copied, shared);
+    }
+
+    @Test
+    public void andThatsIt_noServiceOrConfig_sameSharedService() {
+        ParamList<TestObj> paramList1 = ParamList.forClass(TestObj.class).withParams(manyParams(1)).andThatsIt();
+        ParamList<TestObj> paramList2 = ParamList.forClass(TestObj.class).withParams(manyParams(2)).andThatsIt();
+        assertSame(paramList1.getService(), paramList2.getService());
+        assertTrue(((ParamListServiceImpl)paramList1.getService()).isShared());
+        assertTrue(paramList1.getService().getConfig().isFrozen());
+    }
+
+    @Test
+    public void andThatsIt_equalConfigs_sameSharedService() {
+        ParamListServiceConfig config1 = new ParamListServiceConfig().setParameterDelimiter(" | ");
+        ParamListServiceConfig config2 = new ParamListServiceConfig().setParameterDelimiter(" | ");
+        ParamList<TestObj> paramList1 = ParamList.forClass(TestObj.class).configuredBy(config1).andThatsIt();
+        ParamList<TestObj> paramList2 = ParamList.forClass(TestObj.class).configuredBy(config2).andThatsIt();
+        ParamList<TestObj> paramList3 = ParamList.forClass(TestObj.class).andThatsIt();
+        assertSame(paramList1.getService(), paramList2.getService());
+        assertEquals(config1, paramList1.getService().getConfig());
+        assertNotSame(paramList1.getService(), paramList3.getService());
+    }
+
+    @Test
+    public void andThatsIt_configsWithDifferentHashCodeRenderers_differentServices() {
+        ParamListServiceConfig config1 = new ParamListServiceConfig().setHashCodeRenderer(i -> "#" + i);
+        ParamListServiceConfig config2 = new ParamListServiceConfig().setHashCodeRenderer(i -> "@" + i);
+        ParamList<TestObj> paramList1 = ParamList.forClass(TestObj.class).configuredBy(config1).andThatsIt();
+        ParamList<TestObj> paramList2 = ParamList.forClass(TestObj.class).configuredBy(config2).andThatsIt();
+        assertNotSame(paramList1.getService(), paramList2.getService());
+    }
+
+    @Test
+    public void andThatsIt_defaultValuedConfig_defaultService() {
+        ParamList<TestObj> paramList1 = ParamList.forClass(TestObj.class).configuredBy(new ParamListServiceConfig()).andThatsIt();
+        ParamList<TestObj> paramList2 = ParamList.forClass(TestObj.class).andThatsIt();
+        assertSame(paramList1.getService(), paramList2.getService());
+    }
+
+    @Test
+    public void andThatsIt_configChangedAfterwards_paramListUnchanged() {
+        ParamListServiceConfig config = new ParamListServiceConfig().setParameterDelimiter(" | ");
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class).configuredBy(config).andThatsIt();
+        config.setParameterDelimiter(" / ");
+        assertEquals(" | ", paramList.getService().getConfig().getParameterDelimiter());
+        assertFalse(config.isFrozen());
+    }
+
+    @Test
+    public void andThatsIt_extendedWithConfig_originalServiceUnchanged() {
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class).withParams(manyParams(1)).andThatsIt();
+        ParamListServiceConfig originalConfig = paramList.getService().getConfig();
+        ParamListServiceConfig config = new ParamListServiceConfig().setParameterDelimiter(" | ");
+        ParamList<TestObj> extended = paramList.extendedBy(TestObj.class).configuredBy(config).andThatsIt();
+        assertSame(originalConfig, paramList.getService().getConfig());
+        assertEquals(config, extended.getService().getConfig());
+    }
+
+    @Test
+    public void andThatsIt_extendedFromProvidedServiceWithConfig_configGivenToOriginalService() {
+        ParamListServiceImpl service = new ParamListServiceImpl();
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class).usingService(service).andThatsIt();
+        ParamListServiceConfig config = new ParamListServiceConfig().setParameterDelimiter(" | ");
+        ParamList<TestObj> extended = paramList.extendedBy(TestObj.class).configuredBy(config).andThatsIt();
+        assertSame(service, extended.getService());
+        assertSame(config, service.getConfig());
+    }
+
+    @Test
+    public void andThatsIt_providedService_serviceUsed() {
+        ParamListServiceImpl service = new ParamListServiceImpl();
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class).usingService(service).andThatsIt();
+        assertSame(service, paramList.getService());
+        assertFalse(service.isShared());
+    }
+
+    @Test
+    public void extendedBy_superParamRemoved_notShared() {
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class).withParams(manyParams(3)).andThatsIt();
+        ParamList<TestObj> extended = paramList.extendedBy(TestObj.class).withoutParam("param1").andThatsIt();
+        assertEquals(null, extended.getSuperParamList());
+        assertEquals(Arrays.asList("param0", "param2"), extended.getParamOrder());
+    }
+
+    @Test
+    public void extendedBy_superParamUpdated_notShared() {
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class).withParams(manyParams(3)).andThatsIt();
+        ParamList<TestObj> extended = paramList.extendedBy(TestObj.class)
+                                               .withUpdatedParam("param1", TestObj::getTheString, String.class)
+                                               .andThatsIt();
+        assertEquals(null, extended.getSuperParamList());
+        assertEquals(String.class, extended.getParamDescriptionMap().get("param1").getParamClass());
+    }
+
+    @Test
+    public void extendedBy_threeLevels_operationsUseAllParams() {
+        ParamList<TestObj> level1 = ParamList.forClass(TestObj.class)
+                                             .withParam("theInt", TestObj::getTheInt, Integer.class)
+                                             .andThatsIt();
+        ParamList<TestObj> level2 = level1.extendedBy(TestObj.class)
+                                          .withParam("theString", TestObj::getTheString, String.class)
+                                          .andThatsIt();
+        ParamList<TestObj> level3 = level2.extendedBy(TestObj.class)
+                                          .withParam("theOtherString", TestObj::getTheOtherString, String.class)
+                                          .andThatsIt();
+        assertSame(level2, level3.getSuperParamList());
+        TestObj testObj1 = new TestObj();
+        testObj1.setTheOtherString("a");
+        TestObj testObj2 = new TestObj();
+        testObj2.setTheOtherString("b");
+        assertTrue(level2.equals(testObj1, testObj2));
+        assertTrue(!level3.equals(testObj1, testObj2));
+        assertEquals(Arrays.asList("theInt", "theString", "theOtherString"), level3.getParamOrder());
+        assertEquals(2, level3.getEqualsParamIndexes()[2]);
+    }
 }
@@ -0,0 +1,189 @@
+package EasyOverrider;
+
+import static EasyOverrider.ParamUsage.TOSTRING_ONLY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import EasyOverrider.TestingUtils.TestObj;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+public class TestParamListComparator {
+
+    private static TestObj testObj(int theInt, String theString) {
+        TestObj retval = new TestObj();
+        retval.setTheInt(theInt);
+        retval.setTheString(theString);
+        return retval;
+    }
+
+    private static ParamList<TestObj> intThenString(ParamSortOrder intOrder, ParamSortOrder stringOrder) {
+        return ParamList.forClass(TestObj.class)
+                        .withParam("theInt", TestObj::getTheInt, Integer.class)
+                        .withParam("theString", TestObj::getTheString, String.class)
+                        .withParam("theOtherString", TestObj::getTheOtherString, TOSTRING_ONLY, String.class)
+                        .withSortOrder("theInt", intOrder)
+                        .withSortOrder("theString", stringOrder)
+                        .andThatsIt();
+    }
+
+    @Test
+    public void constructor_nullParamList_boom() {
+        try {
+            new ParamListComparator<TestObj>(null);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("paramList"));
+        }
+    }
+
+    @Test
+    public void constructor_mapParam_boom() {
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class)
+                                                .withParam("theInt", TestObj::getTheInt, Integer.class)
+                                                .withMap("theMapStringInt", TestObj::getTheMapStringInt,
+                                                         Map.class, String.class, Integer.class)
+                                                .andThatsIt();
+        try {
+            paramList.comparator();
+            fail("No exception was thrown.");
+        } catch (IllegalStateException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("theMapStringInt"));
+            assertTrue("Exception message contains orderable parameter name.", !e.getMessage().contains("theInt"));
+        }
+    }
+
+    @Test
+    public void constructor_toStringOnlyMapParam_noBoom() {
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class)
+                                                .withParam("theInt", TestObj::getTheInt, Integer.class)
+                                                .withMap("theMapStringInt", TestObj::getTheMapStringInt, TOSTRING_ONLY,
+                                                         Map.class, String.class, Integer.class)
+                                                .andThatsIt();
+        assertEquals(0, paramList.comparator().compare(testObj(1, "a"), testObj(1, "b")));
+    }
+
+    @Test
+    public void compare_defaultSortOrder_ascendingNullsFirst() {
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class)
+                                                .withParam("theInt", TestObj::getTheInt, Integer.class)
+                                                .withParam("theString", TestObj::getTheString, String.class)
+                                                .andThatsIt();
+        List<TestObj> list = new ArrayList<>(Arrays.asList(testObj(2, "a"), testObj(1, "b"), testObj(1, null), testObj(1, "a")));
+        list.sort(paramList.comparator());
+        assertEquals(Arrays.asList(testObj(1, null), testObj(1, "a"), testObj(1, "b"), testObj(2, "a")), list);
+    }
+
+    @Test
+    public void compare_descendingNullsLast_reversedWithNullsLast() {
+        ParamList<TestObj> paramList = intThenString(ParamSortOrder.DESCENDING_NULLS_FIRST, ParamSortOrder.DESCENDING_NULLS_LAST);
+        List<TestObj> list = new ArrayList<>(Arrays.asList(testObj(1, "a"), testObj(1, null), testObj(2, "a"), testObj(1, "b")));
+        list.sort(paramList.comparator());
+        assertEquals(Arrays.asList(testObj(2, "a"), testObj(1, "b"), testObj(1, "a"), testObj(1, null)), list);
+    }
+
+    @Test
+    public void compare_ascendingNullsLast_nullsLast() {
+        ParamList<TestObj> paramList = intThenString(ParamSortOrder.ASCENDING_NULLS_FIRST, ParamSortOrder.ASCENDING_NULLS_LAST);
+        List<TestObj> list = new ArrayList<>(Arrays.asList(testObj(1, null), testObj(1, "b"), testObj(1, "a")));
+        list.sort(paramList.comparator());
+        assertEquals(Arrays.asList(testObj(1, "a"), testObj(1, "b"), testObj(1, null)), list);
+    }
+
+    @Test
+    public void compare_equalObjects_zero() {
+        ParamList<TestObj> paramList = intThenString(ParamSortOrder.ASCENDING_NULLS_FIRST, ParamSortOrder.ASCENDING_NULLS_FIRST);
+        TestObj testObj1 = testObj(5, "five");
+        TestObj testObj2 = testObj(5, "five");
+        testObj2.setTheOtherString("ignored by equals");
+        assertTrue(paramList.equals(testObj1, testObj2));
+        assertEquals(0, paramList.comparator().compare(testObj1, testObj2));
+    }
+
+    @Test
+    public void compare_listParam_entryByEntryThenSize() {
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class)
+                                                .withCollection("theCollectionString",
+                                                                (to) -> (List<String>)to.getTheCollectionString(),
+                                                                List.class, String.class)
+                                                .andThatsIt();
+        TestObj shortList = new TestObj();
+        shortList.setTheCollectionString(Arrays.asList("a", "b"));
+        TestObj longList = new TestObj();
+        longList.setTheCollectionString(Arrays.asList("a", "b", "c"));
+        TestObj laterList = new TestObj();
+        laterList.setTheCollectionString(Collections.singletonList("b"));
+        List<TestObj> list = new ArrayList<>(Arrays.asList(laterList, longList, shortList));
+        list.sort(paramList.comparator());
+        assertEquals(Arrays.asList(shortList, longList, laterList), list);
+    }
+
+    @Test
+    public void compare_unorderedCollectionParam_sortedCopiesCompared() {
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class)
+                                                .withUnorderedCollection("theCollectionString", TestObj::getTheCollectionString,
+                                                                         Collection.class, String.class)
+                                                .andThatsIt();
+        TestObj abb = new TestObj();
+        abb.setTheCollectionString(Arrays.asList("b", "a", "b"));
+        TestObj bab = new TestObj();
+        bab.setTheCollectionString(Arrays.asList("b", "b", "a"));
+        TestObj ac = new TestObj();
+        ac.setTheCollectionString(new HashSet<>(Arrays.asList("c", "a")));
+        TestObj nullEntry = new TestObj();
+        nullEntry.setTheCollectionString(Arrays.asList("b", null));
+        assertTrue(paramList.equals(abb, bab));
+        assertEquals(0, paramList.comparator().compare(abb, bab));
+        List<TestObj> list = new ArrayList<>(Arrays.asList(ac, abb, nullEntry));
+        list.sort(paramList.comparator());
+        assertEquals(Arrays.asList(nullEntry, abb, ac), list);
+    }
+
+    @Test
+    public void constructor_unorderedCollectionOfUncomparables_boom() {
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class)
+                                                .withUnorderedCollection("theCollectionTestObj", TestObj::getTheCollectionTestObj,
+                                                                         Collection.class, TestObj.class)
+                                                .andThatsIt();
+        try {
+            paramList.comparator();
+            fail("No exception was thrown.");
+        } catch (IllegalStateException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("theCollectionTestObj"));
+        }
+    }
+
+    @Test
+    public void comparator_calledTwice_sameInstance() {
+        ParamList<TestObj> paramList = intThenString(ParamSortOrder.ASCENDING_NULLS_FIRST, ParamSortOrder.ASCENDING_NULLS_FIRST);
+        assertTrue(paramList.comparator() == paramList.comparator());
+    }
+
+    @Test
+    public void withSortOrder_unknownParam_boom() {
+        try {
+            ParamList.forClass(TestObj.class)
+                     .withParam("theInt", TestObj::getTheInt, Integer.class)
+                     .withSortOrder("notAParam", ParamSortOrder.DESCENDING_NULLS_LAST);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("notAParam"));
+        }
+    }
+
+    @Test
+    public void extendedBy_withSortOrder_keepsSortOrder() {
+        ParamList<TestObj> paramList = intThenString(ParamSortOrder.DESCENDING_NULLS_LAST, ParamSortOrder.ASCENDING_NULLS_FIRST);
+        ParamList<TestObj> extended = paramList.extendedBy(TestObj.class).andThatsIt();
+        assertEquals(ParamSortOrder.DESCENDING_NULLS_LAST, extended.getSortOrder("theInt"));
+        assertEquals(ParamSortOrder.ASCENDING_NULLS_FIRST, extended.getSortOrder("theOtherString"));
+    }
+}
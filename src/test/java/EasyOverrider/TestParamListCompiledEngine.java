@@ -0,0 +1,191 @@
+package EasyOverrider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import EasyOverrider.TestingUtils.TestObj;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class TestParamListCompiledEngine {
+
+    private static ParamList<TestObj> paramListWithThreshold(int compilationThreshold) {
+        return ParamList.forClass(TestObj.class)
+                        .usingService(new ParamListServiceImpl(new ParamListServiceConfig()
+                                                                               .setCompilationThreshold(compilationThreshold)))
+                        .withPrimaryParam("theInt", TestObj::getTheInt, ParamUsage.INCLUDED_IN_ALL, Integer.class)
+                        .withParam("theString", TestObj::getTheString, String.class)
+                        .withUnorderedCollection("theCollectionString", TestObj::getTheCollectionString, Collection.class,
+                                                 String.class)
+                        .withMap("theMapStringInt", TestObj::getTheMapStringInt, Map.class, String.class, Integer.class)
+                        .withBoundedHashCode("theMapStringInt", 1)
+                        .andThatsIt();
+    }
+
+    private static TestObj testObj(String theString, String... entries) {
+        TestObj testObj = new TestObj();
+        testObj.setTheInt(5);
+        testObj.setTheString(theString);
+        testObj.setTheCollectionString(new ArrayList<>(Arrays.asList(entries)));
+        Map<String, Integer> map = new HashMap<>();
+        map.put("one", 1);
+        map.put("two", 2);
+        testObj.setTheMapStringInt(map);
+        return testObj;
+    }
+
+    private static void awaitCompilation(ParamList<?> paramList) throws Exception {
+        assertNotNull("Compiling never started.", paramList.getCompilation());
+        paramList.getCompilation().get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void getCompiledEngine_neverCompile_notCompiled() {
+        ParamList<TestObj> paramList = paramListWithThreshold(ParamListServiceConfig.NEVER_COMPILE);
+        TestObj testObj = testObj("a");
+        for (int i = 0; i < 100; i++) {
+            paramList.hashCode(testObj);
+        }
+        assertNull(paramList.getCompilation());
+        assertNull(paramList.getCompiledEngine(paramList.getService().getConfig()));
+    }
+
+    @Test
+    public void getCompiledEngine_belowThenAboveThreshold_compiledInBackground() throws Exception {
+        ParamList<TestObj> paramList = paramListWithThreshold(5);
+        TestObj testObj = testObj("a");
+        for (int i = 0; i < 5; i++) {
+            paramList.hashCode(testObj);
+        }
+        assertNull(paramList.getCompilation());
+        paramList.hashCode(testObj);
+        awaitCompilation(paramList);
+        assertNotNull(paramList.getCompiledEngine(paramList.getService().getConfig()));
+    }
+
+    @Test
+    public void equals_compiled_matchesInterpreted() throws Exception {
+        ParamList<TestObj> interpreted = paramListWithThreshold(ParamListServiceConfig.NEVER_COMPILE);
+        ParamList<TestObj> compiled = paramListWithThreshold(0);
+        compiled.hashCode(testObj("a"));
+        awaitCompilation(compiled);
+        TestObj[][] pairs = {
+                        { testObj("a", "x", "y"), testObj("a", "y", "x") },
+                        { testObj("a", "x"), testObj("b", "x") },
+                        { testObj(null, "x"), testObj(null, "x") },
+                        { testObj(null), testObj("a") },
+                        { testObj("a", "x"), testObj("a", "x", "x") }
+        };
+        for (TestObj[] pair : pairs) {
+            assertEquals(interpreted.equals(pair[0], pair[1]), compiled.equals(pair[0], pair[1]));
+        }
+        assertTrue(compiled.equals(pairs[0][0], pairs[0][1]));
+        assertFalse(compiled.equals(pairs[1][0], pairs[1][1]));
+    }
+
+    @Test
+    public void hashCode_compiled_matchesInterpreted() throws Exception {
+        ParamList<TestObj> interpreted = paramListWithThreshold(ParamListServiceConfig.NEVER_COMPILE);
+        ParamList<TestObj> compiled = paramListWithThreshold(0);
+        compiled.hashCode(testObj("a"));
+        awaitCompilation(compiled);
+        TestObj[] testObjs = { testObj("a", "x", "y"), testObj("a", "y", "x"), testObj(null), testObj("b", "z") };
+        for (TestObj testObj : testObjs) {
+            assertEquals(interpreted.hashCode(testObj), compiled.hashCode(testObj));
+        }
+        assertEquals(compiled.hashCode(testObjs[0]), compiled.hashCode(testObjs[1]));
+    }
+
+    @Test
+    public void getCompiledEngine_thresholdLoweredAfterCompiling_stillCompiled() throws Exception {
+        ParamListServiceConfig config = new ParamListServiceConfig().setCompilationThreshold(0);
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class)
+                                                .usingService(new ParamListServiceImpl(config))
+                                                .withParam("theString", TestObj::getTheString, String.class)
+                                                .andThatsIt();
+        paramList.equals(testObj("a"), testObj("b"));
+        awaitCompilation(paramList);
+        config.setCompilationThreshold(ParamListServiceConfig.NEVER_COMPILE);
+        assertNotNull(paramList.getCompiledEngine(config));
+        assertTrue(paramList.equals(testObj("a"), testObj("a")));
+    }
+
+    @Test
+    public void toString_compiled_matchesInterpreted() throws Exception {
+        ParamList<TestObj> interpreted = paramListWithThreshold(ParamListServiceConfig.NEVER_COMPILE);
+        ParamList<TestObj> compiled = paramListWithThreshold(0);
+        compiled.toString(testObj("a"));
+        awaitCompilation(compiled);
+        TestObj[] testObjs = { testObj("a", "x", "y"), testObj(null), testObj("null"), testObj("b", "z") };
+        for (TestObj testObj : testObjs) {
+            assertEquals(interpreted.toString(testObj), compiled.toString(testObj));
+        }
+        assertEquals(interpreted.primaryToString(testObjs[0]), compiled.primaryToString(testObjs[0]));
+    }
+
+    @Test
+    public void toString_configChangedAfterCompiling_newConfigUsed() throws Exception {
+        ParamListServiceConfig config = new ParamListServiceConfig().setCompilationThreshold(0);
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class)
+                                                .usingService(new ParamListServiceImpl(config))
+                                                .withParam("theString", TestObj::getTheString, String.class)
+                                                .withParam("theInt", TestObj::getTheInt, Integer.class)
+                                                .andThatsIt();
+        TestObj testObj = testObj("a");
+        paramList.toString(testObj);
+        awaitCompilation(paramList);
+        config.setParameterDelimiter(" | ");
+        assertTrue(paramList.toString(testObj).endsWith(" [theString='a' | theInt='5']"));
+        awaitCompilation(paramList);
+        assertTrue(paramList.toString(testObj).endsWith(" [theString='a' | theInt='5']"));
+        assertTrue(paramList.getCompiledEngine(config).getToStringPlan().getSettings().getParameterDelimiter().equals(" | "));
+    }
+
+    @Test
+    public void toString_compiledWithValueRenderer_rendererUsed() throws Exception {
+        ParamListServiceConfig config = new ParamListServiceConfig().setCompilationThreshold(0)
+                                                                    .setValueRenderer(String.class, (s, out) -> out.append(s.length()));
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class)
+                                                .usingService(new ParamListServiceImpl(config))
+                                                .withParam("theString", TestObj::getTheString, String.class)
+                                                .withParam("theInt", TestObj::getTheInt, Integer.class)
+                                                .andThatsIt();
+        TestObj testObj = testObj("abc");
+        paramList.toString(testObj);
+        awaitCompilation(paramList);
+        assertTrue(paramList.toString(testObj).endsWith(" [theString='3', theInt='5']"));
+    }
+
+    @Test
+    public void toString_allParamsCompiled_matchesInterpreted() throws Exception {
+        ParamListServiceConfig config = new ParamListServiceConfig().setHashCodeRenderer(i -> "#");
+        ParamList<TestObj> interpreted = stringsAndInt(config.copyOf().setCompilationThreshold(ParamListServiceConfig.NEVER_COMPILE));
+        ParamList<TestObj> compiled = stringsAndInt(config.copyOf().setCompilationThreshold(0));
+        compiled.toString(testObj("a"));
+        awaitCompilation(compiled);
+        TestObj[] testObjs = { testObj("a"), testObj(null), testObj("null"), testObj("") };
+        testObjs[3].setTheOtherString("other");
+        for (TestObj testObj : testObjs) {
+            assertEquals(interpreted.toString(testObj), compiled.toString(testObj));
+        }
+        assertEquals("TestObj@# [theString='a', theOtherString=null, theInt='5']", compiled.toString(testObjs[0]));
+    }
+
+    private static ParamList<TestObj> stringsAndInt(ParamListServiceConfig config) {
+        return ParamList.forClass(TestObj.class)
+                        .usingService(new ParamListServiceImpl(config))
+                        .withParam("theString", TestObj::getTheString, String.class)
+                        .withParam("theOtherString", TestObj::getTheOtherString, String.class)
+                        .withParam("theInt", TestObj::getTheInt, Integer.class)
+                        .andThatsIt();
+    }
+}
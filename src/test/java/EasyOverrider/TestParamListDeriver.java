@@ -0,0 +1,124 @@
+package EasyOverrider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestParamListDeriver {
+
+    private static class Base {
+        private int id;
+        private String shadowed = "base";
+    }
+
+    private static class Derived extends Base {
+        private static final String CONSTANT = "constant";
+        private String shadowed = "derived";
+        private transient String cache;
+        private List<String> tags = new ArrayList<>();
+        private Map<String, Integer> counts = new HashMap<>();
+        private ParamList<Derived> ownParamList;
+        private boolean flag;
+    }
+
+    private static class WithArrays {
+        private int[] numbers;
+        private String[][] names;
+
+        WithArrays(int[] numbers, String[][] names) {
+            this.numbers = numbers;
+            this.names = names;
+        }
+    }
+
+    private static Derived derived(int id, String tag, boolean flag) {
+        Derived retval = new Derived();
+        ((Base)retval).id = id;
+        retval.tags.add(tag);
+        retval.flag = flag;
+        return retval;
+    }
+
+    @Test
+    public void derive_null_boom() {
+        try {
+            ParamList.derive(null);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("parentClass"));
+            assertTrue("Exception message does not contain method name.", e.getMessage().contains("derive"));
+        }
+    }
+
+    @Test
+    public void derive_sameClassTwice_sameParamList() {
+        assertSame(ParamList.derive(Derived.class), ParamList.derive(Derived.class));
+    }
+
+    @Test
+    public void derive_hierarchy_paramOrderMatchesExpected() {
+        assertEquals(Arrays.asList("id", "shadowed", "tags", "counts", "flag"), ParamList.derive(Derived.class).getParamOrder());
+    }
+
+    @Test
+    public void derive_fieldTypes_classifiedCorrectly() {
+        Map<String, ParamDescription<? super Derived, ?>> descriptions = ParamList.derive(Derived.class).getParamDescriptionMap();
+        assertEquals(Integer.class, descriptions.get("id").getParamClass());
+        assertEquals(Boolean.class, descriptions.get("flag").getParamClass());
+        assertTrue(descriptions.get("tags") instanceof ParamDescriptionCollection);
+        assertEquals(String.class, ((ParamDescriptionCollection<?, ?, ?>)descriptions.get("tags")).getEntryClass());
+        assertTrue(descriptions.get("counts") instanceof ParamDescriptionMap);
+        assertEquals(String.class, ((ParamDescriptionMap<?, ?, ?, ?>)descriptions.get("counts")).getKeyClass());
+        assertEquals(Integer.class, ((ParamDescriptionMap<?, ?, ?, ?>)descriptions.get("counts")).getValueClass());
+    }
+
+    @Test
+    public void derive_gettersReadFields_valuesMatch() {
+        ParamList<Derived> paramList = ParamList.derive(Derived.class);
+        Derived obj = derived(5, "a", true);
+        assertEquals(5, paramList.getParamDescriptionMap().get("id").getGetter().apply(obj));
+        assertEquals("derived", paramList.getParamDescriptionMap().get("shadowed").getGetter().apply(obj));
+        assertTrue(paramList.equals(obj, derived(5, "a", true)));
+        assertEquals(paramList.hashCode(obj), paramList.hashCode(derived(5, "a", true)));
+        assertFalse(paramList.equals(obj, derived(5, "b", true)));
+        assertFalse(paramList.equals(obj, derived(5, "a", false)));
+    }
+
+    @Test
+    public void derive_arrayFields_comparedByContents() {
+        ParamList<WithArrays> paramList = ParamList.derive(WithArrays.class);
+        WithArrays obj = new WithArrays(new int[] { 1, 2 }, new String[][] { { "a" }, { "b", null } });
+        WithArrays same = new WithArrays(new int[] { 1, 2 }, new String[][] { { "a" }, { "b", null } });
+        assertTrue(paramList.equals(obj, same));
+        assertEquals(paramList.hashCode(obj), paramList.hashCode(same));
+        assertFalse(paramList.equals(obj, new WithArrays(new int[] { 2, 1 }, obj.names)));
+        assertFalse(paramList.equals(obj, new WithArrays(obj.numbers, new String[][] { { "a" }, { "b" } })));
+        assertFalse(paramList.equals(obj, new WithArrays(null, obj.names)));
+    }
+
+    @Test
+    public void derive_classInPackageNotOpen_boomWithReason() {
+        if (System.getProperty("java.specification.version").startsWith("1.")) {
+            return; //Every package is open on Java 8.
+        }
+        try {
+            ParamList.derive(AtomicInteger.class);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("AtomicInteger"));
+            assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof IllegalAccessException);
+            assertTrue(e.getCause().getMessage(), e.getCause().getMessage().contains("must be open to EasyOverrider"));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package EasyOverrider;
+
+import static EasyOverrider.ParamUsage.TOSTRING_ONLY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import EasyOverrider.TestingUtils.TestObj;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+
+public class TestParamListDiff {
+
+    private static final ParamList<TestObj> paramList = ParamList.forClass(TestObj.class)
+                                                                 .withParam("theInt", TestObj::getTheInt, Integer.class)
+                                                                 .withParam("theBoolean", TestObj::isTheBoolean,
+                                                                            TOSTRING_ONLY, Boolean.class)
+                                                                 .withParam("theString", TestObj::getTheString, String.class)
+                                                                 .withParam("theOtherString", TestObj::getTheOtherString,
+                                                                            String.class)
+                                                                 .andThatsIt();
+
+    private static TestObj testObj(int theInt, boolean theBoolean, String theString, String theOtherString) {
+        TestObj retval = new TestObj();
+        retval.setTheInt(theInt);
+        retval.setTheBoolean(theBoolean);
+        retval.setTheString(theString);
+        retval.setTheOtherString(theOtherString);
+        return retval;
+    }
+
+    @Test
+    public void diff_nullBefore_boom() {
+        try {
+            paramList.diff(null, new TestObj());
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("before"));
+        }
+    }
+
+    @Test
+    public void diff_nullAfter_boom() {
+        try {
+            paramList.diff(new TestObj(), null);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("after"));
+        }
+    }
+
+    @Test
+    public void diff_equalObjects_noChanges() {
+        ParamListDiff<TestObj> diff = paramList.diff(testObj(1, true, "a", "b"), testObj(1, false, "a", "b"));
+        assertFalse(diff.hasChanges());
+        assertEquals(0, diff.getChangedCount());
+        assertEquals(Collections.emptyList(), diff.getChangedNames());
+    }
+
+    @Test
+    public void diff_twoChanges_indexesAndNamesMatch() {
+        ParamListDiff<TestObj> diff = paramList.diff(testObj(1, true, "a", "b"), testObj(2, false, "a", null));
+        BitSet expected = new BitSet();
+        expected.set(0);
+        expected.set(3);
+        assertTrue(diff.hasChanges());
+        assertEquals(2, diff.getChangedCount());
+        assertEquals(expected, diff.getChangedIndexes());
+        assertEquals(Arrays.asList("theInt", "theOtherString"), diff.getChangedNames());
+        assertTrue(diff.isChanged("theInt"));
+        assertFalse(diff.isChanged("theBoolean"));
+        assertFalse(diff.isChanged("notAParam"));
+        assertFalse(diff.isKeepingValues());
+    }
+
+    @Test
+    public void diff_notKeepingValues_getOldValueBoom() {
+        ParamListDiff<TestObj> diff = paramList.diff(testObj(1, true, "a", "b"), testObj(2, false, "a", null));
+        try {
+            diff.getOldValue(0);
+            fail("No exception was thrown.");
+        } catch (IllegalStateException e) {
+            assertTrue("Exception message does not contain method name.", e.getMessage().contains("getOldValue"));
+        }
+    }
+
+    @Test
+    public void diff_keepingValues_valuesAvailable() {
+        ParamListDiff<TestObj> diff = paramList.diff(testObj(1, true, "a", "b"), testObj(2, false, "a", null), true);
+        assertTrue(diff.isKeepingValues());
+        assertEquals(1, diff.getOldValue(0));
+        assertEquals(2, diff.getNewValue(0));
+        assertNull(diff.getOldValue(2));
+        assertEquals("b", diff.getOldValue(3));
+        assertNull(diff.getNewValue(3));
+    }
+
+    @Test
+    public void diff_keepingValuesNoChanges_valuesNull() {
+        ParamListDiff<TestObj> diff = paramList.diff(testObj(1, true, "a", "b"), testObj(1, true, "a", "b"), true);
+        assertTrue(diff.isKeepingValues());
+        assertNull(diff.getOldValue(0));
+    }
+
+    @Test
+    public void firstDifference_equalObjects_negativeOne() {
+        assertEquals(-1, paramList.firstDifference(testObj(1, true, "a", "b"), testObj(1, false, "a", "b")));
+    }
+
+    @Test
+    public void firstDifference_laterChange_indexOfFirst() {
+        assertEquals(2, paramList.firstDifference(testObj(1, true, "a", "b"), testObj(1, false, "c", "d")));
+    }
+
+    @Test
+    public void firstDifference_nullBefore_boom() {
+        try {
+            paramList.firstDifference(null, new TestObj());
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("before"));
+        }
+    }
+}
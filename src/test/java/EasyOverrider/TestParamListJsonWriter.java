@@ -0,0 +1,191 @@
+package EasyOverrider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import EasyOverrider.TestingUtils.TestObj;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class TestParamListJsonWriter {
+
+    private static class Node {
+        private String name;
+        private Node next;
+        private List<Node> children = new ArrayList<>();
+
+        private static final ParamList<Node> paramList = ParamList.forClass(Node.class)
+                                                                  .withPrimaryParam("name", Node::getName, String.class)
+                                                                  .withParam("next", Node::getNext, Node.class)
+                                                                  .withCollection("children", Node::getChildren, List.class, Node.class)
+                                                                  .andThatsIt();
+
+        Node(String name) {
+            this.name = name;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        Node getNext() {
+            return next;
+        }
+
+        List<Node> getChildren() {
+            return children;
+        }
+    }
+
+    private static class Values {
+        private static final ParamList<Values> paramList = ParamList.forClass(Values.class)
+                                                                    .withParam("theInt", v -> 5, Integer.class)
+                                                                    .withParam("theDouble", v -> 1.5d, Double.class)
+                                                                    .withParam("theNaN", v -> Double.NaN, Double.class)
+                                                                    .withParam("theBoolean", v -> true, Boolean.class)
+                                                                    .withParam("theEnum", v -> ParamUsage.TOSTRING_ONLY, ParamUsage.class)
+                                                                    .withParam("theNull", v -> null, String.class)
+                                                                    .withParam("theArray", v -> new int[] { 1, 2 }, int[].class)
+                                                                    .withMap("theMap", Values::getMap, Map.class, String.class, Object.class)
+                                                                    .withParam("hidden", v -> "hidden", ParamUsage.EQUALS_AND_HASHCODE_ONLY, String.class)
+                                                                    .andThatsIt();
+
+        Map<String, Object> getMap() {
+            Map<String, Object> retval = new LinkedHashMap<>();
+            retval.put("a", Arrays.asList("x", null));
+            retval.put("b", new StringBuilder("sb"));
+            return retval;
+        }
+    }
+
+    @Test
+    public void toJson_null_boom() {
+        try {
+            Node.paramList.toJson(null);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("thisObj"));
+            assertTrue("Exception message does not contain method name.", e.getMessage().contains("toJson"));
+        }
+    }
+
+    @Test
+    public void toJson_valueTypes_matchesExpected() {
+        String expected = "{\"theInt\":5,\"theDouble\":1.5,\"theNaN\":\"NaN\",\"theBoolean\":true,\"theEnum\":\"TOSTRING_ONLY\"," +
+                          "\"theNull\":null,\"theArray\":[1,2],\"theMap\":{\"a\":[\"x\",null],\"b\":\"sb\"}}";
+        assertEquals(expected, Values.paramList.toJson(new Values()));
+    }
+
+    @Test
+    public void toJson_specialCharacters_escaped() {
+        Node node = new Node("a\"b\\c\nd\u0001e\u2028");
+        assertEquals("{\"name\":\"a\\\"b\\\\c\\nd\\u0001e\\u2028\",\"next\":null,\"children\":[]}",
+                     Node.paramList.toJson(node));
+    }
+
+    @Test
+    public void toJson_nestedObjects_writtenAsObjects() {
+        Node parent = new Node("parent");
+        parent.next = new Node("next");
+        parent.children.add(new Node("child"));
+        assertEquals("{\"name\":\"parent\"," +
+                     "\"next\":{\"name\":\"next\",\"next\":null,\"children\":[]}," +
+                     "\"children\":[{\"name\":\"child\",\"next\":null,\"children\":[]}]}",
+                     Node.paramList.toJson(parent));
+    }
+
+    @Test
+    public void toJson_selfReference_primaryOnly() {
+        Node node = new Node("self");
+        node.next = node;
+        assertEquals("{\"name\":\"self\",\"next\":{\"name\":\"self\"},\"children\":[]}", Node.paramList.toJson(node));
+    }
+
+    @Test
+    public void toJson_selfContainingCollection_recursionPreventedWritten() {
+        List<Object> list = new ArrayList<>();
+        list.add("a");
+        list.add(list);
+        ParamList<Node> paramList = ParamList.forClass(Node.class)
+                                             .withParam("list", n -> list, List.class)
+                                             .andThatsIt();
+        String expected = "{\"list\":[\"a\",\"" + new ParamListServiceConfig().getStringForRecursionPrevented() + "\"]}";
+        assertEquals(expected, paramList.toJson(new Node("n")));
+    }
+
+    @Test
+    public void toJson_selfContainingMapAndArray_recursionPreventedWritten() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        Object[] array = new Object[] { map };
+        map.put("array", array);
+        ParamList<Node> paramList = ParamList.forClass(Node.class)
+                                             .withParam("map", n -> map, Map.class)
+                                             .andThatsIt();
+        String expected = "{\"map\":{\"array\":[\"" + new ParamListServiceConfig().getStringForRecursionPrevented() + "\"]}}";
+        assertEquals(expected, paramList.toJson(new Node("n")));
+    }
+
+    @Test
+    public void toJson_sameCollectionTwice_writtenTwice() {
+        List<String> list = Arrays.asList("x");
+        ParamList<Node> paramList = ParamList.forClass(Node.class)
+                                             .withParam("first", n -> list, List.class)
+                                             .withParam("second", n -> list, List.class)
+                                             .andThatsIt();
+        assertEquals("{\"first\":[\"x\"],\"second\":[\"x\"]}", paramList.toJson(new Node("n")));
+    }
+
+    @Test
+    public void toJson_unregisteredClass_toStringUsed() {
+        ParamList<Node> paramList = ParamList.forClass(Node.class)
+                                             .withParam("uuid", n -> new UUID(0, 1), UUID.class)
+                                             .andThatsIt();
+        assertEquals("{\"uuid\":\"00000000-0000-0000-0000-000000000001\"}", paramList.toJson(new Node("n")));
+    }
+
+    @Test
+    public void toJson_unregisteredSelfReferencingRecursionPreventingObject_toStringWritten() {
+        TestObj testObj = new TestObj();
+        testObj.setTheString("theValue");
+        testObj.setTheTestObj(testObj);
+        ParamList<Node> paramList = ParamList.forClass(Node.class)
+                                             .withParam("testObj", n -> testObj, TestObj.class)
+                                             .andThatsIt();
+        String json = paramList.toJson(new Node("n"));
+        assertTrue(json, json.startsWith("{\"testObj\":\"TestObj"));
+        assertTrue(json, json.contains("theValue"));
+    }
+
+    @Test
+    public void toJson_mapKeysWithSameName_boom() {
+        Map<Object, String> map = new LinkedHashMap<>();
+        map.put(1, "int");
+        map.put("1", "string");
+        ParamList<Node> paramList = ParamList.forClass(Node.class)
+                                             .withParam("map", n -> map, Map.class)
+                                             .andThatsIt();
+        try {
+            paramList.toJson(new Node("n"));
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("\"1\""));
+        }
+    }
+
+    @Test
+    public void writeJson_writer_sameAsToJson() throws IOException {
+        Node node = new Node("node");
+        StringWriter writer = new StringWriter();
+        Node.paramList.writeJson(node, writer);
+        assertEquals(Node.paramList.toJson(node), writer.toString());
+    }
+}
@@ -0,0 +1,216 @@
+package EasyOverrider;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+
+public class TestParamListKeyEncoder {
+
+    private static class Key {
+        private final Object value;
+
+        private static final ParamList<Key> paramList = ParamList.forClass(Key.class)
+                                                                 .withParam("value", Key::getValue, Object.class)
+                                                                 .withParam("ignored", k -> Math.random(), ParamUsage.TOSTRING_ONLY, Double.class)
+                                                                 .andThatsIt();
+
+        static {
+            ParamListRegistry.register(paramList);
+        }
+
+        Key(Object value) {
+            this.value = value;
+        }
+
+        Object getValue() {
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return paramList.equals(this, obj);
+        }
+
+        @Override
+        public int hashCode() {
+            return paramList.hashCode(this);
+        }
+    }
+
+    private static class ArrayKey {
+        private final Object[] values;
+
+        private static final ParamList<ArrayKey> paramList = ParamList.forClass(ArrayKey.class)
+                                                                      .withParam("values", ArrayKey::getValues, Object[].class)
+                                                                      .withArrayContentsCompared("values")
+                                                                      .andThatsIt();
+
+        ArrayKey(Object... values) {
+            this.values = values;
+        }
+
+        Object[] getValues() {
+            return values;
+        }
+    }
+
+    private static class SubKey extends Key {
+        SubKey(Object value) {
+            super(value);
+        }
+    }
+
+    private static void assertEncodingMatchesEquals(Object value1, Object value2) {
+        Key key1 = new Key(value1);
+        Key key2 = new Key(value2);
+        boolean bytesEqual = Arrays.equals(Key.paramList.encodeKey(key1), Key.paramList.encodeKey(key2));
+        assertEquals(value1 + " vs " + value2, Key.paramList.equals(key1, key2), bytesEqual);
+    }
+
+    @Test
+    public void encodeKey_null_boom() {
+        try {
+            Key.paramList.encodeKey(null);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("thisObj"));
+            assertTrue("Exception message does not contain method name.", e.getMessage().contains("encodeKey"));
+        }
+    }
+
+    @Test
+    public void encodeKey_variousValues_byteEqualityMatchesEquals() {
+        Object[] values = { null, 1, 1L, (short)1, (byte)1, '1', "1", true, false, 1.0f, 1.0d, Double.NaN, -0.0d, 0.0d,
+                            new BigDecimal("1.0"), new BigDecimal("1.00"), ParamUsage.INCLUDED_IN_ALL, ParamSortOrder.ASCENDING_NULLS_FIRST,
+                            "", "\u00e9", "\ud83d\ude00", "\ud83d", "?", Arrays.asList(1, 2), Arrays.asList(2, 1),
+                            new LinkedList<>(Arrays.asList(1, 2)), new HashSet<>(Arrays.asList("a", "b")),
+                            new LinkedHashSet<>(Arrays.asList("b", "a")), new Key("nested"), new Key("other") };
+        for (Object value1 : values) {
+            for (Object value2 : values) {
+                assertEncodingMatchesEquals(value1, value2);
+            }
+        }
+    }
+
+    @Test
+    public void encodeKey_mapsInDifferentOrder_sameBytes() {
+        Map<String, Integer> map1 = new LinkedHashMap<>();
+        map1.put("a", 1);
+        map1.put("b", 2);
+        Map<String, Integer> map2 = new LinkedHashMap<>();
+        map2.put("b", 2);
+        map2.put("a", 1);
+        assertArrayEquals(Key.paramList.encodeKey(new Key(map1)), Key.paramList.encodeKey(new Key(map2)));
+        map2.put("a", 3);
+        assertFalse(Arrays.equals(Key.paramList.encodeKey(new Key(map1)), Key.paramList.encodeKey(new Key(map2))));
+    }
+
+    @Test
+    public void encodeKey_toStringOnlyParam_ignored() {
+        assertArrayEquals(Key.paramList.encodeKey(new Key("a")), Key.paramList.encodeKey(new Key("a")));
+    }
+
+    @Test
+    public void encodeKey_byteBuffer_sameAsArrayAndReturnsLength() {
+        Key key = new Key(Arrays.asList("abc", 5, new HashMap<>()));
+        ByteBuffer buffer = ByteBuffer.allocate(100);
+        buffer.put((byte)99);
+        int length = Key.paramList.encodeKey(key, buffer);
+        byte[] expected = Key.paramList.encodeKey(key);
+        assertEquals(expected.length, length);
+        assertEquals(1 + length, buffer.position());
+        assertArrayEquals(expected, Arrays.copyOfRange(buffer.array(), 1, 1 + length));
+    }
+
+    @Test
+    public void encodeKey_bufferTooSmall_positionRestored() {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        buffer.put((byte)1);
+        try {
+            Key.paramList.encodeKey(new Key("a long string value"), buffer);
+            fail("No exception was thrown.");
+        } catch (BufferOverflowException e) {
+            assertEquals(1, buffer.position());
+        }
+    }
+
+    @Test
+    public void encodeKey_largeSetOfNestedKeys_fits() {
+        Set<Key> keys = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            keys.add(new Key("key" + i));
+        }
+        assertArrayEquals(Key.paramList.encodeKey(new Key(keys)), Key.paramList.encodeKey(new Key(new HashSet<>(keys))));
+    }
+
+    @Test
+    public void encodeKey_arrayComparedByIdentity_boom() {
+        try {
+            Key.paramList.encodeKey(new Key(new int[] { 1 }));
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("[I"));
+            assertTrue(e.getMessage(), e.getMessage().contains("identity"));
+        }
+    }
+
+    @Test
+    public void encodeKey_arrayContentsCompared_equalArraysSameBytes() {
+        ArrayKey key1 = new ArrayKey("a", new int[] { 1, 2 }, new String[] { "b", null }, null);
+        ArrayKey key2 = new ArrayKey("a", new int[] { 1, 2 }, new Object[] { "b", null }, null);
+        assertTrue(ArrayKey.paramList.equals(key1, key2));
+        assertArrayEquals(ArrayKey.paramList.encodeKey(key1), ArrayKey.paramList.encodeKey(key2));
+    }
+
+    @Test
+    public void encodeKey_arrayContentsCompared_differentArraysDifferentBytes() {
+        byte[] ints = ArrayKey.paramList.encodeKey(new ArrayKey(new int[] { 1 }));
+        byte[] longs = ArrayKey.paramList.encodeKey(new ArrayKey(new long[] { 1 }));
+        byte[] emptyInts = ArrayKey.paramList.encodeKey(new ArrayKey(new int[0]));
+        byte[] emptyLongs = ArrayKey.paramList.encodeKey(new ArrayKey(new long[0]));
+        byte[] objects = ArrayKey.paramList.encodeKey(new ArrayKey((Object)new Object[] { 1 }));
+        assertFalse(Arrays.equals(ints, longs));
+        assertFalse(Arrays.equals(emptyInts, emptyLongs));
+        assertFalse(Arrays.equals(ints, objects));
+        assertFalse(ArrayKey.paramList.equals(new ArrayKey(new int[] { 1 }), new ArrayKey((Object)new Object[] { 1 })));
+    }
+
+    @Test
+    public void encodeKey_nestedUnregisteredSubclass_boom() {
+        try {
+            Key.paramList.encodeKey(new Key(new SubKey("a")));
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(SubKey.class.getName()));
+        }
+    }
+
+    @Test
+    public void encodeKey_selfReference_boom() {
+        Object[] holder = new Object[1];
+        Key key = new Key(Arrays.asList(holder));
+        holder[0] = key;
+        try {
+            Key.paramList.encodeKey(key);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("contains itself"));
+        }
+    }
+}
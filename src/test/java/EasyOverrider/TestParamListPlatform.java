@@ -0,0 +1,43 @@
+package EasyOverrider;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+public class TestParamListPlatform {
+
+    @Test
+    public void concatenator_constantsAndArgs_alternated() {
+        Function<String[], String> concatenator = ParamListPlatform.concatenator(new String[] { "Foo [a=", ", b=", "]" });
+        assertEquals("Foo [a=1, b=two]", concatenator.apply(new String[] { "1", "two" }));
+        assertEquals("Foo [a=, b=]", concatenator.apply(new String[] { "", "" }));
+    }
+
+    @Test
+    public void concatenator_noArgs_onlyConstant() {
+        Function<String[], String> concatenator = ParamListPlatform.concatenator(new String[] { "Foo []" });
+        assertEquals("Foo []", concatenator.apply(new String[0]));
+    }
+
+    @Test
+    public void concatenator_constantsWithTagCharacters_keptAsIs() {
+        Function<String[], String> concatenator = ParamListPlatform.concatenator(new String[] { "\u0001[", "\u0002]" });
+        assertEquals("\u0001[x\u0002]", concatenator.apply(new String[] { "x" }));
+    }
+
+    @Test
+    public void concatenator_manyArgs_allUsed() {
+        String[] constants = new String[301];
+        Arrays.fill(constants, ",");
+        String[] args = new String[300];
+        Arrays.fill(args, "x");
+        StringBuilder expected = new StringBuilder(",");
+        for (int i = 0; i < args.length; i++) {
+            expected.append("x,");
+        }
+        assertEquals(expected.toString(), ParamListPlatform.concatenator(constants).apply(args));
+    }
+}
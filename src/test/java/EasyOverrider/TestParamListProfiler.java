@@ -0,0 +1,118 @@
+package EasyOverrider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import EasyOverrider.TestingUtils.TestObj;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+public class TestParamListProfiler {
+
+    private static ParamList<TestObj> paramListUsing(ParamListService service) {
+        return ParamList.forClass(TestObj.class)
+                        .usingService(service)
+                        .withParam("theInt", TestObj::getTheInt, Integer.class)
+                        .withParam("slowString", TestParamListProfiler::slowString, String.class)
+                        .andThatsIt();
+    }
+
+    private static String slowString(TestObj testObj) {
+        try {
+            Thread.sleep(2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return testObj.getTheString();
+    }
+
+    private static TestObj testObj(int theInt, String theString) {
+        TestObj retval = new TestObj();
+        retval.setTheInt(theInt);
+        retval.setTheString(theString);
+        return retval;
+    }
+
+    @Test
+    public void constructor_zeroSampleRate_boom() {
+        try {
+            new ParamListProfiler(0);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("sampleRate"));
+        }
+    }
+
+    @Test
+    public void equals_profilingEveryCall_resultsUnchanged() {
+        ParamList<TestObj> paramList = paramListUsing(new ParamListServiceImpl().setProfiler(new ParamListProfiler(1)));
+        assertTrue(paramList.equals(testObj(1, "a"), testObj(1, "a")));
+        assertFalse(paramList.equals(testObj(1, "a"), testObj(1, "b")));
+        assertFalse(paramList.equals(testObj(1, "a"), testObj(2, "a")));
+    }
+
+    @Test
+    public void hashCode_profilingEveryCall_resultUnchanged() {
+        ParamList<TestObj> unprofiled = paramListUsing(new ParamListServiceImpl());
+        ParamList<TestObj> profiled = paramListUsing(new ParamListServiceImpl().setProfiler(new ParamListProfiler(1)));
+        TestObj testObj = testObj(5, "five");
+        assertEquals(unprofiled.hashCode(testObj), profiled.hashCode(testObj));
+    }
+
+    @Test
+    public void getRankedProfiles_slowGetter_rankedFirst() {
+        ParamListProfiler profiler = new ParamListProfiler(1);
+        ParamList<TestObj> paramList = paramListUsing(new ParamListServiceImpl().setProfiler(profiler));
+        TestObj testObj = testObj(1, "a");
+        paramList.equals(testObj, testObj(1, "a"));
+        paramList.hashCode(testObj);
+        List<ParamProfile> profiles = profiler.getRankedProfiles(TestObj.class);
+        assertEquals(2, profiles.size());
+        assertEquals("slowString", profiles.get(0).getName());
+        assertEquals(3, profiles.get(0).getGetterCalls());
+        assertEquals(2, profiles.get(0).getComparisonCalls());
+        assertEquals("theInt", profiles.get(1).getName());
+        assertTrue(profiler.getReport(TestObj.class).contains("slowString: totalNanos="));
+    }
+
+    @Test
+    public void equals_firstParamDiffers_laterParamsNotProfiled() {
+        ParamListProfiler profiler = new ParamListProfiler(1);
+        ParamList<TestObj> paramList = paramListUsing(new ParamListServiceImpl().setProfiler(profiler));
+        paramList.equals(testObj(1, "a"), testObj(2, "a"));
+        List<ParamProfile> profiles = profiler.getRankedProfiles(TestObj.class);
+        assertEquals(1, profiles.size());
+        assertEquals("theInt", profiles.get(0).getName());
+    }
+
+    @Test
+    public void getRankedProfiles_unknownClass_empty() {
+        assertEquals(Collections.emptyList(), new ParamListProfiler(1).getRankedProfiles(String.class));
+    }
+
+    @Test
+    public void getRankedProfiles_nullClass_boom() {
+        try {
+            new ParamListProfiler(1).getRankedProfiles(null);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("parentClass"));
+            assertTrue("Exception message does not contain method name.", e.getMessage().contains("getRankedProfiles"));
+        }
+    }
+
+    @Test
+    public void reset_afterProfiling_countsZero() {
+        ParamListProfiler profiler = new ParamListProfiler(1);
+        paramListUsing(new ParamListServiceImpl().setProfiler(profiler)).hashCode(testObj(1, "a"));
+        profiler.reset();
+        for (ParamProfile profile : profiler.getRankedProfiles(TestObj.class)) {
+            assertEquals(0, profile.getGetterCalls());
+            assertEquals(0, profile.getTotalNanos());
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package EasyOverrider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+public class TestParamListRegistry {
+
+    //Deliberately doesn't override equals, hashCode, or toString.
+    private static class Node {
+        private final String name;
+        private Node child;
+
+        Node(String name) {
+            this.name = name;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        Node getChild() {
+            return child;
+        }
+    }
+
+    private static class Holder {
+        private final Node node;
+
+        Holder(Node node) {
+            this.node = node;
+        }
+
+        Node getNode() {
+            return node;
+        }
+    }
+
+    private static class Unregistered { }
+
+    private static class BuiltOnly { }
+
+    private static class Item {
+        private final int id;
+        private final String label;
+
+        Item(int id, String label) {
+            this.id = id;
+            this.label = label;
+        }
+
+        int getId() {
+            return id;
+        }
+
+        String getLabel() {
+            return label;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return itemParamList.equals(this, obj);
+        }
+
+        @Override
+        public int hashCode() {
+            return itemParamList.hashCode(this);
+        }
+    }
+
+    private static class SubItem extends Item {
+        SubItem(int id, String label) {
+            super(id, label);
+        }
+    }
+
+    private static class ItemHolder {
+        private final Item item;
+
+        ItemHolder(Item item) {
+            this.item = item;
+        }
+
+        Item getItem() {
+            return item;
+        }
+    }
+
+    private static final ParamList<Item> itemParamList =
+                    ParamList.forClass(Item.class)
+                             .withParam("id", Item::getId, Integer.class)
+                             .withParam("label", Item::getLabel, ParamUsage.TOSTRING_ONLY, String.class)
+                             .andThatsIt();
+
+    private static final ParamList<Node> nodeParamList =
+                    ParamList.forClass(Node.class)
+                             .usingService(new ParamListServiceImpl().setDispatchingThroughRegistry(true))
+                             .withPrimaryParam("name", Node::getName, ParamUsage.INCLUDED_IN_ALL, String.class)
+                             .withParam("child", Node::getChild, ParamUsage.TOSTRING_ONLY, Node.class)
+                             .andThatsIt();
+
+    private static ParamList<Holder> holderParamList(boolean dispatching) {
+        return ParamList.forClass(Holder.class)
+                        .usingService(new ParamListServiceImpl().setDispatchingThroughRegistry(dispatching))
+                        .withParam("node", Holder::getNode, Node.class)
+                        .andThatsIt();
+    }
+
+    @Test
+    public void register_null_boom() {
+        try {
+            ParamListRegistry.register(null);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("paramList"));
+        }
+    }
+
+    @Test
+    public void lookup_unregisteredClass_null() {
+        assertNull(ParamListRegistry.lookup(Unregistered.class));
+    }
+
+    @Test
+    public void lookup_paramListBuiltButNotRegistered_null() {
+        ParamList.forClass(BuiltOnly.class).andThatsIt();
+        assertNull(ParamListRegistry.lookup(BuiltOnly.class));
+    }
+
+    @Test
+    public void register_differentParamListForSameClass_boom() {
+        ParamList<Unregistered> first = ParamList.forClass(Unregistered.class).andThatsIt();
+        ParamList<Unregistered> second = ParamList.forClass(Unregistered.class).andThatsIt();
+        ParamListRegistry.register(first);
+        try {
+            ParamListRegistry.register(first);
+            ParamListRegistry.register(second);
+            fail("No exception was thrown.");
+        } catch (IllegalStateException e) {
+            assertTrue("Exception message does not contain class name.", e.getMessage().contains(Unregistered.class.getName()));
+        } finally {
+            assertFalse(ParamListRegistry.unregister(second));
+            assertSame(first, ParamListRegistry.lookup(Unregistered.class));
+            assertTrue(ParamListRegistry.unregister(first));
+        }
+        assertNull(ParamListRegistry.lookup(Unregistered.class));
+    }
+
+    @Test
+    public void lookup_subclassOfRegisteredClass_null() {
+        ParamListRegistry.register(itemParamList);
+        assertSame(itemParamList, ParamListRegistry.lookup(Item.class));
+        assertNull(ParamListRegistry.lookup(SubItem.class));
+    }
+
+    @Test
+    public void equals_dispatchingWithSecondParamListBuilt_matchesOwnEquals() {
+        ParamListRegistry.register(itemParamList);
+        ParamList<Item> other = ParamList.forClass(Item.class)
+                                         .withParam("id", Item::getId, Integer.class)
+                                         .withParam("label", Item::getLabel, String.class)
+                                         .andThatsIt();
+        ParamList<ItemHolder> dispatching = ParamList.forClass(ItemHolder.class)
+                                                     .usingService(new ParamListServiceImpl().setDispatchingThroughRegistry(true))
+                                                     .withParam("item", ItemHolder::getItem, Item.class)
+                                                     .andThatsIt();
+        Item item1 = new Item(1, "a");
+        Item item2 = new Item(1, "b");
+        assertTrue(item1.equals(item2));
+        assertFalse(other.equals(item1, item2));
+        assertTrue(dispatching.equals(new ItemHolder(item1), new ItemHolder(item2)));
+        assertEquals(dispatching.hashCode(new ItemHolder(item1)), dispatching.hashCode(new ItemHolder(item2)));
+    }
+
+    @Test
+    public void equals_dispatching_usesNestedParamList() {
+        ParamListRegistry.register(nodeParamList);
+        Holder holder1 = new Holder(new Node("a"));
+        Holder holder2 = new Holder(new Node("a"));
+        assertFalse(holderParamList(false).equals(holder1, holder2));
+        assertTrue(holderParamList(true).equals(holder1, holder2));
+        assertFalse(holderParamList(true).equals(holder1, new Holder(new Node("b"))));
+        assertFalse(holderParamList(true).equals(holder1, new Holder(null)));
+    }
+
+    @Test
+    public void hashCode_dispatching_usesNestedParamList() {
+        ParamListRegistry.register(nodeParamList);
+        Node node = new Node("a");
+        assertEquals(31 + nodeParamList.hashCode(node), holderParamList(true).hashCode(new Holder(node)));
+        assertEquals(31 + node.hashCode(), holderParamList(false).hashCode(new Holder(node)));
+        assertEquals(31, holderParamList(true).hashCode(new Holder(null)));
+    }
+
+    @Test
+    public void toString_dispatchingSelfReference_primaryParamsOnSecondVisit() {
+        ParamListRegistry.register(nodeParamList);
+        Node node = new Node("a");
+        node.child = node;
+        String toString = holderParamList(true).toString(new Holder(node));
+        assertTrue(toString, toString.contains(" [name='a', child='Node@"));
+        assertTrue(toString, toString.endsWith(" [name='a'...]']']"));
+    }
+
+    @Test
+    public void toString_notDispatching_usesObjectToString() {
+        Node node = new Node("a");
+        String toString = holderParamList(false).toString(new Holder(node));
+        assertTrue(toString, toString.contains("node='" + node.toString() + "'"));
+    }
+
+    @Test
+    public void copyConstructor_dispatching_copied() {
+        ParamListServiceImpl original = new ParamListServiceImpl().setDispatchingThroughRegistry(true);
+        ParamListServiceImpl copy = new ParamListServiceImpl(original);
+        assertTrue(copy.isDispatchingThroughRegistry());
+        assertEquals(original, copy);
+        assertNotEquals(original, new ParamListServiceImpl());
+    }
+}
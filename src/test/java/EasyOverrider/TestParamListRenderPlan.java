@@ -0,0 +1,248 @@
+package EasyOverrider;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import EasyOverrider.TestingUtils.TestObj;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestParamListRenderPlan {
+
+    private static ParamList<TestObj> paramListUsing(ParamListServiceConfig config) {
+        return ParamList.forClass(TestObj.class)
+                        .usingService(new ParamListServiceImpl(config))
+                        .withPrimaryParam("theInt", TestObj::getTheInt, ParamUsage.INCLUDED_IN_ALL, Integer.class)
+                        .withParam("theString", TestObj::getTheString, String.class)
+                        .andThatsIt();
+    }
+
+    private static TestObj testObj() {
+        TestObj testObj = new TestObj();
+        testObj.setTheInt(5);
+        testObj.setTheString("abc");
+        return testObj;
+    }
+
+    private static String expectedParams(ParamListServiceConfig config, TestObj testObj) {
+        String theInt = String.format(config.getNameValueFormat(), "theInt",
+                                      String.format(config.getParameterValueFormat(), testObj.getTheInt()));
+        String theString = String.format(config.getNameValueFormat(), "theString",
+                                         String.format(config.getParameterValueFormat(), testObj.getTheString()));
+        return theInt + config.getParameterDelimiter() + theString;
+    }
+
+    private static String expectedToString(ParamListServiceConfig config, TestObj testObj) {
+        return String.format(config.getToStringFormat(), "TestObj", Integer.toHexString(testObj.hashCode()),
+                             expectedParams(config, testObj));
+    }
+
+    @Test
+    public void constructor_defaultFormats_splitIntoLiterals() {
+        ParamListServiceConfigSnapshot settings = new ParamListServiceConfig().getSnapshot();
+        ParamListRenderPlan plan = paramListUsing(new ParamListServiceConfig()).getRenderPlan(settings, false);
+        assertTrue(plan.isUsable());
+        assertArrayEquals(new String[] { "TestObj@", " [", "]" }, plan.getLiterals());
+        assertArrayEquals(new boolean[] { true, false }, plan.getSlotIsHashCode());
+        assertEquals("theInt=", plan.getNamePrefix(0));
+        assertEquals("theString=", plan.getNamePrefix(1));
+        assertEquals("", plan.getNameSuffix(1));
+        assertEquals("'", plan.getValuePrefix());
+        assertEquals("'", plan.getValueSuffix());
+    }
+
+    @Test
+    public void constructor_paddedFormat_notUsable() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        config.setToStringFormat("%1$s@%2$-12s [%3$s]");
+        assertFalse(paramListUsing(config).getRenderPlan(config.getSnapshot(), false).isUsable());
+    }
+
+    @Test
+    public void constructor_upperCaseValueFormat_notUsable() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        config.setParameterValueFormat("%1$S");
+        assertFalse(paramListUsing(config).getRenderPlan(config.getSnapshot(), false).isUsable());
+    }
+
+    @Test
+    public void constructor_valueUsedTwice_notUsable() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        config.setNameValueFormat("%1$s=%2$s/%2$s");
+        assertFalse(paramListUsing(config).getRenderPlan(config.getSnapshot(), false).isUsable());
+    }
+
+    @Test
+    public void getRenderPlan_sameSettings_sameInstance() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        ParamList<TestObj> paramList = paramListUsing(config);
+        ParamListRenderPlan plan = paramList.getRenderPlan(config.getSnapshot(), false);
+        assertSame(plan, paramList.getRenderPlan(config.getSnapshot(), false));
+        config.setParameterDelimiter(" | ");
+        assertSame(config.getSnapshot(), paramList.getRenderPlan(config.getSnapshot(), false).getSettings());
+    }
+
+    @Test
+    public void toString_defaultFormats_matchesFormatted() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        TestObj testObj = testObj();
+        assertEquals(expectedToString(config, testObj), paramListUsing(config).toString(testObj));
+    }
+
+    @Test
+    public void toString_customFormats_matchesFormatted() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        config.setToStringFormat("<%3$s> from %1$s#%2$s");
+        config.setNameValueFormat("%2$s:%1$s;");
+        config.setParameterValueFormat("\"%1$s\"");
+        config.setParameterDelimiter(" ");
+        TestObj testObj = testObj();
+        assertEquals(expectedToString(config, testObj), paramListUsing(config).toString(testObj));
+    }
+
+    @Test
+    public void toString_notUsablePlan_matchesFormatted() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        config.setToStringFormat("%1$s@%2$-12s [%3$S]");
+        TestObj testObj = testObj();
+        assertEquals(expectedToString(config, testObj), paramListUsing(config).toString(testObj));
+    }
+
+    @Test
+    public void toString_nullValue_notWrappedInValueFormat() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        TestObj testObj = testObj();
+        testObj.setTheString(null);
+        String toString = paramListUsing(config).toString(testObj);
+        assertTrue(toString, toString.endsWith("theString=null]"));
+    }
+
+    @Test
+    public void primaryToString_defaultFormats_matchesFormatted() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        TestObj testObj = testObj();
+        String expected = String.format(config.getToStringFormat(), "TestObj", Integer.toHexString(testObj.hashCode()),
+                                        "theInt='5'" + config.getStringForRecursionPrevented());
+        assertEquals(expected, paramListUsing(config).primaryToString(testObj));
+    }
+
+    @Test
+    public void recordLength_longerThenShorter_growsRightAwayAndShrinksSlowly() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        ParamListRenderPlan plan = paramListUsing(config).getRenderPlan(config.getSnapshot(), false);
+        plan.recordLength(200);
+        assertEquals(200, plan.getEstimatedLength());
+        plan.recordLength(40);
+        assertEquals(180, plan.getEstimatedLength());
+        plan.recordLength(0);
+        assertTrue(plan.getEstimatedLength() >= 16);
+    }
+
+    private static class StatusHolder {
+        private final ParamUsage usage;
+        private final Boolean flag;
+        private final Integer code;
+
+        StatusHolder(ParamUsage usage, Boolean flag, Integer code) {
+            this.usage = usage;
+            this.flag = flag;
+            this.code = code;
+        }
+
+        ParamUsage getUsage() {
+            return usage;
+        }
+
+        Boolean getFlag() {
+            return flag;
+        }
+
+        Integer getCode() {
+            return code;
+        }
+    }
+
+    private static ParamList<StatusHolder> statusParamList(ParamListServiceConfig config, int codeCacheLimit) {
+        return ParamList.forClass(StatusHolder.class)
+                        .usingService(new ParamListServiceImpl(config))
+                        .withParam("usage", StatusHolder::getUsage, ParamUsage.class)
+                        .withParam("flag", StatusHolder::getFlag, Boolean.class)
+                        .withParam("code", StatusHolder::getCode, Integer.class)
+                        .withToStringCacheLimit("code", codeCacheLimit)
+                        .andThatsIt();
+    }
+
+    @Test
+    public void toString_cachedParams_matchesUncached() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        config.setToStringFormat("%1$s [%3$s]");
+        ParamList<StatusHolder> paramList = statusParamList(config, 4);
+        StatusHolder statusHolder = new StatusHolder(ParamUsage.TOSTRING_ONLY, true, 200);
+        String expected = "StatusHolder [usage='" + ParamUsage.TOSTRING_ONLY + "', flag='true', code='200']";
+        assertEquals(expected, paramList.toString(statusHolder));
+        assertEquals(expected, paramList.toString(statusHolder));
+        assertEquals("StatusHolder [usage=null, flag=null, code=null]",
+                     paramList.toString(new StatusHolder(null, null, null)));
+    }
+
+    @Test
+    public void toString_cachedParams_fragmentsCached() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        ParamList<StatusHolder> paramList = statusParamList(config, 4);
+        paramList.toString(new StatusHolder(ParamUsage.TOSTRING_ONLY, false, 404));
+        ParamListRenderPlan plan = paramList.getRenderPlan(config.getSnapshot(), false);
+        assertEquals("usage='" + ParamUsage.TOSTRING_ONLY + "'", plan.getCachedFragment(0, ParamUsage.TOSTRING_ONLY));
+        assertEquals("flag='false'", plan.getCachedFragment(1, false));
+        assertEquals("code='404'", plan.getCachedFragment(2, 404));
+    }
+
+    @Test
+    public void toString_cacheFull_newValuesStillRendered() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        config.setToStringFormat("%1$s [%3$s]");
+        ParamList<StatusHolder> paramList = statusParamList(config, 1);
+        paramList.toString(new StatusHolder(null, null, 1));
+        assertEquals("StatusHolder [usage=null, flag=null, code='2']", paramList.toString(new StatusHolder(null, null, 2)));
+        ParamListRenderPlan plan = paramList.getRenderPlan(config.getSnapshot(), false);
+        assertEquals("code='1'", plan.getCachedFragment(2, 1));
+        assertEquals(null, plan.getCachedFragment(2, 2));
+    }
+
+    @Test
+    public void toString_cachedParam_valueRendererOnlyCalledOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        config.setValueRenderer(ParamUsage.class, (usage, output) -> output.append(calls.incrementAndGet()).append(usage.name().toLowerCase()));
+        ParamList<StatusHolder> paramList = statusParamList(config, 0);
+        StatusHolder statusHolder = new StatusHolder(ParamUsage.INCLUDED_IN_ALL, null, null);
+        String first = paramList.toString(statusHolder);
+        assertEquals(first, paramList.toString(statusHolder));
+        assertEquals(1, calls.get());
+        assertFalse(paramList.getRenderPlan(config.getSnapshot(), false).isCachingFragments(2));
+    }
+
+    @Test
+    public void toString_valueRenderer_appendsToOutputDirectly() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        config.setValueRenderer(String.class, (value, output) -> {
+            assertTrue(output.toString(), output.toString().endsWith("theString='"));
+            output.append(value.length());
+        });
+        TestObj testObj = testObj();
+        String toString = paramListUsing(config).toString(testObj);
+        assertTrue(toString, toString.endsWith("theString='3']"));
+    }
+
+    @Test
+    public void toString_valueRendererAppendsStringForNull_notWrappedInValueFormat() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        config.setValueRenderer(String.class, (value, output) -> output.append("null"));
+        TestObj testObj = testObj();
+        String toString = paramListUsing(config).toString(testObj);
+        assertTrue(toString, toString.endsWith("theInt='5', theString=null]"));
+    }
+}
@@ -2,12 +2,20 @@ package EasyOverrider;
 
 import static EasyOverrider.TestingUtils.Helpers.testSetterGetter;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import EasyOverrider.TestingUtils.TestObj;
 import org.junit.Test;
 
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
 import java.util.IllegalFormatException;
 import java.util.function.Function;
 
@@ -356,4 +364,277 @@ public class TestParamListServiceConfig {
             assertTrue("Message should contain methodName.", e.getMessage().contains("setHashCodeToString"));
         }
     }
+
+    @Test
+    public void setValueRenderer_null_boom() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        try {
+            config.setValueRenderer(String.class, null);
+            fail("Should boom");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Message should contain position.", e.getMessage().contains(" 2 "));
+            assertTrue("Message should contain paramName.", e.getMessage().contains("valueRenderer"));
+            assertTrue("Message should contain methodName.", e.getMessage().contains("setValueRenderer"));
+        }
+    }
+
+    @Test
+    public void getValueRenderer_noRenderers_null() {
+        assertNull(new ParamListServiceConfig().getValueRenderer(String.class));
+    }
+
+    @Test
+    public void getValueRenderer_exactAndInherited_expectedRenderers() {
+        ValueRenderer<Number> numberRenderer = (value, output) -> output.append("number");
+        ValueRenderer<Integer> integerRenderer = (value, output) -> output.append("integer");
+        ParamListServiceConfig config = new ParamListServiceConfig().setValueRenderer(Number.class, numberRenderer)
+                                                                    .setValueRenderer(Integer.class, integerRenderer);
+        assertSame(integerRenderer, config.getValueRenderer(Integer.class));
+        assertSame(numberRenderer, config.getValueRenderer(Long.class));
+        assertNull(config.getValueRenderer(String.class));
+        config.removeValueRenderer(Integer.class);
+        assertSame(numberRenderer, config.getValueRenderer(Integer.class));
+    }
+
+    @Test
+    public void copyOf_withRenderers_rendererCopied() {
+        ValueRenderer<String> renderer = (value, output) -> output.append("s");
+        ParamListServiceConfig config = new ParamListServiceConfig().setValueRenderer(String.class, renderer);
+        ParamListServiceConfig copy = config.copyOf();
+        assertSame(renderer, copy.getValueRenderer(String.class));
+        assertEquals(config, copy);
+        copy.removeValueRenderer(String.class);
+        assertSame(renderer, config.getValueRenderer(String.class));
+    }
+
+    @Test
+    public void addBuiltInValueRenderers_existingRenderer_notReplaced() {
+        ValueRenderer<Integer> renderer = (value, output) -> output.append("i");
+        ParamListServiceConfig config = new ParamListServiceConfig().setValueRenderer(Integer.class, renderer)
+                                                                    .addBuiltInValueRenderers();
+        assertSame(renderer, config.getValueRenderer(Integer.class));
+        assertNotNull(config.getValueRenderer(StringBuilder.class));
+    }
+
+    @Test
+    public void builtInRenderers_variousValues_expectedStrings() {
+        ParamListServiceConfig config = new ParamListServiceConfig().addBuiltInValueRenderers();
+        assertEquals("-12", render(config, -12));
+        assertEquals("1.5", render(config, 1.5d));
+        assertEquals("true", render(config, true));
+        assertEquals("abc", render(config, new StringBuilder("abc")));
+        assertEquals("00ff10", render(config, new byte[] { 0, -1, 16 }));
+        assertEquals("2019-06-12T06:08:43Z", render(config, Instant.parse("2019-06-12T06:08:43Z")));
+        assertEquals("2019-06-12", render(config, LocalDate.of(2019, 6, 12)));
+        assertEquals("1970-01-01T00:00:01Z", render(config, new Date(1000L)));
+    }
+
+    @Test
+    public void builtInRenderers_sqlTimestamp_ownToStringUsed() {
+        ParamListServiceConfig config = new ParamListServiceConfig().addBuiltInValueRenderers();
+        Timestamp timestamp = new Timestamp(1000L);
+        timestamp.setNanos(123456789);
+        assertNull(config.getValueRenderer(Timestamp.class));
+        assertNull(config.getValueRenderer(java.sql.Date.class));
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class)
+                                                .withParam("timestamp", obj -> timestamp, Timestamp.class)
+                                                .configuredBy(config)
+                                                .andThatsIt();
+        assertTrue(paramList.toString(new TestObj()).contains(timestamp.toString()));
+    }
+
+    @Test
+    public void forExactClassOnly_subclassValue_notRendered() {
+        ValueRenderer<Number> renderer = ((ValueRenderer<Number>)(value, output) -> output.append("n")).forExactClassOnly();
+        ParamListServiceConfig config = new ParamListServiceConfig().setValueRenderer(Number.class, renderer);
+        assertFalse(renderer.appliesToSubclasses());
+        assertSame(renderer, config.getValueRenderer(Number.class));
+        assertNull(config.getValueRenderer(Integer.class));
+    }
+
+    @Test
+    public void forBytes_longArray_truncated() {
+        StringBuilder output = new StringBuilder();
+        ValueRenderer.forBytes(2).render(new byte[] { 1, 2, 3, 4 }, output);
+        assertEquals("0102...(4 bytes)", output.toString());
+    }
+
+    @Test
+    public void forBytes_negative_boom() {
+        try {
+            ValueRenderer.forBytes(-1);
+            fail("Should boom");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Message should contain paramName.", e.getMessage().contains("maxBytes"));
+        }
+    }
+
+    @Test
+    public void getSnapshot_noChanges_sameInstance() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        assertSame(config.getSnapshot(), config.getSnapshot());
+    }
+
+    @Test
+    public void getSnapshot_twoNewConfigs_sameInstance() {
+        assertSame(new ParamListServiceConfig().getSnapshot(), new ParamListServiceConfig().getSnapshot());
+    }
+
+    @Test
+    public void getSnapshot_otherConfigChanged_stillDefaults() {
+        ParamListServiceConfig config1 = new ParamListServiceConfig();
+        ParamListServiceConfig config2 = new ParamListServiceConfig();
+        config1.setParameterDelimiter(" | ");
+        assertEquals(", ", config2.getSnapshot().getParameterDelimiter());
+        assertEquals(", ", new ParamListServiceConfig().getSnapshot().getParameterDelimiter());
+    }
+
+    private static class OverridingConfig extends ParamListServiceConfig {
+        private final String toStringFormat = "%1$s[%3$s]";
+        private String stringForNull = "NIL";
+
+        @Override
+        public String getToStringFormat() {
+            return toStringFormat;
+        }
+
+        @Override
+        public String getStringForNull() {
+            return stringForNull;
+        }
+    }
+
+    @Test
+    public void getSnapshot_subclassOverridingGetters_usesCurrentOverriddenValues() {
+        OverridingConfig config = new OverridingConfig();
+        assertEquals("%1$s[%3$s]", config.getSnapshot().getToStringFormat());
+        assertEquals("NIL", config.getSnapshot().getStringForNull());
+        config.stringForNull = "nothing";
+        assertEquals("nothing", config.getSnapshot().getStringForNull());
+    }
+
+    @Test
+    public void toString_subclassOverridingGetters_overriddenValuesUsed() {
+        ParamList<TestObj> paramList = ParamList.forClass(TestObj.class)
+                                                .usingService(new ParamListServiceImpl(new OverridingConfig()))
+                                                .withParam("theString", TestObj::getTheString, String.class)
+                                                .andThatsIt();
+        assertEquals("TestObj[theString=NIL]", paramList.toString(new TestObj()));
+    }
+
+    @Test
+    public void copyOf_changedConfig_snapshotHasCopiedValues() {
+        ParamListServiceConfig config = new ParamListServiceConfig().setParameterDelimiter(" | ").setStringForNull("-");
+        ParamListServiceConfig copy = config.copyOf();
+        assertEquals(" | ", copy.getSnapshot().getParameterDelimiter());
+        assertEquals("-", copy.getSnapshot().getStringForNull());
+        assertEquals(config.getToStringFormat(), copy.getSnapshot().getToStringFormat());
+    }
+
+    @Test
+    public void getSnapshot_afterSetter_newSnapshotHasValueOldOneDoesNot() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        ParamListServiceConfigSnapshot before = config.getSnapshot();
+        config.setParameterDelimiter(" | ");
+        ParamListServiceConfigSnapshot after = config.getSnapshot();
+        assertEquals(", ", before.getParameterDelimiter());
+        assertEquals(" | ", after.getParameterDelimiter());
+    }
+
+    @Test
+    public void getSnapshot_fullConstructor_matchesConfig() {
+        Function<Class, String> classNameGetter = Class::getName;
+        Function<Integer, String> hashCodeToString = i -> "h";
+        ParamListServiceConfig config = new ParamListServiceConfig("a", "b", "c", "d", "%2$s:%1$s", "<%1$s>", "%3$s",
+                                                                   classNameGetter, hashCodeToString);
+        ParamListServiceConfigSnapshot snapshot = config.getSnapshot();
+        assertEquals("a", snapshot.getStringForNull());
+        assertEquals("b", snapshot.getStringForRecursionPrevented());
+        assertEquals("c", snapshot.getStringForEmptyParamList());
+        assertEquals("d", snapshot.getParameterDelimiter());
+        assertEquals("%2$s:%1$s", snapshot.getNameValueFormat());
+        assertEquals("<%1$s>", snapshot.getParameterValueFormat());
+        assertEquals("%3$s", snapshot.getToStringFormat());
+        assertSame(classNameGetter, snapshot.getClassNameGetter());
+        assertSame(hashCodeToString, snapshot.getHashCodeToString());
+    }
+
+    @Test
+    public void getSnapshot_rendererRemovedAfterwards_oldSnapshotStillHasIt() {
+        ValueRenderer<String> renderer = (value, output) -> output.append("s");
+        ParamListServiceConfig config = new ParamListServiceConfig().setValueRenderer(String.class, renderer);
+        ParamListServiceConfigSnapshot before = config.getSnapshot();
+        config.removeValueRenderer(String.class);
+        assertSame(renderer, before.getValueRenderer(String.class));
+        assertNull(config.getSnapshot().getValueRenderer(String.class));
+        assertNull(config.getValueRenderer(String.class));
+    }
+
+    @Test
+    public void getSnapshot_getValueRenderers_unmodifiable() {
+        ParamListServiceConfigSnapshot snapshot = new ParamListServiceConfig().getSnapshot();
+        try {
+            snapshot.getValueRenderers().put(String.class, (value, output) -> output.append("s"));
+            fail("Should boom");
+        } catch (UnsupportedOperationException e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void setHashCodeRenderer_valid_hashCodeToStringAlsoReplaced() {
+        ParamListServiceConfig config = new ParamListServiceConfig().setHashCodeRenderer(i -> "#" + i);
+        assertEquals("#5", config.getHashCodeRenderer().apply(5));
+        assertEquals("#5", config.getHashCodeToString().apply(5));
+    }
+
+    @Test
+    public void setHashCodeToString_valid_hashCodeRendererAlsoReplaced() {
+        ParamListServiceConfig config = new ParamListServiceConfig().setHashCodeToString(i -> "#" + i);
+        assertEquals("#5", config.getHashCodeRenderer().apply(5));
+    }
+
+    @Test
+    public void setHashCodeRenderer_null_boom() {
+        try {
+            new ParamListServiceConfig().setHashCodeRenderer(null);
+            fail("Should boom");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Message should contain paramName.", e.getMessage().contains("hashCodeRenderer"));
+        }
+    }
+
+    @Test
+    public void getSnapshot_variousFormats_hashCodeInToStringDetected() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        assertTrue(config.getSnapshot().isHashCodeInToString());
+        assertFalse(config.setToStringFormat("%1$s [%3$s]").getSnapshot().isHashCodeInToString());
+        assertTrue(config.setToStringFormat("%s@%s [%s]").getSnapshot().isHashCodeInToString());
+        assertFalse(config.setToStringFormat("%s [%3$s]").getSnapshot().isHashCodeInToString());
+    }
+
+    @Test
+    public void setCompilationThreshold_negative_boom() {
+        try {
+            new ParamListServiceConfig().setCompilationThreshold(-2);
+            fail("Should boom");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Message should contain paramName.", e.getMessage().contains("compilationThreshold"));
+        }
+    }
+
+    @Test
+    public void setCompilationThreshold_neverCompile_inSnapshotAndCopy() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        assertEquals(ParamListServiceConfig.DEFAULT_COMPILATION_THRESHOLD, config.getSnapshot().getCompilationThreshold());
+        config.setCompilationThreshold(ParamListServiceConfig.NEVER_COMPILE);
+        assertEquals(ParamListServiceConfig.NEVER_COMPILE, config.getSnapshot().getCompilationThreshold());
+        assertEquals(ParamListServiceConfig.NEVER_COMPILE, config.copyOf().getCompilationThreshold());
+    }
+
+    private static String render(ParamListServiceConfig config, Object value) {
+        StringBuilder output = new StringBuilder();
+        config.getValueRenderer(value.getClass()).render(value, output);
+        return output.toString();
+    }
 }
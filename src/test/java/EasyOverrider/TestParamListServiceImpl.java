@@ -1,5 +1,19 @@
 package EasyOverrider;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import EasyOverrider.TestingUtils.TestObj;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 public class TestParamListServiceImpl {
 
     //TODO: Finish writing tests.
@@ -11,4 +25,286 @@ public class TestParamListServiceImpl {
     // equals(Object, Object, ParamList), hashCode(Object, ParamList),
     // toString(Object, ParamList, Map), primaryToString(Object, ParamList)
 
+    private static ParamList<TestObj> paramListUsing(ParamListService service) {
+        return ParamList.forClass(TestObj.class)
+                        .usingService(service)
+                        .withPrimaryParam("theInt", TestObj::getTheInt, ParamUsage.INCLUDED_IN_ALL, Integer.class)
+                        .withParam("theString", TestObj::getTheString, String.class)
+                        .andThatsIt();
+    }
+
+    @Test
+    public void addListener_null_boom() {
+        try {
+            new ParamListServiceImpl().addListener(null);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("listener"));
+            assertTrue("Exception message does not contain method name.", e.getMessage().contains("addListener"));
+        }
+    }
+
+    @Test
+    public void addListener_eachOperation_listenerCalled() {
+        List<String> calls = new ArrayList<>();
+        ParamListServiceImpl service = new ParamListServiceImpl();
+        service.addListener((op, pl, length, nanos) -> calls.add(op.name() + ":" + pl.getParentClass().getSimpleName() + ":" + length));
+        ParamList<TestObj> paramList = paramListUsing(service);
+        TestObj testObj = new TestObj();
+        testObj.setTheInt(5);
+        paramList.equals(testObj, new TestObj());
+        paramList.hashCode(testObj);
+        String toString = paramList.toString(testObj);
+        String primaryToString = paramList.primaryToString(testObj);
+        List<String> expected = new ArrayList<>();
+        expected.add("EQUALS:TestObj:0");
+        expected.add("HASH_CODE:TestObj:0");
+        expected.add("TO_STRING:TestObj:" + toString.length());
+        expected.add("PRIMARY_TO_STRING:TestObj:" + primaryToString.length());
+        assertEquals(expected, calls);
+    }
+
+    @Test
+    public void addListener_startingContext_passedToCompleted() {
+        List<Object> contexts = new ArrayList<>();
+        ParamListServiceImpl service = new ParamListServiceImpl();
+        service.addListener((op, pl, length, nanos) -> contexts.add("plain"));
+        service.addListener(new ParamListServiceListener() {
+            @Override
+            public Object operationStarting(ParamListOperation operation, ParamList<?> paramList) {
+                return operation == ParamListOperation.HASH_CODE ? null : "started " + operation;
+            }
+
+            @Override
+            public void operationCompleted(ParamListOperation operation, ParamList<?> paramList, int outputLength,
+                                           long durationNanos) {
+                contexts.add("without context");
+            }
+
+            @Override
+            public void operationCompleted(ParamListOperation operation, ParamList<?> paramList, int outputLength,
+                                           long durationNanos, Object context) {
+                contexts.add(context);
+            }
+        });
+        ParamList<TestObj> paramList = paramListUsing(service);
+        paramList.equals(new TestObj(), new TestObj());
+        paramList.hashCode(new TestObj());
+        List<Object> expected = new ArrayList<>();
+        expected.add("plain");
+        expected.add("started " + ParamListOperation.EQUALS);
+        expected.add("plain");
+        expected.add(null);
+        assertEquals(expected, contexts);
+    }
+
+    @Test
+    public void removeListener_afterRemoving_listenerNotCalled() {
+        List<ParamListOperation> calls = new ArrayList<>();
+        ParamListServiceListener listener = (op, pl, length, nanos) -> calls.add(op);
+        ParamListServiceImpl service = new ParamListServiceImpl();
+        service.addListener(listener);
+        service.removeListener(listener);
+        paramListUsing(service).hashCode(new TestObj());
+        assertTrue(calls.isEmpty());
+        assertTrue(service.getListeners().isEmpty());
+    }
+
+    @Test
+    public void jfrListener_negativeThreshold_boom() {
+        try {
+            new JfrParamListServiceListener(-1);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("thresholdNanos"));
+        }
+    }
+
+    @Test
+    public void jfrListener_available_operationsStillWork() {
+        if (JfrParamListServiceListener.isAvailable()) {
+            ParamListServiceImpl service = new ParamListServiceImpl();
+            service.addListener(new JfrParamListServiceListener(0));
+            ParamList<TestObj> paramList = paramListUsing(service);
+            TestObj testObj = new TestObj();
+            testObj.setTheString("theString");
+            assertTrue(paramList.toString(testObj).contains("theString='theString'"));
+        }
+    }
+
+    @Test
+    public void toString_valueRenderer_usedInsteadOfToString() {
+        ParamListServiceConfig config = new ParamListServiceConfig().setValueRenderer(String.class,
+                                                                                      (value, output) -> output.append(value.length()));
+        ParamList<TestObj> paramList = paramListUsing(new ParamListServiceImpl(config));
+        TestObj testObj = new TestObj();
+        testObj.setTheString("four");
+        assertTrue(paramList.toString(testObj).contains("theString='4'"));
+    }
+
+    @Test
+    public void setConfig_sharedService_boom() {
+        ParamListServiceImpl service = ParamListServiceImpl.forConfig(null);
+        try {
+            service.setConfig(new ParamListServiceConfig());
+            fail("No exception was thrown.");
+        } catch (IllegalStateException e) {
+            assertTrue("Exception message does not contain method name.", e.getMessage().contains("setConfig"));
+        }
+    }
+
+    @Test
+    public void addListener_sharedService_boom() {
+        ParamListServiceImpl service = ParamListServiceImpl.forConfig(new ParamListServiceConfig().setStringForNull("-"));
+        try {
+            service.addListener(new ParamListStatistics());
+            fail("No exception was thrown.");
+        } catch (IllegalStateException e) {
+            assertTrue("Exception message does not contain method name.", e.getMessage().contains("addListener"));
+        }
+    }
+
+    @Test
+    public void getConfig_sharedService_setterBooms() {
+        ParamListServiceImpl service = ParamListServiceImpl.forConfig(null);
+        try {
+            service.getConfig().setToStringFormat("%1$s [%3$s]");
+            fail("No exception was thrown.");
+        } catch (IllegalStateException e) {
+            assertTrue("Exception message does not contain method name.", e.getMessage().contains("setToStringFormat"));
+        }
+    }
+
+    @Test
+    public void copyOf_sharedService_copyCanBeChanged() {
+        ParamListServiceImpl copy = (ParamListServiceImpl)ParamListServiceImpl.forConfig(null).copyOf();
+        assertFalse(copy.isShared());
+        assertFalse(copy.getConfig().isFrozen());
+        copy.setDispatchingThroughRegistry(true);
+        copy.getConfig().setParameterDelimiter(" | ");
+        assertTrue(copy.isDispatchingThroughRegistry());
+    }
+
+    @Test
+    public void forConfig_subclassConfig_ownService() {
+        ParamListServiceConfig config = new ParamListServiceConfig() { };
+        ParamListServiceImpl service = ParamListServiceImpl.forConfig(config);
+        assertFalse(service.isShared());
+        assertSame(config, service.getConfig());
+    }
+
+    private static class HashCounter {
+        private int hashCodeCalls = 0;
+
+        @Override
+        public int hashCode() {
+            hashCodeCalls++;
+            return 42;
+        }
+    }
+
+    private static ParamList<HashCounter> hashCounterParamList(ParamListServiceConfig config) {
+        return ParamList.forClass(HashCounter.class)
+                        .configuredBy(config)
+                        .withParam("calls", h -> "x", String.class)
+                        .andThatsIt();
+    }
+
+    @Test
+    public void toString_formatWithoutHashCode_hashCodeNotCalled() {
+        ParamListServiceConfig config = new ParamListServiceConfig().setToStringFormat("%1$s [%3$s]");
+        HashCounter hashCounter = new HashCounter();
+        assertEquals("HashCounter [calls='x']", hashCounterParamList(config).toString(hashCounter));
+        assertEquals(0, hashCounter.hashCodeCalls);
+    }
+
+    @Test
+    public void toString_defaultFormat_hashCodeRendered() {
+        ParamListServiceConfig config = new ParamListServiceConfig().setHashCodeRenderer(i -> "#" + i);
+        HashCounter hashCounter = new HashCounter();
+        assertEquals("HashCounter@#42 [calls='x']", hashCounterParamList(config).toString(hashCounter));
+        assertEquals(1, hashCounter.hashCodeCalls);
+    }
+
+    @Test
+    public void toString_usingIdentityHashCode_identityHashCodeRendered() {
+        ParamListServiceConfig config = new ParamListServiceConfig().setToStringFormat("%2$s").setUsingIdentityHashCode(true);
+        HashCounter hashCounter = new HashCounter();
+        assertEquals(Integer.toHexString(System.identityHashCode(hashCounter)),
+                     hashCounterParamList(config).toString(hashCounter));
+        assertEquals(0, hashCounter.hashCodeCalls);
+    }
+
+    private static class CountingNode implements RecursionPreventingToString {
+        private static final ParamList<CountingNode> paramList =
+                        ParamList.forClass(CountingNode.class)
+                                 .configuredBy(new ParamListServiceConfig().setToStringFormat("%1$s [%3$s]"))
+                                 .withPrimaryParam("name", CountingNode::getName, ParamUsage.TOSTRING_ONLY, String.class)
+                                 .withParam("left", CountingNode::getLeft, ParamUsage.TOSTRING_ONLY, CountingNode.class)
+                                 .withParam("right", CountingNode::getRight, ParamUsage.TOSTRING_ONLY, CountingNode.class)
+                                 .andThatsIt();
+
+        private final String name;
+        private CountingNode left;
+        private CountingNode right;
+        private int hashCodeCalls = 0;
+
+        CountingNode(String name) {
+            this.name = name;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        CountingNode getLeft() {
+            return left;
+        }
+
+        CountingNode getRight() {
+            return right;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof CountingNode && name.equals(((CountingNode)obj).name);
+        }
+
+        @Override
+        public int hashCode() {
+            hashCodeCalls++;
+            return name.hashCode();
+        }
+
+        @Override
+        public String toString(Map<Class, Set<Integer>> seen) {
+            return paramList.toString(this, seen);
+        }
+
+        @Override
+        public String primaryToString() {
+            return paramList.primaryToString(this);
+        }
+    }
+
+    @Test
+    public void toString_equalButDistinctNestedObjects_bothRenderedWithoutHashCode() {
+        CountingNode root = new CountingNode("root");
+        root.left = new CountingNode("leaf");
+        root.right = new CountingNode("leaf");
+        assertEquals("CountingNode [name='root', left='CountingNode [name='leaf', left=null, right=null]', " +
+                     "right='CountingNode [name='leaf', left=null, right=null]']",
+                     CountingNode.paramList.toString(root));
+        assertEquals(0, root.hashCodeCalls + root.left.hashCodeCalls + root.right.hashCodeCalls);
+    }
+
+    @Test
+    public void toString_sameNestedObjectTwice_secondIsPrimaryOnly() {
+        CountingNode root = new CountingNode("root");
+        root.left = new CountingNode("leaf");
+        root.right = root.left;
+        assertEquals("CountingNode [name='root', left='CountingNode [name='leaf', left=null, right=null]', " +
+                     "right='CountingNode [name='leaf'...]']",
+                     CountingNode.paramList.toString(root));
+    }
 }
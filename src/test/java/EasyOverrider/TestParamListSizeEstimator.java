@@ -0,0 +1,96 @@
+package EasyOverrider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestParamListSizeEstimator {
+
+    private static class Holder {
+        private int theInt;
+        private String theString;
+        private Object theObject;
+
+        private static final ParamList<Holder> paramList = ParamList.forClass(Holder.class)
+                                                                    .withParam("theInt", h -> h.theInt, Integer.class)
+                                                                    .withParam("theString", h -> h.theString, String.class)
+                                                                    .withParam("theObject", h -> h.theObject, ParamUsage.TOSTRING_ONLY, Object.class)
+                                                                    .andThatsIt();
+
+        static {
+            ParamListRegistry.register(paramList);
+        }
+
+        Holder(int theInt, String theString, Object theObject) {
+            this.theInt = theInt;
+            this.theString = theString;
+            this.theObject = theObject;
+        }
+    }
+
+    @Test
+    public void estimateSize_null_boom() {
+        try {
+            Holder.paramList.estimateSize(null);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("thisObj"));
+            assertTrue("Exception message does not contain method name.", e.getMessage().contains("estimateSize"));
+        }
+    }
+
+    @Test
+    public void estimateSize_nullReferences_shallowOnly() {
+        // header 12 + int 4 + 2 references 8 = 24
+        assertEquals(24, Holder.paramList.estimateSize(new Holder(1, null, null)));
+    }
+
+    @Test
+    public void estimateSize_string_includesCharacters() {
+        // 24 + String 24 + array align(16 + 10) 32 = 80
+        assertEquals(80, Holder.paramList.estimateSize(new Holder(1, "0123456789", null)));
+    }
+
+    @Test
+    public void estimateSize_enum_notCounted() {
+        assertEquals(24, Holder.paramList.estimateSize(new Holder(1, null, ParamUsage.INCLUDED_IN_ALL)));
+    }
+
+    @Test
+    public void estimateSize_sharedString_countedOnce() {
+        String shared = "0123456789";
+        long once = Holder.paramList.estimateSize(new Holder(1, shared, null));
+        assertEquals(once, Holder.paramList.estimateSize(new Holder(1, shared, shared)));
+    }
+
+    @Test
+    public void estimateSize_biggerList_biggerEstimate() {
+        List<Integer> small = new ArrayList<>(Arrays.asList(1, 2));
+        List<Integer> big = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            big.add(i + 1000);
+        }
+        assertTrue(Holder.paramList.estimateSize(new Holder(1, null, big))
+                   > Holder.paramList.estimateSize(new Holder(1, null, small)));
+    }
+
+    @Test
+    public void estimateSize_nestedParamListObject_walked() {
+        Holder inner = new Holder(2, "0123456789", null);
+        long innerSize = Holder.paramList.estimateSize(inner);
+        assertEquals(24 + innerSize, Holder.paramList.estimateSize(new Holder(1, null, inner)));
+    }
+
+    @Test
+    public void estimateSize_selfReference_countedOnce() {
+        Holder holder = new Holder(1, null, null);
+        holder.theObject = holder;
+        assertEquals(24, Holder.paramList.estimateSize(holder));
+    }
+}
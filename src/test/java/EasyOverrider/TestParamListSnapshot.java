@@ -0,0 +1,114 @@
+package EasyOverrider;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import EasyOverrider.TestingUtils.TestObj;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TestParamListSnapshot {
+
+    private static ParamList<TestObj> paramListUsing(ParamListServiceImpl service) {
+        return ParamList.forClass(TestObj.class)
+                        .usingService(service)
+                        .withPrimaryParam("theInt", TestObj::getTheInt, ParamUsage.INCLUDED_IN_ALL, Integer.class)
+                        .withParam("theString", TestObj::getTheString, String.class)
+                        .withCollection("theCollectionString", TestObj::getTheCollectionString, Collection.class, String.class)
+                        .withMap("theMapStringInt", TestObj::getTheMapStringInt, Map.class, String.class, Integer.class)
+                        .andThatsIt();
+    }
+
+    private static TestObj testObj() {
+        TestObj testObj = new TestObj();
+        testObj.setTheInt(5);
+        testObj.setTheString("theString");
+        testObj.setTheCollectionString(new ArrayList<>(Arrays.asList("a", "b")));
+        Map<String, Integer> map = new LinkedHashMap<>();
+        map.put("one", 1);
+        testObj.setTheMapStringInt(map);
+        return testObj;
+    }
+
+    @Test
+    public void snapshot_null_boom() {
+        try {
+            paramListUsing(new ParamListServiceImpl()).snapshot(null);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("thisObj"));
+            assertTrue("Exception message does not contain method name.", e.getMessage().contains("snapshot"));
+        }
+    }
+
+    @Test
+    public void snapshot_notUsed_notRendered() {
+        ParamListSnapshot<TestObj> snapshot = paramListUsing(new ParamListServiceImpl()).snapshot(testObj());
+        assertFalse(snapshot.isRendered());
+        snapshot.get();
+        assertTrue(snapshot.isRendered());
+    }
+
+    @Test
+    public void snapshot_valueReplacedAfterwards_matchesToStringWhenTaken() {
+        ParamList<TestObj> paramList = paramListUsing(new ParamListServiceImpl());
+        TestObj testObj = testObj();
+        String expected = paramList.toString(testObj);
+        ParamListSnapshot<TestObj> snapshot = paramList.snapshot(testObj);
+        testObj.setTheString("changed");
+        testObj.setTheInt(6);
+        assertEquals(expected, snapshot.toString());
+    }
+
+    @Test
+    public void snapshot_renderedOnAnotherThread_matchesToStringWhenTaken() throws InterruptedException {
+        ParamList<TestObj> paramList = paramListUsing(new ParamListServiceImpl());
+        TestObj testObj = testObj();
+        String expected = paramList.toString(testObj);
+        ParamListSnapshot<TestObj> snapshot = paramList.snapshot(testObj);
+        AtomicReference<String> actual = new AtomicReference<>();
+        Thread thread = new Thread(() -> actual.set(snapshot.get()));
+        thread.start();
+        thread.join();
+        assertEquals(expected, actual.get());
+    }
+
+    @Test
+    public void snapshot_collectionChangedWithoutCopying_showsChange() {
+        ParamList<TestObj> paramList = paramListUsing(new ParamListServiceImpl());
+        TestObj testObj = testObj();
+        ParamListSnapshot<TestObj> snapshot = paramList.snapshot(testObj);
+        testObj.getTheCollectionString().add("c");
+        assertTrue(snapshot.toString().contains("theCollectionString='[a, b, c]'"));
+    }
+
+    @Test
+    public void snapshot_collectionsChangedWithCopying_matchesToStringWhenTaken() {
+        ParamList<TestObj> paramList = paramListUsing(new ParamListServiceImpl());
+        TestObj testObj = testObj();
+        String expected = paramList.toString(testObj);
+        ParamListSnapshot<TestObj> snapshot = paramList.snapshot(testObj, true);
+        testObj.getTheCollectionString().add("c");
+        testObj.getTheMapStringInt().put("two", 2);
+        assertEquals(expected, snapshot.toString());
+    }
+
+    @Test
+    public void snapshot_configChangedAfterwards_usesConfigWhenTaken() {
+        ParamListServiceConfig config = new ParamListServiceConfig();
+        ParamList<TestObj> paramList = paramListUsing(new ParamListServiceImpl(config));
+        TestObj testObj = testObj();
+        String expected = paramList.toString(testObj);
+        ParamListSnapshot<TestObj> snapshot = paramList.snapshot(testObj);
+        config.setParameterDelimiter(" | ");
+        assertEquals(expected, snapshot.toString());
+    }
+}
@@ -0,0 +1,132 @@
+package EasyOverrider;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import EasyOverrider.TestingUtils.TestObj;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+public class TestParamListStatistics {
+
+    private static ParamList<TestObj> paramListUsing(ParamListService service) {
+        return ParamList.forClass(TestObj.class)
+                        .usingService(service)
+                        .withPrimaryParam("theInt", TestObj::getTheInt, ParamUsage.INCLUDED_IN_ALL, Integer.class)
+                        .withParam("theString", TestObj::getTheString, String.class)
+                        .andThatsIt();
+    }
+
+    @Test
+    public void getStatistics_notEnabled_null() {
+        assertNull(new ParamListServiceImpl().getStatistics());
+    }
+
+    @Test
+    public void setStatisticsEnabled_true_statisticsListenerAdded() {
+        ParamListServiceImpl service = new ParamListServiceImpl().setStatisticsEnabled(true);
+        ParamListStatistics statistics = service.getStatistics();
+        assertNotNull(statistics);
+        assertEquals(Collections.singletonList(statistics), service.getListeners());
+    }
+
+    @Test
+    public void setStatisticsEnabled_trueTwice_sameStatistics() {
+        ParamListServiceImpl service = new ParamListServiceImpl().setStatisticsEnabled(true);
+        ParamListStatistics statistics = service.getStatistics();
+        service.setStatisticsEnabled(true);
+        assertSame(statistics, service.getStatistics());
+        assertEquals(1, service.getListeners().size());
+    }
+
+    @Test
+    public void setStatisticsEnabled_false_statisticsRemoved() {
+        ParamListServiceImpl service = new ParamListServiceImpl().setStatisticsEnabled(true);
+        service.setStatisticsEnabled(false);
+        assertNull(service.getStatistics());
+        assertTrue(service.getListeners().isEmpty());
+    }
+
+    @Test
+    public void getStatistics_afterOperations_countsMatch() {
+        ParamListServiceImpl service = new ParamListServiceImpl().setStatisticsEnabled(true);
+        ParamList<TestObj> paramList = paramListUsing(service);
+        TestObj testObj = new TestObj();
+        testObj.setTheString("theString");
+        paramList.equals(testObj, new TestObj());
+        paramList.equals(testObj, testObj);
+        paramList.hashCode(testObj);
+        String toString = paramList.toString(testObj);
+        ParamListStatistics statistics = service.getStatistics();
+        assertEquals(Collections.singleton(TestObj.class), statistics.getParentClasses());
+        assertEquals(2, statistics.getStatistics(TestObj.class, ParamListOperation.EQUALS).getCount());
+        assertEquals(1, statistics.getStatistics(TestObj.class, ParamListOperation.HASH_CODE).getCount());
+        ParamListOperationStatistics toStringStats = statistics.getStatistics(TestObj.class, ParamListOperation.TO_STRING);
+        assertEquals(1, toStringStats.getCount());
+        assertEquals(toString.length(), toStringStats.getTotalOutputLength());
+        assertEquals(0, statistics.getStatistics(TestObj.class, ParamListOperation.PRIMARY_TO_STRING).getCount());
+    }
+
+    @Test
+    public void operationCompleted_durations_histogramBuckets() {
+        ParamListStatistics statistics = new ParamListStatistics();
+        ParamList<TestObj> paramList = paramListUsing(new ParamListServiceImpl());
+        statistics.operationCompleted(ParamListOperation.HASH_CODE, paramList, 0, 10L);
+        statistics.operationCompleted(ParamListOperation.HASH_CODE, paramList, 0, 1_000L);
+        statistics.operationCompleted(ParamListOperation.HASH_CODE, paramList, 0, 50_000_000L);
+        ParamListOperationStatistics stats = statistics.getStatistics(TestObj.class, ParamListOperation.HASH_CODE);
+        assertArrayEquals(new long[] { 1, 1, 0, 0, 0, 1 }, stats.getHistogram());
+        assertEquals(50_001_010L, stats.getTotalNanos());
+        assertEquals(16_667_003L, stats.getAverageNanos());
+    }
+
+    @Test
+    public void getAllByTotalTime_twoOperations_slowestFirst() {
+        ParamListStatistics statistics = new ParamListStatistics();
+        ParamList<TestObj> paramList = paramListUsing(new ParamListServiceImpl());
+        statistics.operationCompleted(ParamListOperation.EQUALS, paramList, 0, 10L);
+        statistics.operationCompleted(ParamListOperation.TO_STRING, paramList, 20, 500L);
+        List<ParamListOperationStatistics> all = statistics.getAllByTotalTime();
+        assertEquals(2, all.size());
+        assertEquals(ParamListOperation.TO_STRING, all.get(0).getOperation());
+        assertEquals(ParamListOperation.EQUALS, all.get(1).getOperation());
+    }
+
+    @Test
+    public void reset_afterOperations_countsZero() {
+        ParamListStatistics statistics = new ParamListStatistics();
+        statistics.operationCompleted(ParamListOperation.EQUALS, paramListUsing(new ParamListServiceImpl()), 0, 10L);
+        statistics.reset();
+        ParamListOperationStatistics stats = statistics.getStatistics(TestObj.class, ParamListOperation.EQUALS);
+        assertEquals(0, stats.getCount());
+        assertEquals(0, stats.getTotalNanos());
+        assertTrue(statistics.getAllByTotalTime().isEmpty());
+    }
+
+    @Test
+    public void getStatistics_nullParentClass_boom() {
+        try {
+            new ParamListStatistics().getStatistics(null, ParamListOperation.EQUALS);
+            fail("No exception was thrown.");
+        } catch (IllegalArgumentException e) {
+            assertTrue("Exception message does not contain parameter name.", e.getMessage().contains("parentClass"));
+            assertTrue("Exception message does not contain method name.", e.getMessage().contains("getStatistics"));
+        }
+    }
+
+    @Test
+    public void toString_operationStatistics_containsCounts() {
+        ParamListStatistics statistics = new ParamListStatistics();
+        statistics.operationCompleted(ParamListOperation.EQUALS, paramListUsing(new ParamListServiceImpl()), 0, 10L);
+        String toString = statistics.getStatistics(TestObj.class, ParamListOperation.EQUALS).toString();
+        assertTrue(toString, toString.contains("count='1'"));
+        assertTrue(toString, toString.contains("totalNanos='10'"));
+    }
+}
@@ -57,7 +57,7 @@ public class Helpers {
         if (!RecursionPreventingToString.class.isAssignableFrom(objClass)) {
             return obj.toString();
         }
-        int objHashCode = obj.hashCode();
+        int objHashCode = System.identityHashCode(obj);
         RecursionPreventingToString recursiveObject = (RecursionPreventingToString)obj;
         if (!seen.containsKey(objClass)) {
             seen.put(objClass, new HashSet<>());